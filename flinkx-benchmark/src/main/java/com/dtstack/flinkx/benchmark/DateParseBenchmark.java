@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.flinkx.benchmark;
+
+import com.dtstack.flinkx.element.column.StringColumn;
+import com.dtstack.flinkx.util.DateLayoutDetector;
+import com.dtstack.flinkx.util.DateUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.SimpleDateFormat;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Date strings per second parsed by {@link DateUtil} and by the {@link StringColumn} of a field
+ * with a format. Every column keeps one layout, the columns mix the layouts seen in text files and
+ * jdbc tables: datetime with and without milliseconds, compact datetime, date and time.
+ *
+ * <pre>
+ * java -jar flinkx-benchmarks.jar DateParseBenchmark -rf json -rff result.json
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DateParseBenchmark {
+
+    private static final int RECORDS = 1024;
+
+    private static final String[] LAYOUTS = {
+        "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm:ss.SSS", "yyyyMMddHHmmss", "yyyy-MM-dd", "HH:mm:ss"
+    };
+
+    private static final int VALUES = RECORDS * LAYOUTS.length;
+
+    /** The format of the field, which the values do not have, as with a format for the sink. */
+    @Param({"yyyy/MM/dd HH:mm:ss", "yyyy-MM-dd HH:mm:ss.SSS"})
+    public String format;
+
+    private String[][] records;
+    private DateLayoutDetector[] detectors;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        records = new String[RECORDS][LAYOUTS.length];
+        for (int j = 0; j < LAYOUTS.length; j++) {
+            SimpleDateFormat formatter = DateUtil.buildDateFormatter(LAYOUTS[j]);
+            for (int i = 0; i < RECORDS; i++) {
+                long millis = 946656000000L + (long) (random.nextDouble() * 946656000000L);
+                records[i][j] = formatter.format(millis);
+            }
+        }
+        detectors = new DateLayoutDetector[LAYOUTS.length];
+        for (int j = 0; j < LAYOUTS.length; j++) {
+            detectors[j] = new DateLayoutDetector();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void stringToDate(Blackhole blackhole) {
+        for (String[] record : records) {
+            for (String value : record) {
+                blackhole.consume(DateUtil.stringToDate(value, null));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void detectLayout(Blackhole blackhole) {
+        for (String[] record : records) {
+            for (int j = 0; j < record.length; j++) {
+                blackhole.consume(detectors[j].parse(record[j]));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void columnTimestampStr(Blackhole blackhole) {
+        for (String[] record : records) {
+            for (String value : record) {
+                blackhole.consume(new StringColumn(value, format).asTimestampStr());
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void columnTimestampStrWithLayout(Blackhole blackhole) {
+        for (String[] record : records) {
+            for (int j = 0; j < record.length; j++) {
+                blackhole.consume(
+                        new StringColumn(record[j], format, detectors[j]).asTimestampStr());
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.flinkx.benchmark;
+
+import com.dtstack.flinkx.connector.stream.util.CycledDataGenerator;
+import com.dtstack.flinkx.util.DelimitedTextEncoder;
+import com.dtstack.flinkx.util.DelimitedTextTokenizer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records per second split and joined by the delimited text codec of the file plugins, the
+ * converter cost of a text file pipeline without the file system.
+ *
+ * <pre>
+ * java -jar flinkx-benchmarks.jar DelimitedTextBenchmark -rf json -rff result.json
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DelimitedTextBenchmark {
+
+    private static final int RECORDS = 1024;
+    private static final int FIELDS = 10;
+
+    private static final OutputStream DISCARD =
+            new OutputStream() {
+                @Override
+                public void write(int b) {}
+
+                @Override
+                public void write(byte[] b, int off, int len) {}
+            };
+
+    @Param({"UTF-8", "GBK"})
+    public String charset;
+
+    private String[][] records;
+    private byte[][] lines;
+    private DelimitedTextTokenizer tokenizer;
+    private DelimitedTextEncoder encoder;
+
+    @Setup
+    public void setup() {
+        Charset cs = Charset.forName(charset);
+        Random random = new Random(0);
+        records = new String[RECORDS][FIELDS];
+        lines = new byte[RECORDS][];
+        for (int i = 0; i < RECORDS; i++) {
+            for (int j = 0; j < FIELDS; j++) {
+                records[i][j] = CycledDataGenerator.randomString(random, 1, 32);
+            }
+            lines[i] = String.join(",", records[i]).getBytes(cs);
+        }
+        tokenizer = new DelimitedTextTokenizer(",", cs);
+        encoder = new DelimitedTextEncoder(",", cs, null, null);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void tokenize(Blackhole blackhole) {
+        for (byte[] line : lines) {
+            int fieldCount = tokenizer.tokenize(line, 0, line.length);
+            for (int i = 0; i < fieldCount; i++) {
+                blackhole.consume(tokenizer.getString(i));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void encode() throws IOException {
+        for (String[] record : records) {
+            for (String field : record) {
+                encoder.appendField(field);
+            }
+            encoder.endRecord();
+            encoder.writeIfFull(DISCARD);
+        }
+        encoder.writeTo(DISCARD);
+    }
+}
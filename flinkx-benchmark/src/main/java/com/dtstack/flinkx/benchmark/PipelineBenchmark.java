@@ -0,0 +1,285 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.flinkx.benchmark;
+
+import com.dtstack.flinkx.Main;
+import com.dtstack.flinkx.util.GsonUtil;
+
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs representative sync pipelines end to end in a local environment and writes their
+ * throughput as json, so that two builds can be compared on the same machine.
+ *
+ * <p>The stream source generates rows in cycle mode and the stream sink discards them, so the
+ * measured cost is the framework and the file plugin under test. The file pipelines read and write
+ * delimited text through the hdfs plugin on the local file system.
+ *
+ * <pre>
+ * java -cp flinkx-benchmarks.jar com.dtstack.flinkx.benchmark.PipelineBenchmark \
+ *     -records 10000000 -iterations 3 -output result.json [-baseline old.json -maxRegression 0.1]
+ * </pre>
+ *
+ * <p>A run includes the start of the local mini cluster, so the number of records should be large
+ * enough for it to be negligible. With a baseline, the process exits with 1 if the records per
+ * second of any pipeline drop more than maxRegression compared with the baseline.
+ */
+public class PipelineBenchmark {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PipelineBenchmark.class);
+
+    public static final String STREAM_TO_STREAM = "stream-stream";
+    public static final String STREAM_TO_FILE = "stream-file";
+    public static final String FILE_TO_STREAM = "file-stream";
+
+    private static final List<String> PIPELINES =
+            Arrays.asList(STREAM_TO_STREAM, STREAM_TO_FILE, FILE_TO_STREAM);
+
+    private final long records;
+    private final int channel;
+    private final int warmupIterations;
+    private final int iterations;
+    private final String dataPath;
+
+    /** records in the text files written by the last stream-file run, -1 if not written */
+    private long writtenRecords = -1;
+
+    public PipelineBenchmark(
+            long records, int channel, int warmupIterations, int iterations, String workDir) {
+        this.records = records;
+        this.channel = channel;
+        this.warmupIterations = warmupIterations;
+        this.iterations = iterations;
+        this.dataPath = new File(workDir, "data").toURI().toString();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> params = parseArgs(args);
+        List<String> pipelines =
+                params.containsKey("pipelines")
+                        ? Arrays.asList(params.get("pipelines").split(","))
+                        : PIPELINES;
+        for (String pipeline : pipelines) {
+            if (!PIPELINES.contains(pipeline)) {
+                throw new IllegalArgumentException(
+                        "unknown pipeline: " + pipeline + ", must be in " + PIPELINES);
+            }
+        }
+
+        PipelineBenchmark benchmark =
+                new PipelineBenchmark(
+                        Long.parseLong(params.getOrDefault("records", "10000000")),
+                        Integer.parseInt(params.getOrDefault("channel", "1")),
+                        Integer.parseInt(params.getOrDefault("warmup", "1")),
+                        Integer.parseInt(params.getOrDefault("iterations", "3")),
+                        params.getOrDefault(
+                                "workDir",
+                                System.getProperty("java.io.tmpdir") + "/flinkx-benchmark"));
+        List<PipelineResult> results = new ArrayList<>();
+        for (String pipeline : pipelines) {
+            results.add(benchmark.run(pipeline));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", System.currentTimeMillis());
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("results", results);
+        String json = GsonUtil.GSON.toJson(report);
+        String output = params.get("output");
+        if (output == null) {
+            System.out.println(json);
+        } else {
+            Files.write(Paths.get(output), json.getBytes(StandardCharsets.UTF_8));
+            LOG.info("write benchmark result to {}", output);
+        }
+
+        String baseline = params.get("baseline");
+        if (baseline != null) {
+            double maxRegression = Double.parseDouble(params.getOrDefault("maxRegression", "0.1"));
+            if (!checkRegression(results, baseline, maxRegression)) {
+                System.exit(1);
+            }
+        }
+    }
+
+    /** Runs the warmup and measured iterations of a pipeline. */
+    public PipelineResult run(String pipeline) throws Exception {
+        if (FILE_TO_STREAM.equals(pipeline) && writtenRecords < 0) {
+            LOG.info("prepare text files for {}", pipeline);
+            runOnce(STREAM_TO_FILE);
+        }
+
+        for (int i = 0; i < warmupIterations; i++) {
+            LOG.info("warmup iteration {} of {}", i + 1, pipeline);
+            runOnce(pipeline);
+        }
+        long[] millis = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            LOG.info("iteration {} of {}", i + 1, pipeline);
+            millis[i] = runOnce(pipeline);
+        }
+
+        long pipelineRecords = FILE_TO_STREAM.equals(pipeline) ? writtenRecords : records * channel;
+        PipelineResult result = new PipelineResult(pipeline, pipelineRecords, channel, millis);
+        LOG.info(
+                "{}: {} records, best {} ms, {} records/s",
+                pipeline,
+                pipelineRecords,
+                result.bestMillis,
+                result.recordsPerSecond);
+        return result;
+    }
+
+    /** @return elapsed millis of the job */
+    private long runOnce(String pipeline) throws Exception {
+        String job = loadJob(pipeline);
+        String[] args = {
+            "-mode",
+            "local",
+            "-jobType",
+            "sync",
+            "-jobName",
+            "benchmark-" + pipeline,
+            "-job",
+            URLEncoder.encode(job, StandardCharsets.UTF_8.name())
+        };
+        long start = System.nanoTime();
+        Main.main(args);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        if (STREAM_TO_FILE.equals(pipeline)) {
+            writtenRecords = records * channel;
+        }
+        return millis;
+    }
+
+    private String loadJob(String pipeline) throws IOException {
+        String template;
+        try (InputStream in =
+                PipelineBenchmark.class.getResourceAsStream("/pipelines/" + pipeline + ".json")) {
+            if (in == null) {
+                throw new IOException("job template of " + pipeline + " not found");
+            }
+            template = IOUtils.toString(in, StandardCharsets.UTF_8);
+        }
+
+        List<Long> sliceRecordCount = new ArrayList<>(Collections.nCopies(channel, records));
+        Map<String, String> variables = new HashMap<>();
+        variables.put("sliceRecordCount", GsonUtil.GSON.toJson(sliceRecordCount));
+        variables.put("channel", String.valueOf(channel));
+        variables.put("path", dataPath);
+        for (Map.Entry<String, String> entry : variables.entrySet()) {
+            template = template.replace("${" + entry.getKey() + "}", entry.getValue());
+        }
+        return template;
+    }
+
+    /**
+     * Compares the records per second of each pipeline with a baseline result.
+     *
+     * @return false if any pipeline is slower than the baseline by more than maxRegression
+     */
+    static boolean checkRegression(
+            List<PipelineResult> results, String baselineFile, double maxRegression)
+            throws IOException {
+        String json =
+                new String(Files.readAllBytes(Paths.get(baselineFile)), StandardCharsets.UTF_8);
+        BenchmarkReport baseline = GsonUtil.GSON.fromJson(json, BenchmarkReport.class);
+        Map<String, PipelineResult> baselineResults = new HashMap<>();
+        for (PipelineResult result : baseline.results) {
+            baselineResults.put(result.pipeline, result);
+        }
+
+        boolean passed = true;
+        for (PipelineResult result : results) {
+            PipelineResult old = baselineResults.get(result.pipeline);
+            if (old == null || old.recordsPerSecond <= 0) {
+                continue;
+            }
+            double change = (double) result.recordsPerSecond / old.recordsPerSecond - 1;
+            LOG.info(
+                    "{}: {} records/s, baseline {} records/s, change {}%",
+                    result.pipeline,
+                    result.recordsPerSecond,
+                    old.recordsPerSecond,
+                    String.format("%.1f", change * 100));
+            if (change < -maxRegression) {
+                LOG.error(
+                        "{} regressed more than {}% against {}",
+                        result.pipeline,
+                        maxRegression * 100,
+                        baselineFile);
+                passed = false;
+            }
+        }
+        return passed;
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> params = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("-") || i + 1 == args.length) {
+                throw new IllegalArgumentException("arguments must be -name value pairs");
+            }
+            params.put(args[i].substring(1), args[++i]);
+        }
+        return params;
+    }
+
+    /** Result of one pipeline. */
+    public static class PipelineResult {
+        String pipeline;
+        long records;
+        int channel;
+        long[] millis;
+        long bestMillis;
+        long recordsPerSecond;
+
+        PipelineResult(String pipeline, long records, int channel, long[] millis) {
+            this.pipeline = pipeline;
+            this.records = records;
+            this.channel = channel;
+            this.millis = millis;
+            this.bestMillis = Arrays.stream(millis).min().orElse(0);
+            this.recordsPerSecond = bestMillis > 0 ? records * 1000 / bestMillis : 0;
+        }
+    }
+
+    /** The json written by {@link #main(String[])}, only the results are read back. */
+    static class BenchmarkReport {
+        List<PipelineResult> results;
+    }
+}
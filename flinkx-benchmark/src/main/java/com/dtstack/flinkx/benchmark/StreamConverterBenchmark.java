@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.flinkx.benchmark;
+
+import com.dtstack.flinkx.conf.FieldConf;
+import com.dtstack.flinkx.connector.stream.conf.StreamConf;
+import com.dtstack.flinkx.connector.stream.converter.StreamColumnConverter;
+import com.dtstack.flinkx.connector.stream.converter.StreamRowConverter;
+import com.dtstack.flinkx.connector.stream.util.CycledDataGenerator;
+
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.BooleanType;
+import org.apache.flink.table.types.logical.DateType;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.DoubleType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.TimestampType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows generated per second by the converters of the stream source, with values mocked by
+ * JMockData for every row or cycled from the values generated in advance.
+ *
+ * <pre>
+ * java -jar flinkx-benchmarks.jar StreamConverterBenchmark -rf json -rff result.json
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StreamConverterBenchmark {
+
+    private static final String[] COLUMN_TYPES = {
+        "id", "int", "long", "double", "decimal", "boolean", "string", "string", "timestamp", "date"
+    };
+
+    @Param({StreamConf.MOCK_MODE_RANDOM, StreamConf.MOCK_MODE_CYCLE})
+    public String mockMode;
+
+    private StreamColumnConverter columnConverter;
+    private StreamRowConverter rowConverter;
+    private RowData rowInput;
+
+    @Setup
+    public void setup() {
+        int cyclePoolSize =
+                StreamConf.MOCK_MODE_CYCLE.equals(mockMode)
+                        ? CycledDataGenerator.DEFAULT_POOL_SIZE
+                        : 0;
+
+        List<FieldConf> fieldConfList = new ArrayList<>();
+        for (int i = 0; i < COLUMN_TYPES.length; i++) {
+            FieldConf fieldConf = new FieldConf();
+            fieldConf.setName("col_" + i);
+            fieldConf.setType(COLUMN_TYPES[i]);
+            fieldConfList.add(fieldConf);
+        }
+        StreamConf streamConf = new StreamConf();
+        streamConf.setColumn(fieldConfList);
+        columnConverter = new StreamColumnConverter(streamConf, cyclePoolSize);
+
+        RowType rowType =
+                RowType.of(
+                        new BigIntType(),
+                        new IntType(),
+                        new BigIntType(),
+                        new DoubleType(),
+                        new DecimalType(18, 4),
+                        new BooleanType(),
+                        new VarCharType(VarCharType.MAX_LENGTH),
+                        new VarCharType(VarCharType.MAX_LENGTH),
+                        new TimestampType(3),
+                        new DateType());
+        rowConverter = new StreamRowConverter(rowType, cyclePoolSize);
+        rowInput = new GenericRowData(rowType.getFieldCount());
+    }
+
+    @Benchmark
+    public RowData columnRow() throws Exception {
+        return columnConverter.toInternal(null);
+    }
+
+    @Benchmark
+    public RowData genericRow() throws Exception {
+        return rowConverter.toInternal(rowInput);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.flinkx.connector.clickhouse.conf;
+
+import com.dtstack.flinkx.connector.jdbc.conf.JdbcConf;
+
+/** ClickHouse writer configuration, adds the options of the RowBinary write path. */
+public class ClickhouseConf extends JdbcConf {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 是否使用 RowBinary 格式通过 HTTP 批量写入，仅 insert 模式生效 */
+    private boolean useRowBinary = false;
+    /** 写入数据的压缩方式，支持 gzip、none */
+    private String compression = "gzip";
+    /** 单个 block 未压缩的字节数上限，达到后发送到 ClickHouse，尽量与 part 大小对齐 */
+    private long blockSizeBytes = 64 * 1024 * 1024L;
+    /** block 最长缓存时间，单位毫秒 */
+    private long blockIntervalMills = 60 * 1000L;
+    /** 写入分布式表时，是否根据 sharding key 直接写入各个分片的本地表 */
+    private boolean writeToLocalTable = false;
+
+    public boolean isUseRowBinary() {
+        return useRowBinary;
+    }
+
+    public void setUseRowBinary(boolean useRowBinary) {
+        this.useRowBinary = useRowBinary;
+    }
+
+    public String getCompression() {
+        return compression;
+    }
+
+    public void setCompression(String compression) {
+        this.compression = compression;
+    }
+
+    public long getBlockSizeBytes() {
+        return blockSizeBytes;
+    }
+
+    public void setBlockSizeBytes(long blockSizeBytes) {
+        this.blockSizeBytes = blockSizeBytes;
+    }
+
+    public long getBlockIntervalMills() {
+        return blockIntervalMills;
+    }
+
+    public void setBlockIntervalMills(long blockIntervalMills) {
+        this.blockIntervalMills = blockIntervalMills;
+    }
+
+    public boolean isWriteToLocalTable() {
+        return writeToLocalTable;
+    }
+
+    public void setWriteToLocalTable(boolean writeToLocalTable) {
+        this.writeToLocalTable = writeToLocalTable;
+    }
+
+    @Override
+    public String toString() {
+        return "ClickhouseConf{"
+                + "useRowBinary="
+                + useRowBinary
+                + ", compression='"
+                + compression
+                + '\''
+                + ", blockSizeBytes="
+                + blockSizeBytes
+                + ", blockIntervalMills="
+                + blockIntervalMills
+                + ", writeToLocalTable="
+                + writeToLocalTable
+                + '}';
+    }
+}
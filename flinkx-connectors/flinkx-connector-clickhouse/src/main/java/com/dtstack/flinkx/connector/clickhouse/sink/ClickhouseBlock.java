@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.flinkx.connector.clickhouse.sink;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * An insert block of RowBinary rows for one target table. Rows are compressed as they are
+ * appended, so the heap holds the compressed block instead of the buffered {@code RowData}.
+ */
+public class ClickhouseBlock {
+
+    public static final String COMPRESSION_GZIP = "gzip";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final boolean gzip;
+    private final ExposedByteArrayOutputStream bytes;
+    private OutputStream out;
+    private long rawBytes;
+    private long rows;
+    private long createTime;
+    private boolean finished;
+
+    public ClickhouseBlock(String compression) throws IOException {
+        this.gzip = COMPRESSION_GZIP.equalsIgnoreCase(compression);
+        this.bytes = new ExposedByteArrayOutputStream(BUFFER_SIZE);
+        reset();
+    }
+
+    public void append(RowBinaryBuffer row) throws IOException {
+        if (rows == 0) {
+            createTime = System.currentTimeMillis();
+        }
+        row.writeTo(out);
+        rawBytes += row.size();
+        rows++;
+    }
+
+    /** Finish the block, no more rows can be appended until it is reset. */
+    public void finish() throws IOException {
+        if (!finished) {
+            out.close();
+            finished = true;
+        }
+    }
+
+    /** Write the finished block, can be called repeatedly to retry on another replica. */
+    public void writeTo(OutputStream target) throws IOException {
+        finish();
+        target.write(bytes.buffer(), 0, bytes.size());
+    }
+
+    public void reset() throws IOException {
+        bytes.reset();
+        out = gzip ? new FastGZIPOutputStream(bytes) : bytes;
+        rawBytes = 0;
+        rows = 0;
+        finished = false;
+    }
+
+    public boolean isGzip() {
+        return gzip;
+    }
+
+    public long getRawBytes() {
+        return rawBytes;
+    }
+
+    /** Size of the block on the wire, only complete after {@link #finish()}. */
+    public long getCompressedBytes() {
+        return bytes.size();
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getCreateTime() {
+        return createTime;
+    }
+
+    /** Expose the internal buffer to avoid copying the whole block on send. */
+    private static class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+        ExposedByteArrayOutputStream(int size) {
+            super(size);
+        }
+
+        byte[] buffer() {
+            return buf;
+        }
+    }
+
+    /** Favor speed over ratio, the block is compressed on the task thread. */
+    private static class FastGZIPOutputStream extends GZIPOutputStream {
+        FastGZIPOutputStream(OutputStream out) throws IOException {
+            super(out, BUFFER_SIZE);
+            def.setLevel(Deflater.BEST_SPEED);
+        }
+    }
+}
@@ -18,11 +18,29 @@
 
 package com.dtstack.flinkx.connector.clickhouse.sink;
 
+import com.dtstack.flinkx.connector.clickhouse.conf.ClickhouseConf;
 import com.dtstack.flinkx.connector.clickhouse.util.ClickhouseUtil;
 import com.dtstack.flinkx.connector.jdbc.sink.JdbcOutputFormat;
+import com.dtstack.flinkx.element.ColumnRowData;
+import com.dtstack.flinkx.enums.EWriteMode;
+import com.dtstack.flinkx.restore.FormatState;
+import com.dtstack.flinkx.throwable.FlinkxRuntimeException;
+import com.dtstack.flinkx.throwable.UnsupportedTypeException;
+import com.dtstack.flinkx.throwable.WriteRecordException;
+import com.dtstack.flinkx.util.ExceptionUtil;
 
+import org.apache.flink.table.data.RowData;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.net.URL;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * @program: flinkx
@@ -31,9 +49,223 @@ import java.sql.SQLException;
  */
 public class ClickhouseOutputFormat extends JdbcOutputFormat {
 
+    private static final int ROW_BUFFER_SIZE = 1024;
+
+    private static final int DEFAULT_HTTP_PORT = 8123;
+
+    /** RowBinary write path, null when rows are written through jdbc */
+    private transient ClickhouseShardRouter router;
+
+    private transient ClickhouseRowBinaryEncoder encoder;
+    private transient RowBinaryBuffer rowBuffer;
+    private transient ClickhouseBlock[] blocks;
+    private transient String database;
+    private transient String insertColumns;
+
     @Override
     protected Connection getConnection() throws SQLException {
         return ClickhouseUtil.getConnection(
                 jdbcConf.getJdbcUrl(), jdbcConf.getUsername(), jdbcConf.getPassword());
     }
+
+    @Override
+    protected void openInternal(int taskNumber, int numTasks) {
+        // rowConverter is only set in advance when rows are not ColumnRowData
+        boolean columnRowData = rowConverter == null;
+        super.openInternal(taskNumber, numTasks);
+        if (!(jdbcConf instanceof ClickhouseConf)
+                || !((ClickhouseConf) jdbcConf).isUseRowBinary()) {
+            return;
+        }
+        if (!columnRowData || !EWriteMode.INSERT.name().equalsIgnoreCase(jdbcConf.getMode())) {
+            LOG.warn("RowBinary is only supported in insert mode of sync job, write by jdbc");
+            return;
+        }
+        try {
+            openRowBinaryWriter((ClickhouseConf) jdbcConf);
+        } catch (UnsupportedTypeException e) {
+            LOG.warn("{}, write by jdbc", e.getMessage());
+        } catch (SQLException | IOException e) {
+            throw new FlinkxRuntimeException("open RowBinary writer failed", e);
+        }
+    }
+
+    private void openRowBinaryWriter(ClickhouseConf conf) throws SQLException, IOException {
+        database =
+                StringUtils.isNotBlank(conf.getSchema())
+                        ? conf.getSchema()
+                        : ClickhouseUtil.getCurrentDatabase(dbConn);
+        Map<String, String> tableColumns =
+                ClickhouseUtil.getColumnTypes(dbConn, database, conf.getTable());
+        List<String> columnTypes = new ArrayList<>(columnNameList.size());
+        for (String columnName : columnNameList) {
+            String type = tableColumns.get(columnName);
+            if (type == null) {
+                throw new FlinkxRuntimeException(
+                        String.format(
+                                "column [%s] not found in table [%s.%s]",
+                                columnName, database, conf.getTable()));
+            }
+            columnTypes.add(type);
+        }
+        encoder = new ClickhouseRowBinaryEncoder(columnTypes);
+        insertColumns =
+                columnNameList.stream().map(c -> "`" + c + "`").collect(Collectors.joining(","));
+
+        List<String> endpoints = ClickhouseUtil.getHttpEndpoints(conf.getJdbcUrl());
+        if (conf.isWriteToLocalTable()) {
+            URL first = new URL(endpoints.get(0));
+            router =
+                    ClickhouseShardRouter.distributed(
+                            dbConn,
+                            database,
+                            conf.getTable(),
+                            endpoints,
+                            first.getProtocol() + "://",
+                            first.getPort() == -1 ? DEFAULT_HTTP_PORT : first.getPort(),
+                            columnNameList,
+                            tableColumns,
+                            taskNumber);
+        } else {
+            router = ClickhouseShardRouter.single(endpoints, "`" + conf.getTable() + "`");
+        }
+
+        rowBuffer = new RowBinaryBuffer(ROW_BUFFER_SIZE);
+        blocks = new ClickhouseBlock[router.getTargets().size()];
+        for (int i = 0; i < blocks.length; i++) {
+            blocks[i] = new ClickhouseBlock(conf.getCompression());
+        }
+        LOG.info(
+                "write by RowBinary, targets = {}, column types = {}",
+                router.getTargets().size(),
+                columnTypes);
+    }
+
+    /**
+     * Encode the buffered rows into the insert blocks. A block is only sent when it is large
+     * enough, too old, or on checkpoint and close, so ClickHouse receives few large parts. Rows are
+     * counted as written when their block is acknowledged by the server.
+     */
+    @Override
+    protected synchronized void writeRecordInternal() {
+        if (router == null) {
+            super.writeRecordInternal();
+            return;
+        }
+        if (!flushEnable.get()) {
+            return;
+        }
+        try {
+            for (RowData row : rows) {
+                ColumnRowData columnRowData = (ColumnRowData) row;
+                int target;
+                try {
+                    rowBuffer.reset();
+                    encoder.encode(columnRowData, rowBuffer);
+                    target = router.route(columnRowData);
+                } catch (Exception e) {
+                    dirtyManager.collect(
+                            row, new WriteRecordException(e.getMessage(), e, 0, row), null);
+                    continue;
+                }
+                blocks[target].append(rowBuffer);
+                lastRow = row;
+            }
+            flushBlocks(false);
+        } catch (IOException e) {
+            throw new FlinkxRuntimeException("write RowBinary block failed", e);
+        } finally {
+            rows.clear();
+        }
+    }
+
+    private void flushBlocks(boolean force) throws IOException {
+        ClickhouseConf conf = (ClickhouseConf) jdbcConf;
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < blocks.length; i++) {
+            ClickhouseBlock block = blocks[i];
+            if (block.getRows() == 0) {
+                continue;
+            }
+            if (force
+                    || block.getRawBytes() >= conf.getBlockSizeBytes()
+                    || now - block.getCreateTime() >= conf.getBlockIntervalMills()) {
+                sendBlock(router.getTargets().get(i), block);
+                numWriteCounter.add(block.getRows());
+                block.reset();
+                router.onBlockSent(i);
+            }
+        }
+    }
+
+    /** Send the block to the first replica that accepts it. */
+    private void sendBlock(ClickhouseShardRouter.Target target, ClickhouseBlock block)
+            throws IOException {
+        String query =
+                String.format(
+                        "INSERT INTO %s (%s) FORMAT RowBinary", target.getTable(), insertColumns);
+        int timeout = Math.max(jdbcConf.getConnectTimeOut(), 60) * 1000;
+        IOException lastException = null;
+        for (String endpoint : target.getEndpoints()) {
+            try {
+                long start = System.currentTimeMillis();
+                ClickhouseUtil.insert(
+                        endpoint,
+                        database,
+                        query,
+                        jdbcConf.getUsername(),
+                        jdbcConf.getPassword(),
+                        block,
+                        timeout);
+                LOG.info(
+                        "send block to [{}] {}, rows = {}, bytes = {}, compressed = {}, cost {} ms",
+                        endpoint,
+                        target.getTable(),
+                        block.getRows(),
+                        block.getRawBytes(),
+                        block.getCompressedBytes(),
+                        System.currentTimeMillis() - start);
+                return;
+            } catch (IOException e) {
+                LOG.warn(
+                        "send block to [{}] failed, {}",
+                        endpoint,
+                        ExceptionUtil.getErrorMessage(e));
+                lastException = e;
+            }
+        }
+        throw lastException;
+    }
+
+    @Override
+    public synchronized FormatState getFormatState() throws Exception {
+        // send the buffered rows first, so the snapshot counts them as written
+        if (router != null) {
+            writeRecordInternal();
+            flushBlocks(true);
+        }
+        return super.getFormatState();
+    }
+
+    @Override
+    public void preCommit() throws Exception {
+        if (router == null) {
+            super.preCommit();
+            return;
+        }
+        writeRecordInternal();
+        flushBlocks(true);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            if (router != null && !closed) {
+                writeRecordInternal();
+                flushBlocks(true);
+            }
+        } finally {
+            super.close();
+        }
+    }
 }
@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.flinkx.connector.clickhouse.sink;
+
+import com.dtstack.flinkx.element.AbstractBaseColumn;
+import com.dtstack.flinkx.element.ColumnRowData;
+import com.dtstack.flinkx.element.column.BytesColumn;
+import com.dtstack.flinkx.throwable.UnsupportedTypeException;
+
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Encode {@link ColumnRowData} into ClickHouse RowBinary format. One encoder is built per column
+ * from the ClickHouse column type when the writer opens, so no type dispatch happens per row.
+ */
+public class ClickhouseRowBinaryEncoder implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Pattern ENUM_ITEM =
+            Pattern.compile("'((?:[^'\\\\]|\\\\.)*)'\\s*=\\s*(-?\\d+)");
+
+    private static final String NULLABLE = "Nullable";
+    private static final String LOW_CARDINALITY = "LowCardinality";
+
+    private final FieldEncoder[] encoders;
+
+    public ClickhouseRowBinaryEncoder(List<String> columnTypes) {
+        this.encoders = new FieldEncoder[columnTypes.size()];
+        for (int i = 0; i < columnTypes.size(); i++) {
+            encoders[i] = createEncoder(columnTypes.get(i));
+        }
+    }
+
+    public void encode(ColumnRowData row, RowBinaryBuffer buffer) {
+        if (row.getArity() != encoders.length) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "row arity [%s] does not match column size [%s]",
+                            row.getArity(), encoders.length));
+        }
+        for (int i = 0; i < encoders.length; i++) {
+            encoders[i].encode(row.getField(i), buffer);
+        }
+    }
+
+    static FieldEncoder createEncoder(String type) {
+        String realType = type.trim();
+        if (typeName(realType).equals(LOW_CARDINALITY)) {
+            realType = typeArgs(realType);
+        }
+        if (typeName(realType).equals(NULLABLE)) {
+            FieldEncoder encoder = createNotNullEncoder(typeArgs(realType));
+            return (column, buffer) -> {
+                if (isNull(column)) {
+                    buffer.writeByte(1);
+                } else {
+                    buffer.writeByte(0);
+                    encoder.encode(column, buffer);
+                }
+            };
+        }
+        FieldEncoder encoder = createNotNullEncoder(realType);
+        return (column, buffer) -> {
+            if (isNull(column)) {
+                throw new IllegalArgumentException(
+                        "null value for not nullable column of type " + type);
+            }
+            encoder.encode(column, buffer);
+        };
+    }
+
+    private static FieldEncoder createNotNullEncoder(String type) {
+        switch (typeName(type)) {
+            case "Bool":
+            case "Boolean":
+                return (column, buffer) -> buffer.writeByte(column.asBoolean() ? 1 : 0);
+            case "Int8":
+            case "UInt8":
+                return (column, buffer) -> buffer.writeByte(column.asLong().intValue());
+            case "Int16":
+            case "UInt16":
+                return (column, buffer) -> buffer.writeShort(column.asLong().intValue());
+            case "Int32":
+            case "UInt32":
+                return (column, buffer) -> buffer.writeInt((int) column.asLong().longValue());
+            case "Int64":
+                return (column, buffer) -> buffer.writeLong(column.asLong());
+            case "UInt64":
+                return bigIntegerEncoder(8);
+            case "Int128":
+            case "UInt128":
+                return bigIntegerEncoder(16);
+            case "Int256":
+            case "UInt256":
+                return bigIntegerEncoder(32);
+            case "Float32":
+                return (column, buffer) -> buffer.writeFloat(column.asFloat());
+            case "Float64":
+                return (column, buffer) -> buffer.writeDouble(column.asDouble());
+            case "String":
+                return (column, buffer) -> buffer.writeBytes(toBytes(column));
+            case "FixedString":
+                int length = Integer.parseInt(typeArgs(type).trim());
+                return (column, buffer) -> buffer.writeFixedBytes(toBytes(column), length);
+            case "UUID":
+                return (column, buffer) -> {
+                    UUID uuid = UUID.fromString(column.asString());
+                    buffer.writeLong(uuid.getMostSignificantBits());
+                    buffer.writeLong(uuid.getLeastSignificantBits());
+                };
+            case "Date":
+                return (column, buffer) ->
+                        buffer.writeShort((int) column.asSqlDate().toLocalDate().toEpochDay());
+            case "Date32":
+                return (column, buffer) ->
+                        buffer.writeInt((int) column.asSqlDate().toLocalDate().toEpochDay());
+            case "DateTime":
+                return (column, buffer) ->
+                        buffer.writeInt(
+                                (int) Math.floorDiv(column.asTimestamp().getTime(), 1000L));
+            case "DateTime64":
+                return dateTime64Encoder(Integer.parseInt(typeArgs(type).split(",")[0].trim()));
+            case "Decimal":
+                String[] precisionAndScale = typeArgs(type).split(",");
+                int precision = Integer.parseInt(precisionAndScale[0].trim());
+                return decimalEncoder(
+                        decimalWidth(precision), Integer.parseInt(precisionAndScale[1].trim()));
+            case "Decimal32":
+                return decimalEncoder(4, Integer.parseInt(typeArgs(type).trim()));
+            case "Decimal64":
+                return decimalEncoder(8, Integer.parseInt(typeArgs(type).trim()));
+            case "Decimal128":
+                return decimalEncoder(16, Integer.parseInt(typeArgs(type).trim()));
+            case "Decimal256":
+                return decimalEncoder(32, Integer.parseInt(typeArgs(type).trim()));
+            case "Enum8":
+                Map<String, Integer> enum8 = parseEnum(type);
+                return (column, buffer) -> buffer.writeByte(enumValue(enum8, column, type));
+            case "Enum16":
+                Map<String, Integer> enum16 = parseEnum(type);
+                return (column, buffer) -> buffer.writeShort(enumValue(enum16, column, type));
+            default:
+                throw new UnsupportedTypeException(type);
+        }
+    }
+
+    private static FieldEncoder bigIntegerEncoder(int width) {
+        return (column, buffer) ->
+                buffer.writeBigInteger(column.asBigDecimal().toBigInteger(), width);
+    }
+
+    private static FieldEncoder decimalEncoder(int width, int scale) {
+        return (column, buffer) -> {
+            BigInteger unscaled =
+                    column.asBigDecimal().setScale(scale, RoundingMode.HALF_UP).unscaledValue();
+            buffer.writeBigInteger(unscaled, width);
+        };
+    }
+
+    private static FieldEncoder dateTime64Encoder(int precision) {
+        long multiplier = (long) Math.pow(10, precision);
+        long divisor = (long) Math.pow(10, 9 - precision);
+        return (column, buffer) -> {
+            Timestamp timestamp = column.asTimestamp();
+            long seconds = Math.floorDiv(timestamp.getTime(), 1000L);
+            buffer.writeLong(seconds * multiplier + timestamp.getNanos() / divisor);
+        };
+    }
+
+    private static int decimalWidth(int precision) {
+        if (precision <= 9) {
+            return 4;
+        } else if (precision <= 18) {
+            return 8;
+        } else if (precision <= 38) {
+            return 16;
+        }
+        return 32;
+    }
+
+    private static Map<String, Integer> parseEnum(String type) {
+        Map<String, Integer> values = new HashMap<>();
+        Matcher matcher = ENUM_ITEM.matcher(typeArgs(type));
+        while (matcher.find()) {
+            values.put(matcher.group(1).replace("\\'", "'"), Integer.parseInt(matcher.group(2)));
+        }
+        return values;
+    }
+
+    private static int enumValue(
+            Map<String, Integer> values, AbstractBaseColumn column, String type) {
+        String name = column.asString();
+        Integer value = values.get(name);
+        if (value == null) {
+            try {
+                value = Integer.parseInt(name);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(
+                        String.format("unknown value [%s] of %s", name, type));
+            }
+        }
+        return value;
+    }
+
+    private static byte[] toBytes(AbstractBaseColumn column) {
+        if (column instanceof BytesColumn) {
+            return column.asBytes();
+        }
+        return column.asString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static boolean isNull(AbstractBaseColumn column) {
+        return column == null || column.getData() == null;
+    }
+
+    /** Return the type name without arguments, e.g. Decimal for Decimal(10, 2). */
+    private static String typeName(String type) {
+        int left = type.indexOf('(');
+        return left < 0 ? type : type.substring(0, left).trim();
+    }
+
+    /** Return the arguments of a parameterized type, e.g. 10, 2 for Decimal(10, 2). */
+    private static String typeArgs(String type) {
+        int left = type.indexOf('(');
+        int right = type.lastIndexOf(')');
+        if (left < 0 || right < left) {
+            throw new UnsupportedTypeException(type);
+        }
+        return type.substring(left + 1, right);
+    }
+
+    /** Write a single field into the row buffer. */
+    @FunctionalInterface
+    interface FieldEncoder extends Serializable {
+        void encode(AbstractBaseColumn column, RowBinaryBuffer buffer);
+    }
+}
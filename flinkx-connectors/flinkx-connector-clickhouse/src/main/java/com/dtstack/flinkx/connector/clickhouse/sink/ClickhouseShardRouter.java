@@ -0,0 +1,241 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.flinkx.connector.clickhouse.sink;
+
+import com.dtstack.flinkx.element.AbstractBaseColumn;
+import com.dtstack.flinkx.element.ColumnRowData;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Decide which table every row is inserted into. Without routing all rows go to the configured
+ * table. When writing a Distributed table into its shard local tables, rows are routed by the
+ * sharding key the same way ClickHouse does for a plain integer column: the remainder of the key
+ * divided by the total shard weight. Any other sharding expression (such as rand()) can not be
+ * evaluated here, so whole blocks are sent to the shards in turn instead.
+ */
+public class ClickhouseShardRouter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ClickhouseShardRouter.class);
+
+    /** Distributed(cluster, database, table[, sharding_key[, policy_name]]) */
+    private static final Pattern DISTRIBUTED_ENGINE =
+            Pattern.compile(
+                    "^Distributed\\(\\s*([^,]+?)\\s*,\\s*([^,]+?)\\s*,\\s*([^,)]+?)\\s*"
+                            + "(?:,\\s*([^,()]+(?:\\([^()]*\\))?)\\s*)?[,)]");
+
+    private static final Pattern INTEGER_TYPE =
+            Pattern.compile("^(?:LowCardinality\\()?(?:Nullable\\()?U?Int(8|16|32|64)\\)*$");
+
+    private final List<Target> targets;
+    /** index of the sharding key in the row, -1 when rows can not be routed one by one */
+    private final int keyIndex;
+    /** ClickHouse takes the key as the unsigned integer of the same width */
+    private final long keyMask;
+    /** shard index for every slot of the total weight */
+    private final int[] slots;
+
+    private int current;
+
+    private ClickhouseShardRouter(
+            List<Target> targets, int keyIndex, long keyMask, int[] slots, int start) {
+        this.targets = targets;
+        this.keyIndex = keyIndex;
+        this.keyMask = keyMask;
+        this.slots = slots;
+        this.current = start % targets.size();
+    }
+
+    /** Route every row into the configured table. */
+    public static ClickhouseShardRouter single(List<String> endpoints, String table) {
+        return new ClickhouseShardRouter(
+                Collections.singletonList(new Target(endpoints, table)), -1, -1L, null, 0);
+    }
+
+    /**
+     * Route rows into the local tables of a Distributed table, fall back to the configured table
+     * when it is not a Distributed table.
+     *
+     * @param httpPort http port of the shard hosts, system.clusters only knows the tcp port
+     * @param taskNumber subtask index, spreads the first block of every subtask over the shards
+     */
+    public static ClickhouseShardRouter distributed(
+            Connection conn,
+            String database,
+            String table,
+            List<String> endpoints,
+            String scheme,
+            int httpPort,
+            List<String> columnNames,
+            Map<String, String> columnTypes,
+            int taskNumber)
+            throws SQLException {
+        String engine = queryEngine(conn, database, table);
+        Matcher matcher = engine == null ? null : DISTRIBUTED_ENGINE.matcher(engine);
+        if (matcher == null || !matcher.find()) {
+            LOG.warn(
+                    "table [{}.{}] is not a Distributed table, engine = {}, write to it directly",
+                    database,
+                    table,
+                    engine);
+            return single(endpoints, quote(database) + "." + quote(table));
+        }
+        String cluster = unquote(matcher.group(1));
+        String localDatabase = unquote(matcher.group(2));
+        String localTable = unquote(matcher.group(3));
+        String shardingKey = matcher.group(4) == null ? null : unquote(matcher.group(4));
+
+        Map<Integer, List<String>> shardHosts = new LinkedHashMap<>();
+        Map<Integer, Integer> shardWeights = new LinkedHashMap<>();
+        try (PreparedStatement statement =
+                conn.prepareStatement(
+                        "SELECT shard_num, shard_weight, host_name FROM system.clusters"
+                                + " WHERE cluster = ? ORDER BY shard_num, replica_num")) {
+            statement.setString(1, cluster);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    int shard = rs.getInt(1);
+                    shardWeights.put(shard, rs.getInt(2));
+                    shardHosts
+                            .computeIfAbsent(shard, k -> new ArrayList<>())
+                            .add(scheme + rs.getString(3) + ":" + httpPort);
+                }
+            }
+        }
+        if (shardHosts.isEmpty()) {
+            throw new SQLException("can not find the shards of cluster " + cluster);
+        }
+
+        String insertTable = quote(localDatabase) + "." + quote(localTable);
+        List<Target> targets = new ArrayList<>(shardHosts.size());
+        List<Integer> slotList = new ArrayList<>();
+        for (Map.Entry<Integer, List<String>> entry : shardHosts.entrySet()) {
+            int weight = shardWeights.get(entry.getKey());
+            for (int i = 0; i < weight; i++) {
+                slotList.add(targets.size());
+            }
+            targets.add(new Target(entry.getValue(), insertTable));
+        }
+
+        int keyIndex = shardingKey == null ? -1 : columnNames.indexOf(shardingKey);
+        long keyMask = -1L;
+        if (keyIndex >= 0) {
+            Matcher typeMatcher =
+                    INTEGER_TYPE.matcher(columnTypes.get(columnNames.get(keyIndex)));
+            if (typeMatcher.matches()) {
+                int bits = Integer.parseInt(typeMatcher.group(1));
+                keyMask = bits == Long.SIZE ? -1L : (1L << bits) - 1;
+            } else {
+                keyIndex = -1;
+            }
+        }
+        LOG.info(
+                "write Distributed table [{}.{}] into [{}] of {} shards, sharding key = {}, route by row = {}",
+                database,
+                table,
+                insertTable,
+                targets.size(),
+                shardingKey,
+                keyIndex >= 0);
+        int[] slots = slotList.stream().mapToInt(Integer::intValue).toArray();
+        return new ClickhouseShardRouter(targets, keyIndex, keyMask, slots, taskNumber);
+    }
+
+    /** Return the index of the target the row should be inserted into. */
+    public int route(ColumnRowData row) {
+        if (keyIndex < 0 || slots.length == 0) {
+            return current;
+        }
+        AbstractBaseColumn key = row.getField(keyIndex);
+        if (key == null || key.getData() == null) {
+            return current;
+        }
+        return slots[(int) Long.remainderUnsigned(key.asLong() & keyMask, slots.length)];
+    }
+
+    /** A block of the given target has been sent, blocks without row routing rotate shards. */
+    public void onBlockSent(int target) {
+        if (keyIndex < 0 && target == current) {
+            current = (current + 1) % targets.size();
+        }
+    }
+
+    public List<Target> getTargets() {
+        return targets;
+    }
+
+    private static String queryEngine(Connection conn, String database, String table)
+            throws SQLException {
+        try (PreparedStatement statement =
+                conn.prepareStatement(
+                        "SELECT engine_full FROM system.tables WHERE database = ? AND name = ?")) {
+            statement.setString(1, database);
+            statement.setString(2, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    private static String unquote(String value) {
+        String trimmed = value.trim();
+        if (trimmed.length() > 1
+                && (trimmed.charAt(0) == '\'' || trimmed.charAt(0) == '`')
+                && trimmed.charAt(trimmed.length() - 1) == trimmed.charAt(0)) {
+            return trimmed.substring(1, trimmed.length() - 1);
+        }
+        return trimmed;
+    }
+
+    private static String quote(String identifier) {
+        return "`" + identifier + "`";
+    }
+
+    /** A table to insert into and the endpoints of its replicas. */
+    public static class Target {
+        private final List<String> endpoints;
+        private final String table;
+
+        public Target(List<String> endpoints, String table) {
+            this.endpoints = endpoints;
+            this.table = table;
+        }
+
+        public List<String> getEndpoints() {
+            return endpoints;
+        }
+
+        public String getTable() {
+            return table;
+        }
+    }
+}
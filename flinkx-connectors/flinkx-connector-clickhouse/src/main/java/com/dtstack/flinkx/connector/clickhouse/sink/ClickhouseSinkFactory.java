@@ -19,7 +19,9 @@
 package com.dtstack.flinkx.connector.clickhouse.sink;
 
 import com.dtstack.flinkx.conf.SyncConf;
+import com.dtstack.flinkx.connector.clickhouse.conf.ClickhouseConf;
 import com.dtstack.flinkx.connector.clickhouse.dialect.ClickhouseDialect;
+import com.dtstack.flinkx.connector.jdbc.conf.JdbcConf;
 import com.dtstack.flinkx.connector.jdbc.sink.JdbcOutputFormatBuilder;
 import com.dtstack.flinkx.connector.jdbc.sink.JdbcSinkFactory;
 
@@ -34,6 +36,11 @@ public class ClickhouseSinkFactory extends JdbcSinkFactory {
         super(syncConf, new ClickhouseDialect());
     }
 
+    @Override
+    protected Class<? extends JdbcConf> getConfClass() {
+        return ClickhouseConf.class;
+    }
+
     @Override
     protected JdbcOutputFormatBuilder getBuilder() {
         return new ClickhouseOutputFormatBuilder(new ClickhouseOutputFormat());
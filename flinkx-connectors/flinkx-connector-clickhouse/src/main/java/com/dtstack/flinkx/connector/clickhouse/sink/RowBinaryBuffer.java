@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.flinkx.connector.clickhouse.sink;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A reusable, growable buffer holding the RowBinary encoding of a single row. All numbers are
+ * written little-endian as required by ClickHouse.
+ */
+public class RowBinaryBuffer {
+
+    private byte[] buf;
+    private int count;
+
+    public RowBinaryBuffer(int initialSize) {
+        this.buf = new byte[initialSize];
+    }
+
+    public void reset() {
+        count = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buf, 0, count);
+    }
+
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        buf[count++] = (byte) value;
+    }
+
+    public void writeShort(int value) {
+        ensureCapacity(2);
+        buf[count++] = (byte) value;
+        buf[count++] = (byte) (value >>> 8);
+    }
+
+    public void writeInt(int value) {
+        ensureCapacity(4);
+        buf[count++] = (byte) value;
+        buf[count++] = (byte) (value >>> 8);
+        buf[count++] = (byte) (value >>> 16);
+        buf[count++] = (byte) (value >>> 24);
+    }
+
+    public void writeLong(long value) {
+        ensureCapacity(8);
+        for (int i = 0; i < 8; i++) {
+            buf[count++] = (byte) (value >>> (i * 8));
+        }
+    }
+
+    public void writeFloat(float value) {
+        writeInt(Float.floatToIntBits(value));
+    }
+
+    public void writeDouble(double value) {
+        writeLong(Double.doubleToLongBits(value));
+    }
+
+    /**
+     * Write a two's complement integer of the given byte width, used by Decimal and the wide
+     * integer types. A positive value that only needs the sign byte beyond the width is accepted so
+     * that the full unsigned range can be written.
+     */
+    public void writeBigInteger(BigInteger value, int width) {
+        byte[] bigEndian = value.toByteArray();
+        boolean unsignedFit = bigEndian.length == width + 1 && bigEndian[0] == 0;
+        if (bigEndian.length > width && !unsignedFit) {
+            throw new IllegalArgumentException(
+                    String.format("value [%s] overflows %s bytes", value, width));
+        }
+        ensureCapacity(width);
+        byte pad = value.signum() < 0 ? (byte) 0xff : 0;
+        for (int i = 0; i < width; i++) {
+            int src = bigEndian.length - 1 - i;
+            buf[count++] = src >= 0 ? bigEndian[src] : pad;
+        }
+    }
+
+    /** LEB128 variable length unsigned integer, used as the length prefix of String. */
+    public void writeVarInt(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buf[count++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf[count++] = (byte) value;
+    }
+
+    public void writeString(String value) {
+        writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public void writeBytes(byte[] value) {
+        writeVarInt(value.length);
+        writeRaw(value, value.length);
+    }
+
+    /** FixedString(N): exactly N bytes, padded with zero bytes. */
+    public void writeFixedBytes(byte[] value, int length) {
+        if (value.length > length) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "value length [%s] exceeds FixedString(%s)", value.length, length));
+        }
+        writeRaw(value, value.length);
+        ensureCapacity(length - value.length);
+        for (int i = value.length; i < length; i++) {
+            buf[count++] = 0;
+        }
+    }
+
+    private void writeRaw(byte[] value, int length) {
+        ensureCapacity(length);
+        System.arraycopy(value, 0, buf, count, length);
+        count += length;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (count + extra > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length << 1, count + extra));
+        }
+    }
+}
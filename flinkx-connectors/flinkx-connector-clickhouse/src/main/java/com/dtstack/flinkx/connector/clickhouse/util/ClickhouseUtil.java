@@ -18,14 +18,30 @@
 
 package com.dtstack.flinkx.connector.clickhouse.util;
 
+import com.dtstack.flinkx.connector.clickhouse.sink.ClickhouseBlock;
 import com.dtstack.flinkx.util.SysUtil;
 
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
 import ru.yandex.clickhouse.BalancedClickhouseDataSource;
 import ru.yandex.clickhouse.settings.ClickHouseQueryParam;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 /**
@@ -36,6 +52,8 @@ import java.util.Properties;
 public class ClickhouseUtil {
     private static final int MAX_RETRY_TIMES = 3;
 
+    private static final String JDBC_PREFIX = "jdbc:clickhouse://";
+
     public static Connection getConnection(String url, String username, String password)
             throws SQLException {
         Properties properties = new Properties();
@@ -69,4 +87,133 @@ public class ClickhouseUtil {
 
         return conn;
     }
+
+    /**
+     * Parse the HTTP endpoints from a jdbc url such as
+     * jdbc:clickhouse://host1:8123,host2:8123/db?ssl=true
+     *
+     * @param url jdbc url
+     * @return endpoints like http://host1:8123
+     */
+    public static List<String> getHttpEndpoints(String url) {
+        if (!url.startsWith(JDBC_PREFIX)) {
+            throw new IllegalArgumentException("invalid clickhouse jdbc url: " + url);
+        }
+        String address = url.substring(JDBC_PREFIX.length());
+        String params = "";
+        int paramStart = address.indexOf('?');
+        if (paramStart >= 0) {
+            params = address.substring(paramStart + 1);
+            address = address.substring(0, paramStart);
+        }
+        int pathStart = address.indexOf('/');
+        if (pathStart >= 0) {
+            address = address.substring(0, pathStart);
+        }
+        String scheme = params.contains("ssl=true") ? "https://" : "http://";
+        List<String> endpoints = new ArrayList<>();
+        for (String hostPort : address.split(",")) {
+            if (StringUtils.isNotBlank(hostPort)) {
+                endpoints.add(scheme + hostPort.trim());
+            }
+        }
+        return endpoints;
+    }
+
+    public static String getCurrentDatabase(Connection conn) throws SQLException {
+        try (Statement statement = conn.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT currentDatabase()")) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    /**
+     * Query the exact ClickHouse column types, including Nullable and LowCardinality wrappers that
+     * are not visible through the jdbc metadata.
+     *
+     * @return column name to column type, in table order
+     */
+    public static Map<String, String> getColumnTypes(
+            Connection conn, String database, String table) throws SQLException {
+        Map<String, String> columnTypes = new LinkedHashMap<>();
+        try (PreparedStatement statement =
+                conn.prepareStatement(
+                        "SELECT name, type FROM system.columns WHERE database = ? AND table = ?"
+                                + " ORDER BY position")) {
+            statement.setString(1, database);
+            statement.setString(2, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    columnTypes.put(rs.getString(1), rs.getString(2));
+                }
+            }
+        }
+        return columnTypes;
+    }
+
+    /**
+     * Send a finished block to ClickHouse through the HTTP interface.
+     *
+     * @param endpoint like http://host:8123
+     * @param database default database of the query
+     * @param query insert statement ending with FORMAT RowBinary
+     * @param block block to send
+     * @param timeout connect and read timeout, in milliseconds
+     */
+    public static void insert(
+            String endpoint,
+            String database,
+            String query,
+            String username,
+            String password,
+            ClickhouseBlock block,
+            int timeout)
+            throws IOException {
+        URL url =
+                new URL(
+                        endpoint
+                                + "/?database="
+                                + URLEncoder.encode(database, StandardCharsets.UTF_8.name())
+                                + "&query="
+                                + URLEncoder.encode(query, StandardCharsets.UTF_8.name()));
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try {
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setConnectTimeout(timeout);
+            connection.setReadTimeout(timeout);
+            block.finish();
+            connection.setFixedLengthStreamingMode(block.getCompressedBytes());
+            connection.setRequestProperty("Content-Type", "application/octet-stream");
+            if (block.isGzip()) {
+                connection.setRequestProperty("Content-Encoding", ClickhouseBlock.COMPRESSION_GZIP);
+            }
+            if (username != null) {
+                connection.setRequestProperty("X-ClickHouse-User", username);
+            }
+            if (password != null) {
+                connection.setRequestProperty("X-ClickHouse-Key", password);
+            }
+            try (OutputStream out = connection.getOutputStream()) {
+                block.writeTo(out);
+            }
+            int code = connection.getResponseCode();
+            if (code != HttpURLConnection.HTTP_OK) {
+                String message;
+                try (InputStream error = connection.getErrorStream()) {
+                    message =
+                            error == null
+                                    ? connection.getResponseMessage()
+                                    : IOUtils.toString(error, StandardCharsets.UTF_8);
+                }
+                throw new IOException(
+                        String.format(
+                                "insert into [%s] failed, code = %s, %s", endpoint, code, message));
+            }
+            IOUtils.closeQuietly(connection.getInputStream());
+        } finally {
+            connection.disconnect();
+        }
+    }
 }
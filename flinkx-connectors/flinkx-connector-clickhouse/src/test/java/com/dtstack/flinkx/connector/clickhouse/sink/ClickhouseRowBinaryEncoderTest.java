@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.flinkx.connector.clickhouse.sink;
+
+import com.dtstack.flinkx.element.AbstractBaseColumn;
+import com.dtstack.flinkx.element.ColumnRowData;
+import com.dtstack.flinkx.element.column.BigDecimalColumn;
+import com.dtstack.flinkx.element.column.NullColumn;
+import com.dtstack.flinkx.element.column.StringColumn;
+import com.dtstack.flinkx.element.column.TimestampColumn;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Collections;
+
+public class ClickhouseRowBinaryEncoderTest {
+
+    @Test
+    public void testNullable() throws IOException {
+        Assert.assertArrayEquals(bytes(1), encode("Nullable(Int32)", new NullColumn()));
+        Assert.assertArrayEquals(
+                bytes(0, 5, 0, 0, 0), encode("Nullable(Int32)", new BigDecimalColumn(5)));
+        Assert.assertArrayEquals(
+                bytes(0, 1, 'a'),
+                encode("LowCardinality(Nullable(String))", new StringColumn("a")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullForNotNullable() throws IOException {
+        encode("Int32", new NullColumn());
+    }
+
+    @Test
+    public void testDecimal() throws IOException {
+        // Decimal(10, 2) is stored as Int64 of the value scaled by 100, rounded half up
+        Assert.assertArrayEquals(
+                bytes(0xd3, 0x04, 0, 0, 0, 0, 0, 0),
+                encode("Decimal(10, 2)", new BigDecimalColumn(new BigDecimal("12.345"))));
+        Assert.assertArrayEquals(
+                bytes(0xf1, 0xff, 0xff, 0xff),
+                encode("Decimal(9, 1)", new BigDecimalColumn(new BigDecimal("-1.5"))));
+        Assert.assertArrayEquals(
+                bytes(0x0a, 0, 0, 0),
+                encode("Decimal32(1)", new BigDecimalColumn(new BigDecimal("1"))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecimalOverflow() throws IOException {
+        encode("Decimal(9, 0)", new BigDecimalColumn(new BigDecimal("1e10")));
+    }
+
+    @Test
+    public void testDateTime() throws IOException {
+        Assert.assertArrayEquals(
+                bytes(0x40, 0x42, 0x0f, 0),
+                encode("DateTime", new TimestampColumn(new Timestamp(1_000_000_000L))));
+        // seconds are rounded down before the epoch
+        Assert.assertArrayEquals(
+                bytes(0xfe, 0xff, 0xff, 0xff),
+                encode("DateTime('Asia/Shanghai')", new TimestampColumn(new Timestamp(-1500L))));
+        Timestamp timestamp = new Timestamp(1_000L);
+        timestamp.setNanos(123_456_789);
+        Assert.assertArrayEquals(
+                bytes(0x63, 0x04, 0, 0, 0, 0, 0, 0),
+                encode("DateTime64(3)", new TimestampColumn(timestamp, 3)));
+    }
+
+    @Test
+    public void testString() throws IOException {
+        Assert.assertArrayEquals(
+                bytes(4, 0xe4, 0xb8, 0xad, 'a'), encode("String", new StringColumn("中a")));
+        Assert.assertArrayEquals(bytes(0), encode("String", new StringColumn("")));
+
+        String value = String.join("", Collections.nCopies(200, "x"));
+        byte[] encoded = encode("String", new StringColumn(value));
+        Assert.assertEquals(202, encoded.length);
+        // length 200 is written as LEB128
+        Assert.assertEquals((byte) 0xc8, encoded[0]);
+        Assert.assertEquals((byte) 0x01, encoded[1]);
+        Assert.assertArrayEquals(
+                bytes('a', 'b', 0, 0), encode("FixedString(4)", new StringColumn("ab")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testArityMismatch() {
+        ClickhouseRowBinaryEncoder encoder =
+                new ClickhouseRowBinaryEncoder(Collections.singletonList("String"));
+        encoder.encode(new ColumnRowData(2), new RowBinaryBuffer(16));
+    }
+
+    private static byte[] encode(String type, AbstractBaseColumn column) throws IOException {
+        ClickhouseRowBinaryEncoder encoder =
+                new ClickhouseRowBinaryEncoder(Collections.singletonList(type));
+        ColumnRowData row = new ColumnRowData(1);
+        row.addField(column);
+        RowBinaryBuffer buffer = new RowBinaryBuffer(4);
+        encoder.encode(row, buffer);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        buffer.writeTo(out);
+        return out.toByteArray();
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+}
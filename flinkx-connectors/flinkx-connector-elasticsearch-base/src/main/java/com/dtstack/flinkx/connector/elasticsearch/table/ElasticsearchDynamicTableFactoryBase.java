@@ -12,8 +12,12 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_ASYNC_TIMEOUT;
+import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_BATCH_INTERVAL;
+import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_BATCH_SIZE;
+import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_MAX_BYTES;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_MAX_ROWS;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_PERIOD;
+import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_REFRESH_INTERVAL;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_TTL;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_TYPE;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_ERROR_LIMIT;
@@ -101,6 +105,10 @@ public abstract class ElasticsearchDynamicTableFactoryBase
                 .setErrorLimit(readableConfig.get(LOOKUP_ERROR_LIMIT))
                 .setFetchSize(readableConfig.get(LOOKUP_FETCH_SIZE))
                 .setAsyncTimeout(readableConfig.get(LOOKUP_ASYNC_TIMEOUT))
-                .setParallelism(readableConfig.get(LOOKUP_PARALLELISM));
+                .setParallelism(readableConfig.get(LOOKUP_PARALLELISM))
+                .setBatchSize(readableConfig.get(LOOKUP_BATCH_SIZE))
+                .setBatchInterval(readableConfig.get(LOOKUP_BATCH_INTERVAL))
+                .setCacheMaxBytes(readableConfig.get(LOOKUP_CACHE_MAX_BYTES))
+                .setCacheRefreshInterval(readableConfig.get(LOOKUP_CACHE_REFRESH_INTERVAL));
     }
 }
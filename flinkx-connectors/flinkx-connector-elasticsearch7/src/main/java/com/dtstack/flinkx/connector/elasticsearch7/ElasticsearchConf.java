@@ -78,6 +78,33 @@ public class ElasticsearchConf extends FlinkxCommonConf implements Serializable
     /** Filter condition expression */
     protected Map query;
 
+    /** max estimated bytes of one bulk request */
+    private long bulkFlushMaxBytes = 5 * 1024 * 1024L;
+
+    /** max bulk requests in flight, 0 means waiting for each bulk request */
+    private int concurrentRequests = 1;
+
+    /** backoff of rejected bulk items: DISABLED, CONSTANT or EXPONENTIAL */
+    private String backoffType = "EXPONENTIAL";
+
+    /** max retries of rejected bulk items */
+    private int backoffMaxRetries = 8;
+
+    /** initial backoff delay in milliseconds */
+    private long backoffDelay = 50L;
+
+    /** field used as the routing of documents, bulk requests are grouped by routing if set */
+    private String routingField;
+
+    /** read mode of source: scroll or searchAfter */
+    private String readMode = "scroll";
+
+    /** number of slices read by the source, defaults to the parallelism if not greater than 0 */
+    private int sliceCount;
+
+    /** sort fields of searchAfter mode, _id is appended as the tie breaker */
+    private List<String> sortFields;
+
     public String[] getFieldNames() {
         return fieldNames;
     }
@@ -197,4 +224,76 @@ public class ElasticsearchConf extends FlinkxCommonConf implements Serializable
     public void setQuery(Map query) {
         this.query = query;
     }
+
+    public long getBulkFlushMaxBytes() {
+        return bulkFlushMaxBytes;
+    }
+
+    public void setBulkFlushMaxBytes(long bulkFlushMaxBytes) {
+        this.bulkFlushMaxBytes = bulkFlushMaxBytes;
+    }
+
+    public int getConcurrentRequests() {
+        return concurrentRequests;
+    }
+
+    public void setConcurrentRequests(int concurrentRequests) {
+        this.concurrentRequests = concurrentRequests;
+    }
+
+    public String getBackoffType() {
+        return backoffType;
+    }
+
+    public void setBackoffType(String backoffType) {
+        this.backoffType = backoffType;
+    }
+
+    public int getBackoffMaxRetries() {
+        return backoffMaxRetries;
+    }
+
+    public void setBackoffMaxRetries(int backoffMaxRetries) {
+        this.backoffMaxRetries = backoffMaxRetries;
+    }
+
+    public long getBackoffDelay() {
+        return backoffDelay;
+    }
+
+    public void setBackoffDelay(long backoffDelay) {
+        this.backoffDelay = backoffDelay;
+    }
+
+    public String getRoutingField() {
+        return routingField;
+    }
+
+    public void setRoutingField(String routingField) {
+        this.routingField = routingField;
+    }
+
+    public String getReadMode() {
+        return readMode;
+    }
+
+    public void setReadMode(String readMode) {
+        this.readMode = readMode;
+    }
+
+    public int getSliceCount() {
+        return sliceCount;
+    }
+
+    public void setSliceCount(int sliceCount) {
+        this.sliceCount = sliceCount;
+    }
+
+    public List<String> getSortFields() {
+        return sortFields;
+    }
+
+    public void setSortFields(List<String> sortFields) {
+        this.sortFields = sortFields;
+    }
 }
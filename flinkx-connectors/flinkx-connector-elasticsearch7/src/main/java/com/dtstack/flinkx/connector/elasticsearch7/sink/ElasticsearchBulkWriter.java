@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.flinkx.connector.elasticsearch7.sink;
+
+import com.dtstack.flinkx.connector.elasticsearch7.ElasticsearchConf;
+import com.dtstack.flinkx.factory.FlinkxThreadFactory;
+import com.dtstack.flinkx.throwable.WriteRecordException;
+
+import org.apache.flink.table.data.RowData;
+
+import org.elasticsearch.ExceptionsHelper;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.rest.RestStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Sends bulk requests asynchronously with at most {@code concurrentRequests} bulks in flight.
+ * Documents are grouped by index and routing, and a bulk is cut when it reaches {@code
+ * bulkFlushMaxBytes}. Items rejected by a full write queue (429) are sent again with backoff, other
+ * failed items are queued by the client threads and handed to the failure handler by the thread
+ * adding documents, in {@link #sendBuffered()} and {@link #flush()}.
+ *
+ * <p>With more than one bulk in flight, a document may be applied before an earlier write of the
+ * same id that is still being retried.
+ */
+public class ElasticsearchBulkWriter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ElasticsearchBulkWriter.class);
+
+    private static final String BACKOFF_DISABLED = "DISABLED";
+    private static final String BACKOFF_CONSTANT = "CONSTANT";
+    private static final int MAX_BACKOFF_SHIFT = 16;
+
+    private final RestHighLevelClient client;
+    private final BiConsumer<RowData, Throwable> failureHandler;
+    private final long bulkFlushMaxBytes;
+    private final boolean synchronous;
+    private final int permits;
+    private final Semaphore semaphore;
+    private final String backoffType;
+    private final int backoffMaxRetries;
+    private final long backoffDelay;
+    private final ScheduledExecutorService retryScheduler;
+
+    /** bulks being built, keyed by index and routing */
+    private final Map<String, Bulk> buffers = new HashMap<>();
+
+    /** failed documents not handed to the failure handler yet */
+    private final Queue<Failure> failures = new ConcurrentLinkedQueue<>();
+
+    public ElasticsearchBulkWriter(
+            RestHighLevelClient client,
+            ElasticsearchConf conf,
+            BiConsumer<RowData, Throwable> failureHandler) {
+        this.client = client;
+        this.failureHandler = failureHandler;
+        this.bulkFlushMaxBytes = conf.getBulkFlushMaxBytes();
+        this.synchronous = conf.getConcurrentRequests() <= 0;
+        this.permits = Math.max(conf.getConcurrentRequests(), 1);
+        this.semaphore = new Semaphore(permits);
+        this.backoffType = conf.getBackoffType();
+        this.backoffMaxRetries = conf.getBackoffMaxRetries();
+        this.backoffDelay = conf.getBackoffDelay();
+        this.retryScheduler =
+                new ScheduledThreadPoolExecutor(1, new FlinkxThreadFactory("es-bulk-retry", true));
+    }
+
+    /** Adds a document, sends its bulk if the bulk is full. */
+    public void add(DocWriteRequest<?> request, RowData rowData) throws InterruptedException {
+        String key =
+                request.routing() == null
+                        ? request.index()
+                        : request.index() + "/" + request.routing();
+        Bulk bulk = buffers.computeIfAbsent(key, k -> new Bulk());
+        bulk.add(request, rowData);
+        if (bulkFlushMaxBytes > 0 && bulk.request.estimatedSizeInBytes() >= bulkFlushMaxBytes) {
+            buffers.remove(key);
+            send(bulk);
+        }
+    }
+
+    /** Sends all bulks being built, and handles the documents failed so far. */
+    public void sendBuffered() throws InterruptedException {
+        for (Bulk bulk : buffers.values()) {
+            send(bulk);
+        }
+        buffers.clear();
+        handleFailures();
+    }
+
+    /**
+     * Sends all bulks being built and waits for all bulks in flight, including their retries, then
+     * handles all failed documents.
+     */
+    public void flush() throws InterruptedException {
+        sendBuffered();
+        awaitInFlight();
+        handleFailures();
+    }
+
+    private void handleFailures() {
+        Failure failure;
+        while ((failure = failures.poll()) != null) {
+            failureHandler.accept(failure.rowData, failure.cause);
+        }
+    }
+
+    public void close() throws InterruptedException {
+        try {
+            flush();
+        } finally {
+            retryScheduler.shutdownNow();
+        }
+    }
+
+    private void send(Bulk bulk) throws InterruptedException {
+        semaphore.acquire();
+        execute(bulk, 0);
+        if (synchronous) {
+            awaitInFlight();
+        }
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        semaphore.acquire(permits);
+        semaphore.release(permits);
+    }
+
+    private void execute(Bulk bulk, int attempt) {
+        try {
+            client.bulkAsync(
+                    bulk.request,
+                    RequestOptions.DEFAULT,
+                    new ActionListener<BulkResponse>() {
+                        @Override
+                        public void onResponse(BulkResponse response) {
+                            handleResponse(bulk, response, attempt);
+                        }
+
+                        @Override
+                        public void onFailure(Exception e) {
+                            handleFailure(bulk, e, attempt);
+                        }
+                    });
+        } catch (Exception e) {
+            handleFailure(bulk, e, attempt);
+        }
+    }
+
+    private void handleResponse(Bulk bulk, BulkResponse response, int attempt) {
+        if (!response.hasFailures()) {
+            semaphore.release();
+            return;
+        }
+
+        Bulk rejected = null;
+        BulkItemResponse[] items = response.getItems();
+        for (int i = 0; i < items.length; i++) {
+            BulkItemResponse item = items[i];
+            if (!item.isFailed()) {
+                continue;
+            }
+            if (item.status() == RestStatus.TOO_MANY_REQUESTS && canRetry(attempt)) {
+                if (rejected == null) {
+                    rejected = new Bulk();
+                }
+                rejected.add(bulk.request.requests().get(i), bulk.rows.get(i));
+            } else {
+                failures.add(
+                        new Failure(
+                                bulk.rows.get(i),
+                                new WriteRecordException(
+                                        item.getFailureMessage(), item.getFailure().getCause())));
+            }
+        }
+
+        if (rejected == null) {
+            semaphore.release();
+        } else {
+            retry(rejected, attempt);
+        }
+    }
+
+    private void handleFailure(Bulk bulk, Exception e, int attempt) {
+        if (ExceptionsHelper.status(e) == RestStatus.TOO_MANY_REQUESTS && canRetry(attempt)) {
+            retry(bulk, attempt);
+            return;
+        }
+
+        LOG.error("bulk request of {} documents failed", bulk.rows.size(), e);
+        for (RowData rowData : bulk.rows) {
+            failures.add(new Failure(rowData, e));
+        }
+        semaphore.release();
+    }
+
+    private boolean canRetry(int attempt) {
+        return !BACKOFF_DISABLED.equalsIgnoreCase(backoffType) && attempt < backoffMaxRetries;
+    }
+
+    private void retry(Bulk bulk, int attempt) {
+        long delay =
+                BACKOFF_CONSTANT.equalsIgnoreCase(backoffType)
+                        ? backoffDelay
+                        : backoffDelay << Math.min(attempt, MAX_BACKOFF_SHIFT);
+        LOG.warn(
+                "{} documents are rejected, retry {} in {} ms", bulk.rows.size(), attempt + 1, delay);
+        try {
+            retryScheduler.schedule(() -> execute(bulk, attempt + 1), delay, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            handleFailure(bulk, e, backoffMaxRetries);
+        }
+    }
+
+    /** A failed document and its cause. */
+    private static class Failure {
+        private final RowData rowData;
+        private final Throwable cause;
+
+        private Failure(RowData rowData, Throwable cause) {
+            this.rowData = rowData;
+            this.cause = cause;
+        }
+    }
+
+    /** A bulk request and the rows of its documents, in the same order. */
+    private static class Bulk {
+        private final BulkRequest request = new BulkRequest();
+        private final List<RowData> rows = new ArrayList<>();
+
+        private void add(DocWriteRequest<?> docWriteRequest, RowData rowData) {
+            request.add(docWriteRequest);
+            rows.add(rowData);
+        }
+    }
+}
@@ -5,15 +5,13 @@ import com.dtstack.flinkx.connector.elasticsearch.table.IndexGenerator;
 import com.dtstack.flinkx.connector.elasticsearch7.Elasticsearch7ClientFactory;
 import com.dtstack.flinkx.connector.elasticsearch7.Elasticsearch7RequestFactory;
 import com.dtstack.flinkx.connector.elasticsearch7.ElasticsearchConf;
+import com.dtstack.flinkx.restore.FormatState;
 import com.dtstack.flinkx.sink.format.BaseRichOutputFormat;
 import com.dtstack.flinkx.throwable.WriteRecordException;
 
 import org.apache.flink.table.data.RowData;
 
 import org.elasticsearch.action.DocWriteRequest;
-import org.elasticsearch.action.bulk.BulkItemResponse;
-import org.elasticsearch.action.bulk.BulkRequest;
-import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.update.UpdateRequest;
@@ -21,7 +19,9 @@ import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -38,7 +38,7 @@ public class ElasticsearchOutputFormat extends BaseRichOutputFormat {
     /** Elasticsearch High Level Client */
     private transient RestHighLevelClient rhlClient;
 
-    private transient BulkRequest bulkRequest;
+    private transient ElasticsearchBulkWriter bulkWriter;
 
     private final IndexGenerator indexGenerator;
 
@@ -78,48 +78,47 @@ public class ElasticsearchOutputFormat extends BaseRichOutputFormat {
 
     @Override
     protected void writeMultipleRecordsInternal() throws Exception {
-        bulkRequest = new BulkRequest();
+        // convert all rows first, so a failed batch written again row by row is never buffered
+        List<DocWriteRequest> docWriteRequests = new ArrayList<>(rows.size());
         for (RowData rowData : rows) {
             DocWriteRequest docWriteRequest;
             switch (rowData.getRowKind()) {
                 case INSERT:
                 case UPDATE_AFTER:
                     docWriteRequest = processUpsert(rowData);
-                    bulkRequest.add(docWriteRequest);
                     break;
                 case DELETE:
                 case UPDATE_BEFORE:
                     docWriteRequest = processDelete(rowData);
-                    bulkRequest.add(docWriteRequest);
                     break;
                 default:
                     throw new RuntimeException("Unsupported row kind.");
             }
+            docWriteRequests.add(docWriteRequest);
         }
-        BulkResponse response = rhlClient.bulk(bulkRequest, RequestOptions.DEFAULT);
-        if (response.hasFailures()) {
-            processFailResponse(response);
+        for (int i = 0; i < rows.size(); i++) {
+            bulkWriter.add(docWriteRequests.get(i), rows.get(i));
         }
+        // bulks are sent asynchronously, the documents failed so far are collected as dirty data
+        bulkWriter.sendBuffered();
     }
 
-    private void processFailResponse(BulkResponse response) {
-        BulkItemResponse[] itemResponses = response.getItems();
-        WriteRecordException exception;
-        for (int i = 0; i < itemResponses.length; i++) {
-            if (itemResponses[i].isFailed()) {
-                if (dirtyDataManager != null) {
-                    exception =
-                            new WriteRecordException(
-                                    itemResponses[i].getFailureMessage(),
-                                    itemResponses[i].getFailure().getCause());
-                    dirtyDataManager.writeData(rows.get(i), exception);
-                }
-
-                if (errCounter != null) {
-                    errCounter.add(1);
-                }
-            }
+    /**
+     * Collects a document failed in a bulk request as dirty data, on the thread writing records
+     * since the bulk writer queues the failures of the client threads.
+     */
+    private void processFailRecord(RowData rowData, Throwable cause) {
+        dirtyManager.collect(rowData, cause, null);
+    }
+
+    @Override
+    public synchronized FormatState getFormatState() throws Exception {
+        FormatState formatState = super.getFormatState();
+        // wait for all bulks in flight before the checkpoint completes
+        if (bulkWriter != null) {
+            bulkWriter.flush();
         }
+        return formatState;
     }
 
     @Override
@@ -127,13 +126,32 @@ public class ElasticsearchOutputFormat extends BaseRichOutputFormat {
         rhlClient =
                 Elasticsearch7ClientFactory.createClient(
                         elasticsearchConf, getRuntimeContext().getDistributedCache());
+        bulkWriter =
+                new ElasticsearchBulkWriter(rhlClient, elasticsearchConf, this::processFailRecord);
         indexGenerator.open();
     }
 
     @Override
     protected void closeInternal() throws IOException {
-        if (rhlClient != null) {
-            rhlClient.close();
+        try {
+            if (bulkWriter != null) {
+                bulkWriter.close();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } finally {
+            if (rhlClient != null) {
+                rhlClient.close();
+            }
+        }
+    }
+
+    /** Sets the routing of the document, bulks are grouped by routing. */
+    private void setRouting(DocWriteRequest docWriteRequest, Map<String, Object> message) {
+        String routingField = elasticsearchConf.getRoutingField();
+        if (routingField != null && message.get(routingField) != null) {
+            docWriteRequest.routing(String.valueOf(message.get(routingField)));
         }
     }
 
@@ -146,6 +164,7 @@ public class ElasticsearchOutputFormat extends BaseRichOutputFormat {
             IndexRequest indexRequest =
                     Elasticsearch7RequestFactory.createIndexRequest(
                             indexGenerator.generate(rowData), message);
+            setRouting(indexRequest, message);
             return indexRequest;
         } else {
             final String key =
@@ -156,6 +175,7 @@ public class ElasticsearchOutputFormat extends BaseRichOutputFormat {
             UpdateRequest updateRequest =
                     Elasticsearch7RequestFactory.createUpdateRequest(
                             indexGenerator.generate(rowData), key, message);
+            setRouting(updateRequest, message);
             return updateRequest;
         }
     }
@@ -170,6 +190,7 @@ public class ElasticsearchOutputFormat extends BaseRichOutputFormat {
                         elasticsearchConf.getIds(), message, elasticsearchConf.getKeyDelimiter());
         DeleteRequest deleteRequest =
                 Elasticsearch7RequestFactory.createDeleteRequest(elasticsearchConf.getIndex(), key);
+        setRouting(deleteRequest, message);
         return deleteRequest;
     }
 }
@@ -18,9 +18,11 @@
 
 package com.dtstack.flinkx.connector.elasticsearch7.source;
 
+import com.dtstack.flinkx.conf.FieldConf;
 import com.dtstack.flinkx.connector.elasticsearch7.Elasticsearch7ClientFactory;
 import com.dtstack.flinkx.connector.elasticsearch7.Elasticsearch7RequestFactory;
 import com.dtstack.flinkx.connector.elasticsearch7.ElasticsearchConf;
+import com.dtstack.flinkx.restore.FormatState;
 import com.dtstack.flinkx.source.format.BaseRichInputFormat;
 import com.dtstack.flinkx.throwable.ReadRecordException;
 import com.dtstack.flinkx.util.JsonUtil;
@@ -29,8 +31,14 @@ import org.apache.flink.core.io.GenericInputSplit;
 import org.apache.flink.core.io.InputSplit;
 import org.apache.flink.table.data.RowData;
 
-import com.google.common.collect.Lists;
+import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.elasticsearch.action.admin.indices.settings.get.GetSettingsRequest;
+import org.elasticsearch.action.admin.indices.settings.get.GetSettingsResponse;
+import org.elasticsearch.action.fieldcaps.FieldCapabilities;
+import org.elasticsearch.action.fieldcaps.FieldCapabilitiesRequest;
+import org.elasticsearch.action.fieldcaps.FieldCapabilitiesResponse;
 import org.elasticsearch.action.search.ClearScrollRequest;
 import org.elasticsearch.action.search.ClearScrollResponse;
 import org.elasticsearch.action.search.SearchRequest;
@@ -38,14 +46,19 @@ import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.search.SearchScrollRequest;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.search.Scroll;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.search.slice.SliceBuilder;
+import org.elasticsearch.search.sort.SortOrder;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -57,13 +70,25 @@ import java.util.Map;
  * @create: 2021/06/27 17:25
  */
 public class ElasticsearchInputFormat extends BaseRichInputFormat {
+
+    /** read all documents of a slice with a scroll, a failed slice starts over */
+    public static final String READ_MODE_SCROLL = "scroll";
+
+    /** page the shards of a slice with search_after, the progress is checkpointed */
+    public static final String READ_MODE_SEARCH_AFTER = "searchAfter";
+
+    /** _id has no doc values, sorting on it loads its fielddata onto the heap of every shard */
+    static final String ID_FIELD = "_id";
+
+    private static final String NUMBER_OF_SHARDS = "index.number_of_shards";
+
     protected long keepAlive = 1;
     /** Elasticsearch Configuration */
     private ElasticsearchConf elasticsearchConf;
     /** Elasticsearch High Level Client */
     private transient RestHighLevelClient rhlClient;
 
-    private Iterator<Map<String, Object>> iterator;
+    private Iterator<SearchHit> iterator;
 
     private transient SearchRequest searchRequest;
 
@@ -71,11 +96,31 @@ public class ElasticsearchInputFormat extends BaseRichInputFormat {
 
     private String scrollId;
 
+    /** number of primary shards of the index, used by searchAfter mode */
+    private transient int numberOfShards;
+
+    /** read progress of each slice, merged from the states of all subtasks on restore */
+    private transient Map<Integer, SliceState> sliceStates;
+
+    /** progress of the slice being read */
+    private transient SliceState sliceState;
+
+    /** whether the current page is the last page of the slice */
+    private transient boolean lastPage;
+
+    /** whether the last sort field has been checked to have doc values */
+    private transient boolean sortFieldsChecked;
+
     @Override
     protected InputSplit[] createInputSplitsInternal(int minNumSplits) throws Exception {
-        InputSplit[] splits = new InputSplit[minNumSplits];
-        for (int i = 0; i < minNumSplits; i++) {
-            splits[i] = new GenericInputSplit(i, minNumSplits);
+        // more slices than subtasks are served to idle subtasks one by one
+        int numSplits =
+                elasticsearchConf.getSliceCount() > 0
+                        ? elasticsearchConf.getSliceCount()
+                        : minNumSplits;
+        InputSplit[] splits = new InputSplit[numSplits];
+        for (int i = 0; i < numSplits; i++) {
+            splits[i] = new GenericInputSplit(i, numSplits);
         }
         return splits;
     }
@@ -85,14 +130,16 @@ public class ElasticsearchInputFormat extends BaseRichInputFormat {
         super.openInputFormat();
         GenericInputSplit genericInputSplit = (GenericInputSplit) inputSplit;
 
-        rhlClient =
-                Elasticsearch7ClientFactory.createClient(
-                        elasticsearchConf, getRuntimeContext().getDistributedCache());
-        scroll = new Scroll(TimeValue.timeValueMinutes(keepAlive));
+        if (rhlClient == null) {
+            rhlClient =
+                    Elasticsearch7ClientFactory.createClient(
+                            elasticsearchConf, getRuntimeContext().getDistributedCache());
+        }
+        iterator = null;
+        scrollId = null;
 
-        String[] fieldsNames = elasticsearchConf.getFieldNames();
         SearchSourceBuilder searchSourceBuilder =
-                Elasticsearch7RequestFactory.createSourceBuilder(fieldsNames, null, null);
+                Elasticsearch7RequestFactory.createSourceBuilder(getSourceFields(), null, null);
         searchSourceBuilder.size(elasticsearchConf.getBatchSize());
 
         if (MapUtils.isNotEmpty(elasticsearchConf.getQuery())) {
@@ -100,6 +147,12 @@ public class ElasticsearchInputFormat extends BaseRichInputFormat {
                     QueryBuilders.wrapperQuery(JsonUtil.toJson(elasticsearchConf.getQuery())));
         }
 
+        if (isSearchAfter()) {
+            openSearchAfter(genericInputSplit, searchSourceBuilder);
+            return;
+        }
+
+        scroll = new Scroll(TimeValue.timeValueMinutes(keepAlive));
         if (genericInputSplit.getTotalNumberOfSplits() > 1) {
             searchSourceBuilder.slice(
                     new SliceBuilder(
@@ -112,22 +165,198 @@ public class ElasticsearchInputFormat extends BaseRichInputFormat {
                         elasticsearchConf.getIndex(), scroll, searchSourceBuilder);
     }
 
+    /**
+     * Slice i reads the shards whose number modulo the number of slices is i. Documents of the
+     * shards are sorted by the sort fields and paged with search_after from the checkpointed sort
+     * values.
+     */
+    private void openSearchAfter(
+            GenericInputSplit genericInputSplit, SearchSourceBuilder searchSourceBuilder)
+            throws IOException {
+        initSliceStates();
+        int sliceNumber = genericInputSplit.getSplitNumber();
+        sliceState = sliceStates.computeIfAbsent(sliceNumber, k -> new SliceState());
+        lastPage = false;
+
+        List<String> shards = new ArrayList<>();
+        for (int shard = sliceNumber;
+                shard < getNumberOfShards();
+                shard += genericInputSplit.getTotalNumberOfSplits()) {
+            shards.add(String.valueOf(shard));
+        }
+        if (shards.isEmpty()) {
+            LOG.info("slice {} has no shard to read", sliceNumber);
+            sliceState.setFinished(true);
+        }
+        if (sliceState.isFinished()) {
+            return;
+        }
+
+        checkSortFields();
+        for (String sortField : elasticsearchConf.getSortFields()) {
+            searchSourceBuilder.sort(sortField, SortOrder.ASC);
+        }
+
+        searchRequest =
+                Elasticsearch7RequestFactory.createSearchRequest(
+                        elasticsearchConf.getIndex(), null, searchSourceBuilder);
+        searchRequest.preference("_shards:" + String.join(",", shards));
+        LOG.info("slice {} reads shards {} from {}", sliceNumber, shards, sliceState);
+    }
+
+    /** Merges the slice states of all subtasks, the state ahead wins. */
+    private void initSliceStates() {
+        if (sliceStates != null) {
+            return;
+        }
+        sliceStates = new HashMap<>(16);
+        List<FormatState> restoreStates = new ArrayList<>();
+        if (unionRestoreStates != null) {
+            restoreStates.addAll(unionRestoreStates);
+        } else if (formatState != null) {
+            restoreStates.add(formatState);
+        }
+        for (FormatState restoreState : restoreStates) {
+            if (!(restoreState.getState() instanceof Map)) {
+                continue;
+            }
+            Map<?, ?> states = (Map<?, ?>) restoreState.getState();
+            for (Map.Entry<?, ?> entry : states.entrySet()) {
+                SliceState state = (SliceState) entry.getValue();
+                SliceState current = sliceStates.get((Integer) entry.getKey());
+                if (current == null || state.isAheadOf(current)) {
+                    sliceStates.put((Integer) entry.getKey(), state.copy());
+                }
+            }
+        }
+    }
+
+    /**
+     * The last sort field breaks the ties of search_after, it must be unique and have doc values
+     * so that sorting on it does not load fielddata.
+     */
+    private void checkSortFields() throws IOException {
+        if (sortFieldsChecked) {
+            return;
+        }
+        List<String> sortFields = elasticsearchConf.getSortFields();
+        if (CollectionUtils.isEmpty(sortFields) || sortFields.contains(ID_FIELD)) {
+            throw new IllegalArgumentException(
+                    "searchAfter mode requires sortFields ending with a unique field with doc values, _id is not allowed");
+        }
+        String tieBreaker = sortFields.get(sortFields.size() - 1);
+        FieldCapabilitiesRequest request =
+                new FieldCapabilitiesRequest()
+                        .indices(elasticsearchConf.getIndex())
+                        .fields(tieBreaker);
+        FieldCapabilitiesResponse response = rhlClient.fieldCaps(request, RequestOptions.DEFAULT);
+        Map<String, FieldCapabilities> capabilities = response.getField(tieBreaker);
+        if (MapUtils.isEmpty(capabilities)) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "sort field [%s] does not exist in index [%s]",
+                            tieBreaker, elasticsearchConf.getIndex()));
+        }
+        for (FieldCapabilities capability : capabilities.values()) {
+            if (!capability.isAggregatable()) {
+                throw new IllegalArgumentException(
+                        String.format(
+                                "the last sort field [%s] of type [%s] has no doc values, use a unique keyword, numeric or date field",
+                                tieBreaker, capability.getType()));
+            }
+        }
+        sortFieldsChecked = true;
+    }
+
+    private int getNumberOfShards() throws IOException {
+        if (numberOfShards > 0) {
+            return numberOfShards;
+        }
+        GetSettingsRequest request =
+                new GetSettingsRequest()
+                        .indices(elasticsearchConf.getIndex())
+                        .names(NUMBER_OF_SHARDS);
+        GetSettingsResponse response =
+                rhlClient.indices().getSettings(request, RequestOptions.DEFAULT);
+        Iterator<Settings> settingsIterator = response.getIndexToSettings().valuesIt();
+        while (settingsIterator.hasNext()) {
+            numberOfShards =
+                    Math.max(numberOfShards, settingsIterator.next().getAsInt(NUMBER_OF_SHARDS, 1));
+        }
+        return numberOfShards;
+    }
+
+    /** Source fields to fetch, constant columns are not fetched. */
+    private String[] getSourceFields() {
+        String[] fieldNames = elasticsearchConf.getFieldNames();
+        if (fieldNames == null) {
+            return null;
+        }
+        List<String> constants = new ArrayList<>();
+        if (elasticsearchConf.getColumn() != null) {
+            for (FieldConf fieldConf : elasticsearchConf.getColumn()) {
+                if (StringUtils.isNotBlank(fieldConf.getValue())) {
+                    constants.add(fieldConf.getName());
+                }
+            }
+        }
+        return Arrays.stream(fieldNames)
+                .filter(name -> StringUtils.isNotBlank(name) && !constants.contains(name))
+                .toArray(String[]::new);
+    }
+
+    private boolean isSearchAfter() {
+        return READ_MODE_SEARCH_AFTER.equalsIgnoreCase(elasticsearchConf.getReadMode());
+    }
+
     @Override
     protected RowData nextRecordInternal(RowData rowData) throws ReadRecordException {
+        SearchHit searchHit = iterator.next();
+        if (sliceState != null) {
+            // 数据发出时更新进度，checkpoint中的进度与已发出的数据一致
+            sliceState.setSortValues(searchHit.getSortValues());
+            sliceState.setReadCount(sliceState.getReadCount() + 1);
+            if (lastPage && !iterator.hasNext()) {
+                sliceState.setFinished(true);
+            }
+        }
         try {
-            rowData = rowConverter.toInternal(iterator.next());
+            rowData = rowConverter.toInternal(searchHit.getSourceAsMap());
         } catch (Exception e) {
             throw new ReadRecordException("", e, 0, rowData);
         }
         return rowData;
     }
 
+    @Override
+    public FormatState getFormatState() {
+        if (formatState != null && sliceStates != null) {
+            HashMap<Integer, SliceState> states = new HashMap<>(sliceStates.size());
+            for (Map.Entry<Integer, SliceState> entry : sliceStates.entrySet()) {
+                states.put(entry.getKey(), entry.getValue().copy());
+            }
+            formatState.setState(states);
+        }
+        return super.getFormatState();
+    }
+
     @Override
     protected void closeInternal() throws IOException {
         if (rhlClient != null) {
             clearScroll();
+        }
+        sliceState = null;
+    }
 
-            rhlClient.close();
+    @Override
+    public void closeInputFormat() {
+        super.closeInputFormat();
+        if (rhlClient != null) {
+            try {
+                rhlClient.close();
+            } catch (IOException e) {
+                LOG.warn("close elasticsearch client failed", e);
+            }
             rhlClient = null;
         }
     }
@@ -143,17 +372,38 @@ public class ElasticsearchInputFormat extends BaseRichInputFormat {
                 rhlClient.clearScroll(clearScrollRequest, RequestOptions.DEFAULT);
         boolean succeeded = clearScrollResponse.isSucceeded();
         LOG.info("Clear scroll response:{}", succeeded);
+        scrollId = null;
     }
 
     @Override
     public boolean reachedEnd() throws IOException {
         if (iterator != null && iterator.hasNext()) {
             return false;
+        } else if (sliceState != null) {
+            return searchAfter();
         } else {
             return searchScroll();
         }
     }
 
+    private boolean searchAfter() throws IOException {
+        if (sliceState.isFinished()) {
+            return true;
+        }
+        if (sliceState.getSortValues() != null) {
+            searchRequest.source().searchAfter(sliceState.getSortValues());
+        }
+        SearchResponse searchResponse = rhlClient.search(searchRequest, RequestOptions.DEFAULT);
+        SearchHit[] searchHits = searchResponse.getHits().getHits();
+        lastPage = searchHits.length < searchRequest.source().size();
+        if (searchHits.length == 0) {
+            sliceState.setFinished(true);
+        }
+
+        iterator = Arrays.asList(searchHits).iterator();
+        return !iterator.hasNext();
+    }
+
     private boolean searchScroll() throws IOException {
         SearchHit[] searchHits;
         if (scrollId == null) {
@@ -169,13 +419,7 @@ public class ElasticsearchInputFormat extends BaseRichInputFormat {
             searchHits = searchResponse.getHits().getHits();
         }
 
-        List<Map<String, Object>> resultList = Lists.newArrayList();
-        for (SearchHit searchHit : searchHits) {
-            Map<String, Object> source = searchHit.getSourceAsMap();
-            resultList.add(source);
-        }
-
-        iterator = resultList.iterator();
+        iterator = Arrays.asList(searchHits).iterator();
         return !iterator.hasNext();
     }
 
@@ -22,6 +22,7 @@ import com.dtstack.flinkx.connector.elasticsearch7.ElasticsearchConf;
 import com.dtstack.flinkx.source.format.BaseRichInputFormatBuilder;
 
 import com.google.common.base.Preconditions;
+import org.apache.commons.collections.CollectionUtils;
 
 /**
  * @description:
@@ -51,5 +52,15 @@ public class ElasticsearchInputFormatBuilder
             Preconditions.checkNotNull(
                     esConf.getPassword(), "When set the username option, password is required");
         }
+
+        if (ElasticsearchInputFormat.READ_MODE_SEARCH_AFTER.equalsIgnoreCase(
+                esConf.getReadMode())) {
+            Preconditions.checkArgument(
+                    CollectionUtils.isNotEmpty(esConf.getSortFields()),
+                    "searchAfter mode requires sortFields ending with a unique field with doc values");
+            Preconditions.checkArgument(
+                    !esConf.getSortFields().contains(ElasticsearchInputFormat.ID_FIELD),
+                    "_id can not be a sort field of searchAfter mode, it has no doc values");
+        }
     }
 }
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.flinkx.connector.elasticsearch7.source;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/** Read progress of one slice in searchAfter mode. */
+public class SliceState implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** sort values of the last emitted document, null if nothing is emitted */
+    private Object[] sortValues;
+
+    /** number of emitted documents, the state with more documents is the newer one */
+    private long readCount;
+
+    private boolean finished;
+
+    public SliceState copy() {
+        SliceState state = new SliceState();
+        state.sortValues = sortValues;
+        state.readCount = readCount;
+        state.finished = finished;
+        return state;
+    }
+
+    /** Whether this state is ahead of the other state of the same slice. */
+    public boolean isAheadOf(SliceState other) {
+        if (finished != other.finished) {
+            return finished;
+        }
+        return readCount > other.readCount;
+    }
+
+    public Object[] getSortValues() {
+        return sortValues;
+    }
+
+    public void setSortValues(Object[] sortValues) {
+        this.sortValues = sortValues;
+    }
+
+    public long getReadCount() {
+        return readCount;
+    }
+
+    public void setReadCount(long readCount) {
+        this.readCount = readCount;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public void setFinished(boolean finished) {
+        this.finished = finished;
+    }
+
+    @Override
+    public String toString() {
+        return "SliceState{"
+                + "sortValues="
+                + Arrays.toString(sortValues)
+                + ", readCount="
+                + readCount
+                + ", finished="
+                + finished
+                + '}';
+    }
+}
@@ -42,9 +42,15 @@ import static com.dtstack.flinkx.connector.elasticsearch7.table.Elasticsearch7Op
 import static com.dtstack.flinkx.connector.elasticsearch7.table.Elasticsearch7Options.CLIENT_MAX_CONNECTION_PER_ROUTE_OPTION;
 import static com.dtstack.flinkx.connector.elasticsearch7.table.Elasticsearch7Options.CLIENT_REQUEST_TIMEOUT_OPTION;
 import static com.dtstack.flinkx.connector.elasticsearch7.table.Elasticsearch7Options.CLIENT_SOCKET_TIMEOUT_OPTION;
+import static com.dtstack.flinkx.connector.elasticsearch7.table.Elasticsearch7Options.SINK_BULK_FLUSH_CONCURRENT_REQUESTS_OPTION;
+import static com.dtstack.flinkx.connector.elasticsearch7.table.Elasticsearch7Options.SINK_ROUTING_FIELD_OPTION;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_ASYNC_TIMEOUT;
+import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_BATCH_INTERVAL;
+import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_BATCH_SIZE;
+import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_MAX_BYTES;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_MAX_ROWS;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_PERIOD;
+import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_REFRESH_INTERVAL;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_TTL;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_TYPE;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_ERROR_LIMIT;
@@ -135,6 +141,20 @@ public class Elasticsearch7DynamicTableFactory extends ElasticsearchDynamicTable
         elasticsearchConf.setType(readableConfig.get(DOCUMENT_TYPE_OPTION));
         elasticsearchConf.setKeyDelimiter(readableConfig.get(KEY_DELIMITER_OPTION));
         elasticsearchConf.setBatchSize(readableConfig.get(BULK_FLUSH_MAX_ACTIONS_OPTION));
+        elasticsearchConf.setBulkFlushMaxBytes(
+                readableConfig.get(BULK_FLASH_MAX_SIZE_OPTION).getBytes());
+        elasticsearchConf.setConcurrentRequests(
+                readableConfig.get(SINK_BULK_FLUSH_CONCURRENT_REQUESTS_OPTION));
+        readableConfig
+                .getOptional(BULK_FLUSH_BACKOFF_TYPE_OPTION)
+                .ifPresent(type -> elasticsearchConf.setBackoffType(type.name()));
+        readableConfig
+                .getOptional(BULK_FLUSH_BACKOFF_MAX_RETRIES_OPTION)
+                .ifPresent(elasticsearchConf::setBackoffMaxRetries);
+        readableConfig
+                .getOptional(BULK_FLUSH_BACKOFF_DELAY_OPTION)
+                .ifPresent(delay -> elasticsearchConf.setBackoffDelay(delay.toMillis()));
+        elasticsearchConf.setRoutingField(readableConfig.get(SINK_ROUTING_FIELD_OPTION));
         elasticsearchConf.setParallelism(readableConfig.get(SINK_PARALLELISM));
 
         elasticsearchConf.setUsername(readableConfig.get(USERNAME_OPTION));
@@ -194,6 +214,8 @@ public class Elasticsearch7DynamicTableFactory extends ElasticsearchDynamicTable
                         CLIENT_KEEPALIVE_TIME_OPTION,
                         CLIENT_REQUEST_TIMEOUT_OPTION,
                         CLIENT_MAX_CONNECTION_PER_ROUTE_OPTION,
+                        SINK_BULK_FLUSH_CONCURRENT_REQUESTS_OPTION,
+                        SINK_ROUTING_FIELD_OPTION,
                         LOOKUP_CACHE_PERIOD,
                         LOOKUP_CACHE_MAX_ROWS,
                         LOOKUP_CACHE_TTL,
@@ -203,6 +225,10 @@ public class Elasticsearch7DynamicTableFactory extends ElasticsearchDynamicTable
                         LOOKUP_FETCH_SIZE,
                         LOOKUP_ASYNC_TIMEOUT,
                         LOOKUP_PARALLELISM,
+                        LOOKUP_BATCH_SIZE,
+                        LOOKUP_BATCH_INTERVAL,
+                        LOOKUP_CACHE_MAX_BYTES,
+                        LOOKUP_CACHE_REFRESH_INTERVAL,
                         KEYSTOREFILENAME,
                         KEYSTOREPASS,
                         TYPE)
@@ -62,4 +62,18 @@ public class Elasticsearch7Options {
                     .defaultValue(10)
                     .withDescription(
                             "Elasticsearch client connection assigns maximum connection per route value. default:10");
+
+    public static final ConfigOption<Integer> SINK_BULK_FLUSH_CONCURRENT_REQUESTS_OPTION =
+            ConfigOptions.key("sink.bulk-flush.concurrent-requests")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription(
+                            "Max bulk requests in flight, 0 means waiting for each bulk request. default:1");
+
+    public static final ConfigOption<String> SINK_ROUTING_FIELD_OPTION =
+            ConfigOptions.key("sink.routing-field")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "Field used as the routing of documents, bulk requests are grouped by routing if set.");
 }
@@ -24,6 +24,7 @@ import com.dtstack.flinkx.connector.elasticsearch7.ElasticsearchConf;
 import com.dtstack.flinkx.converter.AbstractRowConverter;
 import com.dtstack.flinkx.enums.ECacheContentType;
 import com.dtstack.flinkx.lookup.AbstractLruTableFunction;
+import com.dtstack.flinkx.lookup.LookupRequest;
 import com.dtstack.flinkx.lookup.cache.CacheMissVal;
 import com.dtstack.flinkx.lookup.cache.CacheObj;
 import com.dtstack.flinkx.lookup.conf.LookupConf;
@@ -33,6 +34,8 @@ import org.apache.flink.table.functions.FunctionContext;
 
 import com.google.common.collect.Lists;
 import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.search.MultiSearchRequest;
+import org.elasticsearch.action.search.MultiSearchResponse;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.client.RequestOptions;
@@ -91,47 +94,89 @@ public class ElasticsearchLruTableFunction extends AbstractLruTableFunction {
                 new ActionListener<SearchResponse>() {
                     @Override
                     public void onResponse(SearchResponse searchResponse) {
-                        try {
-                            SearchHit[] searchHits = searchResponse.getHits().getHits();
-                            if (searchHits.length > 0) {
-
-                                List<Map<String, Object>> cacheContent = Lists.newArrayList();
-                                List<RowData> rowList = Lists.newArrayList();
-                                for (SearchHit searchHit : searchHits) {
-                                    Map<String, Object> result = searchHit.getSourceAsMap();
-                                    RowData rowData;
-                                    try {
-                                        rowData = rowConverter.toInternalLookup(result);
-                                        if (openCache()) {
-                                            cacheContent.add(result);
-                                        }
-                                        rowList.add(rowData);
-                                    } catch (Exception e) {
-                                        LOG.error("error:{} \n  data:{}", e.getMessage(), result);
-                                    }
-                                }
-                                dealCacheData(
-                                        cacheKey,
-                                        CacheObj.buildCacheObj(
-                                                ECacheContentType.MultiLine, cacheContent));
-
-                                future.complete(rowList);
+                        handleSearchResponse(future, cacheKey, searchResponse);
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        future.completeExceptionally(e);
+                    }
+                });
+    }
+
+    /** Send the searches of all the keys in one msearch request. */
+    @Override
+    protected void handleAsyncBatchInvoke(List<LookupRequest> requests) {
+        MultiSearchRequest multiSearchRequest = new MultiSearchRequest();
+        for (LookupRequest request : requests) {
+            multiSearchRequest.add(buildSearchRequest(request.getKeys()));
+        }
+        rhlClient.msearchAsync(
+                multiSearchRequest,
+                RequestOptions.DEFAULT,
+                new ActionListener<MultiSearchResponse>() {
+                    @Override
+                    public void onResponse(MultiSearchResponse multiSearchResponse) {
+                        MultiSearchResponse.Item[] items = multiSearchResponse.getResponses();
+                        for (int i = 0; i < requests.size(); i++) {
+                            LookupRequest request = requests.get(i);
+                            if (items[i].isFailure()) {
+                                request.getFuture().completeExceptionally(items[i].getFailure());
                             } else {
-                                dealMissKey(future);
-                                dealCacheData(cacheKey, CacheMissVal.getMissKeyObj());
+                                handleSearchResponse(
+                                        request.getFuture(),
+                                        request.getCacheKey(),
+                                        items[i].getResponse());
                             }
-                        } catch (Exception e) {
-                            LOG.error("", e);
                         }
                     }
 
                     @Override
                     public void onFailure(Exception e) {
-                        future.completeExceptionally(e);
+                        for (LookupRequest request : requests) {
+                            request.getFuture().completeExceptionally(e);
+                        }
                     }
                 });
     }
 
+    private void handleSearchResponse(
+            CompletableFuture<Collection<RowData>> future,
+            String cacheKey,
+            SearchResponse searchResponse) {
+        try {
+            SearchHit[] searchHits = searchResponse.getHits().getHits();
+            if (searchHits.length > 0) {
+
+                List<Map<String, Object>> cacheContent = Lists.newArrayList();
+                List<RowData> rowList = Lists.newArrayList();
+                for (SearchHit searchHit : searchHits) {
+                    Map<String, Object> result = searchHit.getSourceAsMap();
+                    RowData rowData;
+                    try {
+                        rowData = rowConverter.toInternalLookup(result);
+                        if (openCache()) {
+                            cacheContent.add(result);
+                        }
+                        rowList.add(rowData);
+                    } catch (Exception e) {
+                        LOG.error("error:{} \n  data:{}", e.getMessage(), result);
+                    }
+                }
+                dealCacheData(
+                        cacheKey,
+                        CacheObj.buildCacheObj(ECacheContentType.MultiLine, cacheContent));
+
+                future.complete(rowList);
+            } else {
+                dealMissKey(future);
+                dealCacheData(cacheKey, CacheMissVal.getMissKeyObj());
+            }
+        } catch (Exception e) {
+            LOG.error("", e);
+        }
+    }
+
     /**
      * build search request
      *
@@ -19,6 +19,7 @@
 package com.dtstack.flinkx.connector.file.source;
 
 import com.dtstack.flinkx.conf.BaseFileConf;
+import com.dtstack.flinkx.restore.FormatState;
 import com.dtstack.flinkx.source.format.BaseRichInputFormat;
 import com.dtstack.flinkx.throwable.ReadRecordException;
 import com.dtstack.flinkx.util.GsonUtil;
@@ -28,9 +29,12 @@ import org.apache.flink.table.data.RowData;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -40,15 +44,83 @@ import java.util.stream.Collectors;
  */
 public class FileInputFormat extends BaseRichInputFormat {
 
+    /** the smallest split, a smaller file is put in a split together with other files */
+    private static final long MIN_SPLIT_SIZE = 64 * 1024 * 1024L;
+
     private BaseFileConf fileConf;
 
     private FileInputBufferedReader fbr;
 
     private transient String line;
 
+    private transient Charset charset;
+
+    /** start of the next line to read of each range, by the state key of the range */
+    private transient Map<String, Long> rangeOffsets;
+
+    private transient FileRangeReader rangeReader;
+
+    /**
+     * Files are cut into line aligned byte ranges so that the number of splits follows the total
+     * size of the files, about one split per subtask and at least {@link #MIN_SPLIT_SIZE} each. A
+     * file in an encoding whose line feed is not a single byte is not cut.
+     */
     @Override
     protected InputSplit[] createInputSplitsInternal(int minNumSplits) throws Exception {
+        List<String> inputFiles = listInputFiles();
+        LOG.info("files = {}", GsonUtil.GSON.toJson(inputFiles));
 
+        long[] lengths = new long[inputFiles.size()];
+        long totalLength = 0;
+        for (int i = 0; i < lengths.length; i++) {
+            lengths[i] = new File(inputFiles.get(i)).length();
+            totalLength += lengths[i];
+        }
+        long splitSize = Math.max(MIN_SPLIT_SIZE, totalLength / Math.max(minNumSplits, 1) + 1);
+
+        FileInputSplit[] splits =
+                createSplits(
+                        inputFiles,
+                        lengths,
+                        isSplittable(Charset.forName(fileConf.getEncoding())),
+                        splitSize);
+        LOG.info("split {} bytes into {} splits", totalLength, splits.length);
+        return splits;
+    }
+
+    /**
+     * Cuts the files into ranges of splits of about splitSize bytes.
+     *
+     * @param inputFiles paths of the files
+     * @param lengths lengths of the files
+     * @param splittable whether a file can be cut, otherwise a range is a whole file
+     * @param splitSize bytes of a split
+     * @return splits
+     */
+    static FileInputSplit[] createSplits(
+            List<String> inputFiles, long[] lengths, boolean splittable, long splitSize) {
+        List<FileInputSplit> splits = new ArrayList<>();
+        FileInputSplit split = null;
+        long splitLength = 0;
+        for (int i = 0; i < inputFiles.size(); i++) {
+            long length = lengths[i];
+            long start = 0;
+            do {
+                if (split == null || splitLength >= splitSize) {
+                    split = new FileInputSplit(splits.size());
+                    splits.add(split);
+                    splitLength = 0;
+                }
+                long end = splittable ? Math.min(start + splitSize - splitLength, length) : length;
+                split.getRanges().add(new FileRange(inputFiles.get(i), start, end));
+                splitLength += end - start;
+                start = end;
+            } while (start < length);
+        }
+        return splits.toArray(new FileInputSplit[0]);
+    }
+
+    private List<String> listInputFiles() {
         List<String> inputFiles = new ArrayList<>();
         String path = fileConf.getPath();
 
@@ -63,23 +135,20 @@ public class FileInputFormat extends BaseRichInputFormat {
                     File[] childFiles = file.listFiles();
                     List<String> collect =
                             Arrays.asList(childFiles).stream()
+                                    .filter(File::isFile)
                                     .map((f) -> f.getAbsolutePath())
                                     .collect(Collectors.toList());
                     inputFiles.addAll(collect);
                 }
             }
         }
-        LOG.info("files = {}", GsonUtil.GSON.toJson(inputFiles));
-        int numSplits = (Math.min(inputFiles.size(), minNumSplits));
-        FileInputSplit[] fileInputSplits = new FileInputSplit[numSplits];
-        for (int index = 0; index < numSplits; ++index) {
-            fileInputSplits[index] = new FileInputSplit(index);
-        }
+        return inputFiles;
+    }
 
-        for (int i = 0; i < inputFiles.size(); ++i) {
-            fileInputSplits[i % numSplits].getPaths().add(inputFiles.get(i));
-        }
-        return fileInputSplits;
+    /** Whether line feed is a single byte in the charset, so files can be cut at any byte. */
+    static boolean isSplittable(Charset charset) {
+        byte[] bytes = "\r\n".getBytes(charset);
+        return bytes.length == 2 && bytes[0] == '\r' && bytes[1] == '\n';
     }
 
     @Override
@@ -87,12 +156,52 @@ public class FileInputFormat extends BaseRichInputFormat {
         super.openInputFormat();
 
         FileInputSplit fileInputSplit = (FileInputSplit) inputSplit;
-        List<String> paths = fileInputSplit.getPaths();
-        fbr = new FileInputBufferedReader(paths, fileConf);
+        charset = Charset.forName(fileConf.getEncoding());
+        if (isSplittable(charset)) {
+            initRangeOffsets();
+            rangeReader =
+                    new FileRangeReader(
+                            fileInputSplit.getRanges().iterator(),
+                            rangeOffsets,
+                            charset,
+                            fileConf.getFromLine());
+        } else {
+            List<String> paths =
+                    fileInputSplit.getRanges().stream()
+                            .map(FileRange::getPath)
+                            .collect(Collectors.toList());
+            fbr = new FileInputBufferedReader(paths, fileConf);
+        }
+    }
+
+    /** Merges the range offsets of all subtasks, the larger offset wins. */
+    private void initRangeOffsets() {
+        if (rangeOffsets != null) {
+            return;
+        }
+        rangeOffsets = new HashMap<>(16);
+        List<FormatState> restoreStates = new ArrayList<>();
+        if (unionRestoreStates != null) {
+            restoreStates.addAll(unionRestoreStates);
+        } else if (formatState != null) {
+            restoreStates.add(formatState);
+        }
+        for (FormatState restoreState : restoreStates) {
+            if (!(restoreState.getState() instanceof Map)) {
+                continue;
+            }
+            Map<?, ?> offsets = (Map<?, ?>) restoreState.getState();
+            for (Map.Entry<?, ?> entry : offsets.entrySet()) {
+                rangeOffsets.merge((String) entry.getKey(), (Long) entry.getValue(), Math::max);
+            }
+        }
     }
 
     @Override
     protected RowData nextRecordInternal(RowData rowData) throws ReadRecordException {
+        if (rangeReader != null) {
+            rangeReader.markEmitted();
+        }
         try {
             rowData = rowConverter.toInternal(line);
         } catch (Exception e) {
@@ -101,16 +210,33 @@ public class FileInputFormat extends BaseRichInputFormat {
         return rowData;
     }
 
+    @Override
+    public FormatState getFormatState() {
+        if (formatState != null && rangeOffsets != null) {
+            formatState.setState(new HashMap<>(rangeOffsets));
+        }
+        return super.getFormatState();
+    }
+
     @Override
     protected void closeInternal() throws IOException {
         if (fbr != null) {
             fbr.close();
         }
+        if (rangeReader != null) {
+            rangeReader.close();
+            rangeReader = null;
+        }
     }
 
     @Override
     public boolean reachedEnd() throws IOException {
-        this.line = fbr.readLine();
+        if (fbr != null) {
+            this.line = fbr.readLine();
+            return this.line == null;
+        }
+
+        this.line = rangeReader.readLine();
         return this.line == null;
     }
 
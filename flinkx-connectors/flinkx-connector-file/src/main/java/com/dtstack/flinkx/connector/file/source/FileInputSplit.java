@@ -31,7 +31,7 @@ import java.util.List;
 public class FileInputSplit implements InputSplit {
 
     private int splitNumber;
-    private List<String> paths = new ArrayList<>();
+    private List<FileRange> ranges = new ArrayList<>();
 
     public FileInputSplit(int splitNumber) {
         this.splitNumber = splitNumber;
@@ -42,11 +42,24 @@ public class FileInputSplit implements InputSplit {
         return splitNumber;
     }
 
-    public List<String> getPaths() {
-        return paths;
+    public List<FileRange> getRanges() {
+        return ranges;
     }
 
-    public void setPaths(List<String> paths) {
-        this.paths = paths;
+    public void setRanges(List<FileRange> ranges) {
+        this.ranges = ranges;
+    }
+
+    public long getLength() {
+        long length = 0;
+        for (FileRange range : ranges) {
+            length += range.getLength();
+        }
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return "FileInputSplit{" + "splitNumber=" + splitNumber + ", ranges=" + ranges + '}';
     }
 }
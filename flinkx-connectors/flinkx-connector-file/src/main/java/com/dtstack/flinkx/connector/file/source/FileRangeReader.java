@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.flinkx.connector.file.source;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Reads the lines of the ranges of a split one range after another. The start of the next line to
+ * read of each range is kept in a map of offsets by {@link FileRange#getStateKey()}, which is the
+ * checkpoint state of the source.
+ */
+public class FileRangeReader implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileRangeReader.class);
+
+    private final Iterator<FileRange> rangeIterator;
+    private final Map<String, Long> rangeOffsets;
+    private final Charset charset;
+    private final int fromLine;
+    private final int windowSize;
+
+    private FileRange currentRange;
+    private String currentRangeKey;
+    private MappedLineReader lineReader;
+
+    /** start of the line after the line read last, the offset of the range once it is emitted */
+    private long nextOffset;
+
+    /**
+     * @param rangeOffsets offsets restored from a checkpoint, updated as the lines are emitted
+     * @param fromLine the line to start from in a range at the start of a file, from 1
+     */
+    public FileRangeReader(
+            Iterator<FileRange> rangeIterator,
+            Map<String, Long> rangeOffsets,
+            Charset charset,
+            int fromLine) {
+        this(rangeIterator, rangeOffsets, charset, fromLine, MappedLineReader.WINDOW_SIZE);
+    }
+
+    FileRangeReader(
+            Iterator<FileRange> rangeIterator,
+            Map<String, Long> rangeOffsets,
+            Charset charset,
+            int fromLine,
+            int windowSize) {
+        this.rangeIterator = rangeIterator;
+        this.rangeOffsets = rangeOffsets;
+        this.charset = charset;
+        this.fromLine = fromLine;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Reads the next line owned by the ranges.
+     *
+     * @return the line, or null after the last range
+     */
+    public String readLine() throws IOException {
+        while (true) {
+            if (lineReader != null
+                    && lineReader.getPosition() <= currentRange.getEnd()
+                    && lineReader.nextLine()) {
+                nextOffset = lineReader.getPosition();
+                return new String(
+                        lineReader.getLineBytes(), 0, lineReader.getLineLength(), charset);
+            }
+            if (!openNextRange()) {
+                return null;
+            }
+        }
+    }
+
+    /** The line read last is emitted, a restored reader starts after it. */
+    public void markEmitted() {
+        if (currentRangeKey != null) {
+            rangeOffsets.put(currentRangeKey, nextOffset);
+        }
+    }
+
+    /**
+     * Opens the next range not finished. A range starting inside a file skips its first line, which
+     * belongs to the previous range, a range restored from a checkpoint goes to its offset.
+     */
+    private boolean openNextRange() throws IOException {
+        closeLineReader();
+        while (rangeIterator.hasNext()) {
+            FileRange range = rangeIterator.next();
+            String key = range.getStateKey();
+            Long offset = rangeOffsets.get(key);
+            if (offset != null && offset > range.getEnd()) {
+                continue;
+            }
+
+            lineReader = new MappedLineReader(range.getPath(), windowSize);
+            if (offset != null) {
+                lineReader.seek(offset);
+            } else if (range.getStart() > 0) {
+                lineReader.seek(range.getStart());
+                lineReader.nextLine();
+            } else {
+                for (int i = 1; i < fromLine && lineReader.nextLine(); i++) {
+                    // skip the lines before fromLine
+                }
+            }
+            rangeOffsets.put(key, lineReader.getPosition());
+            currentRange = range;
+            currentRangeKey = key;
+            LOG.info("read {} from offset {}", range, lineReader.getPosition());
+            return true;
+        }
+        currentRange = null;
+        currentRangeKey = null;
+        return false;
+    }
+
+    private void closeLineReader() throws IOException {
+        if (lineReader != null) {
+            lineReader.close();
+            lineReader = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeLineReader();
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.flinkx.connector.file.source;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads lines terminated by \n from a file through memory-mapped windows. A trailing \r is removed
+ * from the line. The charset must encode \n as the single byte 0x0A that can not be part of another
+ * char.
+ */
+public class MappedLineReader implements Closeable {
+
+    static final int WINDOW_SIZE = 64 * 1024 * 1024;
+    private static final int MAX_WINDOW_SIZE = Integer.MAX_VALUE - 8;
+
+    private final FileChannel channel;
+    private final long fileLength;
+    private final int initialWindowSize;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    /** start of the next line */
+    private long position;
+
+    private byte[] lineBuffer = new byte[1024];
+    private int lineLength;
+
+    public MappedLineReader(String path) throws IOException {
+        this(path, WINDOW_SIZE);
+    }
+
+    MappedLineReader(String path, int windowSize) throws IOException {
+        this.channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ);
+        this.fileLength = channel.size();
+        this.initialWindowSize = windowSize;
+    }
+
+    public void seek(long position) {
+        this.position = position;
+    }
+
+    /** @return start of the next line */
+    public long getPosition() {
+        return position;
+    }
+
+    public long getFileLength() {
+        return fileLength;
+    }
+
+    /**
+     * Reads the line starting at the current position.
+     *
+     * @return false if the position is at the end of the file
+     */
+    public boolean nextLine() throws IOException {
+        if (position >= fileLength) {
+            return false;
+        }
+
+        int windowSize = initialWindowSize;
+        while (true) {
+            if (window == null
+                    || position < windowStart
+                    || position >= windowStart + window.limit()) {
+                map(position, windowSize);
+            }
+            int from = (int) (position - windowStart);
+            int limit = window.limit();
+            int end = from;
+            while (end < limit && window.get(end) != '\n') {
+                end++;
+            }
+
+            boolean lastLine = windowStart + limit >= fileLength;
+            if (end < limit || lastLine) {
+                copyLine(from, end);
+                position = end < limit ? windowStart + end + 1 : fileLength;
+                return true;
+            }
+
+            // the line crosses the end of the window, map a window starting at the line
+            if (from == 0) {
+                if (windowSize == MAX_WINDOW_SIZE) {
+                    throw new IOException("line at " + position + " is longer than " + windowSize);
+                }
+                windowSize = (int) Math.min(2L * windowSize, MAX_WINDOW_SIZE);
+            }
+            map(position, windowSize);
+        }
+    }
+
+    private void map(long start, int size) throws IOException {
+        window =
+                channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(size, fileLength - start));
+        windowStart = start;
+    }
+
+    private void copyLine(int from, int end) {
+        int length = end - from;
+        if (length > 0 && window.get(end - 1) == '\r') {
+            length--;
+        }
+        if (lineBuffer.length < length) {
+            lineBuffer = Arrays.copyOf(lineBuffer, Math.max(lineBuffer.length * 2, length));
+        }
+        window.position(from);
+        window.get(lineBuffer, 0, length);
+        lineLength = length;
+    }
+
+    public byte[] getLineBytes() {
+        return lineBuffer;
+    }
+
+    public int getLineLength() {
+        return lineLength;
+    }
+
+    @Override
+    public void close() throws IOException {
+        // a mapped window is released when it is garbage collected
+        window = null;
+        channel.close();
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.flinkx.connector.file.source;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class FileRangeReaderTest {
+
+    private static final Charset UTF_8 = StandardCharsets.UTF_8;
+
+    private final List<Path> files = new ArrayList<>();
+
+    @After
+    public void tearDown() throws IOException {
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testEveryLineInOneRange() throws IOException {
+        String[] contents = {
+            "a\nbb\r\n\r\nccc\n\ndddd\r\ne",
+            "first\r\nsecond\r\n",
+            "",
+            "\n",
+            "\r\n\r\n",
+            "单\n双字节\r\n行"
+        };
+        for (String content : contents) {
+            String path = createFile(content);
+            List<String> expected = readAll(path, content.getBytes(UTF_8).length, 1);
+            Assert.assertEquals(lines(content), expected);
+
+            long length = content.getBytes(UTF_8).length;
+            for (long splitSize = 1; splitSize <= length; splitSize++) {
+                FileInputSplit[] splits = split(path, length, splitSize);
+                List<String> actual = new ArrayList<>();
+                for (FileInputSplit split : splits) {
+                    actual.addAll(read(split.getRanges(), new HashMap<>(), 1));
+                }
+                Assert.assertEquals("split size " + splitSize, expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void testCrlfOnRangeBoundary() throws IOException {
+        String content = "abc\r\ndef\r\nghi";
+        String path = createFile(content);
+        // the ranges end on the '\r' and on the '\n' of the first line feed
+        for (long end : new long[] {3, 4, 5}) {
+            List<String> first =
+                    read(
+                            Collections.singletonList(new FileRange(path, 0, end)),
+                            new HashMap<>(),
+                            1);
+            List<String> second =
+                    read(
+                            Collections.singletonList(new FileRange(path, end, content.length())),
+                            new HashMap<>(),
+                            1);
+            List<String> actual = new ArrayList<>(first);
+            actual.addAll(second);
+            Assert.assertEquals("end " + end, Arrays.asList("abc", "def", "ghi"), actual);
+            Assert.assertFalse("end " + end, first.contains("") || second.contains(""));
+        }
+    }
+
+    @Test
+    public void testSplitLengths() {
+        List<String> paths = Arrays.asList("a", "b", "c");
+        long[] lengths = {10, 0, 25};
+        FileInputSplit[] splits = FileInputFormat.createSplits(paths, lengths, true, 8);
+        Assert.assertEquals(5, splits.length);
+        long total = 0;
+        for (int i = 0; i < splits.length; i++) {
+            Assert.assertEquals(i, splits[i].getSplitNumber());
+            if (i < splits.length - 1) {
+                Assert.assertEquals(8, splits[i].getLength());
+            }
+            total += splits[i].getLength();
+        }
+        Assert.assertEquals(35, total);
+
+        splits = FileInputFormat.createSplits(paths, lengths, false, 8);
+        Assert.assertEquals(2, splits.length);
+        Assert.assertEquals(1, splits[0].getRanges().size());
+        Assert.assertEquals(10, splits[0].getLength());
+        Assert.assertEquals(2, splits[1].getRanges().size());
+        Assert.assertEquals(25, splits[1].getLength());
+    }
+
+    @Test
+    public void testRestoreFromOffset() throws IOException {
+        String content = "l1\r\nl2\nl3\r\nl4\nl5\nl6";
+        String path = createFile(content);
+        List<FileRange> ranges =
+                Arrays.asList(new FileRange(path, 0, 8), new FileRange(path, 8, 19));
+
+        for (int emitted = 0; emitted <= 6; emitted++) {
+            Map<String, Long> offsets = new HashMap<>();
+            List<String> actual = new ArrayList<>();
+            try (FileRangeReader reader =
+                    new FileRangeReader(ranges.iterator(), offsets, UTF_8, 1, 4)) {
+                for (int i = 0; i < emitted; i++) {
+                    actual.add(reader.readLine());
+                    reader.markEmitted();
+                }
+                // read but not emitted before the checkpoint
+                reader.readLine();
+            }
+
+            actual.addAll(read(ranges, new HashMap<>(offsets), 1));
+            Assert.assertEquals(
+                    "emitted " + emitted,
+                    Arrays.asList("l1", "l2", "l3", "l4", "l5", "l6"),
+                    actual);
+        }
+    }
+
+    @Test
+    public void testSkipFinishedRange() throws IOException {
+        String content = "l1\nl2\nl3\nl4";
+        String path = createFile(content);
+        FileRange first = new FileRange(path, 0, 5);
+        FileRange second = new FileRange(path, 5, content.length());
+        Map<String, Long> offsets = new HashMap<>();
+        offsets.put(first.getStateKey(), 6L);
+
+        Assert.assertEquals(
+                Arrays.asList("l3", "l4"), read(Arrays.asList(first, second), offsets, 1));
+    }
+
+    @Test
+    public void testFromLine() throws IOException {
+        String content = "header\r\nl1\nl2\nl3";
+        String path = createFile(content);
+        List<FileRange> ranges =
+                Arrays.asList(new FileRange(path, 0, 10), new FileRange(path, 10, 17));
+
+        Assert.assertEquals(Arrays.asList("l1", "l2", "l3"), read(ranges, new HashMap<>(), 2));
+    }
+
+    private String createFile(String content) throws IOException {
+        Path file = Files.createTempFile("range", ".txt");
+        files.add(file);
+        Files.write(file, content.getBytes(UTF_8));
+        return file.toString();
+    }
+
+    private List<String> readAll(String path, long length, int fromLine) throws IOException {
+        return read(
+                Collections.singletonList(new FileRange(path, 0, length)),
+                new HashMap<>(),
+                fromLine);
+    }
+
+    private FileInputSplit[] split(String path, long length, long splitSize) {
+        return FileInputFormat.createSplits(
+                Collections.singletonList(path), new long[] {length}, true, splitSize);
+    }
+
+    private List<String> read(List<FileRange> ranges, Map<String, Long> offsets, int fromLine)
+            throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (FileRangeReader reader =
+                new FileRangeReader(ranges.iterator(), offsets, UTF_8, fromLine, 4)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+                reader.markEmitted();
+            }
+        }
+        return lines;
+    }
+
+    /** Splits the content the way a line reader does, a last line feed ends no empty line. */
+    private static List<String> lines(String content) {
+        List<String> lines = new ArrayList<>();
+        if (content.isEmpty()) {
+            return lines;
+        }
+        String[] parts = content.split("\n", -1);
+        int count = content.endsWith("\n") ? parts.length - 1 : parts.length;
+        for (int i = 0; i < count; i++) {
+            String part = parts[i];
+            lines.add(part.endsWith("\r") ? part.substring(0, part.length() - 1) : part);
+        }
+        return lines;
+    }
+}
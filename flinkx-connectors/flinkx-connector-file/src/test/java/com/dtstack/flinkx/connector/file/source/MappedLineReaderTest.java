@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.flinkx.connector.file.source;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class MappedLineReaderTest {
+
+    private Path file;
+
+    @After
+    public void tearDown() throws IOException {
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testLinesAcrossWindows() throws IOException {
+        String content = "ab\r\ncdefghijk\n\r\nlmnopqrstuvwxyz0123456789\r\nend\r";
+        List<String> expected =
+                Arrays.asList("ab", "cdefghijk", "", "lmnopqrstuvwxyz0123456789", "end");
+        for (int windowSize = 1; windowSize <= content.length() + 1; windowSize++) {
+            Assert.assertEquals("window " + windowSize, expected, readLines(content, windowSize));
+        }
+    }
+
+    @Test
+    public void testPositions() throws IOException {
+        String path = createFile("ab\r\ncd\nef");
+        try (MappedLineReader reader = new MappedLineReader(path, 2)) {
+            Assert.assertEquals(9, reader.getFileLength());
+            Assert.assertTrue(reader.nextLine());
+            Assert.assertEquals(4, reader.getPosition());
+            Assert.assertTrue(reader.nextLine());
+            Assert.assertEquals(7, reader.getPosition());
+            Assert.assertTrue(reader.nextLine());
+            Assert.assertEquals(9, reader.getPosition());
+            Assert.assertFalse(reader.nextLine());
+
+            reader.seek(4);
+            Assert.assertTrue(reader.nextLine());
+            Assert.assertEquals("cd", line(reader));
+            reader.seek(5);
+            Assert.assertTrue(reader.nextLine());
+            Assert.assertEquals("d", line(reader));
+        }
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        Assert.assertTrue(readLines("", 4).isEmpty());
+    }
+
+    private List<String> readLines(String content, int windowSize) throws IOException {
+        String path = createFile(content);
+        List<String> lines = new ArrayList<>();
+        try (MappedLineReader reader = new MappedLineReader(path, windowSize)) {
+            while (reader.nextLine()) {
+                lines.add(line(reader));
+            }
+        }
+        return lines;
+    }
+
+    private String createFile(String content) throws IOException {
+        if (file == null) {
+            file = Files.createTempFile("mapped", ".txt");
+        }
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file.toString();
+    }
+
+    private static String line(MappedLineReader reader) {
+        return new String(
+                reader.getLineBytes(), 0, reader.getLineLength(), StandardCharsets.UTF_8);
+    }
+}
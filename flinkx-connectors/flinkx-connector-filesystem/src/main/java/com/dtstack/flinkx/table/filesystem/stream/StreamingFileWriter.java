@@ -163,6 +163,10 @@ public class StreamingFileWriter<IN> extends AbstractStreamingWriter<IN, Partiti
         outputMetric.addDirtyMetric(
                 Metrics.DIRTY_DATA_COLLECT_FAILED_COUNT,
                 this.dirtyManager.getFailedConsumedMetric());
+        outputMetric.addDirtyMetric(
+                Metrics.DIRTY_DATA_DROPPED_COUNT, this.dirtyManager.getDroppedMetric());
+        outputMetric.addDirtyGauge(
+                Metrics.DIRTY_DATA_QUEUE_SIZE, this.dirtyManager.getQueueSizeGauge());
     }
 
     @Override
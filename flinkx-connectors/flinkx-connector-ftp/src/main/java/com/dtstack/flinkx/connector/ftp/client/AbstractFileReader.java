@@ -58,4 +58,8 @@ public abstract class AbstractFileReader implements FileReadClient {
     public String getFileName() {
         return file.getFileName();
     }
+
+    protected File getFile() {
+        return file;
+    }
 }
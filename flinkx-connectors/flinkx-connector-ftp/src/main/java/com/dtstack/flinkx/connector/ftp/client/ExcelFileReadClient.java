@@ -26,26 +26,51 @@ import com.dtstack.flinkx.connector.ftp.conf.FtpConfig;
 
 import com.alibaba.excel.EasyExcel;
 import com.alibaba.excel.ExcelReader;
+import com.alibaba.excel.cache.selector.SimpleReadCacheSelector;
 import com.alibaba.excel.read.builder.ExcelReaderBuilder;
+import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collections;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
-/** @author by dujie @Description @Date 2021/12/20 */
+/**
+ * Parses the workbook in a separate thread, rows are handed over through a bounded queue so the
+ * rows held in memory do not grow with the size of the sheets. Only the sheet of the file is read
+ * when the file is one sheet of a workbook split by sheet.
+ *
+ * @author by dujie @Description @Date 2021/12/20
+ */
 public class ExcelFileReadClient extends AbstractFileReader {
 
+    /** fileConfig key of the number of parsed rows buffered */
+    public static final String ROW_BUFFER_SIZE = "rowBufferSize";
+    /** fileConfig key of the max size in MB of the shared strings held in a map */
+    public static final String MAX_USE_MAP_CACHE_SIZE = "maxUseMapCacheSize";
+    /**
+     * fileConfig key of the max size in MB of the shared strings held in memory when they are
+     * cached on disk
+     */
+    public static final String MAX_CACHE_ACTIVATE_SIZE = "maxCacheActivateSize";
+    /** fileConfig key, whether the sheets of a workbook are read by different splits */
+    public static final String SPLIT_BY_SHEET = "splitBySheet";
+
+    private static final int DEFAULT_MAX_USE_MAP_CACHE_SIZE = 5;
+    private static final int DEFAULT_MAX_CACHE_ACTIVATE_SIZE = 20;
+
+    private ExcelReadListener listener;
+
     private BlockingQueue<Row> queue;
 
     private ThreadPoolExecutor executorService;
 
-    private int sheetNum;
-
     private Row row;
 
     /** The number of cells per row in the Excel file. */
@@ -55,7 +80,13 @@ public class ExcelFileReadClient extends AbstractFileReader {
     public void open(InputStream inputStream, FtpConfig ftpConfig) throws IOException {
 
         cellCount = ftpConfig.getColumn().size();
-        ExcelReadListener listener = new ExcelReadListener();
+        Map<String, Object> fileConfig = ftpConfig.getFileConfig();
+        listener =
+                new ExcelReadListener(
+                        MapUtils.getIntValue(
+                                fileConfig,
+                                ROW_BUFFER_SIZE,
+                                ExcelReadListener.DEFAULT_QUEUE_CAPACITY));
         queue = listener.getQueue();
 
         ExcelReaderBuilder builder = EasyExcel.read(inputStream, listener);
@@ -63,9 +94,19 @@ public class ExcelFileReadClient extends AbstractFileReader {
             builder.headRowNumber(0);
         }
         builder.ignoreEmptyRow(true);
+        // shared strings larger than the map cache are kept on disk, only a bounded part of them
+        // is held in memory
+        builder.readCacheSelector(
+                new SimpleReadCacheSelector(
+                        MapUtils.getLongValue(
+                                fileConfig, MAX_USE_MAP_CACHE_SIZE, DEFAULT_MAX_USE_MAP_CACHE_SIZE),
+                        MapUtils.getIntValue(
+                                fileConfig,
+                                MAX_CACHE_ACTIVATE_SIZE,
+                                DEFAULT_MAX_CACHE_ACTIVATE_SIZE)));
         ExcelReader reader = builder.build();
 
-        sheetNum = reader.excelExecutor().sheetList().size();
+        Integer sheetNo = getFile().getSheetNo();
         executorService =
                 new ThreadPoolExecutor(
                         1,
@@ -78,18 +119,34 @@ public class ExcelFileReadClient extends AbstractFileReader {
                                 .uncaughtExceptionHandler(new ExcelReaderExceptionHandler())
                                 .daemon(false)
                                 .build());
-        ExcelReaderExecutor executor = new ExcelReaderExecutor(reader);
+        ExcelReaderExecutor executor =
+                new ExcelReaderExecutor(
+                        reader,
+                        listener,
+                        sheetNo == null
+                                ? null
+                                : Collections.singletonList(
+                                        EasyExcel.readSheet(sheetNo).build()));
         executorService.execute(executor);
     }
 
     @Override
     public boolean hasNext() throws IOException {
         try {
-            row = queue.take();
-            if (row.isEnd()) {
-                return row.getSheetIndex() < sheetNum - 1;
-            } else {
-                return true;
+            while (true) {
+                row = queue.take();
+                if (listener.isFinished(row)) {
+                    if (listener.getError() != null) {
+                        throw new IOException(
+                                "failed to read excel file " + getFileName(),
+                                listener.getError());
+                    }
+                    return false;
+                }
+                // the end of a sheet, go on with the next sheet
+                if (!row.isEnd()) {
+                    return true;
+                }
             }
         } catch (InterruptedException e) {
             throw new RuntimeException(
@@ -99,18 +156,7 @@ public class ExcelFileReadClient extends AbstractFileReader {
 
     @Override
     public String[] nextRecord() throws IOException {
-        String[] data;
-        if (row.isEnd()) {
-            try {
-                data = queue.take().getData();
-            } catch (InterruptedException e) {
-                throw new RuntimeException(
-                        "cannot get data from the queue because the current thread is interrupted.",
-                        e);
-            }
-        } else {
-            data = row.getData();
-        }
+        String[] data = row.getData();
         if (cellCount == data.length) {
             return data;
         }
@@ -123,7 +169,8 @@ public class ExcelFileReadClient extends AbstractFileReader {
     @Override
     public void close() throws IOException {
         if (executorService != null) {
-            executorService.shutdown();
+            // the parser thread may be blocked on the full queue, interrupt it to stop parsing
+            executorService.shutdownNow();
             queue.clear();
         }
     }
@@ -33,6 +33,12 @@ public class File implements Serializable {
     private String fileName;
     /** 压缩类型* */
     private String compressType;
+    /** 读取的字节范围的起始位置，范围内的数据为起始位置之后开始的行* */
+    private long splitStart;
+    /** 读取的字节范围的结束位置，小于等于0时读取整个文件* */
+    private long splitEnd;
+    /** 只读取excel文件的一个sheet时为sheet的序号，为null时读取所有sheet* */
+    private Integer sheetNo;
 
     public File(
             String fileCompressPath,
@@ -45,6 +51,25 @@ public class File implements Serializable {
         this.fileName = fileName;
     }
 
+    public File(String fileAbsolutePath, String fileName, long splitStart, long splitEnd) {
+        this(null, fileAbsolutePath, fileName, null);
+        this.splitStart = splitStart;
+        this.splitEnd = splitEnd;
+    }
+
+    /** 是否只读取文件的一部分 */
+    public boolean isRange() {
+        return splitEnd > 0;
+    }
+
+    /** 同一个文件的不同范围、不同sheet是不同的key */
+    public String getKey() {
+        if (sheetNo != null) {
+            return fileAbsolutePath + "#" + sheetNo;
+        }
+        return isRange() ? fileAbsolutePath + "@" + splitStart : fileAbsolutePath;
+    }
+
     public String getFileCompressPath() {
         return fileCompressPath;
     }
@@ -77,6 +102,22 @@ public class File implements Serializable {
         this.fileName = fileName;
     }
 
+    public long getSplitStart() {
+        return splitStart;
+    }
+
+    public long getSplitEnd() {
+        return splitEnd;
+    }
+
+    public Integer getSheetNo() {
+        return sheetNo;
+    }
+
+    public void setSheetNo(Integer sheetNo) {
+        this.sheetNo = sheetNo;
+    }
+
     @Override
     public String toString() {
         return "File{"
@@ -92,6 +133,12 @@ public class File implements Serializable {
                 + ", compressType='"
                 + compressType
                 + '\''
+                + ", splitStart="
+                + splitStart
+                + ", splitEnd="
+                + splitEnd
+                + ", sheetNo="
+                + sheetNo
                 + '}';
     }
 }
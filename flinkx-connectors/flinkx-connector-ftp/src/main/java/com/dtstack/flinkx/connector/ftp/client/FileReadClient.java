@@ -54,4 +54,14 @@ public interface FileReadClient extends Closeable {
      * @throws IOException
      */
     String[] nextRecord() throws IOException;
+
+    /**
+     * Number of bytes of the stream consumed by the records read, including line terminators, so
+     * that the start of the next record can be located in the file.
+     *
+     * @return -1 if the reader does not track the bytes read
+     */
+    default long getBytesRead() {
+        return -1;
+    }
 }
@@ -26,7 +26,13 @@ import com.dtstack.flinkx.connector.ftp.handler.IFtpHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.util.List;
 import java.util.Locale;
@@ -36,6 +42,9 @@ import java.util.zip.ZipInputStream;
 public class FileUtil {
     private static final Logger LOG = LoggerFactory.getLogger(FileUtil.class);
 
+    private static final String XLSX_WORKBOOK = "xl/workbook.xml";
+    private static final String XLSX_SHEET = "sheet";
+
     public static void addFile(
             IFtpHandler ftpHandler, String filePath, FtpConfig ftpConfig, List<File> fileList)
             throws IOException {
@@ -77,4 +86,36 @@ public class FileUtil {
                         "not support compressType " + ftpConfig.getCompressType());
         }
     }
+
+    /**
+     * 读取xlsx文件中的xl/workbook.xml获取sheet数量，workbook.xml一般位于文件开头，不需要读取整个文件
+     *
+     * @param inputStream 文件输入流
+     * @return sheet数量，不是xlsx文件时返回0
+     */
+    public static int getXlsxSheetCount(InputStream inputStream) throws IOException {
+        ZipInputStream zipInputStream = new ZipInputStream(inputStream);
+        ZipEntry zipEntry;
+        while ((zipEntry = zipInputStream.getNextEntry()) != null) {
+            if (!XLSX_WORKBOOK.equals(zipEntry.getName())) {
+                continue;
+            }
+            int sheetCount = 0;
+            try {
+                XMLInputFactory factory = XMLInputFactory.newInstance();
+                factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+                XMLStreamReader reader = factory.createXMLStreamReader(zipInputStream);
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT
+                            && XLSX_SHEET.equals(reader.getLocalName())) {
+                        sheetCount++;
+                    }
+                }
+            } catch (XMLStreamException e) {
+                throw new IOException("failed to parse " + XLSX_WORKBOOK, e);
+            }
+            return sheetCount;
+        }
+        return 0;
+    }
 }
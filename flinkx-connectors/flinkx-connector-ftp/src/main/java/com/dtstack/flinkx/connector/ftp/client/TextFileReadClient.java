@@ -19,44 +19,162 @@
 package com.dtstack.flinkx.connector.ftp.client;
 
 import com.dtstack.flinkx.connector.ftp.conf.FtpConfig;
+import com.dtstack.flinkx.util.DelimitedTextTokenizer;
 
 import org.apache.commons.io.IOUtils;
-import org.apache.commons.lang3.StringUtils;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.Arrays;
 
+/**
+ * Reads lines as raw bytes and splits them with {@link DelimitedTextTokenizer}, lines are only
+ * decoded through a {@link BufferedReader} when the encoding does not allow splitting raw bytes.
+ */
 public class TextFileReadClient extends AbstractFileReader {
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private InputStream inputStream;
+
     private BufferedReader bufferedReader;
 
-    private FtpConfig ftpConfig;
+    private DelimitedTextTokenizer tokenizer;
+
+    private byte[] buffer;
+    private int bufferPos;
+    private int bufferLimit;
+
+    /** holds a line that does not fit in the rest of the buffer */
+    private byte[] lineBuffer;
 
-    private String line;
+    private byte[] lineBytes;
+    private int lineOffset;
+    private int lineLength;
+
+    /** bytes consumed by the lines read, only tracked when raw bytes are scanned */
+    private long bytesRead;
+
+    /**
+     * Whether lines are read as raw bytes, so the bytes read locate the next line in the file and
+     * an uncompressed file can be read from any line terminated by \n.
+     */
+    public static boolean isSeekable(FtpConfig ftpConfig) {
+        return createTokenizer(ftpConfig).isScanRawBytes();
+    }
+
+    private static DelimitedTextTokenizer createTokenizer(FtpConfig ftpConfig) {
+        return new DelimitedTextTokenizer(
+                ftpConfig.getFieldDelimiter(),
+                Charset.forName(ftpConfig.getEncoding()),
+                ftpConfig.getQuoteChar(),
+                ftpConfig.getEscapeChar());
+    }
 
     @Override
     public void open(InputStream inputStream, FtpConfig ftpConfig) throws IOException {
-        this.bufferedReader =
-                new BufferedReader(new InputStreamReader(inputStream, ftpConfig.getEncoding()));
-        this.ftpConfig = ftpConfig;
+        Charset charset = Charset.forName(ftpConfig.getEncoding());
+        this.tokenizer = createTokenizer(ftpConfig);
+        if (tokenizer.isScanRawBytes()) {
+            this.inputStream = inputStream;
+            this.buffer = new byte[BUFFER_SIZE];
+            this.lineBuffer = new byte[1024];
+        } else {
+            this.bufferedReader = new BufferedReader(new InputStreamReader(inputStream, charset));
+        }
     }
 
     @Override
     public boolean hasNext() throws IOException {
-        line = bufferedReader.readLine();
-        return line != null;
+        if (bufferedReader != null) {
+            String line = bufferedReader.readLine();
+            if (line == null) {
+                return false;
+            }
+            tokenizer.tokenize(line);
+            return true;
+        }
+
+        if (!readLine()) {
+            return false;
+        }
+        // same as BufferedReader, a line ending with \r\n is terminated by both
+        if (lineLength > 0 && lineBytes[lineOffset + lineLength - 1] == '\r') {
+            lineLength--;
+        }
+        tokenizer.tokenize(lineBytes, lineOffset, lineLength);
+        return true;
+    }
+
+    /**
+     * Finds the next line terminated by \n. The line refers to the read buffer if it is there as a
+     * whole, otherwise it is copied to the line buffer.
+     */
+    private boolean readLine() throws IOException {
+        int copied = 0;
+        while (true) {
+            if (bufferPos >= bufferLimit) {
+                bufferLimit = inputStream.read(buffer);
+                bufferPos = 0;
+                if (bufferLimit <= 0) {
+                    bufferLimit = 0;
+                    if (copied == 0) {
+                        return false;
+                    }
+                    setLine(lineBuffer, 0, copied);
+                    return true;
+                }
+            }
+
+            int start = bufferPos;
+            int end = start;
+            while (end < bufferLimit && buffer[end] != '\n') {
+                end++;
+            }
+            bufferPos = end + 1;
+            bytesRead += Math.min(bufferPos, bufferLimit) - start;
+            if (end < bufferLimit && copied == 0) {
+                setLine(buffer, start, end - start);
+                return true;
+            }
+
+            int length = end - start;
+            if (copied + length > lineBuffer.length) {
+                lineBuffer =
+                        Arrays.copyOf(
+                                lineBuffer, Math.max(lineBuffer.length * 2, copied + length));
+            }
+            System.arraycopy(buffer, start, lineBuffer, copied, length);
+            copied += length;
+            if (end < bufferLimit) {
+                setLine(lineBuffer, 0, copied);
+                return true;
+            }
+        }
+    }
+
+    private void setLine(byte[] bytes, int offset, int length) {
+        this.lineBytes = bytes;
+        this.lineOffset = offset;
+        this.lineLength = length;
     }
 
     @Override
     public String[] nextRecord() throws IOException {
-        return StringUtils.splitByWholeSeparatorPreserveAllTokens(
-                line, ftpConfig.getFieldDelimiter());
+        return tokenizer.toArray();
+    }
+
+    @Override
+    public long getBytesRead() {
+        return bufferedReader == null ? bytesRead : -1;
     }
 
     @Override
     public void close() throws IOException {
         IOUtils.closeQuietly(bufferedReader);
+        IOUtils.closeQuietly(inputStream);
     }
 }
@@ -28,7 +28,26 @@ import java.util.concurrent.LinkedBlockingQueue;
 /** @author by dujie @Description @Date 2021/12/20 */
 public class ExcelReadListener implements ReadListener<Map<Integer, String>> {
 
-    private final BlockingQueue<Row> queue = new LinkedBlockingQueue<>(4096);
+    public static final int DEFAULT_QUEUE_CAPACITY = 4096;
+
+    /** put after all the sheets are read or the reading failed */
+    private static final Row FINISHED = new Row(new String[0], -1, -1, true);
+
+    /**
+     * Rows parsed but not read yet. The parser thread blocks when it is full, so at most this
+     * number of rows are held in memory however large the sheets are.
+     */
+    private final BlockingQueue<Row> queue;
+
+    private volatile Throwable error;
+
+    public ExcelReadListener() {
+        this(DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public ExcelReadListener(int queueCapacity) {
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+    }
 
     @Override
     public void invoke(Map<Integer, String> data, AnalysisContext context) {
@@ -68,6 +87,30 @@ public class ExcelReadListener implements ReadListener<Map<Integer, String>> {
         }
     }
 
+    /**
+     * Called by the parser thread when it stops.
+     *
+     * @param error the error that stopped the parser, null if all the rows are read
+     */
+    public void finish(Throwable error) {
+        this.error = error;
+        try {
+            queue.put(FINISHED);
+        } catch (InterruptedException e) {
+            // the reader is closed and does not wait for the rows any more
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Whether the row is the last one put by {@link #finish(Throwable)}. */
+    public boolean isFinished(Row row) {
+        return row == FINISHED;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+
     public BlockingQueue<Row> getQueue() {
         return queue;
     }
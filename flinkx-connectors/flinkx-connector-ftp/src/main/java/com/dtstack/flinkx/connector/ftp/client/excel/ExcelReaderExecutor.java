@@ -19,23 +19,46 @@
 package com.dtstack.flinkx.connector.ftp.client.excel;
 
 import com.alibaba.excel.ExcelReader;
+import com.alibaba.excel.read.metadata.ReadSheet;
+
+import java.util.List;
 
 /** @author by dujie @Description @Date 2021/12/20 */
 public class ExcelReaderExecutor implements Runnable {
 
     private final ExcelReader reader;
 
-    public ExcelReaderExecutor(ExcelReader reader) {
+    private final ExcelReadListener listener;
+
+    /** sheets to read, all the sheets if it is null */
+    private final List<ReadSheet> readSheets;
+
+    public ExcelReaderExecutor(
+            ExcelReader reader, ExcelReadListener listener, List<ReadSheet> readSheets) {
         this.reader = reader;
+        this.listener = listener;
+        this.readSheets = readSheets;
     }
 
     @Override
     public void run() {
+        Throwable error = null;
         try {
-            reader.readAll();
-            close();
-        } catch (Exception e) {
-            throw new RuntimeException("failed to read file.", e);
+            if (readSheets == null) {
+                reader.readAll();
+            } else {
+                reader.read(readSheets);
+            }
+        } catch (Throwable e) {
+            error = e;
+        } finally {
+            try {
+                close();
+            } catch (Throwable e) {
+                error = error == null ? e : error;
+            }
+            // the reading thread is waiting on the queue, the error must be handed over
+            listener.finish(error);
         }
     }
 
@@ -61,6 +61,9 @@ public class FtpConfig extends BaseFileConf {
     /** 压缩格式 * */
     public String compressType;
 
+    /** 同一个TaskManager内同时连接ftp服务器的最大连接数，小于等于0时不限制 * */
+    private int maxConnections = 0;
+
     public String getUsername() {
         return username;
     }
@@ -205,6 +208,14 @@ public class FtpConfig extends BaseFileConf {
         this.fileType = fileType;
     }
 
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
     @Override
     public String getEncoding() {
         return encoding;
@@ -274,6 +285,8 @@ public class FtpConfig extends BaseFileConf {
                 + ", compressType='"
                 + compressType
                 + '\''
+                + ", maxConnections="
+                + maxConnections
                 + '}'
                 + super.toString();
     }
@@ -364,6 +364,8 @@ public class FtpHandler implements IFtpHandler {
     public InputStream getInputStream(String filePath) {
         try {
             ftpClient.enterLocalPassiveMode();
+            // 连接可能被按字节位置读取的文件切换成了二进制模式
+            ftpClient.setFileType(FTP.ASCII_FILE_TYPE);
             InputStream is = ftpClient.retrieveFileStream(encodePath(filePath));
             return is;
         } catch (IOException e) {
@@ -374,6 +376,24 @@ public class FtpHandler implements IFtpHandler {
         }
     }
 
+    @Override
+    public InputStream getInputStream(String filePath, long offset) {
+        try {
+            ftpClient.enterLocalPassiveMode();
+            // ASCII模式会转换换行符,读取的字节数与文件中的位置不一致
+            ftpClient.setFileType(FTP.BINARY_FILE_TYPE);
+            ftpClient.setRestartOffset(offset);
+            return ftpClient.retrieveFileStream(encodePath(filePath));
+        } catch (IOException e) {
+            String message =
+                    String.format(
+                            "读取文件 : [%s] 位置 [%s] 时出错,请确认文件存在、配置的用户有权限读取且服务器支持REST命令",
+                            filePath, offset);
+            LOG.error(message);
+            throw new RuntimeException(message, e);
+        }
+    }
+
     @Override
     public List<String> listDirs(String path) {
         List<String> sources = new ArrayList<>();
@@ -423,13 +443,26 @@ public class FtpHandler implements IFtpHandler {
 
     @Override
     public long getFileSize(String path) throws IOException {
-        FTPFile[] ftpFiles = ftpClient.listFiles(path);
+        FTPFile[] ftpFiles = ftpClient.listFiles(encodePath(path));
         if (ftpFiles == null || ftpFiles.length == 0) {
             throw new IOException("file does not exist path: " + path);
         }
         return ftpFiles[0].getSize();
     }
 
+    @Override
+    public boolean isAlive() {
+        if (ftpClient == null || !ftpClient.isConnected()) {
+            return false;
+        }
+        try {
+            return ftpClient.sendNoOp();
+        } catch (IOException e) {
+            LOG.warn("FTPClient sendNoOp has error ->", e);
+            return false;
+        }
+    }
+
     /**
      * 判断路径是否存在
      *
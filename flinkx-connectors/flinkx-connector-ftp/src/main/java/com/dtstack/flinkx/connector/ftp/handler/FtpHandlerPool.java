@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.flinkx.connector.ftp.handler;
+
+import com.dtstack.flinkx.connector.ftp.conf.FtpConfig;
+import com.dtstack.flinkx.util.Md5Util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 同一个TaskManager内连接同一个ftp服务器的连接池。
+ *
+ * <p>subtask读取每个分片时借用一个已登录的连接，读完后归还，连接可以被其他分片复用。同时借出的连接数不超过{@link
+ * FtpConfig#getMaxConnections()}，超过时等待其他分片归还。所有使用连接池的subtask关闭后，关闭空闲的连接。
+ *
+ * <p>只有影响登录和连接行为的配置都相同时才共用一个连接池，避免使用错误的密码、超时时间或连接模式登录。
+ */
+public class FtpHandlerPool {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FtpHandlerPool.class);
+
+    private static final Map<String, FtpHandlerPool> POOLS = new HashMap<>();
+
+    private final String key;
+    /** 日志中显示的服务器地址，不包含密码 */
+    private final String name;
+
+    private final FtpConfig ftpConfig;
+    /** 为null时不限制连接数 */
+    private final Semaphore permits;
+
+    private final Deque<IFtpHandler> idleHandlers = new ArrayDeque<>();
+    /** 使用连接池的subtask数量 */
+    private int refCount;
+
+    private FtpHandlerPool(String key, String name, FtpConfig ftpConfig) {
+        this.key = key;
+        this.name = name;
+        this.ftpConfig = ftpConfig;
+        int maxConnections = ftpConfig.getMaxConnections();
+        this.permits = maxConnections > 0 ? new Semaphore(maxConnections, true) : null;
+    }
+
+    /**
+     * 获取ftp服务器对应的连接池，使用完后需要调用{@link #close()}
+     *
+     * @param ftpConfig 连接配置
+     * @return 连接池
+     */
+    public static FtpHandlerPool getInstance(FtpConfig ftpConfig) {
+        String name =
+                ftpConfig.getProtocol()
+                        + "://"
+                        + ftpConfig.getUsername()
+                        + "@"
+                        + ftpConfig.getHost()
+                        + ":"
+                        + ftpConfig.getPort();
+        String key = name + "#" + Md5Util.getMd5(getLoginOptions(ftpConfig));
+        synchronized (POOLS) {
+            FtpHandlerPool pool =
+                    POOLS.computeIfAbsent(key, k -> new FtpHandlerPool(k, name, ftpConfig));
+            pool.refCount++;
+            return pool;
+        }
+    }
+
+    /** 除地址和用户名外影响登录和连接的配置，密码等敏感信息只以摘要的形式出现在key中 */
+    private static String getLoginOptions(FtpConfig ftpConfig) {
+        return String.join(
+                "\u0001",
+                String.valueOf(ftpConfig.getPassword()),
+                String.valueOf(ftpConfig.getPrivateKeyPath()),
+                String.valueOf(ftpConfig.getTimeout()),
+                String.valueOf(ftpConfig.getConnectPattern()),
+                String.valueOf(ftpConfig.getControlEncoding()),
+                String.valueOf(ftpConfig.isListHiddenFiles()),
+                String.valueOf(ftpConfig.getMaxConnections()));
+    }
+
+    /**
+     * 借用一个连接，连接数达到上限时等待
+     *
+     * @return 已登录的连接
+     * @throws IOException 等待时被中断
+     */
+    public IFtpHandler borrow() throws IOException {
+        if (permits != null) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("interrupted while waiting for a connection to " + name, e);
+            }
+        }
+
+        try {
+            IFtpHandler handler;
+            while ((handler = pollIdleHandler()) != null) {
+                if (handler.isAlive()) {
+                    return handler;
+                }
+                logout(handler);
+            }
+            handler = FtpHandlerFactory.createFtpHandler(ftpConfig.getProtocol());
+            handler.loginFtpServer(ftpConfig);
+            return handler;
+        } catch (RuntimeException e) {
+            if (permits != null) {
+                permits.release();
+            }
+            throw e;
+        }
+    }
+
+    private IFtpHandler pollIdleHandler() {
+        synchronized (POOLS) {
+            return idleHandlers.pollFirst();
+        }
+    }
+
+    /**
+     * 归还借用的连接
+     *
+     * @param handler 借用的连接，为null时只释放连接数
+     */
+    public void release(IFtpHandler handler) {
+        if (handler != null) {
+            synchronized (POOLS) {
+                idleHandlers.offerFirst(handler);
+            }
+        }
+        if (permits != null) {
+            permits.release();
+        }
+    }
+
+    /** subtask不再使用连接池，最后一个subtask关闭时登出所有空闲的连接 */
+    public void close() {
+        List<IFtpHandler> handlers = new ArrayList<>();
+        synchronized (POOLS) {
+            if (--refCount > 0) {
+                return;
+            }
+            POOLS.remove(key);
+            handlers.addAll(idleHandlers);
+            idleHandlers.clear();
+        }
+        LOG.info("close {} idle connections to {}", handlers.size(), name);
+        handlers.forEach(FtpHandlerPool::logout);
+    }
+
+    private static void logout(IFtpHandler handler) {
+        try {
+            handler.logoutFtpServer();
+        } catch (Exception e) {
+            LOG.warn("logout ftp server has error ->", e);
+        }
+    }
+}
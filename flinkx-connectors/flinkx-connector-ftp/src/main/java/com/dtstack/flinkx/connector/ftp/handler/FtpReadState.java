@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.flinkx.connector.ftp.handler;
+
+import com.dtstack.flinkx.connector.ftp.client.File;
+
+import java.io.Serializable;
+import java.util.Set;
+
+/** ftp source的checkpoint状态：正在读取的位置和已经读完的文件 */
+public class FtpReadState implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 正在读取的位置，没有正在读取的分片时为null */
+    private final Position position;
+    /** 已经读完的文件或字节范围，值为{@link File#getKey()} */
+    private final Set<String> finishedFiles;
+
+    public FtpReadState(Position position, Set<String> finishedFiles) {
+        this.position = position;
+        this.finishedFiles = finishedFiles;
+    }
+
+    public Position getPosition() {
+        return position;
+    }
+
+    public Set<String> getFinishedFiles() {
+        return finishedFiles;
+    }
+
+    @Override
+    public String toString() {
+        return "FtpReadState{"
+                + "position="
+                + position
+                + ", finishedFiles="
+                + finishedFiles.size()
+                + '}';
+    }
+}
@@ -72,6 +72,15 @@ public interface IFtpHandler {
      */
     InputStream getInputStream(String filePath);
 
+    /**
+     * 以二进制方式获取从指定字节位置开始的文件输入流，FTP使用REST命令，SFTP跳过指定字节
+     *
+     * @param filePath 文件路径
+     * @param offset 开始读取的字节位置
+     * @return 数据流
+     */
+    InputStream getInputStream(String filePath, long offset);
+
     /**
      * 列出指定路径下的目录
      *
@@ -81,10 +90,10 @@ public interface IFtpHandler {
     List<String> listDirs(String path);
 
     /**
-     * 列出指定路径下的目录
+     * 获取文件大小
      *
-     * @param path 路径
-     * @return 目录列表
+     * @param path 文件路径
+     * @return 文件的字节数
      */
     long getFileSize(String path) throws IOException;
 
@@ -141,4 +150,11 @@ public interface IFtpHandler {
      * @throws IOException 文件句柄操作异常
      */
     void completePendingCommand() throws IOException;
+
+    /**
+     * 连接是否仍然可用
+     *
+     * @return true:可用,false:已断开
+     */
+    boolean isAlive();
 }
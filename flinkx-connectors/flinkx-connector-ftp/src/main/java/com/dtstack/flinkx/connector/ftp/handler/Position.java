@@ -30,10 +30,17 @@ public class Position implements Serializable {
     private Long line;
     /** 读取的数据文件* */
     private File file;
+    /** 下一行在文件中的字节位置，为null时续跑按行数跳过已读取的数据* */
+    private Long offset;
 
     public Position(Long line, File file) {
+        this(line, file, null);
+    }
+
+    public Position(Long line, File file, Long offset) {
         this.line = line;
         this.file = file;
+        this.offset = offset;
     }
 
     public static long getSerialVersionUID() {
@@ -48,8 +55,21 @@ public class Position implements Serializable {
         return file;
     }
 
+    public Long getOffset() {
+        return offset;
+    }
+
     @Override
     public String toString() {
-        return "Position{" + "line='" + line + '\'' + ", file='" + file + '\'' + '}';
+        return "Position{"
+                + "line='"
+                + line
+                + '\''
+                + ", file='"
+                + file
+                + '\''
+                + ", offset="
+                + offset
+                + '}';
     }
 }
@@ -206,6 +206,20 @@ public class SftpHandler implements IFtpHandler {
         }
     }
 
+    @Override
+    public InputStream getInputStream(String filePath, long offset) {
+        try {
+            return channelSftp.get(filePath, null, offset);
+        } catch (SftpException e) {
+            String message =
+                    String.format(
+                            "读取文件 : [%s] 位置 [%s] 时出错,请确认文件：[%s]存在且配置的用户有权限读取",
+                            filePath, offset, filePath);
+            LOG.error(message);
+            throw new RuntimeException(message, e);
+        }
+    }
+
     @Override
     public List<String> listDirs(String path) {
         if (StringUtils.isBlank(path)) {
@@ -425,6 +439,14 @@ public class SftpHandler implements IFtpHandler {
     @Override
     public void completePendingCommand() {}
 
+    @Override
+    public boolean isAlive() {
+        return session != null
+                && session.isConnected()
+                && channelSftp != null
+                && channelSftp.isConnected();
+    }
+
     @Override
     public long getFileSize(String path) throws IOException {
         try {
@@ -77,4 +77,11 @@ public class FtpOptions extends BaseFileOptions {
                     .stringType()
                     .defaultValue("PASV")
                     .withDescription("ftp connectPattern");
+
+    public static final ConfigOption<Integer> MAX_CONNECTIONS =
+            ConfigOptions.key("max-connections")
+                    .intType()
+                    .defaultValue(0)
+                    .withDescription(
+                            "max number of concurrent connections to the ftp server in a TaskManager, no limit if it is not positive");
 }
@@ -22,6 +22,7 @@ import com.dtstack.flinkx.connector.ftp.conf.FtpConfig;
 import com.dtstack.flinkx.connector.ftp.handler.FtpHandlerFactory;
 import com.dtstack.flinkx.connector.ftp.handler.IFtpHandler;
 import com.dtstack.flinkx.constants.ConstantValue;
+import com.dtstack.flinkx.sink.CountingOutputStream;
 import com.dtstack.flinkx.sink.format.BaseFileOutputFormat;
 import com.dtstack.flinkx.throwable.FlinkxRuntimeException;
 import com.dtstack.flinkx.throwable.WriteRecordException;
@@ -61,6 +62,8 @@ public class FtpOutputFormat extends BaseFileOutputFormat {
     private transient BufferedWriter writer;
 
     private transient OutputStream os;
+    /** bytes written to the current file */
+    private transient CountingOutputStream countingStream;
 
     @Override
     protected void openSource() {
@@ -99,7 +102,10 @@ public class FtpOutputFormat extends BaseFileOutputFormat {
         String currentBlockTmpPath = tmpPath + File.separatorChar + currentFileName;
         try {
             os = ftpHandler.getOutputStream(currentBlockTmpPath);
-            writer = new BufferedWriter(new OutputStreamWriter(os, ftpConfig.getEncoding()));
+            countingStream = new CountingOutputStream(os);
+            writer =
+                    new BufferedWriter(
+                            new OutputStreamWriter(countingStream, ftpConfig.getEncoding()));
             LOG.info("subtask:[{}] create block file:{}", taskNumber, currentBlockTmpPath);
         } catch (IOException e) {
             throw new FlinkxRuntimeException(ExceptionUtil.getErrorMessage(e));
@@ -118,7 +124,6 @@ public class FtpOutputFormat extends BaseFileOutputFormat {
             String line = (String) rowConverter.toExternal(rowData, "");
             this.writer.write(line);
             this.writer.write(NEWLINE);
-            this.writer.flush();
             rowsOfCurrentBlock++;
             lastRow = rowData;
         } catch (Exception ex) {
@@ -135,6 +140,7 @@ public class FtpOutputFormat extends BaseFileOutputFormat {
                 writer = null;
                 os.close();
                 os = null;
+                countingStream = null;
             }
             // avoid Failure of FtpClient operating
             this.ftpHandler.completePendingCommand();
@@ -231,12 +237,7 @@ public class FtpOutputFormat extends BaseFileOutputFormat {
 
     @Override
     protected long getCurrentFileSize() {
-        String path = tmpPath + File.separatorChar + currentFileName;
-        try {
-            return ftpHandler.getFileSize(path);
-        } catch (IOException e) {
-            throw new FlinkxRuntimeException("can't get file size from ftp, file = " + path, e);
-        }
+        return countingStream == null ? 0 : countingStream.getCount();
     }
 
     @Override
@@ -20,13 +20,19 @@ package com.dtstack.flinkx.connector.ftp.source;
 
 import com.dtstack.flinkx.conf.FieldConf;
 import com.dtstack.flinkx.connector.ftp.client.Data;
+import com.dtstack.flinkx.connector.ftp.client.ExcelFileReadClient;
 import com.dtstack.flinkx.connector.ftp.client.File;
+import com.dtstack.flinkx.connector.ftp.client.FileReadClient;
+import com.dtstack.flinkx.connector.ftp.client.FileReadClientFactory;
 import com.dtstack.flinkx.connector.ftp.client.FileType;
 import com.dtstack.flinkx.connector.ftp.client.FileUtil;
+import com.dtstack.flinkx.connector.ftp.client.TextFileReadClient;
 import com.dtstack.flinkx.connector.ftp.conf.FtpConfig;
 import com.dtstack.flinkx.connector.ftp.converter.FtpColumnConverter;
 import com.dtstack.flinkx.connector.ftp.converter.FtpRowConverter;
 import com.dtstack.flinkx.connector.ftp.handler.FtpHandlerFactory;
+import com.dtstack.flinkx.connector.ftp.handler.FtpHandlerPool;
+import com.dtstack.flinkx.connector.ftp.handler.FtpReadState;
 import com.dtstack.flinkx.connector.ftp.handler.IFtpHandler;
 import com.dtstack.flinkx.connector.ftp.handler.Position;
 import com.dtstack.flinkx.constants.ConstantValue;
@@ -40,15 +46,22 @@ import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
 
 import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang.StringUtils;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The InputFormat class of Ftp
@@ -59,22 +72,41 @@ import java.util.List;
  */
 public class FtpInputFormat extends BaseRichInputFormat {
 
+    /** 文件按字节范围切分时每个分片的最小大小 */
+    private static final long MIN_SPLIT_SIZE = 64 * 1024 * 1024L;
+
     protected FtpConfig ftpConfig;
 
     private transient FtpSeqBufferedReader br;
 
+    private transient FtpHandlerPool handlerPool;
+
     private transient IFtpHandler ftpHandler;
 
     private transient Data data;
 
     private transient Position position;
 
+    /** 续跑时所有subtask正在读取的位置，key为{@link File#getKey()} */
+    private transient Map<String, Position> restorePositions;
+
+    /** 续跑时所有subtask已经读完的文件，key为{@link File#getKey()} */
+    private transient Set<String> restoreFinishedFiles;
+
+    /**
+     * 已经读完的文件，包括续跑时恢复的所有subtask已经读完的文件，分片被重新分配后不会重复读取。
+     * 每个subtask都保存完整的集合，只要有一个subtask读取过分片，已读完的文件就不会从状态中丢失
+     */
+    private transient Set<String> finishedFiles;
+
+    /** 当前分片中的所有文件，分片读完后加入{@link #finishedFiles} */
+    private transient List<String> currentFileKeys;
+
     @Override
     public void openInputFormat() throws IOException {
         super.openInputFormat();
 
-        ftpHandler = FtpHandlerFactory.createFtpHandler(ftpConfig.getProtocol());
-        ftpHandler.loginFtpServer(ftpConfig);
+        handlerPool = FtpHandlerPool.getInstance(ftpConfig);
     }
 
     @Override
@@ -113,14 +145,25 @@ public class FtpInputFormat extends BaseRichInputFormat {
             throw new RuntimeException("There are no readable files  in directory " + path);
         }
         LOG.info("FTP files = {}", GsonUtil.GSON.toJson(fileList));
-        int numSplits = (Math.min(files.size(), minNumSplits));
+        Collections.sort(fileList, Comparator.comparing(File::getFileAbsolutePath));
+        if (MapUtils.getBooleanValue(
+                ftpConfig.getFileConfig(), ExcelFileReadClient.SPLIT_BY_SHEET, false)) {
+            fileList = splitBySheet(fileList);
+        }
+
+        if (isSplittable(fileList)) {
+            FtpInputSplit[] ftpInputSplits =
+                    createRangeSplits(ftpHandler, fileList, minNumSplits);
+            ftpHandler.logoutFtpServer();
+            return ftpInputSplits;
+        }
+
+        int numSplits = (Math.min(fileList.size(), minNumSplits));
         FtpInputSplit[] ftpInputSplits = new FtpInputSplit[numSplits];
         for (int index = 0; index < numSplits; ++index) {
             ftpInputSplits[index] = new FtpInputSplit();
         }
 
-        Collections.sort(fileList, Comparator.comparing(File::getFileAbsolutePath));
-
         for (int i = 0; i < fileList.size(); ++i) {
             ftpInputSplits[i % numSplits].getPaths().add(fileList.get(i));
         }
@@ -129,17 +172,140 @@ public class FtpInputFormat extends BaseRichInputFormat {
         return ftpInputSplits;
     }
 
+    /** xlsx文件的每个sheet作为一个文件，由不同的分片同时读取 */
+    private List<File> splitBySheet(List<File> fileList) throws IOException {
+        List<File> sheetFiles = new ArrayList<>(fileList.size());
+        IFtpHandler ftpHandler = FtpHandlerFactory.createFtpHandler(ftpConfig.getProtocol());
+        ftpHandler.loginFtpServer(ftpConfig);
+        try {
+            for (File file : fileList) {
+                FileReadClient client =
+                        FileReadClientFactory.create(
+                                file.getFileAbsolutePath(), ftpConfig.getFileType());
+                if (file.getFileCompressPath() != null
+                        || !(client instanceof ExcelFileReadClient)) {
+                    sheetFiles.add(file);
+                    continue;
+                }
+
+                int sheetCount = 0;
+                try (InputStream in = ftpHandler.getInputStream(file.getFileAbsolutePath())) {
+                    if (in != null) {
+                        sheetCount = FileUtil.getXlsxSheetCount(in);
+                    }
+                }
+                ftpHandler = completePendingCommand(ftpHandler);
+                LOG.info("excel file {} has {} sheets", file.getFileAbsolutePath(), sheetCount);
+                if (sheetCount <= 1) {
+                    sheetFiles.add(file);
+                    continue;
+                }
+                for (int i = 0; i < sheetCount; i++) {
+                    File sheetFile =
+                            new File(null, file.getFileAbsolutePath(), file.getFileName(), null);
+                    sheetFile.setSheetNo(i);
+                    sheetFiles.add(sheetFile);
+                }
+            }
+        } finally {
+            ftpHandler.logoutFtpServer();
+        }
+        return sheetFiles;
+    }
+
+    /** 没有读完的文件流关闭后需要结束传输命令，失败时重新登录 */
+    private IFtpHandler completePendingCommand(IFtpHandler ftpHandler) {
+        try {
+            ftpHandler.completePendingCommand();
+            return ftpHandler;
+        } catch (IOException e) {
+            LOG.warn("FTPClient completePendingCommand has error ->", e);
+            try {
+                ftpHandler.logoutFtpServer();
+            } catch (Exception exception) {
+                LOG.warn("FTPClient logout has error ->", exception);
+            }
+            IFtpHandler newFtpHandler = FtpHandlerFactory.createFtpHandler(ftpConfig.getProtocol());
+            newFtpHandler.loginFtpServer(ftpConfig);
+            return newFtpHandler;
+        }
+    }
+
+    /** 未压缩且按行以字节读取的文本文件可以从任意一行开始读取，可以按字节范围切分 */
+    private boolean isSplittable(List<File> fileList) {
+        if (StringUtils.isNotBlank(ftpConfig.getCompressType())
+                || !TextFileReadClient.isSeekable(ftpConfig)) {
+            return false;
+        }
+        for (File file : fileList) {
+            FileReadClient client =
+                    FileReadClientFactory.create(
+                            file.getFileAbsolutePath(), ftpConfig.getFileType());
+            if (!(client instanceof TextFileReadClient)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 按文件大小切分，每个分片大约读取总大小除以并行度的数据，且不小于{@link #MIN_SPLIT_SIZE}。
+     * 大文件被切分成多个按行对齐的字节范围，由不同的subtask通过各自的连接同时读取
+     */
+    private FtpInputSplit[] createRangeSplits(
+            IFtpHandler ftpHandler, List<File> fileList, int minNumSplits) throws IOException {
+        long[] lengths = new long[fileList.size()];
+        long totalLength = 0;
+        for (int i = 0; i < fileList.size(); i++) {
+            lengths[i] = ftpHandler.getFileSize(fileList.get(i).getFileAbsolutePath());
+            totalLength += lengths[i];
+        }
+        long splitSize = Math.max(MIN_SPLIT_SIZE, totalLength / Math.max(minNumSplits, 1) + 1);
+
+        List<FtpInputSplit> splits = new ArrayList<>();
+        FtpInputSplit split = null;
+        long splitLength = 0;
+        for (int i = 0; i < fileList.size(); i++) {
+            File file = fileList.get(i);
+            long start = 0;
+            do {
+                if (split == null || splitLength >= splitSize) {
+                    split = new FtpInputSplit();
+                    splits.add(split);
+                    splitLength = 0;
+                }
+                long end = Math.min(start + splitSize - splitLength, lengths[i]);
+                if (start == 0 && end == lengths[i]) {
+                    split.getPaths().add(file);
+                } else {
+                    split.getPaths()
+                            .add(
+                                    new File(
+                                            file.getFileAbsolutePath(),
+                                            file.getFileName(),
+                                            start,
+                                            end));
+                }
+                splitLength += end - start;
+                start = end;
+            } while (start < lengths[i]);
+        }
+        LOG.info("split {} bytes into {} splits", totalLength, splits.size());
+        return splits.toArray(new FtpInputSplit[0]);
+    }
+
     @Override
     public void openInternal(InputSplit split) throws IOException {
         FtpInputSplit inputSplit = (FtpInputSplit) split;
         List<File> paths = inputSplit.getPaths();
-        removeFileHasRead(paths);
+        currentFileKeys = new ArrayList<>(paths.size());
+        for (File file : paths) {
+            currentFileKeys.add(file.getKey());
+        }
+        Position position = removeFileHasRead(paths);
         LOG.info("read files = {}", GsonUtil.GSON.toJson(paths));
-        Position position =
-                (formatState != null && formatState.getState() != null)
-                        ? (Position) formatState.getState()
-                        : null;
 
+        ftpHandler = handlerPool.borrow();
         if (ftpConfig.getIsFirstLineHeader()) {
             br = new FtpSeqBufferedReader(ftpHandler, paths.iterator(), ftpConfig, position);
             if (FileType.fromString(ftpConfig.getFileType()) != FileType.EXCEL) {
@@ -154,7 +320,13 @@ public class FtpInputFormat extends BaseRichInputFormat {
     @Override
     public boolean reachedEnd() throws IOException {
         data = br.readLine();
-        return data == null || data.getData() == null;
+        boolean reachedEnd = data == null || data.getData() == null;
+        if (reachedEnd && currentFileKeys != null) {
+            finishedFiles.addAll(currentFileKeys);
+            currentFileKeys = null;
+            position = null;
+        }
+        return reachedEnd;
     }
 
     @Override
@@ -213,20 +385,36 @@ public class FtpInputFormat extends BaseRichInputFormat {
     @Override
     public FormatState getFormatState() {
         super.getFormatState();
-        if (formatState != null) {
-            formatState.setState(position);
+        // 还没有打开分片时保留恢复的状态，状态可能被异步序列化，保存已读完文件的副本
+        if (formatState != null && finishedFiles != null) {
+            formatState.setState(new FtpReadState(position, new HashSet<>(finishedFiles)));
         }
         return formatState;
     }
 
     @Override
     public void closeInternal() throws IOException {
-        if (br != null) {
-            br.close();
+        try {
+            if (br != null) {
+                br.close();
+                ftpHandler = br.getFtpHandler();
+                br = null;
+            }
+        } finally {
+            if (ftpHandler != null) {
+                handlerPool.release(ftpHandler);
+                ftpHandler = null;
+            }
         }
-        if (ftpHandler != null) {
-            ftpHandler.logoutFtpServer();
+    }
+
+    @Override
+    public void closeInputFormat() {
+        if (handlerPool != null) {
+            handlerPool.close();
+            handlerPool = null;
         }
+        super.closeInputFormat();
     }
 
     public FtpConfig getFtpConfig() {
@@ -237,21 +425,75 @@ public class FtpInputFormat extends BaseRichInputFormat {
         this.ftpConfig = ftpConfig;
     }
 
-    /** 移除已经读取的文件* */
-    public void removeFileHasRead(List<File> files) {
-        if (formatState != null && formatState.getState() != null) {
-            LOG.info("start remove the file according to the state value...");
-            Position state = (Position) formatState.getState();
-            Iterator<File> iterator = files.iterator();
-            while (iterator.hasNext()) {
-                File next = iterator.next();
-                if (!state.getFile().getFileAbsolutePath().equals(next.getFileAbsolutePath())) {
-                    LOG.info("skip file {} when recovery from state", next.getFileAbsolutePath());
-                    iterator.remove();
-                } else {
-                    break;
-                }
+    /**
+     * 移除已经读取的文件
+     *
+     * @param files 分片中的文件
+     * @return 续跑时分片中正在读取的文件的位置，没有时为null
+     */
+    public Position removeFileHasRead(List<File> files) {
+        initRestorePositions();
+        Iterator<File> finishedIterator = files.iterator();
+        while (finishedIterator.hasNext()) {
+            File file = finishedIterator.next();
+            if (restoreFinishedFiles.contains(file.getKey())) {
+                LOG.info("skip finished file {} when recovery from state", file.getKey());
+                finishedIterator.remove();
+            }
+        }
+
+        int index = -1;
+        for (int i = 0; i < files.size(); i++) {
+            if (restorePositions.containsKey(files.get(i).getKey())) {
+                index = i;
+            }
+        }
+        if (index < 0) {
+            return null;
+        }
+
+        LOG.info("start remove the file according to the state value...");
+        Iterator<File> iterator = files.iterator();
+        for (int i = 0; i < index; i++) {
+            LOG.info(
+                    "skip file {} when recovery from state",
+                    iterator.next().getFileAbsolutePath());
+            iterator.remove();
+        }
+        return restorePositions.remove(files.get(0).getKey());
+    }
+
+    /** 数据分片可能被分配给不同的subtask，合并所有subtask的状态 */
+    private void initRestorePositions() {
+        if (restorePositions != null) {
+            return;
+        }
+        restorePositions = new HashMap<>(16);
+        restoreFinishedFiles = new HashSet<>();
+        List<FormatState> restoreStates = new ArrayList<>();
+        if (unionRestoreStates != null) {
+            restoreStates.addAll(unionRestoreStates);
+        } else if (formatState != null) {
+            restoreStates.add(formatState);
+        }
+        for (FormatState restoreState : restoreStates) {
+            Position state = null;
+            if (restoreState.getState() instanceof FtpReadState) {
+                FtpReadState readState = (FtpReadState) restoreState.getState();
+                restoreFinishedFiles.addAll(readState.getFinishedFiles());
+                state = readState.getPosition();
+            } else if (restoreState.getState() instanceof Position) {
+                state = (Position) restoreState.getState();
+            }
+            if (state != null) {
+                restorePositions.merge(
+                        state.getFile().getKey(),
+                        state,
+                        (p1, p2) -> p1.getLine() >= p2.getLine() ? p1 : p2);
             }
         }
+        Set<String> finished = ConcurrentHashMap.newKeySet();
+        finished.addAll(restoreFinishedFiles);
+        finishedFiles = finished;
     }
 }
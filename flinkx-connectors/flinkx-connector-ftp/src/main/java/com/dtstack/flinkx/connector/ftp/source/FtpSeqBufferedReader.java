@@ -22,12 +22,14 @@ import com.dtstack.flinkx.connector.ftp.client.Data;
 import com.dtstack.flinkx.connector.ftp.client.File;
 import com.dtstack.flinkx.connector.ftp.client.FileReadClient;
 import com.dtstack.flinkx.connector.ftp.client.FileReadClientFactory;
+import com.dtstack.flinkx.connector.ftp.client.TextFileReadClient;
 import com.dtstack.flinkx.connector.ftp.conf.FtpConfig;
 import com.dtstack.flinkx.connector.ftp.handler.FtpHandler;
 import com.dtstack.flinkx.connector.ftp.handler.FtpHandlerFactory;
 import com.dtstack.flinkx.connector.ftp.handler.IFtpHandler;
 import com.dtstack.flinkx.connector.ftp.handler.Position;
 
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -60,6 +62,12 @@ public class FtpSeqBufferedReader {
 
     private Position startPosition;
 
+    /** 当前文件开始读取的字节位置 */
+    private long baseOffset;
+
+    /** 当前文件是否记录读取到的字节位置 */
+    private boolean trackOffset;
+
     // ftp配置信息
     private FtpConfig ftpConfig;
 
@@ -80,24 +88,60 @@ public class FtpSeqBufferedReader {
         }
 
         if (fileReadClient != null) {
-            if (!fileReadClient.hasNext()) {
+            if (isRangeEnd() || !fileReadClient.hasNext()) {
                 close();
                 return readLine();
             }
             currentFileReadLineNum++;
             return new Data(
-                    fileReadClient.nextRecord(), new Position(currentFileReadLineNum, currentFile));
+                    fileReadClient.nextRecord(),
+                    new Position(currentFileReadLineNum, currentFile, getOffset()));
         } else {
             return null;
         }
     }
 
+    /** 下一行的起始位置超过了读取范围的结束位置，下一行属于后一个范围 */
+    private boolean isRangeEnd() {
+        return currentFile.isRange() && trackOffset && getOffset() > currentFile.getSplitEnd();
+    }
+
+    /** 下一行在文件中的字节位置，不能定位时为null */
+    private Long getOffset() {
+        return trackOffset ? baseOffset + fileReadClient.getBytesRead() : null;
+    }
+
     private void nextStream() throws IOException {
         if (iter.hasNext()) {
             File file = iter.next();
+            Position restorePosition = null;
+            if (startPosition != null
+                    && startPosition.getFile().getKey().equals(file.getKey())) {
+                restorePosition = startPosition;
+                startPosition = null;
+            }
+            boolean seekToOffset = restorePosition != null && restorePosition.getOffset() != null;
+
+            fileReadClient =
+                    FileReadClientFactory.create(
+                            file.getFileAbsolutePath(), ftpConfig.getFileType());
+            // 未压缩的文本文件以二进制方式读取，可以从指定字节位置开始读取
+            boolean seekable =
+                    file.getFileCompressPath() == null
+                            && StringUtils.isBlank(ftpConfig.getCompressType())
+                            && fileReadClient instanceof TextFileReadClient;
+            long offset = 0;
+            if (seekToOffset) {
+                offset = restorePosition.getOffset();
+            } else if (file.isRange()) {
+                offset = file.getSplitStart();
+            }
+
             InputStream in = null;
             if (file.getFileCompressPath() != null) {
                 in = ftpHandler.getInputStream(file.getFileCompressPath());
+            } else if (seekable) {
+                in = ftpHandler.getInputStream(file.getFileAbsolutePath(), offset);
             } else {
                 in = ftpHandler.getInputStream(file.getFileAbsolutePath());
             }
@@ -109,42 +153,48 @@ public class FtpSeqBufferedReader {
                                 file));
             }
 
-            fileReadClient =
-                    FileReadClientFactory.create(
-                            file.getFileAbsolutePath(), ftpConfig.getFileType());
             fileReadClient.open(file, in, ftpConfig);
             currentFile = file;
-            currentFileReadLineNum = 0L;
-            for (int i = 0; i < fromLine; i++) {
-                if (fileReadClient.hasNext()) {
-                    String[] strings = fileReadClient.nextRecord();
-                    LOG.info("Skip line:{}", Arrays.toString(strings));
-                } else {
-                    break;
-                }
+            baseOffset = offset;
+            trackOffset = seekable && fileReadClient.getBytesRead() >= 0;
+            if ((offset > 0 || file.isRange()) && !trackOffset) {
+                throw new RuntimeException(
+                        String.format(
+                                "file [%s] can not be read by byte offset, the file is compressed or the encoding [%s] can not be split on line feed",
+                                file, ftpConfig.getEncoding()));
             }
+            currentFileReadLineNum = restorePosition == null ? 0L : restorePosition.getLine();
 
-            // 从续跑时恢复需要过滤已经读取的数据
-            if (startPosition != null
-                    && startPosition.getLine() > 0
-                    && startPosition
-                            .getFile()
-                            .getFileAbsolutePath()
-                            .equals(file.getFileAbsolutePath())) {
-                LOG.info("start skip  [{}]  number line", startPosition.getLine());
-                for (int i = 0; i < startPosition.getLine(); i++) {
+            if (seekToOffset) {
+                LOG.info("read file [{}] from offset [{}]", file.getKey(), offset);
+            } else if (offset > 0) {
+                // 范围内的第一行从前一个范围开始，由前一个范围读取
+                fileReadClient.hasNext();
+            } else {
+                for (int i = 0; i < fromLine; i++) {
                     if (fileReadClient.hasNext()) {
                         String[] strings = fileReadClient.nextRecord();
-                        if (LOG.isDebugEnabled()) {
-                            LOG.debug("Skip line:{}", Arrays.toString(strings));
-                        }
+                        LOG.info("Skip line:{}", Arrays.toString(strings));
                     } else {
                         break;
                     }
                 }
-                startPosition = null;
-            }
 
+                // 状态中没有字节位置时，需要按行数过滤已经读取的数据
+                if (restorePosition != null && restorePosition.getLine() > 0) {
+                    LOG.info("start skip  [{}]  number line", restorePosition.getLine());
+                    for (int i = 0; i < restorePosition.getLine(); i++) {
+                        if (fileReadClient.hasNext()) {
+                            String[] strings = fileReadClient.nextRecord();
+                            if (LOG.isDebugEnabled()) {
+                                LOG.debug("Skip line:{}", Arrays.toString(strings));
+                            }
+                        } else {
+                            break;
+                        }
+                    }
+                }
+            }
         } else {
             fileReadClient = null;
         }
@@ -180,4 +230,9 @@ public class FtpSeqBufferedReader {
     public File getCurrentFile() {
         return currentFile;
     }
+
+    /** 读取过程中连接可能被重建，需要归还当前的连接 */
+    public IFtpHandler getFtpHandler() {
+        return ftpHandler;
+    }
 }
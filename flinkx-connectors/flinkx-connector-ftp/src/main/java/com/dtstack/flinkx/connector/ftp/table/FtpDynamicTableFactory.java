@@ -70,6 +70,8 @@ public class FtpDynamicTableFactory implements DynamicTableSourceFactory, Dynami
             ftpConfig.setConnectPattern(config.get(FtpOptions.CONNECT_PATTERN));
         }
 
+        ftpConfig.setMaxConnections(config.get(FtpOptions.MAX_CONNECTIONS));
+
         if (config.get(FtpOptions.PORT) == null) {
             ftpConfig.setDefaultPort();
         } else {
@@ -147,6 +149,7 @@ public class FtpDynamicTableFactory implements DynamicTableSourceFactory, Dynami
         options.add(FtpOptions.ENCODING);
         options.add(FtpOptions.MAX_FILE_SIZE);
         options.add(FtpOptions.FORMAT);
+        options.add(FtpOptions.MAX_CONNECTIONS);
         return options;
     }
 }
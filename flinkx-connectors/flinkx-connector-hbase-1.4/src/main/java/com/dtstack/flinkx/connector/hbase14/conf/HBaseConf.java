@@ -33,6 +33,10 @@ public class HBaseConf extends FlinkxCommonConf {
     private boolean isBinaryRowkey;
     private String table;
     private int scanCacheSize = 1000;
+    /** 单个分片的最大字节数，大于0时按region大小把region拆成多个分片 */
+    private long maxSplitSize;
+    /** 单次rpc返回的最大字节数，大于0时按实际行大小调整scanCacheSize */
+    private long scanMaxResultSize;
 
     // writer
     private String nullMode;
@@ -114,6 +118,22 @@ public class HBaseConf extends FlinkxCommonConf {
         this.scanCacheSize = scanCacheSize;
     }
 
+    public long getMaxSplitSize() {
+        return maxSplitSize;
+    }
+
+    public void setMaxSplitSize(long maxSplitSize) {
+        this.maxSplitSize = maxSplitSize;
+    }
+
+    public long getScanMaxResultSize() {
+        return scanMaxResultSize;
+    }
+
+    public void setScanMaxResultSize(long scanMaxResultSize) {
+        this.scanMaxResultSize = scanMaxResultSize;
+    }
+
     public String getNullMode() {
         return nullMode;
     }
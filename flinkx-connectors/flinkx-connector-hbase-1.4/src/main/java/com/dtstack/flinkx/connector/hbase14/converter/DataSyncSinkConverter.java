@@ -31,7 +31,6 @@ import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import org.apache.commons.lang.StringUtils;
 import org.apache.hadoop.hbase.HConstants;
 import org.apache.hadoop.hbase.client.Durability;
@@ -46,9 +45,7 @@ import java.sql.Timestamp;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * @program: flinkx
@@ -72,8 +69,10 @@ public class DataSyncSinkConverter implements Serializable {
     private List<Integer> rowKeyColumnIndex;
 
     private transient FunctionTree functionTree;
-    private transient Map<String, String[]> nameMaps;
-    private transient Map<String, byte[][]> nameByteMaps;
+    /** 每一列是否为rowkey列 */
+    private transient boolean[] isRowKeyColumn;
+    /** 每一列的列族和列名，列配置错误时为null */
+    private transient byte[][][] familyAndQualifiers;
     private transient ThreadLocal<SimpleDateFormat> timeSecondFormatThreadLocal;
     private transient ThreadLocal<SimpleDateFormat> timeMillisecondFormatThreadLocal;
 
@@ -97,13 +96,13 @@ public class DataSyncSinkConverter implements Serializable {
         this.rowKeyColumns = Lists.newArrayList();
         this.rowKeyColumnIndex = Lists.newArrayList();
 
-        this.nameMaps = Maps.newConcurrentMap();
-        this.nameByteMaps = Maps.newConcurrentMap();
         timeSecondFormatThreadLocal = new ThreadLocal();
         timeMillisecondFormatThreadLocal = new ThreadLocal();
 
         this.functionTree = FunctionParser.parse(rowkeyExpress);
+        this.functionTree.compile(columnNames);
         this.rowKeyColumns = FunctionParser.parseRowKeyCol(rowkeyExpress);
+        this.isRowKeyColumn = new boolean[columnNames.size()];
         for (String rowKeyColumn : rowKeyColumns) {
             int index = columnNames.indexOf(rowKeyColumn);
             if (index == -1) {
@@ -111,6 +110,20 @@ public class DataSyncSinkConverter implements Serializable {
                         "Can not get row key column from columns:" + rowKeyColumn);
             }
             rowKeyColumnIndex.add(index);
+            isRowKeyColumn[index] = true;
+        }
+
+        this.familyAndQualifiers = new byte[columnNames.size()][][];
+        for (int i = 0; i < columnNames.size(); i++) {
+            String[] cfAndQualifier = columnNames.get(i).split(":");
+            if (cfAndQualifier.length == 2
+                    && StringUtils.isNotBlank(cfAndQualifier[0])
+                    && StringUtils.isNotBlank(cfAndQualifier[1])) {
+                familyAndQualifiers[i] =
+                        new byte[][] {
+                            Bytes.toBytes(cfAndQualifier[0]), Bytes.toBytes(cfAndQualifier[1])
+                        };
+            }
         }
     }
 
@@ -130,37 +143,19 @@ public class DataSyncSinkConverter implements Serializable {
             }
 
             for (; i < rowData.getArity(); ++i) {
-                if (rowKeyColumnIndex.contains(i)) {
+                if (isRowKeyColumn[i]) {
                     continue;
                 }
 
-                String type = columnTypes.get(i);
-                String name = columnNames.get(i);
-                String[] cfAndQualifier = nameMaps.get(name);
-                byte[][] cfAndQualifierBytes = nameByteMaps.get(name);
-                if (cfAndQualifier == null || cfAndQualifierBytes == null) {
-                    cfAndQualifier = name.split(":");
-                    if (cfAndQualifier.length == 2
-                            && StringUtils.isNotBlank(cfAndQualifier[0])
-                            && StringUtils.isNotBlank(cfAndQualifier[1])) {
-                        nameMaps.put(name, cfAndQualifier);
-                        cfAndQualifierBytes = new byte[2][];
-                        cfAndQualifierBytes[0] = Bytes.toBytes(cfAndQualifier[0]);
-                        cfAndQualifierBytes[1] = Bytes.toBytes(cfAndQualifier[1]);
-                        nameByteMaps.put(name, cfAndQualifierBytes);
-                    } else {
-                        throw new IllegalArgumentException(
-                                "Hbasewriter 中，column 的列配置格式应该是：列族:列名. 您配置的列错误：" + name);
-                    }
+                byte[][] cfAndQualifierBytes = familyAndQualifiers[i];
+                if (cfAndQualifierBytes == null) {
+                    throw new IllegalArgumentException(
+                            "Hbasewriter 中，column 的列配置格式应该是：列族:列名. 您配置的列错误："
+                                    + columnNames.get(i));
                 }
 
-                ColumnType columnType = ColumnType.getType(type);
-                Object column = null;
-                if (rowData instanceof GenericRowData) {
-                    column = ((GenericRowData) rowData).getField(i);
-                } else if (rowData instanceof ColumnRowData) {
-                    column = ((ColumnRowData) rowData).getField(i);
-                }
+                ColumnType columnType = ColumnType.getType(columnTypes.get(i));
+                Object column = getField(rowData, i);
                 byte[] columnBytes = getColumnByte(columnType, column);
                 // columnBytes 为null忽略这列
                 if (null != columnBytes) {
@@ -177,21 +172,19 @@ public class DataSyncSinkConverter implements Serializable {
     }
 
     private byte[] getRowkey(RowData record) throws Exception {
-        Map<String, Object> nameValueMap = new HashMap<>((rowKeyColumnIndex.size() << 2) / 3);
-        for (Integer keyColumnIndex : rowKeyColumnIndex) {
-            Object column = null;
-            if (record instanceof GenericRowData) {
-                column = ((GenericRowData) record).getField(keyColumnIndex);
-            } else if (record instanceof ColumnRowData) {
-                column = ((ColumnRowData) record).getField(keyColumnIndex);
-            }
-            nameValueMap.put(columnNames.get(keyColumnIndex), column);
-        }
-
-        String rowKeyStr = functionTree.evaluate(nameValueMap);
+        String rowKeyStr = functionTree.evaluate(index -> getField(record, index));
         return rowKeyStr.getBytes(StandardCharsets.UTF_8);
     }
 
+    private static Object getField(RowData record, int index) {
+        if (record instanceof GenericRowData) {
+            return ((GenericRowData) record).getField(index);
+        } else if (record instanceof ColumnRowData) {
+            return ((ColumnRowData) record).getField(index);
+        }
+        return null;
+    }
+
     public long getVersion(RowData rawRecord) {
         RowData record = rawRecord;
         Integer index = versionColumnIndex.intValue();
@@ -209,12 +202,7 @@ public class DataSyncSinkConverter implements Serializable {
             if (index >= record.getArity() || index < 0) {
                 throw new IllegalArgumentException("version column index out of range: " + index);
             }
-            Object column = null;
-            if (record instanceof GenericRowData) {
-                column = ((GenericRowData) record).getField(index);
-            } else if (record instanceof ColumnRowData) {
-                column = ((ColumnRowData) record).getField(index);
-            }
+            Object column = getField(record, index);
             if (column == null) {
                 throw new IllegalArgumentException("null verison column!");
             }
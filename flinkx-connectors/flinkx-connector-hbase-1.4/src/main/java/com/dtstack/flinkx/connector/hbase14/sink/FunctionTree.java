@@ -26,6 +26,7 @@ import org.apache.commons.lang.StringUtils;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.IntFunction;
 
 /**
  * @author jiangbo
@@ -39,6 +40,9 @@ public class FunctionTree {
 
     private List<FunctionTree> inputFunctions = Lists.newArrayList();
 
+    /** columnName在行中的位置，调用compile后有效，-1表示不是列 */
+    private int columnIndex = -1;
+
     public String evaluate(Map<String, Object> nameValueMap) throws Exception {
         if (StringUtils.isNotEmpty(columnName) && MapUtils.isNotEmpty(nameValueMap)) {
             return function.evaluate(nameValueMap.get(columnName));
@@ -56,6 +60,46 @@ public class FunctionTree {
         }
     }
 
+    /**
+     * 把表达式中的列名解析为列在行中的位置，之后可以用{@link #evaluate(IntFunction)}直接按位置取值
+     *
+     * @param columnNames 行中各列的名称
+     */
+    public void compile(List<String> columnNames) {
+        if (StringUtils.isNotEmpty(columnName)) {
+            columnIndex = columnNames.indexOf(columnName);
+        }
+        for (FunctionTree inputFunction : inputFunctions) {
+            inputFunction.compile(columnNames);
+        }
+    }
+
+    /**
+     * 计算编译后的表达式
+     *
+     * @param fieldGetter 按位置获取列的值
+     * @return 计算结果
+     * @throws Exception 函数计算异常
+     */
+    public String evaluate(IntFunction<Object> fieldGetter) throws Exception {
+        if (columnIndex >= 0) {
+            return function.evaluate(fieldGetter.apply(columnIndex));
+        }
+
+        if (!inputFunctions.isEmpty()) {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < inputFunctions.size(); i++) {
+                if (i > 0) {
+                    builder.append('_');
+                }
+                builder.append(inputFunctions.get(i).evaluate(fieldGetter));
+            }
+            return function.evaluate(builder.toString());
+        } else {
+            return function.evaluate(null);
+        }
+    }
+
     public void addInputFunction(FunctionTree inputFunction) {
         inputFunctions.add(inputFunction);
     }
@@ -22,6 +22,7 @@ import com.dtstack.flinkx.connector.hbase.HBaseMutationConverter;
 import com.dtstack.flinkx.connector.hbase14.converter.DataSyncSinkConverter;
 import com.dtstack.flinkx.connector.hbase14.util.HBaseConfigUtils;
 import com.dtstack.flinkx.connector.hbase14.util.HBaseHelper;
+import com.dtstack.flinkx.restore.FormatState;
 import com.dtstack.flinkx.sink.format.BaseRichOutputFormat;
 import com.dtstack.flinkx.throwable.WriteRecordException;
 
@@ -36,15 +37,17 @@ import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.ConnectionFactory;
 import org.apache.hadoop.hbase.client.HTable;
 import org.apache.hadoop.hbase.client.Mutation;
-import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.client.RetriesExhaustedWithDetailsException;
+import org.apache.hadoop.hbase.client.Row;
+import org.apache.hadoop.hbase.util.Bytes;
 import org.apache.hadoop.security.UserGroupInformation;
 
 import java.io.IOException;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 
 /**
  * The Hbase Implementation of OutputFormat
@@ -55,6 +58,9 @@ import java.util.Objects;
  */
 public class HBaseOutputFormat extends BaseRichOutputFormat {
 
+    /** 未确认写入的数据超过writeBufferSize的倍数时同步flush一次 */
+    private static final int MAX_PENDING_BUFFERS = 4;
+
     private Map<String, Object> hbaseConfig;
 
     private String tableName;
@@ -74,7 +80,10 @@ public class HBaseOutputFormat extends BaseRichOutputFormat {
     private transient Connection connection;
     private transient BufferedMutator bufferedMutator;
 
-    private transient Table table;
+    /** 已交给BufferedMutator还未flush的mutation及其原始数据，写入失败时按mutation找回原始数据 */
+    private transient Map<Row, RowData> pendingRows;
+    /** pendingRows中mutation的估算字节数 */
+    private transient long pendingBytes;
 
     private HBaseMutationConverter mutationConverter;
     private DataSyncSinkConverter dataSyncSinkConverter;
@@ -90,11 +99,7 @@ public class HBaseOutputFormat extends BaseRichOutputFormat {
     protected void writeSingleRecordInternal(RowData rawRecord) throws WriteRecordException {
         int i = 0;
         try {
-            if (mutationConverter != null) {
-                bufferedMutator.mutate(mutationConverter.convertToMutation(rawRecord));
-            } else {
-                bufferedMutator.mutate(dataSyncSinkConverter.generatePutCommand(rawRecord));
-            }
+            mutate(convertToMutation(rawRecord), rawRecord);
         } catch (Exception ex) {
             if (i < rawRecord.getArity()) {
                 throw new WriteRecordException(
@@ -106,6 +111,8 @@ public class HBaseOutputFormat extends BaseRichOutputFormat {
 
     @Override
     public void openInternal(int taskNumber, int numTasks) throws IOException {
+        pendingRows = new IdentityHashMap<>();
+        pendingBytes = 0;
         boolean openKerberos = HBaseConfigUtils.isEnableKerberos(hbaseConfig);
         if (openKerberos) {
             UserGroupInformation ugi = HBaseHelper.getUgi(hbaseConfig);
@@ -147,8 +154,8 @@ public class HBaseOutputFormat extends BaseRichOutputFormat {
                     connection.getBufferedMutator(
                             new BufferedMutatorParams(TableName.valueOf(tableName))
                                     .pool(HTable.getDefaultExecutor(hConfiguration))
-                                    .writeBufferSize(writeBufferSize));
-            table = connection.getTable(TableName.valueOf(tableName));
+                                    .writeBufferSize(writeBufferSize)
+                                    .listener(this::onMutationFailed));
         } catch (Exception e) {
             HBaseHelper.closeBufferedMutator(bufferedMutator);
             HBaseHelper.closeConnection(connection);
@@ -160,30 +167,66 @@ public class HBaseOutputFormat extends BaseRichOutputFormat {
 
     @Override
     protected void writeMultipleRecordsInternal() throws Exception {
-        Object[] results = new Object[0];
-        try {
-            List<Mutation> mutations = new ArrayList<>();
-            for (RowData record : rows) {
-                if (mutationConverter != null) {
-                    mutations.add(mutationConverter.convertToMutation(record));
-                } else {
-                    mutations.add(dataSyncSinkConverter.generatePutCommand(record));
-                }
-            }
-            results = new Object[mutations.size()];
-            table.batch(mutations, results);
-        } catch (IOException e) {
-            throw new IOException(e);
-        } finally {
-            for (int i = 0; i < Objects.requireNonNull(results).length; i++) {
-                if (results[i] instanceof Exception) {
-                    Exception exception = (Exception) results[i];
-                    LOG.error(exception.getMessage(), exception);
-                }
+        // 先转换全部数据，转换失败时整批转为单条写，不会重复提交已经提交的mutation
+        List<Mutation> mutations = new ArrayList<>(rows.size());
+        for (RowData record : rows) {
+            mutations.add(convertToMutation(record));
+        }
+        for (int i = 0; i < mutations.size(); i++) {
+            mutate(mutations.get(i), rows.get(i));
+        }
+    }
+
+    private Mutation convertToMutation(RowData record) throws Exception {
+        if (mutationConverter != null) {
+            return mutationConverter.convertToMutation(record);
+        } else {
+            return dataSyncSinkConverter.generatePutCommand(record);
+        }
+    }
+
+    /** 异步写入，BufferedMutator的缓冲区写满时在后台发送，未确认的数据过多时等待发送完成 */
+    private void mutate(Mutation mutation, RowData record) throws IOException {
+        pendingRows.put(mutation, record);
+        pendingBytes += mutation.heapSize();
+        bufferedMutator.mutate(mutation);
+        if (pendingBytes >= Math.max(writeBufferSize, 1) * MAX_PENDING_BUFFERS) {
+            flushMutations();
+        }
+    }
+
+    private void flushMutations() throws IOException {
+        if (bufferedMutator == null) {
+            return;
+        }
+        bufferedMutator.flush();
+        pendingRows.clear();
+        pendingBytes = 0;
+    }
+
+    /** 重试后仍然失败的mutation，对应的原始数据记为脏数据 */
+    private void onMutationFailed(RetriesExhaustedWithDetailsException e, BufferedMutator mutator) {
+        for (int i = 0; i < e.getNumExceptions(); i++) {
+            Row row = e.getRow(i);
+            Throwable cause = e.getCause(i);
+            RowData rowData = pendingRows.remove(row);
+            if (rowData == null) {
+                LOG.error("write row [{}] failed", Bytes.toStringBinary(row.getRow()), cause);
+                continue;
             }
+            dirtyManager.collect(
+                    rowData, new WriteRecordException(cause.getMessage(), cause), null);
         }
     }
 
+    @Override
+    public synchronized FormatState getFormatState() throws Exception {
+        FormatState formatState = super.getFormatState();
+        // checkpoint完成前确保缓冲区中的数据都已写入hbase
+        flushMutations();
+        return formatState;
+    }
+
     @Override
     public void closeInternal() throws IOException {
         if (dataSyncSinkConverter != null) {
@@ -64,6 +64,8 @@ public class HBase14SourceFactory extends SourceFactory {
         builder.setEndRowKey(config.getEndRowkey());
         builder.setIsBinaryRowkey(config.isBinaryRowkey());
         builder.setScanCacheSize(config.getScanCacheSize());
+        builder.setMaxSplitSize(config.getMaxSplitSize());
+        builder.setScanMaxResultSize(config.getScanMaxResultSize());
         builder.setStartRowKey(config.getStartRowkey());
         AbstractRowConverter rowConverter = new HBaseColumnConverter(config.getColumnMetaInfos());
         builder.setRowConverter(rowConverter);
@@ -18,6 +18,7 @@
 
 package com.dtstack.flinkx.connector.hbase14.source;
 
+import com.dtstack.flinkx.connector.hbase14.conf.HBaseConfigConstants;
 import com.dtstack.flinkx.connector.hbase14.util.HBaseConfigUtils;
 import com.dtstack.flinkx.connector.hbase14.util.HBaseHelper;
 import com.dtstack.flinkx.source.format.BaseRichInputFormat;
@@ -31,16 +32,23 @@ import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.commons.lang3.time.DateUtils;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
 import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.HRegionLocation;
 import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Admin;
 import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.RegionLocator;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.FirstKeyOnlyFilter;
+import org.apache.hadoop.hbase.filter.KeyOnlyFilter;
 import org.apache.hadoop.hbase.util.Bytes;
-import org.apache.hadoop.hbase.util.Pair;
+import org.apache.hadoop.hbase.util.RegionSizeCalculator;
 import org.apache.hadoop.security.UserGroupInformation;
 
 import java.io.IOException;
@@ -63,6 +71,11 @@ public class HBaseInputFormat extends BaseRichInputFormat {
 
     public static final String KEY_ROW_KEY = "rowkey";
 
+    /** 一个region最多拆分的分片数 */
+    private static final int MAX_SPLITS_PER_REGION = 64;
+    /** 每个分片用于估算平均行大小的采样行数 */
+    private static final int ROW_SIZE_SAMPLES = 1000;
+
     protected Map<String, Object> hbaseConfig;
     protected String tableName;
     protected String startRowkey;
@@ -75,6 +88,10 @@ public class HBaseInputFormat extends BaseRichInputFormat {
     protected String encoding;
     /** 客户端每次 rpc fetch 的行数 */
     protected int scanCacheSize = 1000;
+    /** 单个分片的最大字节数，大于0时按region大小把region拆成多个分片 */
+    protected long maxSplitSize;
+    /** 单次rpc返回的最大字节数，大于0时按实际行大小调整scanCacheSize */
+    protected long scanMaxResultSize;
 
     private transient Connection connection;
     private transient Scan scan;
@@ -82,6 +99,10 @@ public class HBaseInputFormat extends BaseRichInputFormat {
     private transient ResultScanner resultScanner;
     private transient Result next;
     private transient Map<String, byte[][]> nameMaps;
+    /** 下一个分片使用的scan caching */
+    private transient int scanCaching;
+    private transient long sampledRows;
+    private transient long sampledBytes;
 
     private boolean openKerberos = false;
 
@@ -91,6 +112,7 @@ public class HBaseInputFormat extends BaseRichInputFormat {
 
         LOG.info("HbaseOutputFormat openInputFormat start");
         nameMaps = Maps.newConcurrentMap();
+        scanCaching = scanCacheSize;
 
         connection = HBaseHelper.getHbaseConnection(hbaseConfig);
 
@@ -134,32 +156,43 @@ public class HBaseInputFormat extends BaseRichInputFormat {
         }
 
         RegionLocator regionLocator = HBaseHelper.getRegionLocator(hConn, tableName);
+        Admin admin = null;
         List<HBaseInputSplit> resultSplits;
         try {
-            Pair<byte[][], byte[][]> regionRanges = regionLocator.getStartEndKeys();
-            if (null == regionRanges) {
+            List<HRegionLocation> regionLocations = regionLocator.getAllRegionLocations();
+            if (null == regionLocations || regionLocations.isEmpty()) {
                 throw new RuntimeException("Failed to retrieve rowkey ragne");
             }
-            resultSplits = doSplit(startRowkeyByte, endRowkeyByte, regionRanges);
+            RegionSizeCalculator sizeCalculator = null;
+            if (maxSplitSize > 0) {
+                admin = hConn.getAdmin();
+                sizeCalculator = new RegionSizeCalculator(regionLocator, admin);
+            }
+            resultSplits =
+                    doSplit(startRowkeyByte, endRowkeyByte, regionLocations, sizeCalculator);
 
             LOG.info("HBaseReader split job into {} tasks.", resultSplits.size());
             return resultSplits.toArray(new HBaseInputSplit[resultSplits.size()]);
         } catch (Exception e) {
-            throw new RuntimeException("Failed to split hbase table");
+            throw new RuntimeException("Failed to split hbase table", e);
         } finally {
+            HBaseHelper.closeAdmin(admin);
             HBaseHelper.closeRegionLocator(regionLocator);
         }
     }
 
     private List<HBaseInputSplit> doSplit(
-            byte[] startRowkeyByte, byte[] endRowkeyByte, Pair<byte[][], byte[][]> regionRanges) {
+            byte[] startRowkeyByte,
+            byte[] endRowkeyByte,
+            List<HRegionLocation> regionLocations,
+            RegionSizeCalculator sizeCalculator) {
 
         List<HBaseInputSplit> configurations = new ArrayList<>();
 
-        for (int i = 0; i < regionRanges.getFirst().length; i++) {
+        for (HRegionLocation regionLocation : regionLocations) {
 
-            byte[] regionStartKey = regionRanges.getFirst()[i];
-            byte[] regionEndKey = regionRanges.getSecond()[i];
+            byte[] regionStartKey = regionLocation.getRegionInfo().getStartKey();
+            byte[] regionEndKey = regionLocation.getRegionInfo().getEndKey();
 
             // 当前的region为最后一个region
             // 如果最后一个region的start Key大于用户指定的userEndKey,则最后一个region，应该不包含在内
@@ -186,16 +219,63 @@ public class HBaseInputFormat extends BaseRichInputFormat {
                 continue;
             }
 
-            String thisStartKey = getStartKey(startRowkeyByte, regionStartKey);
-            String thisEndKey = getEndKey(endRowkeyByte, regionEndKey);
-            HBaseInputSplit hbaseInputSplit = new HBaseInputSplit(thisStartKey, thisEndKey);
-            configurations.add(hbaseInputSplit);
+            byte[] thisStartKey = getStartKey(startRowkeyByte, regionStartKey);
+            byte[] thisEndKey = getEndKey(endRowkeyByte, regionEndKey);
+            int splitsOfRegion = 1;
+            if (sizeCalculator != null) {
+                long regionSize =
+                        sizeCalculator.getRegionSize(
+                                regionLocation.getRegionInfo().getRegionName());
+                splitsOfRegion =
+                        (int)
+                                Math.min(
+                                        (regionSize + maxSplitSize - 1) / maxSplitSize,
+                                        MAX_SPLITS_PER_REGION);
+            }
+
+            byte[][] keys = splitRange(thisStartKey, thisEndKey, splitsOfRegion);
+            for (int i = 0; i < keys.length - 1; i++) {
+                configurations.add(
+                        new HBaseInputSplit(
+                                configurations.size(),
+                                regionLocation.getHostname(),
+                                Bytes.toStringBinary(keys[i]),
+                                Bytes.toStringBinary(keys[i + 1])));
+            }
         }
 
         return configurations;
     }
 
-    private String getEndKey(byte[] endRowkeyByte, byte[] regionEndKey) {
+    /**
+     * 把[startKey, endKey)按字节均匀拆分为多段，无法拆分时返回原范围
+     *
+     * @return 各段的边界，第一个为startKey，最后一个为endKey
+     */
+    private byte[][] splitRange(byte[] startKey, byte[] endKey, int numSplits) {
+        byte[][] range = new byte[][] {startKey, endKey};
+        // endKey为空表示到表尾，不知道最后一个region实际的最大rowkey，按字节拆分的分片可能都落在数据之后，不拆分
+        if (numSplits <= 1 || endKey.length == 0) {
+            return range;
+        }
+
+        // Bytes.split会在较短的key后补0再比较，如[0x61]和[0x61,0x00]补齐后相等，无法拆分
+        int length = Math.max(startKey.length, endKey.length);
+        if (Bytes.compareTo(
+                        Bytes.padTail(startKey, length - startKey.length),
+                        Bytes.padTail(endKey, length - endKey.length))
+                >= 0) {
+            return range;
+        }
+        byte[][] keys = Bytes.split(startKey, endKey, numSplits - 1);
+        if (keys == null) {
+            return range;
+        }
+        keys[keys.length - 1] = endKey;
+        return keys;
+    }
+
+    private byte[] getEndKey(byte[] endRowkeyByte, byte[] regionEndKey) {
         // 由于之前处理过，所以传入的userStartKey不可能为null
         if (endRowkeyByte == null) {
             throw new IllegalArgumentException("userEndKey should not be null!");
@@ -216,10 +296,10 @@ public class HBaseInputFormat extends BaseRichInputFormat {
             }
         }
 
-        return Bytes.toStringBinary(tempEndRowkeyByte);
+        return tempEndRowkeyByte;
     }
 
-    private String getStartKey(byte[] startRowkeyByte, byte[] regionStarKey) {
+    private byte[] getStartKey(byte[] startRowkeyByte, byte[] regionStarKey) {
         // 由于之前处理过，所以传入的userStartKey不可能为null
         if (startRowkeyByte == null) {
             throw new IllegalArgumentException("userStartKey should not be null!");
@@ -232,7 +312,7 @@ public class HBaseInputFormat extends BaseRichInputFormat {
         } else {
             tempStartRowkeyByte = startRowkeyByte;
         }
-        return Bytes.toStringBinary(tempStartRowkeyByte);
+        return tempStartRowkeyByte;
     }
 
     @Override
@@ -251,13 +331,59 @@ public class HBaseInputFormat extends BaseRichInputFormat {
         scan = new Scan();
         scan.setStartRow(startRow);
         scan.setStopRow(stopRow);
-        scan.setCaching(scanCacheSize);
+        scan.setCaching(scanCaching);
+        if (scanMaxResultSize > 0) {
+            scan.setMaxResultSize(scanMaxResultSize);
+        }
+        addColumns(scan);
         resultScanner = table.getScanner(scan);
+        sampledRows = 0;
+        sampledBytes = 0;
+    }
+
+    /** 只读取配置的列，只读rowkey时每行只返回第一个cell的key */
+    private void addColumns(Scan scan) {
+        if (columnNames == null) {
+            return;
+        }
+
+        boolean hasColumn = false;
+        for (int i = 0; i < columnNames.size(); i++) {
+            String columnName = columnNames.get(i);
+            if (KEY_ROW_KEY.equals(columnName)
+                    || (columnValues != null && StringUtils.isNotEmpty(columnValues.get(i)))) {
+                continue;
+            }
+            byte[][] familyAndQualifier = getFamilyAndQualifier(columnName);
+            scan.addColumn(familyAndQualifier[0], familyAndQualifier[1]);
+            hasColumn = true;
+        }
+        if (!hasColumn) {
+            scan.setFilter(new FilterList(new FirstKeyOnlyFilter(), new KeyOnlyFilter()));
+        }
+    }
+
+    private byte[][] getFamilyAndQualifier(String columnName) {
+        byte[][] arr = nameMaps.get(columnName);
+        if (arr == null) {
+            arr = new byte[2][];
+            String[] arr1 = columnName.split(":");
+            arr[0] = arr1[0].trim().getBytes(StandardCharsets.UTF_8);
+            arr[1] = arr1[1].trim().getBytes(StandardCharsets.UTF_8);
+            nameMaps.put(columnName, arr);
+        }
+        return arr;
     }
 
     @Override
     public boolean reachedEnd() throws IOException {
         next = resultScanner.next();
+        if (next != null && scanMaxResultSize > 0 && sampledRows < ROW_SIZE_SAMPLES) {
+            sampledRows++;
+            for (Cell cell : next.rawCells()) {
+                sampledBytes += CellUtil.estimatedSerializedSizeOf(cell);
+            }
+        }
         return next == null;
     }
 
@@ -281,14 +407,7 @@ public class HBaseInputFormat extends BaseRichInputFormat {
                     if (KEY_ROW_KEY.equals(columnName)) {
                         bytes = next.getRow();
                     } else {
-                        byte[][] arr = nameMaps.get(columnName);
-                        if (arr == null) {
-                            arr = new byte[2][];
-                            String[] arr1 = columnName.split(":");
-                            arr[0] = arr1[0].trim().getBytes(StandardCharsets.UTF_8);
-                            arr[1] = arr1[1].trim().getBytes(StandardCharsets.UTF_8);
-                            nameMaps.put(columnName, arr);
-                        }
+                        byte[][] arr = getFamilyAndQualifier(columnName);
                         bytes = next.getValue(arr[0], arr[1]);
                     }
                     col = convertBytesToAssignType(columnType, bytes, columnFormat);
@@ -303,7 +422,38 @@ public class HBaseInputFormat extends BaseRichInputFormat {
 
     @Override
     public void closeInternal() throws IOException {
+        if (resultScanner != null) {
+            resultScanner.close();
+            resultScanner = null;
+        }
+        if (table != null) {
+            table.close();
+            table = null;
+        }
+        adjustScanCaching();
+    }
+
+    /** 按已读取行的平均大小调整下一个分片的caching，使单次rpc返回的数据量接近scanMaxResultSize */
+    private void adjustScanCaching() {
+        if (scanMaxResultSize <= 0 || sampledRows == 0) {
+            return;
+        }
+
+        long avgRowSize = Math.max(sampledBytes / sampledRows, 1);
+        long caching = scanMaxResultSize / avgRowSize;
+        scanCaching =
+                (int)
+                        Math.max(
+                                HBaseConfigConstants.MIN_SCAN_CACHE_SIZE,
+                                Math.min(caching, HBaseConfigConstants.MAX_SCAN_CACHE_SIZE));
+        LOG.info("average row size is {} bytes, set scan caching to {}", avgRowSize, scanCaching);
+    }
+
+    @Override
+    public void closeInputFormat() {
+        super.closeInputFormat();
         HBaseHelper.closeConnection(connection);
+        connection = null;
     }
 
     public Object convertValueToAssignType(
@@ -86,6 +86,14 @@ public class HBaseInputFormatBuilder extends BaseRichInputFormatBuilder<HBaseInp
         format.scanCacheSize = scanCacheSize;
     }
 
+    public void setMaxSplitSize(long maxSplitSize) {
+        format.maxSplitSize = maxSplitSize;
+    }
+
+    public void setScanMaxResultSize(long scanMaxResultSize) {
+        format.scanMaxResultSize = scanMaxResultSize;
+    }
+
     @Override
     protected void checkFormat() {
         Preconditions.checkArgument(
@@ -95,6 +103,9 @@ public class HBaseInputFormatBuilder extends BaseRichInputFormatBuilder<HBaseInp
                         + HBaseConfigConstants.MIN_SCAN_CACHE_SIZE
                         + " and "
                         + HBaseConfigConstants.MAX_SCAN_CACHE_SIZE);
+        Preconditions.checkArgument(format.maxSplitSize >= 0, "maxSplitSize can't be negative");
+        Preconditions.checkArgument(
+                format.scanMaxResultSize >= 0, "scanMaxResultSize can't be negative");
 
         if (format.columnFormats != null) {
             for (int i = 0; i < format.columnTypes.size(); ++i) {
@@ -18,7 +18,7 @@
 
 package com.dtstack.flinkx.connector.hbase14.source;
 
-import org.apache.flink.core.io.InputSplit;
+import org.apache.flink.core.io.LocatableInputSplit;
 
 /**
  * The Class describing each InputSplit of HBase
@@ -27,12 +27,25 @@ import org.apache.flink.core.io.InputSplit;
  *
  * @author huyifan.zju@163.com
  */
-public class HBaseInputSplit implements InputSplit {
+public class HBaseInputSplit extends LocatableInputSplit {
+
+    private static final long serialVersionUID = 1L;
 
     private String startkey;
     private String endKey;
 
     public HBaseInputSplit(String startKey, String endKey) {
+        this(0, null, startKey, endKey);
+    }
+
+    /**
+     * @param splitNumber 分片编号
+     * @param hostname 分片所在region的regionserver主机名，未知时为null
+     * @param startKey 开始rowkey(包含)
+     * @param endKey 结束rowkey(不包含)
+     */
+    public HBaseInputSplit(int splitNumber, String hostname, String startKey, String endKey) {
+        super(splitNumber, hostname);
         this.startkey = startKey;
         this.endKey = endKey;
     }
@@ -46,7 +59,16 @@ public class HBaseInputSplit implements InputSplit {
     }
 
     @Override
-    public int getSplitNumber() {
-        return 0;
+    public String toString() {
+        return "HBaseInputSplit{"
+                + "splitNumber="
+                + getSplitNumber()
+                + ", startkey='"
+                + startkey
+                + '\''
+                + ", endKey='"
+                + endKey
+                + '\''
+                + '}';
     }
 }
@@ -46,8 +46,12 @@ import static com.dtstack.flinkx.connector.hbase14.table.HBaseOptions.TABLE_NAME
 import static com.dtstack.flinkx.connector.hbase14.table.HBaseOptions.ZOOKEEPER_QUORUM;
 import static com.dtstack.flinkx.connector.hbase14.table.HBaseOptions.ZOOKEEPER_ZNODE_PARENT;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_ASYNC_TIMEOUT;
+import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_BATCH_INTERVAL;
+import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_BATCH_SIZE;
+import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_MAX_BYTES;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_MAX_ROWS;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_PERIOD;
+import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_REFRESH_INTERVAL;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_TTL;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_TYPE;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_ERROR_LIMIT;
@@ -98,6 +102,10 @@ public class Hbase14DynamicTableFactory
         set.add(LOOKUP_FETCH_SIZE);
         set.add(LOOKUP_ASYNC_TIMEOUT);
         set.add(LOOKUP_PARALLELISM);
+        set.add(LOOKUP_BATCH_SIZE);
+        set.add(LOOKUP_BATCH_INTERVAL);
+        set.add(LOOKUP_CACHE_MAX_BYTES);
+        set.add(LOOKUP_CACHE_REFRESH_INTERVAL);
 
         set.add(PRINCIPAL);
         set.add(KEYTAB);
@@ -158,7 +166,11 @@ public class Hbase14DynamicTableFactory
                 .setErrorLimit(readableConfig.get(LOOKUP_ERROR_LIMIT))
                 .setFetchSize(readableConfig.get(LOOKUP_FETCH_SIZE))
                 .setAsyncTimeout(readableConfig.get(LOOKUP_ASYNC_TIMEOUT))
-                .setParallelism(readableConfig.get(LOOKUP_PARALLELISM));
+                .setParallelism(readableConfig.get(LOOKUP_PARALLELISM))
+                .setBatchSize(readableConfig.get(LOOKUP_BATCH_SIZE))
+                .setBatchInterval(readableConfig.get(LOOKUP_BATCH_INTERVAL))
+                .setCacheMaxBytes(readableConfig.get(LOOKUP_CACHE_MAX_BYTES))
+                .setCacheRefreshInterval(readableConfig.get(LOOKUP_CACHE_REFRESH_INTERVAL));
     }
 
     private HBaseConf getHbaseConf(ReadableConfig config, Map<String, String> options) {
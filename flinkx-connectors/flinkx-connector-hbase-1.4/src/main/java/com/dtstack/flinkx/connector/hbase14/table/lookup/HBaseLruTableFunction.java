@@ -26,6 +26,7 @@ import com.dtstack.flinkx.connector.hbase14.util.HBaseConfigUtils;
 import com.dtstack.flinkx.enums.ECacheContentType;
 import com.dtstack.flinkx.factory.FlinkxThreadFactory;
 import com.dtstack.flinkx.lookup.AbstractLruTableFunction;
+import com.dtstack.flinkx.lookup.LookupRequest;
 import com.dtstack.flinkx.lookup.cache.CacheMissVal;
 import com.dtstack.flinkx.lookup.cache.CacheObj;
 import com.dtstack.flinkx.lookup.conf.LookupConf;
@@ -41,6 +42,7 @@ import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.security.authentication.util.KerberosName;
 import org.hbase.async.Config;
 import org.hbase.async.GetRequest;
+import org.hbase.async.GetResultOrException;
 import org.hbase.async.HBaseClient;
 import org.hbase.async.KeyValue;
 import org.slf4j.Logger;
@@ -49,9 +51,11 @@ import sun.security.krb5.KrbException;
 
 import javax.security.auth.login.AppConfigurationEntry;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
@@ -154,44 +158,7 @@ public class HBaseLruTableFunction extends AbstractLruTableFunction {
                 .get(getRequest)
                 .addCallbacks(
                         keyValues -> {
-                            try {
-                                Map<String, Map<String, byte[]>> sideMap = Maps.newHashMap();
-                                for (KeyValue keyValue : keyValues) {
-                                    String cf = new String(keyValue.family());
-                                    String col = new String(keyValue.qualifier());
-                                    if (!sideMap.containsKey(cf)) {
-                                        Map<String, byte[]> cfMap = Maps.newHashMap();
-                                        cfMap.put(col, keyValue.value());
-                                        sideMap.put(cf, cfMap);
-                                    } else {
-                                        sideMap.get(cf).putIfAbsent(col, keyValue.value());
-                                    }
-                                }
-                                RowData rowData = serde.convertToNewRow(sideMap, key);
-                                if (keyValues.size() > 0) {
-                                    try {
-                                        if (openCache()) {
-                                            sideCache.putCache(
-                                                    keyStr,
-                                                    CacheObj.buildCacheObj(
-                                                            ECacheContentType.MultiLine,
-                                                            Collections.singletonList(rowData)));
-                                        }
-                                        future.complete(Collections.singletonList(rowData));
-                                    } catch (Exception e) {
-                                        future.completeExceptionally(e);
-                                    }
-                                } else {
-                                    dealMissKey(future);
-                                    if (openCache()) {
-                                        sideCache.putCache(keyStr, CacheMissVal.getMissKeyObj());
-                                    }
-                                }
-                            } catch (Exception e) {
-                                future.completeExceptionally(e);
-                                LOG.error("record:" + keyStr);
-                                LOG.error("get side record exception:", e);
-                            }
+                            handleKeyValues(future, key, keyValues);
                             return "";
                         },
                         o -> {
@@ -202,6 +169,87 @@ public class HBaseLruTableFunction extends AbstractLruTableFunction {
                         });
     }
 
+    /** Get the rows of all the keys with one multi-get. */
+    @Override
+    protected void handleAsyncBatchInvoke(List<LookupRequest> requests) {
+        List<GetRequest> getRequests = new ArrayList<>(requests.size());
+        List<byte[]> keys = new ArrayList<>(requests.size());
+        for (LookupRequest request : requests) {
+            byte[] key = serde.getRowKey(request.getKeys()[0]);
+            keys.add(key);
+            getRequests.add(new GetRequest(tableName, key));
+        }
+        hBaseClient
+                .get(getRequests)
+                .addCallbacks(
+                        results -> {
+                            for (int i = 0; i < requests.size(); i++) {
+                                CompletableFuture<Collection<RowData>> future =
+                                        requests.get(i).getFuture();
+                                GetResultOrException result = results.get(i);
+                                if (result.getException() != null) {
+                                    LOG.error("record:" + new String(keys.get(i)));
+                                    LOG.error(
+                                            "get side record exception:", result.getException());
+                                    future.complete(Collections.EMPTY_LIST);
+                                } else {
+                                    handleKeyValues(future, keys.get(i), result.getCells());
+                                }
+                            }
+                            return "";
+                        },
+                        o -> {
+                            LOG.error("get side records exception:" + o);
+                            for (LookupRequest request : requests) {
+                                request.getFuture().complete(Collections.EMPTY_LIST);
+                            }
+                            return "";
+                        });
+    }
+
+    private void handleKeyValues(
+            CompletableFuture<Collection<RowData>> future, byte[] key, List<KeyValue> keyValues) {
+        String keyStr = new String(key);
+        try {
+            Map<String, Map<String, byte[]>> sideMap = Maps.newHashMap();
+            for (KeyValue keyValue : keyValues) {
+                String cf = new String(keyValue.family());
+                String col = new String(keyValue.qualifier());
+                if (!sideMap.containsKey(cf)) {
+                    Map<String, byte[]> cfMap = Maps.newHashMap();
+                    cfMap.put(col, keyValue.value());
+                    sideMap.put(cf, cfMap);
+                } else {
+                    sideMap.get(cf).putIfAbsent(col, keyValue.value());
+                }
+            }
+            RowData rowData = serde.convertToNewRow(sideMap, key);
+            if (keyValues.size() > 0) {
+                try {
+                    if (openCache()) {
+                        sideCache.putCache(
+                                keyStr,
+                                CacheObj.buildCacheObj(
+                                        ECacheContentType.MultiLine,
+                                        Collections.singletonList(rowData)));
+                    }
+                    future.complete(Collections.singletonList(rowData));
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            } else {
+                dealMissKey(future);
+                if (openCache()) {
+                    sideCache.putCache(keyStr, CacheMissVal.getMissKeyObj());
+                }
+            }
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+            LOG.error("record:" + keyStr);
+            LOG.error("get side record exception:", e);
+        }
+    }
+
     private void refreshConfig() throws KrbException {
         sun.security.krb5.Config.refresh();
         KerberosName.resetDefaultRealm();
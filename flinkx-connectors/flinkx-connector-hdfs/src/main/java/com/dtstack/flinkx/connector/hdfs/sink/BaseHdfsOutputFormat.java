@@ -20,7 +20,6 @@ package com.dtstack.flinkx.connector.hdfs.sink;
 import com.dtstack.flinkx.conf.FieldConf;
 import com.dtstack.flinkx.connector.hdfs.conf.HdfsConf;
 import com.dtstack.flinkx.connector.hdfs.enums.CompressType;
-import com.dtstack.flinkx.constants.ConstantValue;
 import com.dtstack.flinkx.sink.format.BaseFileOutputFormat;
 import com.dtstack.flinkx.throwable.FlinkxRuntimeException;
 import com.dtstack.flinkx.util.ColumnTypeUtil;
@@ -31,15 +30,19 @@ import org.apache.flink.api.common.cache.DistributedCache;
 import org.apache.flink.api.common.functions.RuntimeContext;
 
 import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
-import org.apache.hadoop.fs.FileUtil;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.fs.PathFilter;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -52,6 +55,9 @@ import java.util.stream.Collectors;
  */
 public abstract class BaseHdfsOutputFormat extends BaseFileOutputFormat {
 
+    /** Directory under .data holding the manifests of pre-committed files */
+    protected static final String MANIFEST_DIR_NAME = ".manifest";
+
     protected FileSystem fs;
     protected HdfsConf hdfsConf;
 
@@ -60,6 +66,8 @@ public abstract class BaseHdfsOutputFormat extends BaseFileOutputFormat {
     protected Configuration conf;
     protected transient Map<String, ColumnTypeUtil.DecimalInfo> decimalColInfo;
     protected CompressType compressType;
+    /** Manifest written by the last preCommit, deleted after the files in it are committed */
+    protected String preCommitManifest;
 
     @Override
     protected void openInternal(int taskNumber, int numTasks) throws IOException {
@@ -72,6 +80,9 @@ public abstract class BaseHdfsOutputFormat extends BaseFileOutputFormat {
             }
         }
         super.openInternal(taskNumber, numTasks);
+        if (null != formatState && StringUtils.isNotBlank(formatState.getJobId())) {
+            recoverFromManifest(formatState.getJobId(), formatState.getFileIndex());
+        }
     }
 
     @Override
@@ -124,6 +135,12 @@ public abstract class BaseHdfsOutputFormat extends BaseFileOutputFormat {
 
     @Override
     protected void deleteTmpDataDir() {
+        if (StringUtils.isNotBlank(hdfsConf.getSavePointPath())) {
+            // files pre-committed by the restored checkpoint are still in the temp directory,
+            // each subtask publishes them from its manifest when it is restored
+            LOG.info("restore from savepoint, keep temp directory: {}", tmpPath);
+            return;
+        }
         deleteDirectory(tmpPath);
     }
 
@@ -156,44 +173,156 @@ public abstract class BaseHdfsOutputFormat extends BaseFileOutputFormat {
         return compressType.getSuffix();
     }
 
+    /**
+     * Records the closed temp files of this subtask in a manifest instead of copying them, they
+     * are published by rename when the checkpoint completes.
+     */
     @Override
-    protected long getCurrentFileSize() {
-        String path = tmpPath + File.separatorChar + currentFileName;
+    protected List<String> copyTmpDataFileToDir() {
+        String filePrefix = jobId + "_" + taskNumber + "_";
+        PathFilter pathFilter = path -> path.getName().startsWith(filePrefix);
+        List<String> pendingList = new ArrayList<>();
         try {
-            if (hdfsConf.getMaxFileSize() > ConstantValue.STORE_SIZE_G) {
-                return fs.getFileStatus(new Path(path)).getLen();
-            } else {
-                return fs.open(new Path(path)).available();
+            FileStatus[] dataFiles = fs.listStatus(new Path(tmpPath), pathFilter);
+            for (FileStatus dataFile : dataFiles) {
+                if (dataFile.isFile()) {
+                    pendingList.add(dataFile.getPath().getName());
+                }
             }
+            // same name as the file index in the checkpoint state, see preCommit()
+            String manifest = getManifestPath(jobId, currentFileIndex - 1);
+            writeManifest(manifest, pendingList);
+            preCommitManifest = manifest;
+            LOG.info("pre commit {} temp files, manifest: {}", pendingList.size(), manifest);
         } catch (IOException e) {
-            throw new FlinkxRuntimeException("can't get file size from hdfs, file = " + path, e);
+            throw new FlinkxRuntimeException(
+                    String.format("can't pre commit temp files of dir:[%s]", tmpPath), e);
         }
+        return pendingList;
     }
 
     @Override
-    protected List<String> copyTmpDataFileToDir() {
-        String filePrefix = jobId + "_" + taskNumber;
+    public void commit(long checkpointId) {
+        moveDataFiles(preCommitFilePathList);
+        if (preCommitManifest != null) {
+            try {
+                fs.delete(new Path(preCommitManifest), false);
+            } catch (IOException e) {
+                LOG.warn("can't delete manifest: {}", preCommitManifest, e);
+            }
+            preCommitManifest = null;
+        }
+        preCommitFilePathList.clear();
+    }
+
+    @Override
+    public void rollback(long checkpointId) {
+        // nothing is published before commit, the pending files stay in the temp directory and
+        // are committed with the next checkpoint
+        LOG.info(
+                "checkpoint {} aborted, {} files keep pending",
+                checkpointId,
+                preCommitFilePathList.size());
+    }
+
+    /**
+     * Publishes the files of the restored checkpoint and deletes the files written after it.
+     *
+     * @param restoredJobId job id of the restored checkpoint, the prefix of its file names
+     * @param restoredFileIndex file index of the restored checkpoint, the suffix of its manifest
+     */
+    protected void recoverFromManifest(String restoredJobId, int restoredFileIndex) {
+        String filePrefix = restoredJobId + "_" + taskNumber + "_";
         PathFilter pathFilter = path -> path.getName().startsWith(filePrefix);
-        Path dir = new Path(outputFilePath);
-        Path tmpDir = new Path(tmpPath);
+        Path manifestDir = new Path(tmpPath, MANIFEST_DIR_NAME);
+        Path manifest = new Path(getManifestPath(restoredJobId, restoredFileIndex));
+        try {
+            if (fs.exists(manifest)) {
+                List<String> pendingList = readManifest(manifest);
+                LOG.info("recover {} files from manifest: {}", pendingList.size(), manifest);
+                moveDataFiles(pendingList);
+            }
+
+            Path tmpDir = new Path(tmpPath);
+            if (fs.exists(tmpDir)) {
+                for (FileStatus dataFile : fs.listStatus(tmpDir, pathFilter)) {
+                    fs.delete(dataFile.getPath(), true);
+                    LOG.info("delete uncommitted file:{}", dataFile.getPath());
+                }
+            }
+            if (fs.exists(manifestDir)) {
+                for (FileStatus manifestFile : fs.listStatus(manifestDir, pathFilter)) {
+                    fs.delete(manifestFile.getPath(), false);
+                }
+            }
+        } catch (IOException e) {
+            throw new FlinkxRuntimeException(
+                    String.format("can't recover from manifest:[%s]", manifest), e);
+        }
+    }
+
+    /** Renames the temp files into the output directory, files already renamed are skipped. */
+    protected void moveDataFiles(List<String> fileNames) {
         String currentFilePath = "";
-        List<String> copyList = new ArrayList<>();
         try {
-            FileStatus[] dataFiles = fs.listStatus(tmpDir, pathFilter);
-            for (FileStatus dataFile : dataFiles) {
-                currentFilePath = dataFile.getPath().getName();
-                FileUtil.copy(fs, dataFile.getPath(), fs, dir, false, conf);
-                copyList.add(currentFilePath);
-                LOG.info("copy temp file:{} to dir:{}", currentFilePath, dir);
+            for (String fileName : fileNames) {
+                Path src = new Path(tmpPath, fileName);
+                Path dst = new Path(outputFilePath, fileName);
+                currentFilePath = src.toString();
+                if (!fs.exists(src)) {
+                    continue;
+                }
+                if (fs.exists(dst)) {
+                    fs.delete(dst, false);
+                }
+                if (!fs.rename(src, dst)) {
+                    throw new IOException("rename returns false");
+                }
+                LOG.info("move temp file:{} to dir:{}", src, outputFilePath);
             }
-        } catch (Exception e) {
+        } catch (IOException e) {
             throw new FlinkxRuntimeException(
                     String.format(
-                            "can't copy temp file:[%s] to dir:[%s]",
-                            currentFilePath, outputFilePath),
+                            "can't move file:[%s] to dir:[%s]", currentFilePath, outputFilePath),
                     e);
         }
-        return copyList;
+    }
+
+    protected String getManifestPath(String manifestJobId, int fileIndex) {
+        return tmpPath
+                + File.separatorChar
+                + MANIFEST_DIR_NAME
+                + File.separatorChar
+                + manifestJobId
+                + "_"
+                + taskNumber
+                + "_"
+                + fileIndex;
+    }
+
+    private void writeManifest(String manifest, List<String> fileNames) throws IOException {
+        try (FSDataOutputStream out = fs.create(new Path(manifest), true)) {
+            for (String fileName : fileNames) {
+                out.write(fileName.getBytes(StandardCharsets.UTF_8));
+                out.write('\n');
+            }
+            out.hsync();
+        }
+    }
+
+    private List<String> readManifest(Path manifest) throws IOException {
+        List<String> fileNames = new ArrayList<>();
+        try (BufferedReader reader =
+                new BufferedReader(
+                        new InputStreamReader(fs.open(manifest), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (StringUtils.isNotBlank(line)) {
+                    fileNames.add(line);
+                }
+            }
+        }
+        return fileNames;
     }
 
     @Override
@@ -224,6 +353,10 @@ public abstract class BaseHdfsOutputFormat extends BaseFileOutputFormat {
 
             FileStatus[] dataFiles = fs.listStatus(tmpDir);
             for (FileStatus dataFile : dataFiles) {
+                if (dataFile.isDirectory()) {
+                    // manifests
+                    continue;
+                }
                 currentFilePath = dataFile.getPath().getName();
                 fs.rename(dataFile.getPath(), dir);
                 LOG.info("move temp file:{} to dir:{}", dataFile.getPath(), dir);
@@ -73,6 +73,8 @@ public class HdfsOrcOutputFormat extends BaseHdfsOutputFormat {
     private StructObjectInspector inspector;
     private FileOutputFormat outputFormat;
     private JobConf jobConf;
+    /** value of bytesWriteCounter when the current file is created */
+    private long bytesWriteOfBlockStart;
 
     @Override
     @SuppressWarnings("unchecked")
@@ -131,10 +133,15 @@ public class HdfsOrcOutputFormat extends BaseHdfsOutputFormat {
                         fullColumnNameList, structFieldObjectInspectors);
     }
 
+    /** Estimated from the bytes of the rows in the current file, orc encodes a stripe at a time. */
     @Override
     // todo the deviation needs to be calculated accurately
     protected long getCurrentFileSize() {
-        return (long) (bytesWriteCounter.getLocalValue() * getDeviation());
+        if (recordWriter == null) {
+            return 0;
+        }
+        long bytesOfBlock = bytesWriteCounter.getLocalValue() - bytesWriteOfBlockStart;
+        return (long) (bytesOfBlock * getDeviation());
     }
 
     @Override
@@ -149,6 +156,7 @@ public class HdfsOrcOutputFormat extends BaseHdfsOutputFormat {
             String currentBlockTmpPath = tmpPath + File.separatorChar + currentFileName;
             recordWriter =
                     outputFormat.getRecordWriter(null, jobConf, currentBlockTmpPath, Reporter.NULL);
+            bytesWriteOfBlockStart = bytesWriteCounter.getLocalValue();
             currentFileIndex++;
 
             setFs();
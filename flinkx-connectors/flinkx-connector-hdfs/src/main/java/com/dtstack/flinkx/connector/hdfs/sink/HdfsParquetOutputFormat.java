@@ -211,6 +211,12 @@ public class HdfsParquetOutputFormat extends BaseHdfsOutputFormat {
         }
     }
 
+    /** Bytes flushed to the file plus the row group buffered in memory. */
+    @Override
+    protected long getCurrentFileSize() {
+        return writer == null ? 0 : writer.getDataSize();
+    }
+
     @Override
     public CompressType getCompressType() {
         return CompressType.getByTypeAndFileType(hdfsConf.getCompress(), FileType.PARQUET.name());
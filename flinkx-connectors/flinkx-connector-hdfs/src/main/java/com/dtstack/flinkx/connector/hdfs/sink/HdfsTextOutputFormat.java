@@ -22,8 +22,10 @@ import com.dtstack.flinkx.connector.hdfs.enums.CompressType;
 import com.dtstack.flinkx.connector.hdfs.enums.FileType;
 import com.dtstack.flinkx.connector.hdfs.util.HdfsUtil;
 import com.dtstack.flinkx.enums.SizeUnitType;
+import com.dtstack.flinkx.sink.CountingOutputStream;
 import com.dtstack.flinkx.throwable.FlinkxRuntimeException;
 import com.dtstack.flinkx.throwable.WriteRecordException;
+import com.dtstack.flinkx.util.DelimitedTextEncoder;
 import com.dtstack.flinkx.util.ExceptionUtil;
 
 import org.apache.flink.table.data.RowData;
@@ -35,6 +37,7 @@ import org.apache.hadoop.fs.Path;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.Charset;
 
 /**
  * Date: 2021/06/09 Company: www.dtstack.com
@@ -43,8 +46,30 @@ import java.io.OutputStream;
  */
 public class HdfsTextOutputFormat extends BaseHdfsOutputFormat {
 
-    private static final int NEWLINE = 10;
     private transient OutputStream stream;
+    /** bytes written to the current file, after compression */
+    private transient CountingOutputStream countingStream;
+    /** bytes given to the compressor of the current file, null without compression */
+    private transient CountingOutputStream rawCountingStream;
+    /** records not written to the stream yet */
+    private transient DelimitedTextEncoder encoder;
+    /** fields in the order of hdfsConf.getColumn(), reused for every record */
+    private transient String[] data;
+    /** fields in the order of fullColumnNameList, reused for every record */
+    private transient String[] result;
+
+    @Override
+    protected void openInternal(int taskNumber, int numTasks) throws IOException {
+        super.openInternal(taskNumber, numTasks);
+        encoder =
+                new DelimitedTextEncoder(
+                        hdfsConf.getFieldDelimiter(),
+                        Charset.forName(hdfsConf.getEncoding()),
+                        hdfsConf.getQuoteChar(),
+                        hdfsConf.getEscapeChar());
+        data = new String[hdfsConf.getColumn().size()];
+        result = new String[fullColumnNameList.size()];
+    }
 
     @Override
     protected void nextBlock() {
@@ -53,20 +78,24 @@ public class HdfsTextOutputFormat extends BaseHdfsOutputFormat {
         if (stream != null) {
             return;
         }
+        // records buffered for a stream closed on failure must not go to the new file
+        encoder.reset();
 
         try {
             String currentBlockTmpPath = tmpPath + File.separatorChar + currentFileName;
             Path p = new Path(currentBlockTmpPath);
+            countingStream = new CountingOutputStream(fs.create(p));
 
             if (CompressType.TEXT_NONE.equals(compressType)) {
-                stream = fs.create(p);
+                stream = countingStream;
             } else {
-                p = new Path(currentBlockTmpPath);
                 if (compressType == CompressType.TEXT_GZIP) {
-                    stream = new GzipCompressorOutputStream(fs.create(p));
+                    stream = new GzipCompressorOutputStream(countingStream);
                 } else if (compressType == CompressType.TEXT_BZIP2) {
-                    stream = new BZip2CompressorOutputStream(fs.create(p));
+                    stream = new BZip2CompressorOutputStream(countingStream);
                 }
+                rawCountingStream = new CountingOutputStream(stream);
+                stream = rawCountingStream;
             }
             currentFileIndex++;
             LOG.info("subtask:[{}] create block file:{}", taskNumber, currentBlockTmpPath);
@@ -84,9 +113,12 @@ public class HdfsTextOutputFormat extends BaseHdfsOutputFormat {
 
         try {
             if (stream != null) {
+                encoder.writeTo(stream);
                 stream.flush();
                 stream.close();
                 stream = null;
+                countingStream = null;
+                rawCountingStream = null;
             }
         } catch (IOException e) {
             throw new FlinkxRuntimeException(
@@ -102,24 +134,23 @@ public class HdfsTextOutputFormat extends BaseHdfsOutputFormat {
         if (stream == null) {
             nextBlock();
         }
-        String[] data = new String[hdfsConf.getColumn().size()];
         try {
-            data = (String[]) rowConverter.toExternal(rowData, data);
+            rowConverter.toExternal(rowData, data);
         } catch (Exception e) {
             throw new WriteRecordException("can't parse rowData", e, -1, rowData);
         }
 
-        String[] result = new String[fullColumnNameList.size()];
         for (int i = 0; i < hdfsConf.getColumn().size(); i++) {
             FieldConf fieldConf = hdfsConf.getColumn().get(i);
             result[fieldConf.getIndex()] = data[i];
         }
-        String line = String.join(hdfsConf.getFieldDelimiter(), result);
+        for (String field : result) {
+            encoder.appendField(field);
+        }
+        encoder.endRecord();
 
         try {
-            byte[] bytes = line.getBytes(hdfsConf.getEncoding());
-            this.stream.write(bytes);
-            this.stream.write(NEWLINE);
+            encoder.writeIfFull(stream);
             rowsOfCurrentBlock++;
             lastRow = rowData;
         } catch (IOException e) {
@@ -136,8 +167,11 @@ public class HdfsTextOutputFormat extends BaseHdfsOutputFormat {
         try {
             OutputStream outputStream = this.stream;
             if (outputStream != null) {
+                encoder.writeTo(outputStream);
                 outputStream.flush();
                 this.stream = null;
+                this.countingStream = null;
+                this.rawCountingStream = null;
                 outputStream.close();
             }
         } catch (IOException e) {
@@ -147,6 +181,24 @@ public class HdfsTextOutputFormat extends BaseHdfsOutputFormat {
         }
     }
 
+    /**
+     * The compressor holds back its output, so the size of a compressed file is estimated from the
+     * bytes given to it and the compression ratio, the same as the orc writer, and is at least
+     * the bytes already written. The records buffered in the encoder are counted too.
+     */
+    @Override
+    protected long getCurrentFileSize() {
+        if (countingStream == null) {
+            return 0;
+        }
+        long bufferedBytes = encoder.size();
+        if (rawCountingStream == null) {
+            return countingStream.getCount() + bufferedBytes;
+        }
+        long rawBytes = rawCountingStream.getCount() + bufferedBytes;
+        return Math.max(countingStream.getCount(), (long) (rawBytes * getDeviation()));
+    }
+
     @Override
     public CompressType getCompressType() {
         return CompressType.getByTypeAndFileType(hdfsConf.getCompress(), FileType.TEXT.name());
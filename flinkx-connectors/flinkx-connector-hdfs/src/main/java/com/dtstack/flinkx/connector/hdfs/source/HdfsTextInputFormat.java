@@ -23,12 +23,12 @@ import com.dtstack.flinkx.connector.hdfs.util.HdfsUtil;
 import com.dtstack.flinkx.constants.ConstantValue;
 import com.dtstack.flinkx.throwable.FlinkxRuntimeException;
 import com.dtstack.flinkx.throwable.ReadRecordException;
+import com.dtstack.flinkx.util.DelimitedTextTokenizer;
 
 import org.apache.flink.core.io.InputSplit;
 import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
 
-import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.io.LongWritable;
 import org.apache.hadoop.io.Text;
 import org.apache.hadoop.mapred.FileSplit;
@@ -37,6 +37,7 @@ import org.apache.hadoop.mapred.Reporter;
 import org.apache.hadoop.mapred.TextInputFormat;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.security.PrivilegedAction;
 import java.util.List;
 
@@ -47,6 +48,10 @@ import java.util.List;
  */
 public class HdfsTextInputFormat extends BaseHdfsInputFormat {
 
+    private transient DelimitedTextTokenizer tokenizer;
+    /** true if the column is '*' */
+    private transient boolean readAllFields;
+
     @Override
     public InputSplit[] createHdfsSplit(int minNumSplits) throws IOException {
         super.initHadoopJobConf();
@@ -110,28 +115,49 @@ public class HdfsTextInputFormat extends BaseHdfsInputFormat {
                 super.inputFormat.getRecordReader(fileSplit, super.hadoopJobConf, Reporter.NULL);
         super.key = new LongWritable();
         super.value = new Text();
+        if (tokenizer == null) {
+            initTokenizer();
+        }
+    }
+
+    /** Only the fields before the highest index read are split and only the read ones decoded. */
+    private void initTokenizer() {
+        tokenizer =
+                new DelimitedTextTokenizer(
+                        hdfsConf.getFieldDelimiter(),
+                        Charset.forName(hdfsConf.getEncoding()),
+                        hdfsConf.getQuoteChar(),
+                        hdfsConf.getEscapeChar());
+        tokenizer.setNullValue(HdfsUtil.NULL_VALUE);
+
+        List<FieldConf> fieldConfList = hdfsConf.getColumn();
+        readAllFields =
+                fieldConfList.size() == 1
+                        && ConstantValue.STAR_SYMBOL.equals(fieldConfList.get(0).getName());
+        if (!readAllFields) {
+            int maxFields = 0;
+            for (FieldConf fieldConf : fieldConfList) {
+                if (fieldConf.getValue() == null && fieldConf.getIndex() != null) {
+                    maxFields = Math.max(maxFields, fieldConf.getIndex() + 1);
+                }
+            }
+            tokenizer.setMaxFields(maxFields);
+        }
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public RowData nextRecordInternal(RowData rowData) throws ReadRecordException {
         try {
-            String line =
-                    new String(
-                            ((Text) value).getBytes(),
-                            0,
-                            ((Text) value).getLength(),
-                            hdfsConf.getEncoding());
-            String[] fields =
-                    StringUtils.splitPreserveAllTokens(line, hdfsConf.getFieldDelimiter());
+            Text text = (Text) value;
+            int fieldCount = tokenizer.tokenize(text.getBytes(), 0, text.getLength());
 
             List<FieldConf> fieldConfList = hdfsConf.getColumn();
             GenericRowData genericRowData;
-            if (fieldConfList.size() == 1
-                    && ConstantValue.STAR_SYMBOL.equals(fieldConfList.get(0).getName())) {
-                genericRowData = new GenericRowData(fields.length);
-                for (int i = 0; i < fields.length; i++) {
-                    genericRowData.setField(i, fields[i]);
+            if (readAllFields) {
+                genericRowData = new GenericRowData(fieldCount);
+                for (int i = 0; i < fieldCount; i++) {
+                    genericRowData.setField(i, tokenizer.getString(i));
                 }
             } else {
                 genericRowData = new GenericRowData(fieldConfList.size());
@@ -140,11 +166,9 @@ public class HdfsTextInputFormat extends BaseHdfsInputFormat {
                     Object value = null;
                     if (fieldConf.getValue() != null) {
                         value = fieldConf.getValue();
-                    } else if (fieldConf.getIndex() != null
-                            && fieldConf.getIndex() < fields.length) {
-                        String strVal = fields[fieldConf.getIndex()];
-                        if (!HdfsUtil.NULL_VALUE.equals(strVal)) {
-                            value = strVal;
+                    } else if (fieldConf.getIndex() != null && fieldConf.getIndex() < fieldCount) {
+                        if (!tokenizer.isNull(fieldConf.getIndex())) {
+                            value = tokenizer.getString(fieldConf.getIndex());
                         }
                     }
 
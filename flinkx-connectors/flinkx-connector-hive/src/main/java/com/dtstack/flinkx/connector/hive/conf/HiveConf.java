@@ -35,6 +35,18 @@ public class HiveConf extends HdfsConf {
     private String password;
     private String partitionType = "DAY";
     private String partition = "pt";
+    /** Date patterns of the partition columns separated by commas, overrides partitionType. */
+    private String partitionFormat;
+    /** Field of the record that partitions are computed from, the server time if blank. */
+    private String partitionTimeField;
+    /** Max number of partition writers kept open at the same time. */
+    private int maxOpenWriters = 16;
+    /** A partition writer without data for this many milliseconds is closed. */
+    private long writerIdleTimeout = 10 * 60 * 1000L;
+    /** Max number of closed partition writers kept until their files are committed. */
+    private int maxRetiredWriters = 16;
+    /** A partition file is closed this many milliseconds after its first record, 0 never. */
+    private long rollInterval;
     private String tablesColumn;
     private String distributeTable;
     private String schema;
@@ -85,6 +97,54 @@ public class HiveConf extends HdfsConf {
         this.partition = partition;
     }
 
+    public String getPartitionFormat() {
+        return partitionFormat;
+    }
+
+    public void setPartitionFormat(String partitionFormat) {
+        this.partitionFormat = partitionFormat;
+    }
+
+    public String getPartitionTimeField() {
+        return partitionTimeField;
+    }
+
+    public void setPartitionTimeField(String partitionTimeField) {
+        this.partitionTimeField = partitionTimeField;
+    }
+
+    public int getMaxOpenWriters() {
+        return maxOpenWriters;
+    }
+
+    public void setMaxOpenWriters(int maxOpenWriters) {
+        this.maxOpenWriters = maxOpenWriters;
+    }
+
+    public long getWriterIdleTimeout() {
+        return writerIdleTimeout;
+    }
+
+    public void setWriterIdleTimeout(long writerIdleTimeout) {
+        this.writerIdleTimeout = writerIdleTimeout;
+    }
+
+    public int getMaxRetiredWriters() {
+        return maxRetiredWriters;
+    }
+
+    public void setMaxRetiredWriters(int maxRetiredWriters) {
+        this.maxRetiredWriters = maxRetiredWriters;
+    }
+
+    public long getRollInterval() {
+        return rollInterval;
+    }
+
+    public void setRollInterval(long rollInterval) {
+        this.rollInterval = rollInterval;
+    }
+
     public String getTablesColumn() {
         return tablesColumn;
     }
@@ -167,6 +227,20 @@ public class HiveConf extends HdfsConf {
                 + ", partition='"
                 + partition
                 + '\''
+                + ", partitionFormat='"
+                + partitionFormat
+                + '\''
+                + ", partitionTimeField='"
+                + partitionTimeField
+                + '\''
+                + ", maxOpenWriters="
+                + maxOpenWriters
+                + ", writerIdleTimeout="
+                + writerIdleTimeout
+                + ", maxRetiredWriters="
+                + maxRetiredWriters
+                + ", rollInterval="
+                + rollInterval
                 + ", tablesColumn='"
                 + tablesColumn
                 + '\''
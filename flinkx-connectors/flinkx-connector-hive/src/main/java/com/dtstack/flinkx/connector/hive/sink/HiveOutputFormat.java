@@ -35,8 +35,10 @@ import com.dtstack.flinkx.element.column.MapColumn;
 import com.dtstack.flinkx.element.column.NullColumn;
 import com.dtstack.flinkx.enums.Semantic;
 import com.dtstack.flinkx.restore.FormatState;
+import com.dtstack.flinkx.sink.WriteMode;
 import com.dtstack.flinkx.sink.format.BaseRichOutputFormat;
 import com.dtstack.flinkx.throwable.FlinkxRuntimeException;
+import com.dtstack.flinkx.util.DateUtil;
 import com.dtstack.flinkx.util.GsonUtil;
 import com.dtstack.flinkx.util.JsonUtil;
 
@@ -50,14 +52,19 @@ import org.apache.commons.lang3.tuple.Pair;
 
 import java.io.File;
 import java.io.IOException;
+import java.math.BigInteger;
+import java.sql.Timestamp;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.function.Predicate;
 
 /**
  * Date: 2021/06/22 Company: www.dtstack.com
@@ -66,26 +73,69 @@ import java.util.TimeZone;
  */
 public class HiveOutputFormat extends BaseRichOutputFormat {
 
+    private static final long MILLIS_PER_MINUTE = 60 * 1000L;
+
     private org.apache.flink.configuration.Configuration parameters;
     private int taskNumber;
     private int numTasks;
 
     private HiveConf hiveConf;
     private ConnectionInfo connectionInfo;
-    private SimpleDateFormat partitionFormat;
+    private List<String> partitionList;
+    private SimpleDateFormat[] partitionFormats;
 
     private Map<String, TableInfo> tableCacheMap;
-    private Map<String, Pair<String, BaseHdfsOutputFormat>> outputFormatMap;
+    /** Open writers keyed by table and partition path, the least recently used comes first. */
+    private transient LinkedHashMap<String, PartitionWriter> outputFormatMap;
+    /**
+     * Writers closed since the last checkpoint, keyed like {@link #outputFormatMap}. Their streams
+     * are closed but their files stay pending until the next checkpoint is committed.
+     */
+    private transient Map<String, PartitionWriter> retiredWriterMap;
+    /** Retired writers whose files are all in the last checkpoint, closed when it is committed. */
+    private transient Map<String, PartitionWriter> committingWriterMap;
+    /**
+     * States of the retired writers closed over maxRetiredWriters, keyed like {@link
+     * #outputFormatMap}. Their pending files are listed in a manifest and published by reopening
+     * the state when the next checkpoint is committed.
+     */
+    private transient Map<String, RetiredState> retiredStateMap;
+    /** Retired states in the last checkpoint, published when it is committed. */
+    private transient Map<String, RetiredState> committingStateMap;
+    /** The next file index of the writers closed before, so that a reopened one goes on. */
+    private transient Map<String, Integer> closedFileIndexMap;
+
     private Map<String, FormatState> formatStateMap;
 
+    /** The compiled analyticalRules, null if not set. */
+    private transient PathConverterUtil.PathRule analyticalRule;
+    /** The partition of {@link #partitionMinute}, the finest partition is one minute. */
+    private transient Partition currentPartition;
+
+    private transient long partitionMinute = Long.MIN_VALUE;
+    /** The partition of the last record time, only used with a partitionTimeField. */
+    private transient Partition eventPartition;
+
+    private transient long eventPartitionMinute = Long.MIN_VALUE;
+    /** The writer of the last record. */
+    private transient PartitionWriter lastWriter;
+    /** The projection from the header of the last row to the columns of each output format. */
+    private transient Map<BaseHdfsOutputFormat, HeaderProjection> projectionMap;
+
     @Override
     public void configure(org.apache.flink.configuration.Configuration parameters) {
         super.configure(parameters);
         this.parameters = parameters;
 
-        partitionFormat = getPartitionFormat();
+        partitionList = HiveUtil.splitPartition(hiveConf.getPartition());
+        partitionFormats = getPartitionFormats();
         tableCacheMap = new HashMap<>(16);
-        outputFormatMap = new HashMap<>(16);
+        outputFormatMap = new LinkedHashMap<>(16, 0.75f, true);
+        retiredWriterMap = new LinkedHashMap<>(16);
+        committingWriterMap = new LinkedHashMap<>(16);
+        retiredStateMap = new HashMap<>(16);
+        committingStateMap = new HashMap<>(16);
+        closedFileIndexMap = new HashMap<>(16);
         formatStateMap = new HashMap<>(16);
     }
 
@@ -101,17 +151,17 @@ public class HiveOutputFormat extends BaseRichOutputFormat {
         this.taskNumber = taskNumber;
         this.numTasks = numTasks;
 
-        if (null != formatState && null != formatState.getState()) {
-            HiveFormatState hiveFormatState = (HiveFormatState) formatState.getState();
-            formatStateMap.putAll(hiveFormatState.getFormatStateMap());
-        }
-
         connectionInfo = new ConnectionInfo();
         connectionInfo.setJdbcUrl(hiveConf.getJdbcUrl());
         connectionInfo.setUsername(hiveConf.getUsername());
         connectionInfo.setPassword(hiveConf.getPassword());
         connectionInfo.setHiveConf(hiveConf.getHadoopConfig());
+        if (StringUtils.isNotBlank(hiveConf.getAnalyticalRules())) {
+            analyticalRule = PathConverterUtil.compile(hiveConf.getAnalyticalRules());
+        }
+        projectionMap = new HashMap<>(16);
         primaryCreateTable();
+        recoverPartitions();
     }
 
     @Override
@@ -120,28 +170,22 @@ public class HiveOutputFormat extends BaseRichOutputFormat {
             throw new FlinkxRuntimeException("Hive connector doesn't support update/delete!");
         }
         String tableName = hiveConf.getTableName();
-        boolean hasAnalyticalRules = StringUtils.isNotBlank(hiveConf.getAnalyticalRules());
         Map<String, Object> dataMap = null;
         if (rowData instanceof ColumnRowData) {
             ColumnRowData columnRowData = (ColumnRowData) rowData;
             AbstractBaseColumn baseColumn = (columnRowData).getField(0);
             if (baseColumn instanceof MapColumn) {
                 // from kafka
-                dataMap = JsonUtil.toObject(baseColumn.asString(), JsonUtil.MAP_TYPE_REFERENCE);
-                if (hasAnalyticalRules) {
+                dataMap = toDataMap((MapColumn) baseColumn);
+                if (analyticalRule != null) {
                     tableName =
-                            PathConverterUtil.regexByRules(
-                                    dataMap,
-                                    hiveConf.getAnalyticalRules(),
-                                    hiveConf.getDistributeTableMapping());
+                            analyticalRule.render(dataMap, hiveConf.getDistributeTableMapping());
                 }
             } else {
-                if (hasAnalyticalRules) {
+                if (analyticalRule != null) {
                     tableName =
-                            PathConverterUtil.regexByRules(
-                                    columnRowData,
-                                    hiveConf.getAnalyticalRules(),
-                                    hiveConf.getDistributeTableMapping());
+                            analyticalRule.render(
+                                    columnRowData, hiveConf.getDistributeTableMapping());
                 }
             }
         }
@@ -163,10 +207,13 @@ public class HiveOutputFormat extends BaseRichOutputFormat {
                 forwardRowData = result;
             } else if (rowData instanceof ColumnRowData) {
                 ColumnRowData columnRowData = (ColumnRowData) rowData;
-                if (columnRowData.getHeaders() != null) {
-                    ColumnRowData result = new ColumnRowData(fieldConfList.size());
-                    for (FieldConf fieldConf : fieldConfList) {
-                        AbstractBaseColumn baseColumn = columnRowData.getField(fieldConf.getName());
+                Map<String, Integer> header = columnRowData.getHeaderInfo();
+                if (header != null) {
+                    int[] projection = getProjection(hdfsOutputFormat, header, fieldConfList);
+                    ColumnRowData result = new ColumnRowData(projection.length);
+                    for (int index : projection) {
+                        AbstractBaseColumn baseColumn =
+                                index < 0 ? null : columnRowData.getField(index);
                         if (baseColumn != null) {
                             result.addField(baseColumn);
                         } else {
@@ -204,12 +251,21 @@ public class HiveOutputFormat extends BaseRichOutputFormat {
 
     @Override
     public synchronized FormatState getFormatState() throws Exception {
-        formatStateMap.clear();
-        for (Map.Entry<String, Pair<String, BaseHdfsOutputFormat>> next :
-                outputFormatMap.entrySet()) {
-            BaseHdfsOutputFormat format = next.getValue().getRight();
-            FormatState formatState = format.getFormatState();
-            formatStateMap.put(format.getFormatId(), formatState);
+        formatStateMap = new HashMap<>(16);
+        // a retired writer is committed with this checkpoint, one of a checkpoint not committed
+        // yet keeps its files pending and its state until a later one is
+        committingWriterMap.putAll(retiredWriterMap);
+        retiredWriterMap.clear();
+        committingStateMap.putAll(retiredStateMap);
+        retiredStateMap.clear();
+        for (PartitionWriter writer : committingWriterMap.values()) {
+            putFormatState(writer);
+        }
+        for (RetiredState retiredState : committingStateMap.values()) {
+            formatStateMap.put(retiredState.hiveTablePath, retiredState.formatState);
+        }
+        for (PartitionWriter writer : outputFormatMap.values()) {
+            putFormatState(writer);
         }
 
         // set metric after preCommit
@@ -222,85 +278,294 @@ public class HiveOutputFormat extends BaseRichOutputFormat {
         return formatState;
     }
 
+    private void putFormatState(PartitionWriter writer) throws Exception {
+        BaseHdfsOutputFormat format = writer.format;
+        formatStateMap.put(format.getFormatId(), format.getFormatState());
+    }
+
     @Override
     public void commit(long checkpointId) {
-        for (Map.Entry<String, Pair<String, BaseHdfsOutputFormat>> next :
-                outputFormatMap.entrySet()) {
-            BaseHdfsOutputFormat format = next.getValue().getRight();
-            format.commit(checkpointId);
+        for (PartitionWriter writer : outputFormatMap.values()) {
+            writer.format.commit(checkpointId);
         }
+        for (PartitionWriter writer : committingWriterMap.values()) {
+            writer.format.commit(checkpointId);
+            closeWriter(writer);
+        }
+        committingWriterMap.clear();
+        for (RetiredState retiredState : committingStateMap.values()) {
+            // the output format publishes the files of its manifest when it is opened
+            closeFormat(
+                    retiredState.hiveTablePath,
+                    createHdfsOutputFormat(
+                            retiredState.tableInfo,
+                            retiredState.path,
+                            retiredState.hiveTablePath,
+                            true,
+                            retiredState.formatState));
+        }
+        committingStateMap.clear();
     }
 
     @Override
     public void rollback(long checkpointId) {
-        for (Map.Entry<String, Pair<String, BaseHdfsOutputFormat>> next :
-                outputFormatMap.entrySet()) {
-            BaseHdfsOutputFormat format = next.getValue().getRight();
-            format.rollback(checkpointId);
+        for (PartitionWriter writer : outputFormatMap.values()) {
+            writer.format.rollback(checkpointId);
+        }
+        for (PartitionWriter writer : committingWriterMap.values()) {
+            writer.format.rollback(checkpointId);
         }
     }
 
+    /**
+     * Close the writers without publishing their files, the files written since the last
+     * checkpoint stay pending in the temp directory and are recovered from its manifests, the same
+     * as the HDFS sink.
+     */
     @Override
     public void closeInternal() {
-        for (Map.Entry<String, Pair<String, BaseHdfsOutputFormat>> entry :
-                outputFormatMap.entrySet()) {
-            try {
-                BaseHdfsOutputFormat format = entry.getValue().getRight();
-                format.finalizeGlobal(numTasks);
-                format.close();
-            } catch (IOException e) {
-                LOG.warn("close {} outputFormat error", entry.getKey(), e);
-            }
+        for (PartitionWriter writer : outputFormatMap.values()) {
+            closeWriter(writer);
+        }
+        for (PartitionWriter writer : retiredWriterMap.values()) {
+            closeWriter(writer);
+        }
+        for (PartitionWriter writer : committingWriterMap.values()) {
+            closeWriter(writer);
         }
+        outputFormatMap.clear();
+        retiredWriterMap.clear();
+        committingWriterMap.clear();
+        // the files of the retired states stay pending and are recovered from the checkpoint
+        retiredStateMap.clear();
+        committingStateMap.clear();
+        lastWriter = null;
     }
 
     private Pair<BaseHdfsOutputFormat, TableInfo> getHdfsOutputFormat(
             String tableName, RowData rowData, Map<String, Object> event) {
-        String partitionValue = partitionFormat.format(new Date());
-        String partitionPath =
-                String.format(HiveUtil.PARTITION_TEMPLATE, hiveConf.getPartition(), partitionValue);
-        String hiveTablePath = tableName + File.separatorChar + partitionPath;
-
-        Pair<String, BaseHdfsOutputFormat> formatPair = outputFormatMap.get(tableName);
-        BaseHdfsOutputFormat outputFormat = null;
-        if (formatPair != null && StringUtils.equals(formatPair.getLeft(), partitionPath)) {
-            outputFormat = formatPair.getRight();
-        }
-        TableInfo tableInfo = checkCreateTable(tableName, rowData, event);
-        if (outputFormat == null) {
+        Partition partition = getPartition(rowData, event);
+        PartitionWriter writer = lastWriter;
+        if (writer != null
+                && writer.tableName.equals(tableName)
+                && writer.partition.path.equals(partition.path)) {
+            return Pair.of(writer.format, writer.tableInfo);
+        }
+
+        String hiveTablePath = tableName + File.separatorChar + partition.path;
+        writer = outputFormatMap.get(hiveTablePath);
+        if (writer == null) {
+            writer = reviveWriter(hiveTablePath);
+        }
+        if (writer == null) {
+            TableInfo tableInfo = checkCreateTable(tableName, rowData, event);
             HiveUtil.createPartition(
                     tableInfo,
                     hiveConf.getSchema(),
-                    partitionPath,
+                    partition.spec,
                     connectionInfo,
                     getRuntimeContext().getDistributedCache());
-            String path = tableInfo.getPath() + File.separatorChar + partitionPath;
+            String path = tableInfo.getPath() + File.separatorChar + partition.path;
+            RetiredState retiredState = retiredStateMap.remove(hiveTablePath);
+            if (retiredState == null) {
+                retiredState = committingStateMap.remove(hiveTablePath);
+            }
+            if (retiredState != null) {
+                // the new writer lists the pending files of the partition when it pre commits
+                LOG.info("the pending files of {} are committed by a new writer", hiveTablePath);
+            }
+
+            if (StringUtils.isBlank(hiveConf.getPartitionTimeField())) {
+                // the server time never goes back, the former partitions of the table are done
+                retireWriters(w -> w.tableName.equals(tableName));
+            }
+            retireEldestWriters();
 
-            outputFormat =
+            BaseHdfsOutputFormat outputFormat =
                     createHdfsOutputFormat(
-                            tableInfo, path, hiveTablePath, rowData instanceof ColumnRowData);
-            if (formatPair != null) {
-                try {
-                    BaseHdfsOutputFormat format = formatPair.getRight();
-                    format.finalizeGlobal(numTasks);
-                    format.close();
-                } catch (IOException e) {
-                    LOG.warn("close {} outputFormat error", hiveTablePath, e);
-                }
+                            tableInfo,
+                            path,
+                            hiveTablePath,
+                            rowData instanceof ColumnRowData,
+                            null);
+            writer =
+                    new PartitionWriter(
+                            tableName, partition, hiveTablePath, tableInfo, outputFormat);
+            outputFormatMap.put(hiveTablePath, writer);
+        }
+        lastWriter = writer;
+        return Pair.of(writer.format, writer.tableInfo);
+    }
+
+    /**
+     * Reopen a retired writer of the partition whose files are not committed yet, so that a
+     * partition has one output format and one state at a time.
+     */
+    private PartitionWriter reviveWriter(String hiveTablePath) {
+        PartitionWriter writer = retiredWriterMap.remove(hiveTablePath);
+        if (writer == null) {
+            writer = committingWriterMap.remove(hiveTablePath);
+        }
+        if (writer != null) {
+            LOG.info("reopen the retired writer of {}", hiveTablePath);
+            retireEldestWriters();
+            outputFormatMap.put(hiveTablePath, writer);
+        }
+        return writer;
+    }
+
+    /** Retire the least recently used writers until one more can be opened. */
+    private void retireEldestWriters() {
+        while (hiveConf.getMaxOpenWriters() > 0
+                && outputFormatMap.size() >= hiveConf.getMaxOpenWriters()) {
+            Iterator<PartitionWriter> iterator = outputFormatMap.values().iterator();
+            PartitionWriter eldest = iterator.next();
+            iterator.remove();
+            LOG.info("close the least recently used writer of {}", eldest.hiveTablePath);
+            retireWriter(eldest);
+        }
+    }
+
+    /** Remove and retire the writers matching the condition. */
+    private void retireWriters(Predicate<PartitionWriter> condition) {
+        Iterator<PartitionWriter> iterator = outputFormatMap.values().iterator();
+        while (iterator.hasNext()) {
+            PartitionWriter writer = iterator.next();
+            if (condition.test(writer)) {
+                iterator.remove();
+                retireWriter(writer);
+            }
+        }
+    }
+
+    /**
+     * Close the file of the writer. Its files stay pending in the temp directory and in the state
+     * of this subtask, the writer is closed when the next checkpoint is committed.
+     */
+    private void retireWriter(PartitionWriter writer) {
+        projectionMap.remove(writer.format);
+        if (lastWriter == writer) {
+            lastWriter = null;
+        }
+        writer.format.flushData();
+        retiredWriterMap.put(writer.hiveTablePath, writer);
+        closeEldestRetiredWriters();
+    }
+
+    /**
+     * Close the earliest retired writers over maxRetiredWriters. A closed writer pre commits its
+     * pending files into a manifest and only its state is kept, the files are published when a
+     * checkpoint with the state is committed.
+     */
+    private void closeEldestRetiredWriters() {
+        int maxRetiredWriters = Math.max(hiveConf.getMaxRetiredWriters(), 0);
+        while (retiredWriterMap.size() + committingWriterMap.size() > maxRetiredWriters) {
+            // the writers of the last checkpoint were retired earlier
+            boolean committing = !committingWriterMap.isEmpty();
+            Iterator<PartitionWriter> iterator =
+                    committing
+                            ? committingWriterMap.values().iterator()
+                            : retiredWriterMap.values().iterator();
+            PartitionWriter eldest = iterator.next();
+            iterator.remove();
+
+            FormatState state;
+            try {
+                state = eldest.format.getFormatState();
+            } catch (Exception e) {
+                throw new FlinkxRuntimeException(
+                        "can't pre commit the files of " + eldest.hiveTablePath, e);
+            }
+            String path = eldest.tableInfo.getPath() + File.separatorChar + eldest.partition.path;
+            RetiredState retiredState =
+                    new RetiredState(eldest.hiveTablePath, eldest.tableInfo, path, state);
+            if (committing) {
+                committingStateMap.put(eldest.hiveTablePath, retiredState);
+            } else {
+                retiredStateMap.put(eldest.hiveTablePath, retiredState);
             }
-            outputFormatMap.put(tableName, Pair.of(partitionPath, outputFormat));
+            LOG.info("close the retired writer of {}, keep its state", eldest.hiveTablePath);
+            closeWriter(eldest);
+        }
+    }
+
+    private void closeWriter(PartitionWriter writer) {
+        BaseHdfsOutputFormat format = writer.format;
+        projectionMap.remove(format);
+        if (lastWriter == writer) {
+            lastWriter = null;
+        }
+        closeFormat(writer.hiveTablePath, format);
+    }
+
+    private void closeFormat(String hiveTablePath, BaseHdfsOutputFormat format) {
+        try {
+            format.close();
+        } catch (IOException e) {
+            LOG.warn("close {} outputFormat error", hiveTablePath, e);
+        }
+        closedFileIndexMap.put(hiveTablePath, format.getCurrentFileIndex());
+    }
+
+    /**
+     * Publish the files of every partition in the restored checkpoint and delete the files of this
+     * subtask written after it, the partitions may never be written again.
+     */
+    private void recoverPartitions() {
+        if (null == formatState || null == formatState.getState()) {
+            return;
+        }
+        HiveFormatState hiveFormatState = (HiveFormatState) formatState.getState();
+        int partitionLevels = partitionList.size();
+        for (Map.Entry<String, FormatState> entry :
+                hiveFormatState.getFormatStateMap().entrySet()) {
+            String hiveTablePath = entry.getKey();
+            int index = hiveTablePath.length();
+            for (int i = 0; i < partitionLevels && index > 0; i++) {
+                index = hiveTablePath.lastIndexOf(File.separatorChar, index - 1);
+            }
+            if (index <= 0) {
+                LOG.warn("can not recover the partition of restored state {}", hiveTablePath);
+                continue;
+            }
+            TableInfo tableInfo;
+            try {
+                tableInfo = checkCreateTable(hiveTablePath.substring(0, index), null, null);
+            } catch (FlinkxRuntimeException e) {
+                LOG.warn("can not recover the partition of restored state {}", hiveTablePath, e);
+                continue;
+            }
+            String path =
+                    tableInfo.getPath() + File.separatorChar + hiveTablePath.substring(index + 1);
+            // the output format publishes the files of its manifest when it is opened
+            BaseHdfsOutputFormat outputFormat =
+                    createHdfsOutputFormat(tableInfo, path, hiveTablePath, true, entry.getValue());
+            closeFormat(hiveTablePath, outputFormat);
         }
-        return Pair.of(outputFormat, tableInfo);
     }
 
     private BaseHdfsOutputFormat createHdfsOutputFormat(
-            TableInfo tableInfo, String path, String hiveTablePath, boolean useAbstractBaseColumn) {
+            TableInfo tableInfo,
+            String path,
+            String hiveTablePath,
+            boolean useAbstractBaseColumn,
+            FormatState restoredState) {
         try {
             HdfsOutputFormatBuilder builder = new HdfsOutputFormatBuilder(hiveConf.getFileType());
             HiveConf copyHiveConf =
                     GsonUtil.GSON.fromJson(GsonUtil.GSON.toJson(hiveConf), HiveConf.class);
             copyHiveConf.setPath(path);
             copyHiveConf.setFileName(null);
+            Integer closedFileIndex = closedFileIndexMap.get(hiveTablePath);
+            FormatState restoreState = restoredState;
+            if (closedFileIndex != null) {
+                // the partition is reopened, go on after the files written by the closed writer
+                copyHiveConf.setWriteMode(WriteMode.APPEND.name());
+                if (restoreState == null || restoreState.getFileIndex() < closedFileIndex - 1) {
+                    restoreState = new FormatState(taskNumber, null);
+                    restoreState.setFileIndex(closedFileIndex - 1);
+                }
+            }
             List<String> columnNameList = tableInfo.getColumnNameList();
             List<String> columnTypeList = tableInfo.getColumnTypeList();
             List<FieldConf> fieldConfList = new ArrayList<>(columnNameList.size());
@@ -328,10 +593,11 @@ public class HiveOutputFormat extends BaseRichOutputFormat {
             outputFormat.setFormatId(hiveTablePath);
             outputFormat.setDirtyDataManager(dirtyDataManager);
             outputFormat.setRuntimeContext(getRuntimeContext());
-            outputFormat.setRestoreState(formatStateMap.get(hiveTablePath));
+            outputFormat.setRestoreState(restoreState);
             outputFormat.configure(parameters);
+            // the temp directory is shared by the subtasks and holds their pending files and
+            // manifests, so it is neither cleared nor published by a writer
             outputFormat.open(taskNumber, numTasks);
-            outputFormat.initializeGlobal(numTasks);
 
             return outputFormat;
         } catch (Exception e) {
@@ -390,29 +656,199 @@ public class HiveOutputFormat extends BaseRichOutputFormat {
         return tableInfo;
     }
 
-    private SimpleDateFormat getPartitionFormat() {
+    /**
+     * Read the map of a {@link MapColumn}. A map of json values is used as it is, since a json
+     * round trip gives back the same map; other values still go through json as before.
+     */
+    private Map<String, Object> toDataMap(MapColumn mapColumn) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> data = (Map<String, Object>) mapColumn.getData();
+        if (data == null) {
+            return JsonUtil.toObject(mapColumn.asString(), JsonUtil.MAP_TYPE_REFERENCE);
+        }
+        for (Object value : data.values()) {
+            if (value != null
+                    && !(value instanceof String)
+                    && !(value instanceof Integer)
+                    && !(value instanceof Long)
+                    && !(value instanceof Double)
+                    && !(value instanceof BigInteger)
+                    && !(value instanceof Boolean)
+                    && !(value instanceof Map)
+                    && !(value instanceof List)) {
+                return JsonUtil.toObject(mapColumn.asString(), JsonUtil.MAP_TYPE_REFERENCE);
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Get the partition of the record, computed from its partitionTimeField if set and from the
+     * server time otherwise. Partitions are formatted at most once a minute instead of once a
+     * record.
+     */
+    private Partition getPartition(RowData rowData, Map<String, Object> event) {
+        long currentTime = System.currentTimeMillis();
+        long currentMinute = currentTime / MILLIS_PER_MINUTE;
+        if (currentMinute != partitionMinute) {
+            Partition current = buildPartition(currentMinute);
+            // keep the same instance while the partition does not change
+            if (currentPartition == null || !current.path.equals(currentPartition.path)) {
+                currentPartition = current;
+            }
+            partitionMinute = currentMinute;
+            closeIdleWriters(currentTime);
+            rollFiles(currentTime);
+        }
+
+        String timeField = hiveConf.getPartitionTimeField();
+        if (StringUtils.isBlank(timeField)) {
+            return currentPartition;
+        }
+        Long eventTime = getEventTime(timeField, rowData, event);
+        if (eventTime == null) {
+            return currentPartition;
+        }
+        long eventMinute = Math.floorDiv(eventTime, MILLIS_PER_MINUTE);
+        if (eventMinute != eventPartitionMinute) {
+            Partition current = buildPartition(eventMinute);
+            if (eventPartition == null || !current.path.equals(eventPartition.path)) {
+                eventPartition = current;
+            }
+            eventPartitionMinute = eventMinute;
+        }
+        return eventPartition;
+    }
+
+    private Partition buildPartition(long minute) {
+        Date date = new Date(minute * MILLIS_PER_MINUTE);
+        StringBuilder path = new StringBuilder(32);
+        StringBuilder spec = new StringBuilder(32);
+        for (int i = 0; i < partitionFormats.length; i++) {
+            String value =
+                    String.format(
+                            HiveUtil.PARTITION_TEMPLATE,
+                            partitionList.get(i),
+                            partitionFormats[i].format(date));
+            if (i > 0) {
+                path.append(File.separatorChar);
+                spec.append(',');
+            }
+            path.append(value);
+            spec.append(value);
+        }
+        return new Partition(path.toString(), spec.toString());
+    }
+
+    /** Get the time of the record in milliseconds, null if the field is absent or invalid. */
+    private Long getEventTime(String timeField, RowData rowData, Map<String, Object> event) {
+        try {
+            Timestamp timestamp = null;
+            if (event != null) {
+                timestamp = DateUtil.columnToTimestamp(event.get(timeField), null);
+            } else if (rowData instanceof ColumnRowData) {
+                AbstractBaseColumn baseColumn = ((ColumnRowData) rowData).getField(timeField);
+                if (baseColumn != null && baseColumn.getData() != null) {
+                    timestamp = baseColumn.asTimestamp();
+                }
+            }
+            return timestamp == null ? null : timestamp.getTime();
+        } catch (Exception e) {
+            if (numWriteCounter.getLocalValue() % LOG_PRINT_INTERNAL == 0) {
+                LOG.warn(
+                        "can not get the time of field [{}], use the server time instead",
+                        timeField,
+                        e);
+            }
+            return null;
+        }
+    }
+
+    /** Close the writers that have not been written for writerIdleTimeout milliseconds. */
+    private void closeIdleWriters(long currentTime) {
+        long idleTimeout = hiveConf.getWriterIdleTimeout();
+        if (idleTimeout > 0) {
+            retireWriters(w -> currentTime - w.format.getLastWriteTime() > idleTimeout);
+        }
+    }
+
+    /** Close the files of the open writers whose first record is older than rollInterval. */
+    private void rollFiles(long currentTime) {
+        long rollInterval = hiveConf.getRollInterval();
+        if (rollInterval <= 0) {
+            return;
+        }
+        for (PartitionWriter writer : outputFormatMap.values()) {
+            long blockStartTime = writer.format.getCurrentBlockStartTime();
+            if (blockStartTime > 0 && currentTime - blockStartTime >= rollInterval) {
+                LOG.info("roll the file of {} after {} ms", writer.hiveTablePath, rollInterval);
+                writer.format.flushData();
+            }
+        }
+    }
+
+    private int[] getProjection(
+            BaseHdfsOutputFormat outputFormat,
+            Map<String, Integer> header,
+            List<FieldConf> fieldConfList) {
+        HeaderProjection projection = projectionMap.get(outputFormat);
+        if (projection == null || projection.header != header) {
+            int[] indexes = new int[fieldConfList.size()];
+            for (int i = 0; i < indexes.length; i++) {
+                indexes[i] = header.getOrDefault(fieldConfList.get(i).getName(), -1);
+            }
+            projection = new HeaderProjection(header, indexes);
+            projectionMap.put(outputFormat, projection);
+        }
+        return projection.indexes;
+    }
+
+    private SimpleDateFormat[] getPartitionFormats() {
+        if (partitionList.isEmpty()) {
+            throw new IllegalArgumentException("partition is empty!");
+        }
+        String[] patterns;
+        if (StringUtils.isNotBlank(hiveConf.getPartitionFormat())) {
+            patterns = hiveConf.getPartitionFormat().split(",");
+            if (patterns.length != partitionList.size()) {
+                throw new IllegalArgumentException(
+                        "partitionFormat ["
+                                + hiveConf.getPartitionFormat()
+                                + "] does not match partition ["
+                                + hiveConf.getPartition()
+                                + "]");
+            }
+        } else if (partitionList.size() == 1) {
+            patterns = new String[] {getPartitionPattern()};
+        } else {
+            throw new IllegalArgumentException(
+                    "partitionFormat is required by partition [" + hiveConf.getPartition() + "]");
+        }
+        TimeZone timeZone = TimeZone.getDefault();
+        LOG.info("timeZone = {}", timeZone);
+        SimpleDateFormat[] formats = new SimpleDateFormat[patterns.length];
+        for (int i = 0; i < patterns.length; i++) {
+            formats[i] = new SimpleDateFormat(patterns[i].trim());
+            formats[i].setTimeZone(timeZone);
+        }
+        return formats;
+    }
+
+    private String getPartitionPattern() {
         if (StringUtils.isBlank(hiveConf.getPartitionType())) {
             throw new IllegalArgumentException("partitionEnumStr is empty!");
         }
-        SimpleDateFormat format;
         switch (hiveConf.getPartitionType().toUpperCase(Locale.ENGLISH)) {
             case "DAY":
-                format = new SimpleDateFormat("yyyyMMdd");
-                break;
+                return "yyyyMMdd";
             case "HOUR":
-                format = new SimpleDateFormat("yyyyMMddHH");
-                break;
+                return "yyyyMMddHH";
             case "MINUTE":
-                format = new SimpleDateFormat("yyyyMMddHHmm");
-                break;
+                return "yyyyMMddHHmm";
             default:
                 throw new UnsupportedOperationException(
                         "partitionEnum = " + hiveConf.getPartitionType() + " is undefined!");
         }
-        TimeZone timeZone = TimeZone.getDefault();
-        LOG.info("timeZone = {}", timeZone);
-        format.setTimeZone(timeZone);
-        return format;
     }
 
     public void setHiveConf(HiveConf hiveConf) {
@@ -422,4 +858,64 @@ public class HiveOutputFormat extends BaseRichOutputFormat {
     public HiveConf getHiveConf() {
         return hiveConf;
     }
+
+    /** The path and the specification of a partition, such as pt=20200101/hr=10. */
+    private static class Partition {
+        private final String path;
+        private final String spec;
+
+        private Partition(String path, String spec) {
+            this.path = path;
+            this.spec = spec;
+        }
+    }
+
+    /** An open output format of a partition of a table. */
+    private static class PartitionWriter {
+        private final String tableName;
+        private final Partition partition;
+        private final String hiveTablePath;
+        private final TableInfo tableInfo;
+        private final BaseHdfsOutputFormat format;
+
+        private PartitionWriter(
+                String tableName,
+                Partition partition,
+                String hiveTablePath,
+                TableInfo tableInfo,
+                BaseHdfsOutputFormat format) {
+            this.tableName = tableName;
+            this.partition = partition;
+            this.hiveTablePath = hiveTablePath;
+            this.tableInfo = tableInfo;
+            this.format = format;
+        }
+    }
+
+    /** The pre committed state of a closed writer whose files are not published yet. */
+    private static class RetiredState {
+        private final String hiveTablePath;
+        private final TableInfo tableInfo;
+        private final String path;
+        private final FormatState formatState;
+
+        private RetiredState(
+                String hiveTablePath, TableInfo tableInfo, String path, FormatState formatState) {
+            this.hiveTablePath = hiveTablePath;
+            this.tableInfo = tableInfo;
+            this.path = path;
+            this.formatState = formatState;
+        }
+    }
+
+    /** Column indexes of a header, valid as long as rows share the same header instance. */
+    private static class HeaderProjection {
+        private final Map<String, Integer> header;
+        private final int[] indexes;
+
+        private HeaderProjection(Map<String, Integer> header, int[] indexes) {
+            this.header = header;
+            this.indexes = indexes;
+        }
+    }
 }
@@ -47,6 +47,7 @@ import java.math.BigInteger;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
@@ -262,6 +263,19 @@ public class HiveUtil {
         return distributeTableMapping;
     }
 
+    /** Split the partition parameter, which may name several partition columns. */
+    public static List<String> splitPartition(String partition) {
+        List<String> partitionList = new ArrayList<>();
+        if (StringUtils.isNotBlank(partition)) {
+            for (String partitionField : partition.split(",")) {
+                if (StringUtils.isNotBlank(partitionField)) {
+                    partitionList.add(partitionField.trim());
+                }
+            }
+        }
+        return partitionList;
+    }
+
     public static Map<String, TableInfo> formatHiveTableInfo(
             String tablesColumn, String partition, String fieldDelimiter, String fileType) {
         Map<String, TableInfo> tableInfos = new HashMap<>(16);
@@ -275,7 +289,9 @@ public class HiveUtil {
                 String tableName = entry.getKey();
                 List<Map<String, Object>> tableColumns = entry.getValue();
                 TableInfo tableInfo = new TableInfo(tableColumns.size());
-                tableInfo.addPartition(partition);
+                for (String partitionField : splitPartition(partition)) {
+                    tableInfo.addPartition(partitionField);
+                }
                 tableInfo.setDelimiter(fieldDelimiter);
                 tableInfo.setStore(fileType);
                 tableInfo.setTableName(tableName);
@@ -23,6 +23,9 @@ import com.dtstack.flinkx.element.ColumnRowData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -93,4 +96,87 @@ public class PathConverterUtil {
         }
         return path;
     }
+
+    /**
+     * Split the rule into literals and placeholders once, the result is the same as {@link
+     * #regexByRules(Map, String, Map)} without matching the rule on every record.
+     *
+     * @param path rule like ${schema}_${table}
+     * @return compiled rule
+     */
+    public static PathRule compile(String path) {
+        List<String> literals = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        Matcher mat1 = pat1.matcher(path);
+        int start = 0;
+        while (mat1.find()) {
+            literals.add(path.substring(start, mat1.start()));
+            String pkey = mat1.group();
+            keys.add(pkey.substring(2, pkey.length() - 1));
+            start = mat1.end();
+        }
+        literals.add(path.substring(start));
+        return new PathRule(path, literals.toArray(new String[0]), keys.toArray(new String[0]));
+    }
+
+    /** A rule split into literals and placeholder keys, literals[i] comes before keys[i]. */
+    public static class PathRule implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String path;
+        private final String[] literals;
+        private final String[] keys;
+
+        private PathRule(String path, String[] literals, String[] keys) {
+            this.path = path;
+            this.literals = literals;
+            this.keys = keys;
+        }
+
+        public String render(Map<String, Object> output, Map<String, String> mapping) {
+            if (keys.length == 0) {
+                return path;
+            }
+            String[] values = new String[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                Object value = output.get(keys[i]);
+                values[i] = value == null ? "" : value.toString();
+            }
+            return join(values, mapping);
+        }
+
+        public String render(ColumnRowData columnRowData, Map<String, String> mapping) {
+            if (keys.length == 0 || columnRowData.getHeaderInfo() == null) {
+                return path;
+            }
+            String[] values = new String[keys.length];
+            try {
+                for (int i = 0; i < keys.length; i++) {
+                    AbstractBaseColumn baseColumn = columnRowData.getField(keys[i]);
+                    values[i] = baseColumn == null ? "" : baseColumn.asString();
+                    if (values[i] == null) {
+                        return regexByRules(columnRowData, path, mapping);
+                    }
+                }
+            } catch (Exception e) {
+                return regexByRules(columnRowData, path, mapping);
+            }
+            return join(values, mapping);
+        }
+
+        private String join(String[] values, Map<String, String> mapping) {
+            StringBuilder builder = new StringBuilder(path.length() + 32);
+            for (int i = 0; i < keys.length; i++) {
+                String ruleValue = values[i];
+                if (KEY_TABLE.equals(keys[i])) {
+                    ruleValue = mapping.getOrDefault(ruleValue, ruleValue);
+                }
+                builder.append(literals[i]).append(ruleValue);
+            }
+            builder.append(literals[keys.length]);
+            // .在sql中会视为db.table的分隔符，需要单独过滤特殊字符 '.'
+            return builder.toString().replace(".", "_");
+        }
+    }
 }
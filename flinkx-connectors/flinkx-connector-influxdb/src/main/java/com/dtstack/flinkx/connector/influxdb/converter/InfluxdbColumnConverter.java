@@ -26,6 +26,7 @@ import com.dtstack.flinkx.conf.FieldConf;
 import com.dtstack.flinkx.conf.FlinkxCommonConf;
 import com.dtstack.flinkx.constants.ConstantValue;
 import com.dtstack.flinkx.converter.AbstractRowConverter;
+import com.dtstack.flinkx.converter.FieldPropsAssembler;
 import com.dtstack.flinkx.converter.IDeserializationConverter;
 import com.dtstack.flinkx.converter.ISerializationConverter;
 import com.dtstack.flinkx.element.AbstractBaseColumn;
@@ -137,18 +138,19 @@ public class InfluxdbColumnConverter
             return result;
         }
 
+        FieldPropsAssembler[] assemblers = getFieldPropsAssemblers(fieldConfList);
         ColumnRowData result = new ColumnRowData(fieldConfList.size());
         int converterIndex = 0;
-        for (FieldConf fieldConf : fieldConfList) {
+        for (int i = 0; i < assemblers.length; i++) {
             AbstractBaseColumn baseColumn = null;
-            if (StringUtils.isBlank(fieldConf.getValue())) {
-                Object field = input.get(fieldConf.getName());
+            if (!assemblers[i].isConstant()) {
+                Object field = input.get(fieldConfList.get(i).getName());
                 baseColumn =
                         (AbstractBaseColumn)
                                 toInternalConverters.get(converterIndex).deserialize(field);
                 converterIndex++;
             }
-            result.addField(assembleFieldProps(fieldConf, baseColumn));
+            result.addField(assemblers[i].assemble(baseColumn));
         }
         return result;
     }
@@ -74,6 +74,14 @@ public class JdbcConf extends FlinkxCommonConf implements Serializable {
     private String startLocation;
     /** 轮询时间间隔 */
     private long pollingInterval = 5000;
+    /** 没有新数据时轮询间隔逐步增加到的最大值，不大于pollingInterval时不增加 */
+    private long pollingMaxInterval = 0;
+    /** 轮询时和增量字段一起分页的唯一字段 */
+    private String pollingPk;
+    /** pollingPk字段索引 */
+    private int pollingPkIndex = -1;
+    /** 配置pollingPk时每次轮询查询的最大条数，0表示不限制 */
+    private int pollingPageSize = 0;
     /** restore字段名称 */
     private String restoreColumn;
     /** restore字段类型 */
@@ -327,6 +335,38 @@ public class JdbcConf extends FlinkxCommonConf implements Serializable {
         this.pollingInterval = pollingInterval;
     }
 
+    public long getPollingMaxInterval() {
+        return pollingMaxInterval;
+    }
+
+    public void setPollingMaxInterval(long pollingMaxInterval) {
+        this.pollingMaxInterval = pollingMaxInterval;
+    }
+
+    public String getPollingPk() {
+        return pollingPk;
+    }
+
+    public void setPollingPk(String pollingPk) {
+        this.pollingPk = pollingPk;
+    }
+
+    public int getPollingPkIndex() {
+        return pollingPkIndex;
+    }
+
+    public void setPollingPkIndex(int pollingPkIndex) {
+        this.pollingPkIndex = pollingPkIndex;
+    }
+
+    public int getPollingPageSize() {
+        return pollingPageSize;
+    }
+
+    public void setPollingPageSize(int pollingPageSize) {
+        this.pollingPageSize = pollingPageSize;
+    }
+
     public String getRestoreColumn() {
         return restoreColumn;
     }
@@ -478,6 +518,15 @@ public class JdbcConf extends FlinkxCommonConf implements Serializable {
                 + '\''
                 + ", pollingInterval="
                 + pollingInterval
+                + ", pollingMaxInterval="
+                + pollingMaxInterval
+                + ", pollingPk='"
+                + pollingPk
+                + '\''
+                + ", pollingPkIndex="
+                + pollingPkIndex
+                + ", pollingPageSize="
+                + pollingPageSize
                 + ", restoreColumn='"
                 + restoreColumn
                 + '\''
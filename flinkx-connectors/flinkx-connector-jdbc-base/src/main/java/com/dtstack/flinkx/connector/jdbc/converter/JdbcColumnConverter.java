@@ -18,10 +18,10 @@
 
 package com.dtstack.flinkx.connector.jdbc.converter;
 
-import com.dtstack.flinkx.conf.FieldConf;
 import com.dtstack.flinkx.conf.FlinkxCommonConf;
 import com.dtstack.flinkx.connector.jdbc.statement.FieldNamedPreparedStatement;
 import com.dtstack.flinkx.converter.AbstractRowConverter;
+import com.dtstack.flinkx.converter.FieldPropsAssembler;
 import com.dtstack.flinkx.converter.IDeserializationConverter;
 import com.dtstack.flinkx.converter.ISerializationConverter;
 import com.dtstack.flinkx.element.AbstractBaseColumn;
@@ -41,10 +41,8 @@ import org.apache.flink.table.types.logical.TimestampType;
 import org.apache.flink.table.types.logical.YearMonthIntervalType;
 
 import io.vertx.core.json.JsonArray;
-import org.apache.commons.lang3.StringUtils;
 
 import java.sql.ResultSet;
-import java.util.List;
 
 /** Base class for all converters that convert between JDBC object and Flink internal object. */
 public class JdbcColumnConverter
@@ -80,18 +78,18 @@ public class JdbcColumnConverter
     @Override
     @SuppressWarnings("unchecked")
     public RowData toInternal(ResultSet resultSet) throws Exception {
-        List<FieldConf> fieldConfList = commonConf.getColumn();
-        ColumnRowData result = new ColumnRowData(fieldConfList.size());
+        FieldPropsAssembler[] assemblers = getFieldPropsAssemblers(commonConf.getColumn());
+        ColumnRowData result = new ColumnRowData(assemblers.length);
         int converterIndex = 0;
-        for (FieldConf fieldConf : fieldConfList) {
+        for (FieldPropsAssembler assembler : assemblers) {
             AbstractBaseColumn baseColumn = null;
-            if (StringUtils.isBlank(fieldConf.getValue())) {
+            if (!assembler.isConstant()) {
                 baseColumn =
                         (AbstractBaseColumn)
                                 toInternalConverters.get(converterIndex).deserialize(result);
                 converterIndex++;
             }
-            result.addField(assembleFieldProps(fieldConf, baseColumn));
+            result.addField(assembler.assemble(baseColumn));
         }
         return result;
     }
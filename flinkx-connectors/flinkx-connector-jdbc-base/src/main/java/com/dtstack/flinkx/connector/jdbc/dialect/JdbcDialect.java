@@ -21,6 +21,7 @@ package com.dtstack.flinkx.connector.jdbc.dialect;
 import com.dtstack.flinkx.conf.FlinkxCommonConf;
 import com.dtstack.flinkx.connector.jdbc.converter.JdbcColumnConverter;
 import com.dtstack.flinkx.connector.jdbc.converter.JdbcRowConverter;
+import com.dtstack.flinkx.connector.jdbc.sink.BulkLoader;
 import com.dtstack.flinkx.connector.jdbc.source.JdbcInputSplit;
 import com.dtstack.flinkx.connector.jdbc.statement.FieldNamedPreparedStatement;
 import com.dtstack.flinkx.connector.jdbc.util.JdbcUtil;
@@ -147,6 +148,17 @@ public interface JdbcDialect extends Serializable {
         return Optional.empty();
     }
 
+    /**
+     * Get a loader that writes rows with the native bulk protocol of the database, such as COPY of
+     * PostgreSQL, used for insert mode when insertSqlMode is copy.
+     *
+     * @return None if dialect does not support bulk load, the writer will use batched insert
+     *     statements.
+     */
+    default Optional<BulkLoader> getBulkLoader() {
+        return Optional.empty();
+    }
+
     /** 构造查询表结构的sql语句 */
     default String getSqlQueryFields(String schema, String tableName) {
         return "SELECT * FROM " + buildTableInfoWithSchema(schema, tableName) + " LIMIT 0";
@@ -24,6 +24,7 @@ import com.dtstack.flinkx.connector.jdbc.dialect.JdbcDialect;
 import com.dtstack.flinkx.enums.ECacheContentType;
 import com.dtstack.flinkx.factory.FlinkxThreadFactory;
 import com.dtstack.flinkx.lookup.AbstractLruTableFunction;
+import com.dtstack.flinkx.lookup.LookupRequest;
 import com.dtstack.flinkx.lookup.cache.CacheMissVal;
 import com.dtstack.flinkx.lookup.cache.CacheObj;
 import com.dtstack.flinkx.lookup.conf.LookupConf;
@@ -52,6 +53,7 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -62,6 +64,7 @@ import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static com.dtstack.flinkx.connector.jdbc.options.JdbcLookupOptions.DEFAULT_DB_CONN_POOL_SIZE;
@@ -85,6 +88,12 @@ public class JdbcLruTableFunction extends AbstractLruTableFunction {
     private final AtomicBoolean connectionStatus = new AtomicBoolean(true);
     /** select sql */
     private final String query;
+    /** select sql without condition, used by batch query */
+    private final String batchQuery;
+    /** lookup key names */
+    private final String[] keyNames;
+    /** index of lookup keys in the selected fields, null if some key is not selected */
+    private final int[] keyIndexes;
     /** jdbc Dialect */
     private final JdbcDialect jdbcDialect;
     /** jdbc conf */
@@ -112,6 +121,22 @@ public class JdbcLruTableFunction extends AbstractLruTableFunction {
         this.query =
                 jdbcDialect.getSelectFromStatement(
                         jdbcConf.getSchema(), jdbcConf.getTable(), fieldNames, keyNames);
+        this.batchQuery =
+                jdbcDialect.getSelectFromStatement(
+                        jdbcConf.getSchema(), jdbcConf.getTable(), fieldNames, new String[0]);
+        this.keyNames = keyNames;
+        this.keyIndexes = getKeyIndexes(fieldNames, keyNames);
+    }
+
+    private static int[] getKeyIndexes(String[] fieldNames, String[] keyNames) {
+        int[] keyIndexes = new int[keyNames.length];
+        for (int i = 0; i < keyNames.length; i++) {
+            keyIndexes[i] = Arrays.asList(fieldNames).indexOf(keyNames[i]);
+            if (keyIndexes[i] < 0) {
+                return null;
+            }
+        }
+        return keyIndexes;
     }
 
     @Override
@@ -150,6 +175,41 @@ public class JdbcLruTableFunction extends AbstractLruTableFunction {
     @Override
     public void handleAsyncInvoke(CompletableFuture<Collection<RowData>> future, Object... keys)
             throws Exception {
+        waitConnectionHealthy();
+        executeQuery(future, keys);
+    }
+
+    /**
+     * query all the keys with one sql, such as "WHERE id IN (?, ?)". Keys without any matched row
+     * are queried again one by one, so that a key compared differently by the database, such as
+     * in case insensitive or with trailing spaces, still gets its rows.
+     */
+    @Override
+    protected void handleAsyncBatchInvoke(List<LookupRequest> requests) throws Exception {
+        if (keyIndexes == null || requests.size() == 1) {
+            super.handleAsyncBatchInvoke(requests);
+            return;
+        }
+        waitConnectionHealthy();
+
+        // completed with null once every request is answered by the batch query, otherwise the
+        // failure or the empty result of the batch goes to each request
+        CompletableFuture<Collection<RowData>> batchFuture = new CompletableFuture<>();
+        batchFuture.whenComplete(
+                (rows, e) -> {
+                    for (LookupRequest request : requests) {
+                        if (e != null) {
+                            request.getFuture().completeExceptionally(e);
+                        } else if (rows != null) {
+                            request.getFuture().complete(rows);
+                        }
+                    }
+                });
+        executor.execute(
+                () -> connectWithRetry(batchFuture, rdbSqlClient, new BatchKeys(requests)));
+    }
+
+    private void waitConnectionHealthy() throws InterruptedException {
         AtomicLong networkLogCounter = new AtomicLong(0L);
         // network is unhealthy
         while (!connectionStatus.get()) {
@@ -158,7 +218,9 @@ public class JdbcLruTableFunction extends AbstractLruTableFunction {
             }
             Thread.sleep(100);
         }
+    }
 
+    private void executeQuery(CompletableFuture<Collection<RowData>> future, Object... keys) {
         executor.execute(
                 () ->
                         connectWithRetry(
@@ -283,7 +345,12 @@ public class JdbcLruTableFunction extends AbstractLruTableFunction {
                         // todo
                         // registerTimerAndAddToHandler(future, keys);
 
-                        handleQuery(conn.result(), future, keys);
+                        if (keys.length == 1 && keys[0] instanceof BatchKeys) {
+                            handleBatchQuery(
+                                    conn.result(), future, ((BatchKeys) keys[0]).requests);
+                        } else {
+                            handleQuery(conn.result(), future, keys);
+                        }
                         finishFlag.set(true);
                     } catch (Exception e) {
                         dealFillDataError(future, e);
@@ -365,6 +432,118 @@ public class JdbcLruTableFunction extends AbstractLruTableFunction {
                 });
     }
 
+    /**
+     * 执行批量查询
+     *
+     * @param connection 连接
+     * @param future 批量查询完成时结束
+     * @param requests 查询请求
+     */
+    private void handleBatchQuery(
+            SQLConnection connection,
+            CompletableFuture<Collection<RowData>> future,
+            List<LookupRequest> requests) {
+        JsonArray params = new JsonArray();
+        StringBuilder condition = new StringBuilder(requests.size() * keyNames.length * 16);
+        if (keyNames.length == 1) {
+            condition.append(jdbcDialect.quoteIdentifier(keyNames[0])).append(" IN (");
+            for (int i = 0; i < requests.size(); i++) {
+                condition.append(i == 0 ? "?" : ", ?");
+            }
+            condition.append(')');
+        } else {
+            String keyCondition =
+                    Stream.of(keyNames)
+                            .map(key -> jdbcDialect.quoteIdentifier(key) + " = ?")
+                            .collect(Collectors.joining(" AND ", "(", ")"));
+            for (int i = 0; i < requests.size(); i++) {
+                condition.append(i == 0 ? keyCondition : " OR " + keyCondition);
+            }
+        }
+        Object[][] requestKeys = new Object[requests.size()][];
+        for (int i = 0; i < requests.size(); i++) {
+            requestKeys[i] =
+                    Stream.of(requests.get(i).getKeys())
+                            .map(this::convertDataType)
+                            .toArray(Object[]::new);
+            Stream.of(requestKeys[i]).forEach(params::add);
+        }
+        String sql = batchQuery + " WHERE " + condition;
+        connection.queryWithParams(
+                sql,
+                params,
+                rs -> {
+                    try {
+                        if (rs.failed()) {
+                            String msg =
+                                    String.format(
+                                            "\nget data with sql [%s],data [%s] failed! \ncause: [%s]",
+                                            sql, params, rs.cause().getMessage());
+                            LOG.error(msg);
+                            future.completeExceptionally(new SQLException(msg));
+                            return;
+                        }
+
+                        Map<String, List<JsonArray>> linesByKey = new HashMap<>();
+                        for (JsonArray line : rs.result().getResults()) {
+                            Object[] lineKeys = new Object[keyIndexes.length];
+                            for (int i = 0; i < keyIndexes.length; i++) {
+                                lineKeys[i] = line.getValue(keyIndexes[i]);
+                            }
+                            linesByKey
+                                    .computeIfAbsent(
+                                            buildMatchKey(lineKeys), k -> new ArrayList<>())
+                                    .add(line);
+                        }
+
+                        for (int i = 0; i < requests.size(); i++) {
+                            LookupRequest request = requests.get(i);
+                            List<JsonArray> lines = linesByKey.get(buildMatchKey(requestKeys[i]));
+                            if (lines == null) {
+                                executeQuery(request.getFuture(), request.getKeys());
+                                continue;
+                            }
+                            List<JsonArray> cacheContent = new ArrayList<>();
+                            List<RowData> rowList = new ArrayList<>();
+                            for (JsonArray line : lines) {
+                                try {
+                                    rowList.add(rowConverter.toInternalLookup(line));
+                                    if (openCache()) {
+                                        cacheContent.add(line);
+                                    }
+                                } catch (Exception e) {
+                                    LOG.error(
+                                            "error:{} \n sql:{} \n data:{}",
+                                            e.getMessage(),
+                                            sql,
+                                            line);
+                                }
+                            }
+                            dealCacheData(
+                                    request.getCacheKey(),
+                                    CacheObj.buildCacheObj(
+                                            ECacheContentType.MultiLine, cacheContent));
+                            request.getFuture().complete(rowList);
+                        }
+                        future.complete(null);
+                    } catch (Exception e) {
+                        future.completeExceptionally(e);
+                    } finally {
+                        connection.close(
+                                done -> {
+                                    if (done.failed()) {
+                                        LOG.error("sql connection close failed! ", done.cause());
+                                    }
+                                });
+                    }
+                });
+    }
+
+    /** the key to match the rows of a batch query with the request */
+    private String buildMatchKey(Object[] keys) {
+        return Stream.of(keys).map(String::valueOf).collect(Collectors.joining("\u0000"));
+    }
+
     @Override
     public void close() throws Exception {
         super.close();
@@ -403,4 +582,13 @@ public class JdbcLruTableFunction extends AbstractLruTableFunction {
 
         return clientConfig;
     }
+
+    /** keys of a batch query, passed through {@link #asyncQueryData} in place of the keys */
+    private static class BatchKeys {
+        private final List<LookupRequest> requests;
+
+        private BatchKeys(List<LookupRequest> requests) {
+            this.requests = requests;
+        }
+    }
 }
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.flinkx.connector.jdbc.sink;
+
+import com.dtstack.flinkx.connector.jdbc.conf.JdbcConf;
+import com.dtstack.flinkx.connector.jdbc.dialect.JdbcDialect;
+
+import org.apache.flink.table.data.RowData;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Writes batches of rows through the native bulk protocol of a database, such as COPY of
+ * PostgreSQL, instead of batched insert statements. Rows are streamed to the database as they are
+ * encoded, a batch is never materialized as a file or a single buffer.
+ *
+ * <p>Only used in insert mode for the rows of data sync, {@link JdbcOutputFormat} writes with
+ * batched statements in the other cases.
+ */
+public interface BulkLoader {
+
+    /**
+     * Prepares to load into the table of the sink.
+     *
+     * @param connection connection of the sink, the rows are loaded in its transaction
+     * @param jdbcConf jdbcConf
+     * @param jdbcDialect jdbcDialect
+     * @param columnNameList columns to load
+     * @param columnTypeList types of the columns in the database
+     * @return false if this connection can not load in bulk, such as a driver without the bulk
+     *     api or a column type the protocol can not carry
+     * @throws SQLException
+     */
+    boolean open(
+            Connection connection,
+            JdbcConf jdbcConf,
+            JdbcDialect jdbcDialect,
+            List<String> columnNameList,
+            List<String> columnTypeList)
+            throws SQLException;
+
+    /**
+     * Loads a batch of rows.
+     *
+     * @param rows rows of data sync
+     * @throws Exception
+     */
+    void load(List<RowData> rows) throws Exception;
+
+    /** Releases the resources held by the loader, the connection is closed by the sink. */
+    void close();
+}
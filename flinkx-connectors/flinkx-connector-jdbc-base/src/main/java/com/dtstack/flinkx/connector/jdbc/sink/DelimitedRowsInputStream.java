@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.flinkx.connector.jdbc.sink;
+
+import com.dtstack.flinkx.element.AbstractBaseColumn;
+import com.dtstack.flinkx.element.ColumnRowData;
+import com.dtstack.flinkx.util.DelimitedTextEncoder;
+
+import org.apache.flink.table.data.RowData;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Reads a batch of rows as delimited text, for the bulk protocols that pull the data from a
+ * stream. Rows are encoded only when the reader needs more bytes, about a chunk of {@link
+ * DelimitedTextEncoder} at a time, so a batch is never held as text in memory.
+ */
+public class DelimitedRowsInputStream extends InputStream {
+
+    private final List<RowData> rows;
+    private final int columnCount;
+    private final DelimitedTextEncoder encoder;
+    /** text of a non null column */
+    private final Function<AbstractBaseColumn, String> formatter;
+
+    private final OutputStream chunkSink =
+            new OutputStream() {
+                @Override
+                public void write(int b) {
+                    write(new byte[] {(byte) b}, 0, 1);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    if (limit + len > chunk.length) {
+                        chunk = Arrays.copyOf(chunk, Math.max(chunk.length * 2, limit + len));
+                    }
+                    System.arraycopy(b, off, chunk, limit, len);
+                    limit += len;
+                }
+            };
+
+    private int rowIndex;
+    private byte[] chunk = new byte[DelimitedTextEncoder.DEFAULT_CHUNK_SIZE + 1024];
+    private int position;
+    private int limit;
+
+    public DelimitedRowsInputStream(
+            List<RowData> rows,
+            int columnCount,
+            DelimitedTextEncoder encoder,
+            Function<AbstractBaseColumn, String> formatter) {
+        this.rows = rows;
+        this.columnCount = columnCount;
+        this.encoder = encoder;
+        this.formatter = formatter;
+        encoder.reset();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return chunk[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        int n = Math.min(len, limit - position);
+        System.arraycopy(chunk, position, b, off, n);
+        position += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return limit - position;
+    }
+
+    /** @return false if all the rows have been read */
+    private boolean fill() throws IOException {
+        position = 0;
+        limit = 0;
+        while (rowIndex < rows.size()
+                && encoder.size() < DelimitedTextEncoder.DEFAULT_CHUNK_SIZE) {
+            encodeRow(rows.get(rowIndex++));
+        }
+        encoder.writeTo(chunkSink);
+        return limit > 0;
+    }
+
+    private void encodeRow(RowData row) {
+        ColumnRowData columnRowData = (ColumnRowData) row;
+        if (columnRowData.getArity() < columnCount) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "row has %s fields but %s columns are loaded, row = %s",
+                            columnRowData.getArity(), columnCount, row));
+        }
+        for (int i = 0; i < columnCount; i++) {
+            AbstractBaseColumn column = columnRowData.getField(i);
+            if (column == null || column.getData() == null) {
+                encoder.appendField(null);
+            } else {
+                encoder.appendField(formatter.apply(column));
+            }
+        }
+        encoder.endRecord();
+    }
+}
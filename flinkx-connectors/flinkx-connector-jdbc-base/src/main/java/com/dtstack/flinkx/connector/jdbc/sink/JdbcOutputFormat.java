@@ -48,6 +48,7 @@ import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * OutputFormat for writing data to relational database.
@@ -62,6 +63,9 @@ public class JdbcOutputFormat extends BaseRichOutputFormat {
 
     protected static final long serialVersionUID = 1L;
 
+    /** insertSqlMode为copy时使用数据库的批量导入协议写入 */
+    public static final String INSERT_SQL_MODE_COPY = "copy";
+
     protected JdbcConf jdbcConf;
     protected JdbcDialect jdbcDialect;
 
@@ -69,6 +73,10 @@ public class JdbcOutputFormat extends BaseRichOutputFormat {
 
     protected transient PreparedStmtProxy stmtProxy;
 
+    protected transient BulkLoader bulkLoader;
+    /** 是否已经有数据通过bulkLoader写入 */
+    protected transient boolean bulkLoaded;
+
     @Override
     public void initializeGlobal(int parallelism) {
         executeBatch(jdbcConf.getPreSql());
@@ -100,6 +108,7 @@ public class JdbcOutputFormat extends BaseRichOutputFormat {
             }
 
             buildStmtProxy();
+            initBulkLoader();
             LOG.info("subTask[{}}] wait finished", taskNumber);
         } catch (SQLException sqe) {
             throw new IllegalArgumentException("open() failed.", sqe);
@@ -134,6 +143,39 @@ public class JdbcOutputFormat extends BaseRichOutputFormat {
         }
     }
 
+    /**
+     * insertSqlMode为copy时初始化数据库的批量导入，只支持insert模式，其余模式或者数据库不支持时使用批量执行sql写入
+     *
+     * @throws SQLException
+     */
+    protected void initBulkLoader() throws SQLException {
+        if (!INSERT_SQL_MODE_COPY.equalsIgnoreCase(jdbcConf.getInsertSqlMode())
+                || "*".equalsIgnoreCase(jdbcConf.getTable())) {
+            return;
+        }
+        if (!EWriteMode.INSERT.name().equalsIgnoreCase(jdbcConf.getMode())) {
+            LOG.info(
+                    "bulk load only supports insert mode, write with batched statements in {} mode",
+                    jdbcConf.getMode());
+            return;
+        }
+        Optional<BulkLoader> loader = jdbcDialect.getBulkLoader();
+        if (!loader.isPresent()) {
+            LOG.info(
+                    "{} does not support bulk load, write with batched statements",
+                    jdbcDialect.dialectName());
+            return;
+        }
+        if (loader.get().open(dbConn, jdbcConf, jdbcDialect, columnNameList, columnTypeList)) {
+            bulkLoader = loader.get();
+            LOG.info("write with {}", bulkLoader.getClass().getSimpleName());
+        } else {
+            loader.get().close();
+            LOG.warn(
+                    "can not bulk load with the connection or column types, write with batched statements");
+        }
+    }
+
     /** init columnNameList、 columnTypeList and hasConstantField */
     protected void initColumnList() {
         Pair<List<String>, List<String>> pair = getTableMetaData();
@@ -207,6 +249,11 @@ public class JdbcOutputFormat extends BaseRichOutputFormat {
 
     @Override
     protected void writeMultipleRecordsInternal() throws Exception {
+        // sql任务的数据不是ColumnRowData，使用批量执行sql写入
+        if (bulkLoader != null && !rows.isEmpty() && rows.get(0) instanceof ColumnRowData) {
+            writeWithBulkLoader();
+            return;
+        }
         try {
             for (RowData row : rows) {
                 stmtProxy.convertToExternal(row);
@@ -232,6 +279,51 @@ public class JdbcOutputFormat extends BaseRichOutputFormat {
         }
     }
 
+    /**
+     * 通过数据库的批量导入协议写入一批数据。
+     *
+     * <p>自动提交时在一个事务中导入，失败的批次回滚后不会留下部分数据。任何一批失败时都抛出异常，由{@link
+     * #writeRecordInternal()}逐条写入这一批数据，写入失败的数据记录为脏数据。
+     *
+     * @throws Exception
+     */
+    protected void writeWithBulkLoader() throws Exception {
+        boolean autoCommit = dbConn.getAutoCommit();
+        try {
+            if (autoCommit) {
+                dbConn.setAutoCommit(false);
+            }
+            bulkLoader.load(rows);
+            if (autoCommit) {
+                dbConn.commit();
+            }
+            bulkLoaded = true;
+            lastRow = rows.get(rows.size() - 1);
+            if (Semantic.EXACTLY_ONCE == semantic) {
+                rowsOfCurrentTransaction += rows.size();
+            }
+        } catch (Exception e) {
+            LOG.warn(
+                    "bulk load error, start to rollback connection, row size = {}, first row = {}",
+                    rows.size(),
+                    GsonUtil.GSON.toJson(rows.get(0)),
+                    e);
+            JdbcUtil.rollBack(dbConn);
+            // 第一批数据就失败时认为数据库不允许批量导入，例如mysql未开启local_infile，之后使用批量执行sql写入；
+            // 之后的批次失败通常是数据本身的问题，例如主键冲突，下一批仍然批量导入
+            if (!bulkLoaded) {
+                LOG.warn("disable bulk load, write with batched statements");
+                bulkLoader.close();
+                bulkLoader = null;
+            }
+            throw e;
+        } finally {
+            if (autoCommit) {
+                dbConn.setAutoCommit(true);
+            }
+        }
+    }
+
     @Override
     public void preCommit() throws Exception {
         if (jdbcConf.getRestoreColumnIndex() > -1) {
@@ -354,6 +446,9 @@ public class JdbcOutputFormat extends BaseRichOutputFormat {
     @Override
     public void closeInternal() {
         snapshotWriteCounter.add(rowsOfCurrentTransaction);
+        if (bulkLoader != null) {
+            bulkLoader.close();
+        }
         try {
             if (stmtProxy != null) {
                 stmtProxy.close();
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.flinkx.connector.jdbc.source;
+
+import java.io.Serializable;
+
+/**
+ * 间隔轮询的等待时间。读到数据时恢复为最小间隔，读满一页时不等待直接查询下一页，连续没有新数据时每次翻倍，直到最大间隔。
+ */
+public class AdaptivePollingInterval implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long minInterval;
+    private final long maxInterval;
+    private long currentInterval;
+
+    /**
+     * @param minInterval 最小间隔，即pollingInterval
+     * @param maxInterval 最大间隔，不大于最小间隔时不增加
+     */
+    public AdaptivePollingInterval(long minInterval, long maxInterval) {
+        this.minInterval = minInterval;
+        this.maxInterval = Math.max(minInterval, maxInterval);
+        this.currentInterval = minInterval;
+    }
+
+    /**
+     * 根据上一次轮询的结果计算下一次轮询前需要等待的时间
+     *
+     * @param rowCount 上一次轮询读取的条数
+     * @param fullPage 上一次轮询是否读满一页
+     * @return 等待的毫秒数
+     */
+    public long next(long rowCount, boolean fullPage) {
+        if (fullPage) {
+            currentInterval = minInterval;
+            return 0;
+        }
+        if (rowCount > 0) {
+            currentInterval = minInterval;
+            return minInterval;
+        }
+        long interval = currentInterval;
+        currentInterval = Math.min(maxInterval, currentInterval * 2);
+        return interval;
+    }
+}
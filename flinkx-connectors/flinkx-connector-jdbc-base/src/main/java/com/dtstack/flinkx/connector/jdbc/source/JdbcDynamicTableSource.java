@@ -155,6 +155,16 @@ public class JdbcDynamicTableSource
             }
         }
 
+        String pollingPk = jdbcConf.getPollingPk();
+        if (jdbcConf.isPolling() && StringUtils.isNotBlank(pollingPk)) {
+            FieldConf fieldConf = FieldConf.getSameNameMetaColumn(jdbcConf.getColumn(), pollingPk);
+            if (fieldConf != null) {
+                jdbcConf.setPollingPkIndex(fieldConf.getIndex());
+            } else {
+                throw new IllegalArgumentException("unknown polling pk column name: " + pollingPk);
+            }
+        }
+
         builder.setJdbcDialect(jdbcDialect);
         builder.setJdbcConf(jdbcConf);
         builder.setRowConverter(jdbcDialect.getRowConverter(rowType));
@@ -95,6 +95,15 @@ public class JdbcInputFormat extends BaseRichInputFormat {
     // 轮询增量标识字段类型
     protected ColumnType type;
 
+    // 按增量字段和pollingPk分页轮询时最后一条数据pollingPk字段的值
+    protected Object pkState = null;
+    // 分页轮询的查询语句，按没有起始位置、只有增量字段的值、有pollingPk的值分别预编译后复用
+    protected transient PreparedStatement[] keysetStatements;
+    // 间隔轮询的等待时间
+    protected transient AdaptivePollingInterval pollingInterval;
+    // 本次轮询读取的条数
+    protected transient long pollingRowCount;
+
     @Override
     public void openInternal(InputSplit inputSplit) {
         JdbcInputSplit jdbcInputSplit = (JdbcInputSplit) inputSplit;
@@ -204,24 +213,22 @@ public class JdbcInputFormat extends BaseRichInputFormat {
         } else {
             if (jdbcConf.isPolling()) {
                 try {
-                    TimeUnit.MILLISECONDS.sleep(jdbcConf.getPollingInterval());
-                    // 间隔轮询检测数据库连接是否断开，超时时间三秒，断开后自动重连
-                    if (!dbConn.isValid(3)) {
-                        dbConn = getConnection();
-                        // 重新连接后还是不可用则认为数据库异常，任务失败
-                        if (!dbConn.isValid(3)) {
-                            String message =
-                                    String.format(
-                                            "cannot connect to %s, username = %s, please check %s is available.",
-                                            jdbcConf.getJdbcUrl(),
-                                            jdbcConf.getUsername(),
-                                            jdbcDialect.dialectName());
-                            throw new FlinkxRuntimeException(message);
-                        }
+                    long interval = pollingInterval.next(pollingRowCount, isFullPage());
+                    if (interval > 0) {
+                        TimeUnit.MILLISECONDS.sleep(interval);
                     }
-                    dbConn.setAutoCommit(true);
                     JdbcUtil.closeDbResources(resultSet, null, null, false);
-                    queryForPolling(String.valueOf(state));
+                    try {
+                        poll();
+                    } catch (SQLException e) {
+                        // 查询失败时才重新建立连接，重连后再次失败则认为数据库异常，任务失败
+                        LOG.warn(
+                                "polling failed, reconnect to {} and retry, e = {}",
+                                jdbcConf.getJdbcUrl(),
+                                ExceptionUtil.getErrorMessage(e));
+                        reconnect();
+                        poll();
+                    }
                     return false;
                 } catch (InterruptedException e) {
                     LOG.warn(
@@ -233,7 +240,7 @@ public class JdbcInputFormat extends BaseRichInputFormat {
                             String.format(
                                     "error to execute sql = %s, startLocation = %s, e = %s",
                                     jdbcConf.getQuerySql(),
-                                    state,
+                                    getPollingPosition(),
                                     ExceptionUtil.getErrorMessage(e));
                     throw new FlinkxRuntimeException(message, e);
                 }
@@ -269,6 +276,12 @@ public class JdbcInputFormat extends BaseRichInputFormat {
             if (jdbcConf.getRestoreColumnIndex() > -1) {
                 state = resultSet.getObject(jdbcConf.getRestoreColumnIndex() + 1);
             }
+            if (jdbcConf.isPolling()) {
+                if (isKeysetPolling()) {
+                    pkState = resultSet.getObject(jdbcConf.getPollingPkIndex() + 1);
+                }
+                pollingRowCount++;
+            }
             return finalRowData;
         } catch (Exception se) {
             throw new ReadRecordException("", se, 0, rowData);
@@ -285,12 +298,13 @@ public class JdbcInputFormat extends BaseRichInputFormat {
     @Override
     public FormatState getFormatState() {
         super.getFormatState();
-        formatState.setState(state);
+        formatState.setState(getPollingPosition());
         return formatState;
     }
 
     @Override
     public void closeInternal() {
+        closeKeysetStatements();
         JdbcUtil.closeDbResources(resultSet, statement, dbConn, true);
     }
 
@@ -529,7 +543,10 @@ public class JdbcInputFormat extends BaseRichInputFormat {
 
         querySql = buildQuerySqlBySplit(jdbcInputSplit, whereList);
 
-        querySql = querySql + SqlUtil.buildOrderSql(jdbcConf, jdbcDialect, "ASC");
+        // 分页轮询的排序在构建分页查询语句时添加
+        if (!isKeysetPolling()) {
+            querySql = querySql + SqlUtil.buildOrderSql(jdbcConf, jdbcDialect, "ASC");
+        }
         LOG.info("Executing sql is: '{}'", querySql);
         return querySql;
     }
@@ -625,41 +642,258 @@ public class JdbcInputFormat extends BaseRichInputFormat {
             LOG.debug("polling startLocation = {}", startLocation);
         }
 
-        boolean isNumber = StringUtils.isNumeric(startLocation);
+        setLocationParameter(ps, 1, startLocation);
+        resultSet = ps.executeQuery();
+        hasNext = resultSet.next();
+    }
+
+    /**
+     * 按增量字段的类型设置轮询的起始位置参数
+     *
+     * @param statement 查询语句
+     * @param parameterIndex 参数位置
+     * @param location 起始位置，时间类型可以是毫秒数或者时间字符串
+     * @throws SQLException
+     */
+    protected void setLocationParameter(
+            PreparedStatement statement, int parameterIndex, String location)
+            throws SQLException {
+        boolean isNumber = StringUtils.isNumeric(location);
         switch (type) {
             case TIMESTAMP:
             case TIMESTAMPTZ:
             case DATETIME:
                 Timestamp ts =
                         isNumber
-                                ? new Timestamp(Long.parseLong(startLocation))
-                                : Timestamp.valueOf(startLocation);
-                ps.setTimestamp(1, ts);
+                                ? new Timestamp(Long.parseLong(location))
+                                : Timestamp.valueOf(location);
+                statement.setTimestamp(parameterIndex, ts);
                 break;
             case DATE:
                 Date date =
-                        isNumber
-                                ? new Date(Long.parseLong(startLocation))
-                                : Date.valueOf(startLocation);
-                ps.setDate(1, date);
+                        isNumber ? new Date(Long.parseLong(location)) : Date.valueOf(location);
+                statement.setDate(parameterIndex, date);
                 break;
             default:
                 if (isNumber) {
-                    ps.setLong(1, Long.parseLong(startLocation));
+                    statement.setLong(parameterIndex, Long.parseLong(location));
                 } else {
-                    ps.setString(1, startLocation);
+                    statement.setString(parameterIndex, location);
                 }
         }
-        resultSet = ps.executeQuery();
+    }
+
+    /**
+     * 是否按增量字段和pollingPk分页轮询
+     *
+     * @return 间隔轮询且配置了pollingPk时返回true
+     */
+    protected boolean isKeysetPolling() {
+        return jdbcConf.isPolling() && StringUtils.isNotBlank(jdbcConf.getPollingPk());
+    }
+
+    /**
+     * 当前的轮询位置，分页轮询时包含pollingPk字段的值
+     *
+     * @return 保存到checkpoint中的状态
+     */
+    protected Object getPollingPosition() {
+        if (isKeysetPolling() && state != null) {
+            return new KeysetPosition(state, pkState);
+        }
+        return state;
+    }
+
+    /**
+     * 执行一次轮询查询
+     *
+     * @throws SQLException
+     */
+    protected void poll() throws SQLException {
+        // 自动提交，否则事务中的查询可能读不到新插入的数据
+        if (!dbConn.getAutoCommit()) {
+            dbConn.setAutoCommit(true);
+        }
+        pollingRowCount = 0;
+        if (isKeysetPolling()) {
+            queryForKeyset();
+        } else {
+            queryForPolling(String.valueOf(state));
+        }
+    }
+
+    /**
+     * 上一次轮询是否读满一页，读满时不等待直接查询下一页
+     *
+     * @return 分页轮询且读取条数达到pollingPageSize时返回true
+     */
+    protected boolean isFullPage() {
+        return isKeysetPolling()
+                && jdbcConf.getPollingPageSize() > 0
+                && pollingRowCount >= jdbcConf.getPollingPageSize();
+    }
+
+    /**
+     * 轮询查询失败后重新建立连接并预编译查询语句
+     *
+     * @throws SQLException
+     */
+    protected void reconnect() throws SQLException {
+        closeKeysetStatements();
+        JdbcUtil.closeDbResources(resultSet, ps, dbConn, false);
+        resultSet = null;
+        dbConn = getConnection();
+        if (isKeysetPolling()) {
+            keysetStatements = new PreparedStatement[3];
+        } else {
+            ps = preparePollingStatement(jdbcConf.getQuerySql());
+        }
+    }
+
+    /**
+     * 预编译轮询使用的查询语句
+     *
+     * @param sql 查询语句
+     * @return PreparedStatement
+     * @throws SQLException
+     */
+    protected PreparedStatement preparePollingStatement(String sql) throws SQLException {
+        PreparedStatement statement =
+                dbConn.prepareStatement(sql, resultSetType, resultSetConcurrency);
+        statement.setFetchSize(jdbcConf.getFetchSize());
+        statement.setQueryTimeout(jdbcConf.getQueryTimeOut());
+        return statement;
+    }
+
+    /**
+     * 按增量字段和pollingPk分页轮询，从上一次读取的最后一条数据之后开始查询，每次最多查询pollingPageSize条
+     *
+     * @throws SQLException
+     */
+    protected void queryForKeyset() throws SQLException {
+        // 每隔五分钟打印一次，(当前时间 - 任务开始时间) % 300秒 <= 一个间隔轮询周期
+        if ((System.currentTimeMillis() - startTime) % 300000 <= jdbcConf.getPollingInterval()) {
+            LOG.info("polling position = {}", getPollingPosition());
+        } else {
+            LOG.debug("polling position = {}", getPollingPosition());
+        }
+
+        PreparedStatement keysetStatement;
+        if (state == null) {
+            keysetStatement = getKeysetStatement(0);
+        } else if (pkState == null) {
+            keysetStatement = getKeysetStatement(1);
+            setKeysetIncreParameter(keysetStatement, 1);
+        } else {
+            keysetStatement = getKeysetStatement(2);
+            setKeysetIncreParameter(keysetStatement, 1);
+            setKeysetIncreParameter(keysetStatement, 2);
+            keysetStatement.setObject(3, pkState);
+        }
+        resultSet = keysetStatement.executeQuery();
         hasNext = resultSet.next();
     }
 
+    /**
+     * 获取预编译的分页查询语句，第一次使用时构建
+     *
+     * @param kind 0：没有起始位置，1：只按增量字段过滤，2：按增量字段和pollingPk过滤
+     * @return PreparedStatement
+     * @throws SQLException
+     */
+    protected PreparedStatement getKeysetStatement(int kind) throws SQLException {
+        if (keysetStatements[kind] == null) {
+            String sql = buildKeysetSql(kind);
+            LOG.info("prepare polling sql, sql = {}", sql);
+            PreparedStatement keysetStatement = preparePollingStatement(sql);
+            if (jdbcConf.getPollingPageSize() > 0) {
+                keysetStatement.setMaxRows(jdbcConf.getPollingPageSize());
+            }
+            keysetStatements[kind] = keysetStatement;
+        }
+        return keysetStatements[kind];
+    }
+
+    /**
+     * 构建分页查询语句，按增量字段和pollingPk升序排序
+     *
+     * @param kind 0：没有起始位置，1：只按增量字段过滤，2：按增量字段和pollingPk过滤
+     * @return 分页查询语句
+     */
+    protected String buildKeysetSql(int kind) {
+        String increColumn = jdbcDialect.quoteIdentifier(jdbcConf.getIncreColumn());
+        String pkColumn = jdbcDialect.quoteIdentifier(jdbcConf.getPollingPk());
+        if (StringUtils.isNotEmpty(jdbcConf.getCustomSql())) {
+            increColumn = JdbcUtil.TEMPORARY_TABLE_NAME + "." + increColumn;
+            pkColumn = JdbcUtil.TEMPORARY_TABLE_NAME + "." + pkColumn;
+        }
+
+        StringBuilder builder = new StringBuilder(256);
+        builder.append(jdbcConf.getQuerySql());
+        if (kind > 0) {
+            builder.append(jdbcConf.getQuerySql().contains("WHERE") ? " AND " : " WHERE ");
+            if (kind == 1) {
+                builder.append(increColumn).append(" > ?");
+            } else {
+                builder.append("(")
+                        .append(increColumn)
+                        .append(" > ? OR (")
+                        .append(increColumn)
+                        .append(" = ? AND ")
+                        .append(pkColumn)
+                        .append(" > ?))");
+            }
+        }
+        builder.append(" ORDER BY ")
+                .append(increColumn)
+                .append(" ASC, ")
+                .append(pkColumn)
+                .append(" ASC");
+        return builder.toString();
+    }
+
+    /**
+     * 设置分页查询的增量字段参数，配置的起始位置按字段类型转换，读取到的值直接使用
+     *
+     * @param keysetStatement 分页查询语句
+     * @param parameterIndex 参数位置
+     * @throws SQLException
+     */
+    protected void setKeysetIncreParameter(PreparedStatement keysetStatement, int parameterIndex)
+            throws SQLException {
+        if (state instanceof String) {
+            setLocationParameter(keysetStatement, parameterIndex, (String) state);
+        } else {
+            keysetStatement.setObject(parameterIndex, state);
+        }
+    }
+
+    /** 关闭分页查询语句 */
+    protected void closeKeysetStatements() {
+        if (keysetStatements == null) {
+            return;
+        }
+        for (int i = 0; i < keysetStatements.length; i++) {
+            JdbcUtil.closeDbResources(null, keysetStatements[i], null, false);
+            keysetStatements[i] = null;
+        }
+    }
+
     /** 构建基于startLocation&endLocation的过滤条件 * */
     protected void buildLocationFilter(JdbcInputSplit jdbcInputSplit, List<String> whereList) {
+        // 分页轮询的起始位置在构建分页查询语句时添加
+        if (isKeysetPolling()) {
+            return;
+        }
         String sql = null;
         String startLocation = jdbcInputSplit.getStartLocation();
         if (formatState.getState() != null && StringUtils.isNotBlank(jdbcConf.getRestoreColumn())) {
-            startLocation = String.valueOf(formatState.getState());
+            Object position = formatState.getState();
+            // 去掉pollingPk配置后从分页轮询的checkpoint恢复
+            if (position instanceof KeysetPosition) {
+                position = ((KeysetPosition) position).getIncreValue();
+            }
+            startLocation = String.valueOf(position);
             if (StringUtils.isNotBlank(startLocation)) {
                 LOG.info(
                         "restore from checkpoint, update startLocation, before = {}, after = {}",
@@ -773,15 +1007,31 @@ public class JdbcInputFormat extends BaseRichInputFormat {
      */
     protected void executeQuery(String startLocation) throws SQLException {
         if (jdbcConf.isPolling()) {
+            pollingInterval =
+                    new AdaptivePollingInterval(
+                            jdbcConf.getPollingInterval(), jdbcConf.getPollingMaxInterval());
+            pollingRowCount = 0;
+        }
+        if (isKeysetPolling()) {
+            Object position = formatState.getState();
+            if (position instanceof KeysetPosition) {
+                state = ((KeysetPosition) position).getIncreValue();
+                pkState = ((KeysetPosition) position).getPkValue();
+                LOG.info("restore from checkpoint, position = {}", position);
+            } else if (position != null) {
+                state = position;
+                LOG.info("restore from checkpoint, startLocation = {}", position);
+            } else if (StringUtils.isNotBlank(startLocation)) {
+                state = startLocation;
+            }
+            keysetStatements = new PreparedStatement[3];
+            queryForKeyset();
+        } else if (jdbcConf.isPolling()) {
             if (StringUtils.isBlank(startLocation)) {
                 // 从数据库中获取起始位置
                 queryStartLocation();
             } else {
-                ps =
-                        dbConn.prepareStatement(
-                                jdbcConf.getQuerySql(), resultSetType, resultSetConcurrency);
-                ps.setFetchSize(jdbcConf.getFetchSize());
-                ps.setQueryTimeout(jdbcConf.getQueryTimeOut());
+                ps = preparePollingStatement(jdbcConf.getQuerySql());
                 queryForPolling(startLocation);
                 state = startLocation;
             }
@@ -809,9 +1059,7 @@ public class JdbcInputFormat extends BaseRichInputFormat {
      * @throws SQLException
      */
     protected void queryStartLocation() throws SQLException {
-        ps = dbConn.prepareStatement(jdbcConf.getQuerySql(), resultSetType, resultSetConcurrency);
-        ps.setFetchSize(jdbcConf.getFetchSize());
-        ps.setQueryTimeout(jdbcConf.getQueryTimeOut());
+        ps = preparePollingStatement(jdbcConf.getQuerySql());
         resultSet = ps.executeQuery();
         hasNext = resultSet.next();
 
@@ -852,9 +1100,7 @@ public class JdbcInputFormat extends BaseRichInputFormat {
                 .append(jdbcDialect.quoteIdentifier(jdbcConf.getIncreColumn()))
                 .append(" ASC");
         jdbcConf.setQuerySql(builder.toString());
-        ps = dbConn.prepareStatement(jdbcConf.getQuerySql(), resultSetType, resultSetConcurrency);
-        ps.setFetchSize(jdbcConf.getFetchSize());
-        ps.setQueryTimeout(jdbcConf.getQueryTimeOut());
+        ps = preparePollingStatement(jdbcConf.getQuerySql());
         LOG.info("update querySql, sql = {}", jdbcConf.getQuerySql());
     }
 
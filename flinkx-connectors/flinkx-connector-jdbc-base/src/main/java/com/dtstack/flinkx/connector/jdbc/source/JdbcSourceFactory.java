@@ -195,7 +195,31 @@ public abstract class JdbcSourceFactory extends SourceFactory {
             jdbcConf.setRestoreColumn(name);
             jdbcConf.setRestoreColumnType(type);
             jdbcConf.setRestoreColumnIndex(index);
+
+            initPollingPkConfig(jdbcConf);
+        }
+    }
+
+    /**
+     * 初始化间隔轮询分页字段配置，pollingPk需要在column中
+     *
+     * @param jdbcConf jdbcConf
+     */
+    private void initPollingPkConfig(JdbcConf jdbcConf) {
+        String pollingPk = jdbcConf.getPollingPk();
+        if (!jdbcConf.isPolling() || StringUtils.isBlank(pollingPk)) {
+            return;
+        }
+        for (FieldConf field : jdbcConf.getColumn()) {
+            if (Objects.equals(pollingPk, field.getName())) {
+                jdbcConf.setPollingPkIndex(field.getIndex());
+                return;
+            }
         }
+        throw new IllegalArgumentException(
+                String.format(
+                        "config error : pollingPk must be in column, column = %s, pollingPk = %s",
+                        GsonUtil.GSON.toJson(jdbcConf.getColumn()), pollingPk));
     }
 
     protected int getDefaultFetchSize() {
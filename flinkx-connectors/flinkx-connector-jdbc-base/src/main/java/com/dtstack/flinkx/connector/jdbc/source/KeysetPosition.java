@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.flinkx.connector.jdbc.source;
+
+import java.io.Serializable;
+
+/** 按增量字段和pollingPk分页轮询时的读取位置，作为checkpoint中的状态 */
+public class KeysetPosition implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 最后一条数据增量字段的值 */
+    private final Object increValue;
+
+    /** 最后一条数据pollingPk字段的值，为null时只按增量字段过滤 */
+    private final Object pkValue;
+
+    public KeysetPosition(Object increValue, Object pkValue) {
+        this.increValue = increValue;
+        this.pkValue = pkValue;
+    }
+
+    public Object getIncreValue() {
+        return increValue;
+    }
+
+    public Object getPkValue() {
+        return pkValue;
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetPosition{" + "increValue=" + increValue + ", pkValue=" + pkValue + '}';
+    }
+}
@@ -68,8 +68,12 @@ import static com.dtstack.flinkx.connector.jdbc.options.JdbcSinkOptions.SINK_ALL
 import static com.dtstack.flinkx.connector.jdbc.options.JdbcSinkOptions.SINK_PARALLELISM;
 import static com.dtstack.flinkx.connector.jdbc.options.JdbcSinkOptions.SINK_SEMANTIC;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_ASYNC_TIMEOUT;
+import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_BATCH_INTERVAL;
+import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_BATCH_SIZE;
+import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_MAX_BYTES;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_MAX_ROWS;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_PERIOD;
+import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_REFRESH_INTERVAL;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_TTL;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_TYPE;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_ERROR_LIMIT;
@@ -84,6 +88,9 @@ import static com.dtstack.flinkx.source.options.SourceOptions.SCAN_PARALLELISM;
 import static com.dtstack.flinkx.source.options.SourceOptions.SCAN_PARTITION_COLUMN;
 import static com.dtstack.flinkx.source.options.SourceOptions.SCAN_PARTITION_STRATEGY;
 import static com.dtstack.flinkx.source.options.SourceOptions.SCAN_POLLING_INTERVAL;
+import static com.dtstack.flinkx.source.options.SourceOptions.SCAN_POLLING_MAX_INTERVAL;
+import static com.dtstack.flinkx.source.options.SourceOptions.SCAN_POLLING_PAGE_SIZE;
+import static com.dtstack.flinkx.source.options.SourceOptions.SCAN_POLLING_PK;
 import static com.dtstack.flinkx.source.options.SourceOptions.SCAN_QUERY_TIMEOUT;
 import static com.dtstack.flinkx.source.options.SourceOptions.SCAN_RESTORE_COLUMNNAME;
 import static com.dtstack.flinkx.source.options.SourceOptions.SCAN_RESTORE_COLUMNTYPE;
@@ -193,7 +200,11 @@ public abstract class JdbcDynamicTableFactory
                 .setErrorLimit(readableConfig.get(LOOKUP_ERROR_LIMIT))
                 .setFetchSize(readableConfig.get(LOOKUP_FETCH_SIZE))
                 .setAsyncTimeout(readableConfig.get(LOOKUP_ASYNC_TIMEOUT))
-                .setParallelism(readableConfig.get(LOOKUP_PARALLELISM));
+                .setParallelism(readableConfig.get(LOOKUP_PARALLELISM))
+                .setBatchSize(readableConfig.get(LOOKUP_BATCH_SIZE))
+                .setBatchInterval(readableConfig.get(LOOKUP_BATCH_INTERVAL))
+                .setCacheMaxBytes(readableConfig.get(LOOKUP_CACHE_MAX_BYTES))
+                .setCacheRefreshInterval(readableConfig.get(LOOKUP_CACHE_REFRESH_INTERVAL));
     }
 
     protected JdbcConf getSourceConnectionConf(ReadableConfig readableConfig) {
@@ -235,6 +246,9 @@ public abstract class JdbcDynamicTableFactory
         if (pollingInterval.isPresent() && pollingInterval.get() > 0) {
             jdbcConf.setPolling(true);
             jdbcConf.setPollingInterval(pollingInterval.get());
+            jdbcConf.setPollingMaxInterval(readableConfig.get(SCAN_POLLING_MAX_INTERVAL));
+            jdbcConf.setPollingPk(readableConfig.get(SCAN_POLLING_PK));
+            jdbcConf.setPollingPageSize(readableConfig.get(SCAN_POLLING_PAGE_SIZE));
             jdbcConf.setFetchSize(
                     readableConfig.get(SCAN_FETCH_SIZE) == 0
                             ? SCAN_DEFAULT_FETCH_SIZE.defaultValue()
@@ -265,6 +279,9 @@ public abstract class JdbcDynamicTableFactory
         optionalOptions.add(SCAN_INCREMENT_COLUMN);
         optionalOptions.add(SCAN_INCREMENT_COLUMN_TYPE);
         optionalOptions.add(SCAN_POLLING_INTERVAL);
+        optionalOptions.add(SCAN_POLLING_MAX_INTERVAL);
+        optionalOptions.add(SCAN_POLLING_PK);
+        optionalOptions.add(SCAN_POLLING_PAGE_SIZE);
         optionalOptions.add(SCAN_START_LOCATION);
         optionalOptions.add(SCAN_PARALLELISM);
         optionalOptions.add(SCAN_QUERY_TIMEOUT);
@@ -281,6 +298,10 @@ public abstract class JdbcDynamicTableFactory
         optionalOptions.add(LOOKUP_FETCH_SIZE);
         optionalOptions.add(LOOKUP_ASYNC_TIMEOUT);
         optionalOptions.add(LOOKUP_PARALLELISM);
+        optionalOptions.add(LOOKUP_BATCH_SIZE);
+        optionalOptions.add(LOOKUP_BATCH_INTERVAL);
+        optionalOptions.add(LOOKUP_CACHE_MAX_BYTES);
+        optionalOptions.add(LOOKUP_CACHE_REFRESH_INTERVAL);
 
         optionalOptions.add(SINK_BUFFER_FLUSH_MAX_ROWS);
         optionalOptions.add(SINK_BUFFER_FLUSH_INTERVAL);
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.flinkx.connector.jdbc.sink;
+
+import com.dtstack.flinkx.connector.jdbc.conf.JdbcConf;
+import com.dtstack.flinkx.connector.jdbc.dialect.JdbcDialect;
+import com.dtstack.flinkx.element.ColumnRowData;
+import com.dtstack.flinkx.element.column.StringColumn;
+import com.dtstack.flinkx.enums.Semantic;
+
+import org.apache.flink.api.common.accumulators.LongCounter;
+import org.apache.flink.table.data.RowData;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class JdbcOutputFormatTest {
+
+    private Connection connection;
+    private AtomicBoolean autoCommit;
+
+    @Before
+    public void setup() throws SQLException {
+        connection = mock(Connection.class);
+        autoCommit = new AtomicBoolean(true);
+        when(connection.getAutoCommit()).thenAnswer(invocation -> autoCommit.get());
+        doAnswer(
+                        invocation -> {
+                            autoCommit.set(invocation.getArgument(0));
+                            return null;
+                        })
+                .when(connection)
+                .setAutoCommit(anyBoolean());
+    }
+
+    @Test
+    public void testFirstBatchFailureDisablesBulkLoad() throws SQLException {
+        FakeBulkLoader loader = new FakeBulkLoader(1);
+        TestOutputFormat format = new TestOutputFormat(connection, loader);
+
+        format.writeBatch("a", "b");
+
+        Assert.assertNull(format.bulkLoader);
+        Assert.assertTrue(loader.closed);
+        Assert.assertEquals(Arrays.asList("a", "b"), format.singleValues);
+        Assert.assertEquals(2L, format.getNumWrite());
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+        Assert.assertTrue(autoCommit.get());
+    }
+
+    @Test
+    public void testLaterBatchFailureFallsBackToSingleRecords() throws SQLException {
+        FakeBulkLoader loader = new FakeBulkLoader(2);
+        TestOutputFormat format = new TestOutputFormat(connection, loader);
+
+        format.writeBatch("a", "b");
+        format.writeBatch("c", "d");
+        format.writeBatch("e");
+
+        // 失败的一批回滚后逐条写入，之后的批次仍然批量导入
+        Assert.assertSame(loader, format.bulkLoader);
+        Assert.assertFalse(loader.closed);
+        Assert.assertEquals(Arrays.asList("a", "b", "e"), loader.loadedValues);
+        Assert.assertEquals(Arrays.asList("c", "d"), format.singleValues);
+        Assert.assertEquals(5L, format.getNumWrite());
+        verify(connection, times(2)).commit();
+        verify(connection).rollback();
+        Assert.assertTrue(autoCommit.get());
+    }
+
+    private static List<String> values(List<RowData> rows) {
+        List<String> values = new ArrayList<>(rows.size());
+        for (RowData row : rows) {
+            values.add(((ColumnRowData) row).getField(0).asString());
+        }
+        return values;
+    }
+
+    private static class TestOutputFormat extends JdbcOutputFormat {
+
+        private final List<String> singleValues = new ArrayList<>();
+
+        private TestOutputFormat(Connection connection, BulkLoader bulkLoader) {
+            this.dbConn = connection;
+            this.bulkLoader = bulkLoader;
+            this.semantic = Semantic.AT_LEAST_ONCE;
+            this.rows = new ArrayList<>();
+            this.flushEnable = new AtomicBoolean(true);
+            this.numWriteCounter = new LongCounter();
+        }
+
+        private void writeBatch(String... values) {
+            for (String value : values) {
+                ColumnRowData row = new ColumnRowData(1);
+                row.addField(new StringColumn(value));
+                rows.add(row);
+            }
+            writeRecordInternal();
+        }
+
+        private long getNumWrite() {
+            return numWriteCounter.getLocalValue();
+        }
+
+        @Override
+        protected void writeSingleRecordInternal(RowData row) {
+            singleValues.add(((ColumnRowData) row).getField(0).asString());
+        }
+    }
+
+    private static class FakeBulkLoader implements BulkLoader {
+
+        /** 导入失败的批次，从1开始 */
+        private final Set<Integer> failedBatches;
+        private final List<String> loadedValues = new ArrayList<>();
+        private int batch;
+        private boolean closed;
+
+        private FakeBulkLoader(Integer... failedBatches) {
+            this.failedBatches = new HashSet<>(Arrays.asList(failedBatches));
+        }
+
+        @Override
+        public boolean open(
+                Connection connection,
+                JdbcConf jdbcConf,
+                JdbcDialect jdbcDialect,
+                List<String> columnNameList,
+                List<String> columnTypeList) {
+            return true;
+        }
+
+        @Override
+        public void load(List<RowData> rows) throws Exception {
+            if (failedBatches.contains(++batch)) {
+                throw new SQLException("load " + rows.size() + " rows, but only 1 row is written");
+            }
+            loadedValues.addAll(values(rows));
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
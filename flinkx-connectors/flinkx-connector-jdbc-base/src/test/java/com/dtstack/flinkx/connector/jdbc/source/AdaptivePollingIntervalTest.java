@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.flinkx.connector.jdbc.source;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AdaptivePollingIntervalTest {
+
+    @Test
+    public void testBackOffWhenIdle() {
+        AdaptivePollingInterval interval = new AdaptivePollingInterval(1000, 5000);
+        Assert.assertEquals(1000, interval.next(0, false));
+        Assert.assertEquals(2000, interval.next(0, false));
+        Assert.assertEquals(4000, interval.next(0, false));
+        Assert.assertEquals(5000, interval.next(0, false));
+        Assert.assertEquals(5000, interval.next(0, false));
+    }
+
+    @Test
+    public void testResetWhenDataRead() {
+        AdaptivePollingInterval interval = new AdaptivePollingInterval(1000, 5000);
+        interval.next(0, false);
+        interval.next(0, false);
+        Assert.assertEquals(1000, interval.next(10, false));
+        Assert.assertEquals(1000, interval.next(0, false));
+        Assert.assertEquals(0, interval.next(100, true));
+        Assert.assertEquals(1000, interval.next(0, false));
+    }
+
+    @Test
+    public void testNoBackOffWithoutMaxInterval() {
+        AdaptivePollingInterval interval = new AdaptivePollingInterval(1000, 0);
+        Assert.assertEquals(1000, interval.next(0, false));
+        Assert.assertEquals(1000, interval.next(0, false));
+    }
+}
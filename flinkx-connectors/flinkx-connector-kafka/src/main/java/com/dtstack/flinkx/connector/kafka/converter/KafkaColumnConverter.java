@@ -22,6 +22,7 @@ import com.dtstack.flinkx.conf.FieldConf;
 import com.dtstack.flinkx.connector.kafka.conf.KafkaConf;
 import com.dtstack.flinkx.constants.CDCConstantValue;
 import com.dtstack.flinkx.converter.AbstractRowConverter;
+import com.dtstack.flinkx.converter.FieldPropsAssembler;
 import com.dtstack.flinkx.converter.IDeserializationConverter;
 import com.dtstack.flinkx.decoder.IDecode;
 import com.dtstack.flinkx.decoder.JsonDecoder;
@@ -121,13 +122,14 @@ public class KafkaColumnConverter extends AbstractRowConverter<String, Object, b
             result.addField(new MapColumn(map));
         } else {
             List<FieldConf> fieldConfList = kafkaConf.getColumn();
+            FieldPropsAssembler[] assemblers = getFieldPropsAssemblers(fieldConfList);
             result = new ColumnRowData(fieldConfList.size());
             for (int i = 0; i < fieldConfList.size(); i++) {
                 FieldConf fieldConf = fieldConfList.get(i);
                 Object value = map.get(fieldConf.getName());
                 AbstractBaseColumn baseColumn =
                         (AbstractBaseColumn) toInternalConverters.get(i).deserialize(value);
-                result.addField(assembleFieldProps(fieldConf, baseColumn));
+                result.addField(assemblers[i].assemble(baseColumn));
             }
         }
         return result;
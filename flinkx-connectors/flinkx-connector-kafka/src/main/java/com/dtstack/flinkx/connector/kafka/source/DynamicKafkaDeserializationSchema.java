@@ -299,6 +299,10 @@ public class DynamicKafkaDeserializationSchema implements KafkaDeserializationSc
         inputMetric.addDirtyMetric(
                 Metrics.DIRTY_DATA_COLLECT_FAILED_COUNT,
                 this.dirtyManager.getFailedConsumedMetric());
+        inputMetric.addDirtyMetric(
+                Metrics.DIRTY_DATA_DROPPED_COUNT, this.dirtyManager.getDroppedMetric());
+        inputMetric.addDirtyGauge(
+                Metrics.DIRTY_DATA_QUEUE_SIZE, this.dirtyManager.getQueueSizeGauge());
     }
 
     /** 从checkpoint状态缓存map中恢复上次任务的指标信息 */
@@ -21,6 +21,7 @@ package com.dtstack.flinkx.connector.mongodb.converter;
 import com.dtstack.flinkx.conf.FieldConf;
 import com.dtstack.flinkx.conf.FlinkxCommonConf;
 import com.dtstack.flinkx.converter.AbstractRowConverter;
+import com.dtstack.flinkx.converter.FieldPropsAssembler;
 import com.dtstack.flinkx.element.AbstractBaseColumn;
 import com.dtstack.flinkx.element.ColumnRowData;
 import com.dtstack.flinkx.element.column.BigDecimalColumn;
@@ -33,7 +34,6 @@ import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.table.types.logical.LogicalTypeRoot;
 import org.apache.flink.table.types.logical.RowType;
-import org.apache.flink.util.StringUtils;
 
 import org.bson.Document;
 import org.bson.types.Binary;
@@ -98,18 +98,19 @@ public class MongodbColumnConverter
     @Override
     public RowData toInternal(Document document) {
         List<FieldConf> fieldList = commonConf.getColumn();
+        FieldPropsAssembler[] assemblers = getFieldPropsAssemblers(fieldList);
         ColumnRowData result = new ColumnRowData(fieldList.size());
         int convertIndex = 0;
-        for (FieldConf fieldConf : fieldList) {
+        for (int i = 0; i < assemblers.length; i++) {
             AbstractBaseColumn baseColumn = null;
-            if (StringUtils.isNullOrWhitespaceOnly(fieldConf.getValue())) {
-                Object field = document.get(fieldConf.getName());
+            if (!assemblers[i].isConstant()) {
+                Object field = document.get(fieldList.get(i).getName());
                 baseColumn =
                         (AbstractBaseColumn)
                                 toInternalConverters.get(convertIndex).deserialize(field);
                 convertIndex++;
             }
-            result.addField(assembleFieldProps(fieldConf, baseColumn));
+            result.addField(assemblers[i].assemble(baseColumn));
         }
         return result;
     }
@@ -21,21 +21,33 @@ package com.dtstack.flinkx.connector.mongodb.sink;
 import com.dtstack.flinkx.connector.mongodb.MongoClientFactory;
 import com.dtstack.flinkx.connector.mongodb.conf.MongoClientConf;
 import com.dtstack.flinkx.sink.format.BaseRichOutputFormat;
-import com.dtstack.flinkx.throwable.FlinkxRuntimeException;
 import com.dtstack.flinkx.throwable.WriteRecordException;
 
 import org.apache.flink.table.data.RowData;
+import org.apache.flink.types.RowKind;
 
+import com.mongodb.BulkWriteError;
+import com.mongodb.MongoBulkWriteException;
 import com.mongodb.MongoClient;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteOneModel;
 import com.mongodb.client.model.FindOneAndReplaceOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
 import org.bson.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * @author Ada Wong
@@ -46,13 +58,18 @@ public class MongodbOutputFormat extends BaseRichOutputFormat {
 
     private static final Logger LOG = LoggerFactory.getLogger(MongodbOutputFormat.class);
 
+    private static final String SET_OPERATOR = "$set";
+    private static final String ID_FIELD = "_id";
+
     private final MongoClientConf mongoClientConf;
     private final String key;
     private final WriteMode writeMode;
 
     private transient MongoClient mongoClient;
-    private transient MongoCollection mongoCollection;
+    private transient MongoCollection<Document> mongoCollection;
     private transient FindOneAndReplaceOptions options;
+    private transient ReplaceOptions replaceOptions;
+    private transient UpdateOptions updateOptions;
 
     public MongodbOutputFormat(MongoClientConf mongoClientConf, String key, WriteMode writeMode) {
         this.mongoClientConf = mongoClientConf;
@@ -65,9 +82,13 @@ public class MongodbOutputFormat extends BaseRichOutputFormat {
         try {
             Document document = new Document();
             rowConverter.toExternal(rowData, document);
-            if (writeMode == WriteMode.UPSERT) {
-                Document filter = new Document(key, document.get(key));
-                mongoCollection.findOneAndReplace(filter, document, options);
+            if (isRetract(rowData)) {
+                mongoCollection.deleteOne(buildFilter(document));
+            } else if (writeMode == WriteMode.UPSERT) {
+                mongoCollection.findOneAndReplace(buildFilter(document), document, options);
+            } else if (writeMode == WriteMode.UPDATE) {
+                mongoCollection.updateOne(
+                        buildFilter(document), buildUpdate(document), updateOptions);
             } else {
                 mongoCollection.insertOne(document);
             }
@@ -76,19 +97,123 @@ public class MongodbOutputFormat extends BaseRichOutputFormat {
         }
     }
 
+    /**
+     * Write the buffered rows with one bulkWrite call. Rows that fail to convert or are rejected
+     * by the server are collected as dirty data and removed from {@link #rows}, so only the rows
+     * that were actually written are counted by the caller.
+     *
+     * <p>If the bulk fails with an exception that can not be mapped back to single documents, only
+     * the rows not written or collected yet are left in {@link #rows} for the single record
+     * fallback of the caller, so no row is written or collected twice.
+     */
     @Override
     protected void writeMultipleRecordsInternal() throws Exception {
-        List<Document> documents = new ArrayList<>(rows.size());
+        List<RowData> pendingRows = new ArrayList<>(rows.size());
+        List<WriteModel<Document>> models = new ArrayList<>(rows.size());
+        // unordered execution is only safe when no two models touch the same document
+        boolean ordered = false;
+        Set<Object> keys = new HashSet<>();
         for (RowData row : rows) {
             Document document = new Document();
-            rowConverter.toExternal(row, document);
-            documents.add(document);
+            try {
+                rowConverter.toExternal(row, document);
+            } catch (Exception e) {
+                dirtyManager.collect(
+                        row, new WriteRecordException("Convert data to document error", e), null);
+                continue;
+            }
+            WriteModel<Document> model = buildWriteModel(row, document);
+            if (!(model instanceof InsertOneModel)) {
+                ordered |= key == null || !keys.add(document.get(key));
+            }
+            pendingRows.add(row);
+            models.add(model);
+        }
+
+        List<RowData> writtenRows = new ArrayList<>(pendingRows.size());
+        BulkWriteOptions bulkWriteOptions = new BulkWriteOptions().ordered(ordered);
+        int offset = 0;
+        while (offset < models.size()) {
+            List<WriteModel<Document>> batch = models.subList(offset, models.size());
+            try {
+                mongoCollection.bulkWrite(batch, bulkWriteOptions);
+                writtenRows.addAll(pendingRows.subList(offset, pendingRows.size()));
+                break;
+            } catch (MongoBulkWriteException e) {
+                if (e.getWriteConcernError() != null) {
+                    // the documents are written on the primary, only the acknowledgement failed
+                    LOG.warn("bulk write concern error: {}", e.getWriteConcernError());
+                }
+                Set<Integer> failedIndexes = new HashSet<>();
+                for (BulkWriteError error : e.getWriteErrors()) {
+                    failedIndexes.add(error.getIndex());
+                    RowData failedRow = pendingRows.get(offset + error.getIndex());
+                    dirtyManager.collect(
+                            failedRow,
+                            new WriteRecordException(error.getMessage(), e, 0, failedRow),
+                            null);
+                }
+                // an ordered bulk stops at its first error, the rest of the batch is resent
+                int processed =
+                        ordered && !e.getWriteErrors().isEmpty()
+                                ? e.getWriteErrors().get(0).getIndex() + 1
+                                : batch.size();
+                for (int i = 0; i < processed; i++) {
+                    if (!failedIndexes.contains(i)) {
+                        writtenRows.add(pendingRows.get(offset + i));
+                    }
+                }
+                offset += processed;
+            } catch (Exception e) {
+                // count the rows written so far and leave the rest to the single record fallback
+                numWriteCounter.add(writtenRows.size());
+                List<RowData> unwrittenRows =
+                        new ArrayList<>(pendingRows.subList(offset, pendingRows.size()));
+                rows.clear();
+                rows.addAll(unwrittenRows);
+                throw e;
+            }
+        }
+
+        if (writtenRows.size() != rows.size()) {
+            rows.clear();
+            rows.addAll(writtenRows);
+        }
+    }
+
+    private WriteModel<Document> buildWriteModel(RowData row, Document document) {
+        if (isRetract(row)) {
+            return new DeleteOneModel<>(buildFilter(document));
+        }
+        switch (writeMode) {
+            case UPSERT:
+                return new ReplaceOneModel<>(buildFilter(document), document, replaceOptions);
+            case UPDATE:
+                return new UpdateOneModel<>(
+                        buildFilter(document), buildUpdate(document), updateOptions);
+            default:
+                return new InsertOneModel<>(document);
         }
-        if (writeMode == WriteMode.INSERT) {
-            mongoCollection.insertMany(documents);
-        } else {
-            throw new FlinkxRuntimeException("Does not support batch upsert documents");
+    }
+
+    /** Filter by the replace key, or by the whole document when no key is configured. */
+    private Document buildFilter(Document document) {
+        if (key == null) {
+            return document;
         }
+        return new Document(key, document.get(key));
+    }
+
+    /** $set of the written fields, _id is immutable and can not be set on an existing document. */
+    private Document buildUpdate(Document document) {
+        Document fields = new Document(document);
+        fields.remove(ID_FIELD);
+        return new Document(SET_OPERATOR, fields);
+    }
+
+    private boolean isRetract(RowData rowData) {
+        RowKind kind = rowData.getRowKind();
+        return kind == RowKind.DELETE || kind == RowKind.UPDATE_BEFORE;
     }
 
     @Override
@@ -100,6 +225,8 @@ public class MongodbOutputFormat extends BaseRichOutputFormat {
                         mongoClientConf.getDatabase(),
                         mongoClientConf.getCollection());
         options = new FindOneAndReplaceOptions().upsert(true);
+        replaceOptions = new ReplaceOptions().upsert(true);
+        updateOptions = new UpdateOptions().upsert(true);
     }
 
     @Override
@@ -113,6 +240,9 @@ public class MongodbOutputFormat extends BaseRichOutputFormat {
 
     public enum WriteMode {
         INSERT,
-        UPSERT
+        /** replace the whole document matched by key */
+        UPSERT,
+        /** only update the written fields of the document matched by key */
+        UPDATE
     }
 }
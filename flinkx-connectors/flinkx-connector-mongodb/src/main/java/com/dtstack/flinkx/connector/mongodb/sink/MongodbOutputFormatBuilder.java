@@ -75,8 +75,10 @@ public class MongodbOutputFormatBuilder extends BaseRichOutputFormatBuilder {
     }
 
     private MongodbOutputFormat.WriteMode parseWriteMode(String str) {
-        if (WriteMode.REPLACE.getMode().equals(str) || WriteMode.UPDATE.getMode().equals(str)) {
+        if (WriteMode.REPLACE.getMode().equals(str)) {
             return MongodbOutputFormat.WriteMode.UPSERT;
+        } else if (WriteMode.UPDATE.getMode().equals(str)) {
+            return MongodbOutputFormat.WriteMode.UPDATE;
         } else {
             return MongodbOutputFormat.WriteMode.INSERT;
         }
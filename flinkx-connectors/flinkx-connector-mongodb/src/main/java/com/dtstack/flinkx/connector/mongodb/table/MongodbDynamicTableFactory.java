@@ -38,8 +38,12 @@ import java.util.HashSet;
 import java.util.Set;
 
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_ASYNC_TIMEOUT;
+import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_BATCH_INTERVAL;
+import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_BATCH_SIZE;
+import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_MAX_BYTES;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_MAX_ROWS;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_PERIOD;
+import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_REFRESH_INTERVAL;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_TTL;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_TYPE;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_ERROR_LIMIT;
@@ -126,6 +130,10 @@ public class MongodbDynamicTableFactory
         optionalOptions.add(LOOKUP_FETCH_SIZE);
         optionalOptions.add(LOOKUP_ASYNC_TIMEOUT);
         optionalOptions.add(LOOKUP_PARALLELISM);
+        optionalOptions.add(LOOKUP_BATCH_SIZE);
+        optionalOptions.add(LOOKUP_BATCH_INTERVAL);
+        optionalOptions.add(LOOKUP_CACHE_MAX_BYTES);
+        optionalOptions.add(LOOKUP_CACHE_REFRESH_INTERVAL);
 
         optionalOptions.add(SINK_BUFFER_FLUSH_MAX_ROWS);
         optionalOptions.add(SINK_BUFFER_FLUSH_INTERVAL);
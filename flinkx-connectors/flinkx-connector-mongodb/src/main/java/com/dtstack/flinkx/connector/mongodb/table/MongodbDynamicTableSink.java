@@ -66,9 +66,20 @@ public class MongodbDynamicTableSink implements DynamicTableSink {
     public SinkRuntimeProvider getSinkRuntimeProvider(Context context) {
         final RowType rowType = (RowType) physicalSchema.toRowDataType().getLogicalType();
         String[] fieldNames = physicalSchema.getFieldNames();
+        // with a single column primary key, retract and update rows can be written by key
+        String key =
+                physicalSchema
+                        .getPrimaryKey()
+                        .filter(pk -> pk.getColumns().size() == 1)
+                        .map(pk -> pk.getColumns().get(0))
+                        .orElse(null);
         MongodbOutputFormatBuilder builder =
                 new MongodbOutputFormatBuilder(
-                        mongoClientConf, null, MongodbOutputFormat.WriteMode.INSERT);
+                        mongoClientConf,
+                        key,
+                        key == null
+                                ? MongodbOutputFormat.WriteMode.INSERT
+                                : MongodbOutputFormat.WriteMode.UPSERT);
         FlinkxCommonConf flinkxCommonConf = new FlinkxCommonConf();
         flinkxCommonConf.setBatchSize(mongoWriteConf.getFlushMaxRows());
         flinkxCommonConf.setFlushIntervalMills(mongoWriteConf.getFlushInterval());
@@ -19,7 +19,9 @@
 package com.dtstack.flinkx.connector.mysql.dialect;
 
 import com.dtstack.flinkx.connector.jdbc.dialect.JdbcDialect;
+import com.dtstack.flinkx.connector.jdbc.sink.BulkLoader;
 import com.dtstack.flinkx.connector.mysql.converter.MysqlRawTypeConverter;
+import com.dtstack.flinkx.connector.mysql.sink.MysqlBulkLoader;
 import com.dtstack.flinkx.converter.RawTypeConverter;
 
 import java.util.Arrays;
@@ -53,6 +55,11 @@ public class MysqlDialect implements JdbcDialect {
         return Optional.of("com.mysql.jdbc.Driver");
     }
 
+    @Override
+    public Optional<BulkLoader> getBulkLoader() {
+        return Optional.of(new MysqlBulkLoader());
+    }
+
     @Override
     public String quoteIdentifier(String identifier) {
         return "`" + identifier + "`";
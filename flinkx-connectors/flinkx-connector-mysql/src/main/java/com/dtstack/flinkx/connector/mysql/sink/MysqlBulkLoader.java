@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.flinkx.connector.mysql.sink;
+
+import com.dtstack.flinkx.connector.jdbc.conf.JdbcConf;
+import com.dtstack.flinkx.connector.jdbc.dialect.JdbcDialect;
+import com.dtstack.flinkx.connector.jdbc.sink.BulkLoader;
+import com.dtstack.flinkx.connector.jdbc.sink.DelimitedRowsInputStream;
+import com.dtstack.flinkx.element.AbstractBaseColumn;
+import com.dtstack.flinkx.element.column.BooleanColumn;
+import com.dtstack.flinkx.util.DelimitedTextEncoder;
+
+import org.apache.flink.table.data.RowData;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 通过LOAD DATA LOCAL INFILE写入MySQL，驱动从输入流读取数据，数据按行边编码边发送，不生成本地文件。
+ *
+ * <p>需要服务端开启local_infile，jdbcUrl中配置allowLoadLocalInfile=true。LOCAL模式下主键冲突和无法转换的数据只产生警告，不会报错。
+ * 写入的行数少于这一批的行数时抛出异常，由JdbcOutputFormat回滚这一批数据并逐条写入，被跳过的数据记录为脏数据。
+ */
+public class MysqlBulkLoader implements BulkLoader {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MysqlBulkLoader.class);
+
+    private static final String LOAD_SQL_TEMPL =
+            "LOAD DATA LOCAL INFILE 'flinkx' INTO TABLE %s CHARACTER SET utf8mb4 "
+                    + "FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n' (%s)";
+    private static final String FIELD_DELIMITER = "\t";
+    private static final String ESCAPE = "\\";
+    private static final String NULL_VALUE = "\\N";
+    /** 二进制类型无法按文本写入 */
+    private static final Set<String> BINARY_TYPES =
+            new HashSet<>(
+                    Arrays.asList(
+                            "BIT",
+                            "BINARY",
+                            "VARBINARY",
+                            "TINYBLOB",
+                            "BLOB",
+                            "MEDIUMBLOB",
+                            "LONGBLOB",
+                            "GEOMETRY"));
+
+    private transient Connection connection;
+    private transient DelimitedTextEncoder encoder;
+    private String loadSql;
+    private int columnCount;
+
+    @Override
+    public boolean open(
+            Connection connection,
+            JdbcConf jdbcConf,
+            JdbcDialect jdbcDialect,
+            List<String> columnNameList,
+            List<String> columnTypeList)
+            throws SQLException {
+        if (!connection.isWrapperFor(com.mysql.jdbc.Connection.class)) {
+            LOG.warn("{} is not a MySQL connection", connection.getClass().getName());
+            return false;
+        }
+        for (String type : columnTypeList) {
+            if (BINARY_TYPES.contains(type.toUpperCase(Locale.ENGLISH))) {
+                LOG.warn("load data does not support column type {}", type);
+                return false;
+            }
+        }
+
+        String columns =
+                columnNameList.stream()
+                        .map(jdbcDialect::quoteIdentifier)
+                        .collect(Collectors.joining(", "));
+        loadSql =
+                String.format(
+                        LOAD_SQL_TEMPL,
+                        jdbcDialect.buildTableInfoWithSchema(
+                                jdbcConf.getSchema(), jdbcConf.getTable()),
+                        columns);
+        LOG.info("write sql:{}", loadSql);
+
+        this.connection = connection;
+        encoder = new DelimitedTextEncoder(FIELD_DELIMITER, StandardCharsets.UTF_8, null, ESCAPE);
+        encoder.setNullValue(NULL_VALUE);
+        columnCount = columnNameList.size();
+        return true;
+    }
+
+    @Override
+    public void load(List<RowData> rows) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            com.mysql.jdbc.Statement mysqlStatement =
+                    statement.unwrap(com.mysql.jdbc.Statement.class);
+            mysqlStatement.setLocalInfileInputStream(
+                    new DelimitedRowsInputStream(rows, columnCount, encoder, this::format));
+            try {
+                int count = statement.executeUpdate(loadSql);
+                if (count < rows.size()) {
+                    SQLException e =
+                            new SQLException(
+                                    String.format(
+                                            "load %s rows, but only %s rows are written, duplicate or invalid rows are skipped",
+                                            rows.size(), count));
+                    if (statement.getWarnings() != null) {
+                        e.setNextException(statement.getWarnings());
+                    }
+                    throw e;
+                }
+            } finally {
+                mysqlStatement.setLocalInfileInputStream(null);
+            }
+        }
+    }
+
+    private String format(AbstractBaseColumn column) {
+        if (column instanceof BooleanColumn) {
+            return column.asBoolean() ? "1" : "0";
+        }
+        return column.asString();
+    }
+
+    @Override
+    public void close() {
+        connection = null;
+        encoder = null;
+    }
+}
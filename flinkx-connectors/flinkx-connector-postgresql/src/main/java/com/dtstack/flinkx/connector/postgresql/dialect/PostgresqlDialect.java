@@ -19,8 +19,10 @@
 package com.dtstack.flinkx.connector.postgresql.dialect;
 
 import com.dtstack.flinkx.connector.jdbc.dialect.JdbcDialect;
+import com.dtstack.flinkx.connector.jdbc.sink.BulkLoader;
 import com.dtstack.flinkx.connector.jdbc.util.JdbcUtil;
 import com.dtstack.flinkx.connector.postgresql.converter.PostgresqlRawTypeConverter;
+import com.dtstack.flinkx.connector.postgresql.sink.PostgresqlBulkLoader;
 import com.dtstack.flinkx.converter.RawTypeConverter;
 
 import org.apache.commons.lang3.StringUtils;
@@ -124,14 +126,23 @@ public class PostgresqlDialect implements JdbcDialect {
         return sql.toString();
     }
 
+    @Override
+    public Optional<BulkLoader> getBulkLoader() {
+        return Optional.of(new PostgresqlBulkLoader());
+    }
+
     public String getCopyStatement(
-            String tableName, String[] fields, String fieldDelimiter, String nullVal) {
+            String schemaName,
+            String tableName,
+            String[] fields,
+            String fieldDelimiter,
+            String nullVal) {
         String fieldsExpression =
                 Arrays.stream(fields).map(this::quoteIdentifier).collect(Collectors.joining(", "));
 
         return String.format(
                 COPY_SQL_TEMPL,
-                quoteIdentifier(tableName),
+                buildTableInfoWithSchema(schemaName, tableName),
                 fieldsExpression,
                 fieldDelimiter,
                 nullVal);
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.flinkx.connector.postgresql.sink;
+
+import com.dtstack.flinkx.connector.jdbc.conf.JdbcConf;
+import com.dtstack.flinkx.connector.jdbc.dialect.JdbcDialect;
+import com.dtstack.flinkx.connector.jdbc.sink.BulkLoader;
+import com.dtstack.flinkx.connector.jdbc.sink.DelimitedRowsInputStream;
+import com.dtstack.flinkx.connector.postgresql.dialect.PostgresqlDialect;
+import com.dtstack.flinkx.element.AbstractBaseColumn;
+import com.dtstack.flinkx.util.DelimitedTextEncoder;
+
+import org.apache.flink.table.data.RowData;
+
+import org.apache.commons.lang3.StringUtils;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.core.BaseConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 通过COPY FROM STDIN写入PostgreSQL，数据按text格式边编码边发送，不拼接整批数据。
+ *
+ * <p>binary格式要求每个字段的编码和表字段类型严格一致(int2/int4/int8、numeric等)，任何一个不一致整批数据都会失败，所以使用text格式，由数据库转换类型。
+ */
+public class PostgresqlBulkLoader implements BulkLoader {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PostgresqlBulkLoader.class);
+
+    // pg 字符串里含有0x00 会报错 ERROR: invalid byte sequence for encoding "UTF8": 0x00
+    private static final char NUL = '\u0000';
+    private static final String DEFAULT_FIELD_DELIMITER = "\001";
+    private static final String DEFAULT_NULL_VALUE = "\002";
+    private static final String ESCAPE = "\\";
+    /** 二进制类型无法按text格式写入 */
+    private static final String BYTEA = "bytea";
+
+    private transient CopyManager copyManager;
+    private transient DelimitedTextEncoder encoder;
+    private String copySql;
+    private int columnCount;
+
+    @Override
+    public boolean open(
+            Connection connection,
+            JdbcConf jdbcConf,
+            JdbcDialect jdbcDialect,
+            List<String> columnNameList,
+            List<String> columnTypeList)
+            throws SQLException {
+        // greenplum使用pivotal驱动时没有CopyManager
+        if (!connection.isWrapperFor(BaseConnection.class)) {
+            LOG.warn("{} is not a PostgreSQL connection", connection.getClass().getName());
+            return false;
+        }
+        for (String type : columnTypeList) {
+            if (BYTEA.equalsIgnoreCase(type)) {
+                LOG.warn("copy does not support column type {}", type);
+                return false;
+            }
+        }
+
+        String fieldDelimiter =
+                StringUtils.isBlank(jdbcConf.getFieldDelim())
+                        ? DEFAULT_FIELD_DELIMITER
+                        : jdbcConf.getFieldDelim();
+        String nullValue =
+                StringUtils.isBlank(jdbcConf.getNullDelim())
+                        ? DEFAULT_NULL_VALUE
+                        : jdbcConf.getNullDelim();
+        copySql =
+                ((PostgresqlDialect) jdbcDialect)
+                        .getCopyStatement(
+                                jdbcConf.getSchema(),
+                                jdbcConf.getTable(),
+                                columnNameList.toArray(new String[0]),
+                                fieldDelimiter,
+                                nullValue);
+        LOG.info("write sql:{}", copySql);
+
+        copyManager = new CopyManager(connection.unwrap(BaseConnection.class));
+        // text格式中反斜杠是转义符，反斜杠、分隔符、换行和回车需要转义
+        encoder = new DelimitedTextEncoder(fieldDelimiter, StandardCharsets.UTF_8, null, ESCAPE);
+        encoder.setNullValue(nullValue);
+        columnCount = columnNameList.size();
+        return true;
+    }
+
+    @Override
+    public void load(List<RowData> rows) throws Exception {
+        copyManager.copyIn(
+                copySql,
+                new DelimitedRowsInputStream(rows, columnCount, encoder, this::format),
+                DelimitedTextEncoder.DEFAULT_CHUNK_SIZE);
+    }
+
+    private String format(AbstractBaseColumn column) {
+        String value = column.asString();
+        if (value.indexOf(NUL) >= 0) {
+            value = value.replace(String.valueOf(NUL), "");
+        }
+        return value;
+    }
+
+    @Override
+    public void close() {
+        copyManager = null;
+        encoder = null;
+    }
+}
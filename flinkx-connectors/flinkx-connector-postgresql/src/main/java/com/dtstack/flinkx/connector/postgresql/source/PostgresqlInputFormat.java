@@ -3,6 +3,7 @@ package com.dtstack.flinkx.connector.postgresql.source;
 import com.dtstack.flinkx.connector.jdbc.source.JdbcInputFormat;
 import com.dtstack.flinkx.util.ExceptionUtil;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.concurrent.TimeUnit;
@@ -10,17 +11,21 @@ import java.util.concurrent.TimeUnit;
 public class PostgresqlInputFormat extends JdbcInputFormat {
 
     @Override
-    protected void queryStartLocation() throws SQLException {
+    protected PreparedStatement preparePollingStatement(String sql) throws SQLException {
         // In PostgreSQL, if resultCursorType is FORWARD_ONLY
         // , the query will report an error after the method
         // #setFetchDirection(ResultSet.FETCH_REVERSE) is called.
-        ps =
+        PreparedStatement statement =
                 dbConn.prepareStatement(
-                        jdbcConf.getQuerySql(),
-                        ResultSet.TYPE_SCROLL_INSENSITIVE,
-                        resultSetConcurrency);
-        ps.setFetchSize(jdbcConf.getFetchSize());
-        ps.setQueryTimeout(jdbcConf.getQueryTimeOut());
+                        sql, ResultSet.TYPE_SCROLL_INSENSITIVE, resultSetConcurrency);
+        statement.setFetchSize(jdbcConf.getFetchSize());
+        statement.setQueryTimeout(jdbcConf.getQueryTimeOut());
+        return statement;
+    }
+
+    @Override
+    protected void queryStartLocation() throws SQLException {
+        ps = preparePollingStatement(jdbcConf.getQuerySql());
         resultSet = ps.executeQuery();
         hasNext = resultSet.next();
 
@@ -61,13 +66,7 @@ public class PostgresqlInputFormat extends JdbcInputFormat {
                 .append(jdbcDialect.quoteIdentifier(jdbcConf.getIncreColumn()))
                 .append(" ASC");
         jdbcConf.setQuerySql(builder.toString());
-        ps =
-                dbConn.prepareStatement(
-                        jdbcConf.getQuerySql(),
-                        ResultSet.TYPE_SCROLL_INSENSITIVE,
-                        resultSetConcurrency);
-        ps.setFetchSize(jdbcConf.getFetchSize());
-        ps.setQueryTimeout(jdbcConf.getQueryTimeOut());
+        ps = preparePollingStatement(jdbcConf.getQuerySql());
         LOG.info("update querySql, sql = {}", jdbcConf.getQuerySql());
     }
 }
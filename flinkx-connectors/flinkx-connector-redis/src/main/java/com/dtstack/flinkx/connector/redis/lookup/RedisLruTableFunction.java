@@ -23,6 +23,7 @@ import com.dtstack.flinkx.connector.redis.connection.RedisAsyncClient;
 import com.dtstack.flinkx.converter.AbstractRowConverter;
 import com.dtstack.flinkx.enums.ECacheContentType;
 import com.dtstack.flinkx.lookup.AbstractLruTableFunction;
+import com.dtstack.flinkx.lookup.LookupRequest;
 import com.dtstack.flinkx.lookup.cache.CacheMissVal;
 import com.dtstack.flinkx.lookup.cache.CacheObj;
 import com.dtstack.flinkx.lookup.conf.LookupConf;
@@ -33,6 +34,7 @@ import org.apache.flink.table.functions.FunctionContext;
 import org.apache.flink.shaded.curator4.com.google.common.collect.Lists;
 
 import io.lettuce.core.RedisFuture;
+import io.lettuce.core.api.async.BaseRedisAsyncCommands;
 import io.lettuce.core.api.async.RedisHashAsyncCommands;
 import io.lettuce.core.api.async.RedisKeyAsyncCommands;
 import org.apache.commons.collections.MapUtils;
@@ -77,33 +79,63 @@ public class RedisLruTableFunction extends AbstractLruTableFunction {
         String cacheKey = buildCacheKey(keys);
         RedisFuture<Map<String, String>> resultFuture =
                 ((RedisHashAsyncCommands) redisKeyAsyncCommands).hgetall(cacheKey);
-        resultFuture.thenAccept(
-                resultValues -> {
-                    if (MapUtils.isNotEmpty(resultValues)) {
-                        List<Map<String, String>> cacheContent = Lists.newArrayList();
-                        List<RowData> rowList = Lists.newArrayList();
-                        try {
-                            RowData rowData = rowConverter.toInternalLookup(resultValues);
-                            if (openCache()) {
-                                cacheContent.add(resultValues);
+        resultFuture.thenAccept(resultValues -> handleResult(future, cacheKey, resultValues));
+    }
+
+    /** Send the HGETALL commands of all the keys at once instead of flushing one by one. */
+    @Override
+    protected void handleAsyncBatchInvoke(List<LookupRequest> requests) {
+        BaseRedisAsyncCommands<String, String> commands =
+                (BaseRedisAsyncCommands<String, String>) redisKeyAsyncCommands;
+        commands.setAutoFlushCommands(false);
+        try {
+            for (LookupRequest request : requests) {
+                String cacheKey = request.getCacheKey();
+                RedisFuture<Map<String, String>> resultFuture =
+                        ((RedisHashAsyncCommands<String, String>) redisKeyAsyncCommands)
+                                .hgetall(cacheKey);
+                resultFuture.whenComplete(
+                        (resultValues, e) -> {
+                            if (e != null) {
+                                request.getFuture().completeExceptionally(e);
+                            } else {
+                                handleResult(request.getFuture(), cacheKey, resultValues);
                             }
-                            rowList.add(rowData);
-                        } catch (Exception e) {
-                            LOG.error(
-                                    "error:{} \n cacheKey:{} \n data:{}",
-                                    e.getMessage(),
-                                    cacheKey,
-                                    resultValues);
-                        }
-                        dealCacheData(
-                                cacheKey,
-                                CacheObj.buildCacheObj(ECacheContentType.MultiLine, cacheContent));
-                        future.complete(rowList);
-                    } else {
-                        dealMissKey(future);
-                        dealCacheData(cacheKey, CacheMissVal.getMissKeyObj());
-                    }
-                });
+                        });
+            }
+        } finally {
+            commands.flushCommands();
+            commands.setAutoFlushCommands(true);
+        }
+    }
+
+    private void handleResult(
+            CompletableFuture<Collection<RowData>> future,
+            String cacheKey,
+            Map<String, String> resultValues) {
+        if (MapUtils.isNotEmpty(resultValues)) {
+            List<Map<String, String>> cacheContent = Lists.newArrayList();
+            List<RowData> rowList = Lists.newArrayList();
+            try {
+                RowData rowData = rowConverter.toInternalLookup(resultValues);
+                if (openCache()) {
+                    cacheContent.add(resultValues);
+                }
+                rowList.add(rowData);
+            } catch (Exception e) {
+                LOG.error(
+                        "error:{} \n cacheKey:{} \n data:{}",
+                        e.getMessage(),
+                        cacheKey,
+                        resultValues);
+            }
+            dealCacheData(
+                    cacheKey, CacheObj.buildCacheObj(ECacheContentType.MultiLine, cacheContent));
+            future.complete(rowList);
+        } else {
+            dealMissKey(future);
+            dealCacheData(cacheKey, CacheMissVal.getMissKeyObj());
+        }
     }
 
     @Override
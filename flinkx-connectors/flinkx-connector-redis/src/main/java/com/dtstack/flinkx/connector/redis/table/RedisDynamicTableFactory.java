@@ -58,8 +58,12 @@ import static com.dtstack.flinkx.connector.redis.options.RedisOptions.TABLENAME;
 import static com.dtstack.flinkx.connector.redis.options.RedisOptions.TIMEOUT;
 import static com.dtstack.flinkx.connector.redis.options.RedisOptions.URL;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_ASYNC_TIMEOUT;
+import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_BATCH_INTERVAL;
+import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_BATCH_SIZE;
+import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_MAX_BYTES;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_MAX_ROWS;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_PERIOD;
+import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_REFRESH_INTERVAL;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_TTL;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_CACHE_TYPE;
 import static com.dtstack.flinkx.lookup.options.LookupOptions.LOOKUP_ERROR_LIMIT;
@@ -151,6 +155,10 @@ public class RedisDynamicTableFactory
         optionalOptions.add(LOOKUP_FETCH_SIZE);
         optionalOptions.add(LOOKUP_ASYNC_TIMEOUT);
         optionalOptions.add(LOOKUP_PARALLELISM);
+        optionalOptions.add(LOOKUP_BATCH_SIZE);
+        optionalOptions.add(LOOKUP_BATCH_INTERVAL);
+        optionalOptions.add(LOOKUP_CACHE_MAX_BYTES);
+        optionalOptions.add(LOOKUP_CACHE_REFRESH_INTERVAL);
         return optionalOptions;
     }
 
@@ -187,7 +195,11 @@ public class RedisDynamicTableFactory
                 .setErrorLimit(readableConfig.get(LOOKUP_ERROR_LIMIT))
                 .setFetchSize(readableConfig.get(LOOKUP_FETCH_SIZE))
                 .setAsyncTimeout(readableConfig.get(LOOKUP_ASYNC_TIMEOUT))
-                .setParallelism(readableConfig.get(LOOKUP_PARALLELISM));
+                .setParallelism(readableConfig.get(LOOKUP_PARALLELISM))
+                .setBatchSize(readableConfig.get(LOOKUP_BATCH_SIZE))
+                .setBatchInterval(readableConfig.get(LOOKUP_BATCH_INTERVAL))
+                .setCacheMaxBytes(readableConfig.get(LOOKUP_CACHE_MAX_BYTES))
+                .setCacheRefreshInterval(readableConfig.get(LOOKUP_CACHE_REFRESH_INTERVAL));
     }
 
     private void validateTableSchema(TableSchema physicalSchema) {
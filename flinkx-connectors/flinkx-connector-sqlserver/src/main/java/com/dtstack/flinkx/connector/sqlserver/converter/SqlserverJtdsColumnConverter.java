@@ -22,6 +22,7 @@ import com.dtstack.flinkx.conf.FieldConf;
 import com.dtstack.flinkx.conf.FlinkxCommonConf;
 import com.dtstack.flinkx.connector.jdbc.converter.JdbcColumnConverter;
 import com.dtstack.flinkx.connector.jdbc.statement.FieldNamedPreparedStatement;
+import com.dtstack.flinkx.converter.FieldPropsAssembler;
 import com.dtstack.flinkx.converter.IDeserializationConverter;
 import com.dtstack.flinkx.converter.ISerializationConverter;
 import com.dtstack.flinkx.element.AbstractBaseColumn;
@@ -41,7 +42,6 @@ import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.table.types.logical.TimestampType;
 
 import microsoft.sql.DateTimeOffset;
-import org.apache.commons.lang3.StringUtils;
 
 import java.sql.ResultSet;
 import java.sql.Timestamp;
@@ -66,11 +66,13 @@ public class SqlserverJtdsColumnConverter extends JdbcColumnConverter {
     @SuppressWarnings("unchecked")
     public RowData toInternal(ResultSet resultSet) throws Exception {
         List<FieldConf> fieldConfList = commonConf.getColumn();
+        FieldPropsAssembler[] assemblers = getFieldPropsAssemblers(fieldConfList);
         ColumnRowData result = new ColumnRowData(fieldConfList.size());
         int converterIndex = 0;
-        for (FieldConf fieldConf : fieldConfList) {
+        for (int i = 0; i < assemblers.length; i++) {
+            FieldConf fieldConf = fieldConfList.get(i);
             AbstractBaseColumn baseColumn = null;
-            if (StringUtils.isBlank(fieldConf.getValue())) {
+            if (!assemblers[i].isConstant()) {
                 // in sqlserver, timestamp type is a binary array of 8 bytes.
                 if ("timestamp".equalsIgnoreCase(fieldConf.getType())) {
                     byte[] value = (byte[]) resultSet.getObject(converterIndex + 1);
@@ -85,7 +87,7 @@ public class SqlserverJtdsColumnConverter extends JdbcColumnConverter {
                 }
                 converterIndex++;
             }
-            result.addField(assembleFieldProps(fieldConf, baseColumn));
+            result.addField(assemblers[i].assemble(baseColumn));
         }
         return result;
     }
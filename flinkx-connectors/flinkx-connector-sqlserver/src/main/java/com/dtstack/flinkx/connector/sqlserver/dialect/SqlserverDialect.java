@@ -20,6 +20,7 @@ package com.dtstack.flinkx.connector.sqlserver.dialect;
 
 import com.dtstack.flinkx.conf.FlinkxCommonConf;
 import com.dtstack.flinkx.connector.jdbc.dialect.JdbcDialect;
+import com.dtstack.flinkx.connector.jdbc.sink.BulkLoader;
 import com.dtstack.flinkx.connector.jdbc.source.JdbcInputSplit;
 import com.dtstack.flinkx.connector.jdbc.statement.FieldNamedPreparedStatement;
 import com.dtstack.flinkx.connector.jdbc.util.JdbcUtil;
@@ -28,6 +29,7 @@ import com.dtstack.flinkx.connector.sqlserver.converter.SqlserverJtdsRawTypeConv
 import com.dtstack.flinkx.connector.sqlserver.converter.SqlserverMicroSoftColumnConverter;
 import com.dtstack.flinkx.connector.sqlserver.converter.SqlserverMicroSoftRawTypeConverter;
 import com.dtstack.flinkx.connector.sqlserver.converter.SqlserverMicroSoftRowConverter;
+import com.dtstack.flinkx.connector.sqlserver.sink.SqlserverBulkLoader;
 import com.dtstack.flinkx.converter.AbstractRowConverter;
 import com.dtstack.flinkx.converter.RawTypeConverter;
 
@@ -99,6 +101,15 @@ public class SqlserverDialect implements JdbcDialect {
         }
     }
 
+    /** jtds驱动不支持bulk copy */
+    @Override
+    public Optional<BulkLoader> getBulkLoader() {
+        if (useJtdsDriver) {
+            return Optional.empty();
+        }
+        return Optional.of(new SqlserverBulkLoader());
+    }
+
     @Override
     public AbstractRowConverter<ResultSet, JsonArray, FieldNamedPreparedStatement, Integer>
             getColumnConverter(RowType rowType) {
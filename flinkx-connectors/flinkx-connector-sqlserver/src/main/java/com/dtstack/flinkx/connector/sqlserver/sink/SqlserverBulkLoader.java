@@ -0,0 +1,283 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.flinkx.connector.sqlserver.sink;
+
+import com.dtstack.flinkx.connector.jdbc.conf.JdbcConf;
+import com.dtstack.flinkx.connector.jdbc.dialect.JdbcDialect;
+import com.dtstack.flinkx.connector.jdbc.sink.BulkLoader;
+import com.dtstack.flinkx.element.AbstractBaseColumn;
+import com.dtstack.flinkx.element.ColumnRowData;
+
+import org.apache.flink.table.data.RowData;
+
+import com.microsoft.sqlserver.jdbc.ISQLServerBulkData;
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCopy;
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCopyOptions;
+import com.microsoft.sqlserver.jdbc.SQLServerConnection;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 通过SQLServerBulkCopy写入SqlServer，数据按行从RowData转换后直接发送，不生成中间文件。只支持微软驱动，jtds驱动使用批量执行sql写入。
+ *
+ * <p>字段类型取自目标表，数值、时间和二进制类型按原类型发送，其余类型按字符串发送，由驱动转换为目标表的类型。
+ */
+public class SqlserverBulkLoader implements BulkLoader {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SqlserverBulkLoader.class);
+
+    private transient SQLServerBulkCopy bulkCopy;
+    private String[] columnNames;
+    private int[] columnTypes;
+    private int[] precisions;
+    private int[] scales;
+
+    @Override
+    public boolean open(
+            Connection connection,
+            JdbcConf jdbcConf,
+            JdbcDialect jdbcDialect,
+            List<String> columnNameList,
+            List<String> columnTypeList)
+            throws SQLException {
+        if (!connection.isWrapperFor(SQLServerConnection.class)) {
+            LOG.warn("{} is not a SqlServer connection", connection.getClass().getName());
+            return false;
+        }
+
+        String table = quoteTable(jdbcConf.getSchema(), jdbcConf.getTable());
+        int columnCount = columnNameList.size();
+        columnNames = columnNameList.toArray(new String[0]);
+        columnTypes = new int[columnCount];
+        precisions = new int[columnCount];
+        scales = new int[columnCount];
+        String sql =
+                "SELECT TOP 0 "
+                        + columnNameList.stream()
+                                .map(SqlserverBulkLoader::quote)
+                                .collect(Collectors.joining(", "))
+                        + " FROM "
+                        + table;
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(sql)) {
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            for (int i = 0; i < columnCount; i++) {
+                columnTypes[i] = sourceType(metaData.getColumnType(i + 1));
+                precisions[i] = metaData.getPrecision(i + 1);
+                scales[i] = metaData.getScale(i + 1);
+            }
+        }
+
+        SQLServerBulkCopyOptions options = new SQLServerBulkCopyOptions();
+        // SqlserverOutputFormat开启了IDENTITY_INSERT，自增列写入源端的值
+        options.setKeepIdentity(true);
+        options.setKeepNulls(true);
+        options.setBatchSize(jdbcConf.getBatchSize());
+        // 超时由数据库连接控制
+        options.setBulkCopyTimeout(0);
+        bulkCopy = new SQLServerBulkCopy(connection.unwrap(SQLServerConnection.class));
+        bulkCopy.setBulkCopyOptions(options);
+        bulkCopy.setDestinationTableName(table);
+        for (int i = 0; i < columnCount; i++) {
+            bulkCopy.addColumnMapping(i + 1, columnNames[i]);
+        }
+        LOG.info("bulk copy to {}, columns {}", table, columnNameList);
+        return true;
+    }
+
+    @Override
+    public void load(List<RowData> rows) throws Exception {
+        bulkCopy.writeToServer(
+                new RowDataBulkData(rows, columnNames, columnTypes, precisions, scales));
+    }
+
+    @Override
+    public void close() {
+        if (bulkCopy != null) {
+            bulkCopy.close();
+            bulkCopy = null;
+        }
+    }
+
+    private static String quoteTable(String schema, String table) {
+        if (StringUtils.isBlank(schema)) {
+            return quote(table);
+        }
+        return quote(schema) + "." + quote(table);
+    }
+
+    private static String quote(String identifier) {
+        return "[" + identifier.replace("]", "]]") + "]";
+    }
+
+    /** 按原类型发送的字段类型，其余类型按字符串发送 */
+    private static int sourceType(int type) {
+        switch (type) {
+            case Types.BIT:
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+            case Types.DATE:
+            case Types.TIME:
+            case Types.TIMESTAMP:
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGNVARCHAR:
+                return type;
+            default:
+                return Types.NVARCHAR;
+        }
+    }
+
+    private static Object toValue(AbstractBaseColumn column, int type) {
+        if (column == null || column.getData() == null) {
+            return null;
+        }
+        switch (type) {
+            case Types.BIT:
+                return column.asBoolean();
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+                return column.asInt();
+            case Types.BIGINT:
+                return column.asLong();
+            case Types.REAL:
+                return column.asFloat();
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return column.asDouble();
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                return column.asBigDecimal();
+            case Types.DATE:
+                return column.asSqlDate();
+            case Types.TIME:
+                return column.asTime();
+            case Types.TIMESTAMP:
+                return column.asTimestamp();
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+                return column.asBytes();
+            default:
+                return column.asString();
+        }
+    }
+
+    /** 一批数据，驱动每调用一次next读取一行 */
+    private static class RowDataBulkData implements ISQLServerBulkData {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<RowData> rows;
+        private final String[] columnNames;
+        private final int[] columnTypes;
+        private final int[] precisions;
+        private final int[] scales;
+        private final Set<Integer> columnOrdinals;
+        private int index = -1;
+
+        RowDataBulkData(
+                List<RowData> rows,
+                String[] columnNames,
+                int[] columnTypes,
+                int[] precisions,
+                int[] scales) {
+            this.rows = rows;
+            this.columnNames = columnNames;
+            this.columnTypes = columnTypes;
+            this.precisions = precisions;
+            this.scales = scales;
+            this.columnOrdinals = new LinkedHashSet<>(columnNames.length);
+            for (int i = 1; i <= columnNames.length; i++) {
+                columnOrdinals.add(i);
+            }
+        }
+
+        @Override
+        public Set<Integer> getColumnOrdinals() {
+            return columnOrdinals;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return columnNames[column - 1];
+        }
+
+        @Override
+        public int getColumnType(int column) {
+            return columnTypes[column - 1];
+        }
+
+        @Override
+        public int getPrecision(int column) {
+            return precisions[column - 1];
+        }
+
+        @Override
+        public int getScale(int column) {
+            return scales[column - 1];
+        }
+
+        @Override
+        public Object[] getRowData() {
+            ColumnRowData row = (ColumnRowData) rows.get(index);
+            if (row.getArity() < columnNames.length) {
+                throw new IllegalArgumentException(
+                        String.format(
+                                "row has %s fields but %s columns are loaded, row = %s",
+                                row.getArity(), columnNames.length, row));
+            }
+            Object[] values = new Object[columnNames.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = toValue(row.getField(i), columnTypes[i]);
+            }
+            return values;
+        }
+
+        @Override
+        public boolean next() {
+            return ++index < rows.size();
+        }
+    }
+}
@@ -18,6 +18,7 @@
 package com.dtstack.flinkx.connector.stream.conf;
 
 import com.dtstack.flinkx.conf.FlinkxCommonConf;
+import com.dtstack.flinkx.connector.stream.util.CycledDataGenerator;
 
 import java.util.List;
 
@@ -28,9 +29,19 @@ import java.util.List;
  */
 public class StreamConf extends FlinkxCommonConf {
 
+    /** 每条数据都用JMockData生成随机值 */
+    public static final String MOCK_MODE_RANDOM = "random";
+    /** 预先生成固定数量的值并循环使用，用于压测 */
+    public static final String MOCK_MODE_CYCLE = "cycle";
+
     // reader
     private List<Long> sliceRecordCount;
 
+    private String mockMode = MOCK_MODE_RANDOM;
+
+    /** 循环模式下每个字段预先生成的值的数量 */
+    private int mockPoolSize = CycledDataGenerator.DEFAULT_POOL_SIZE;
+
     // writer
     private boolean print = true;
 
@@ -44,6 +55,26 @@ public class StreamConf extends FlinkxCommonConf {
         this.sliceRecordCount = sliceRecordCount;
     }
 
+    public String getMockMode() {
+        return mockMode;
+    }
+
+    public void setMockMode(String mockMode) {
+        this.mockMode = mockMode;
+    }
+
+    public boolean isCycleMock() {
+        return MOCK_MODE_CYCLE.equalsIgnoreCase(mockMode);
+    }
+
+    public int getMockPoolSize() {
+        return mockPoolSize;
+    }
+
+    public void setMockPoolSize(int mockPoolSize) {
+        this.mockPoolSize = mockPoolSize;
+    }
+
     public boolean getPrint() {
         return print;
     }
@@ -65,6 +96,11 @@ public class StreamConf extends FlinkxCommonConf {
         return "StreamConf{"
                 + "sliceRecordCount="
                 + sliceRecordCount
+                + ", mockMode='"
+                + mockMode
+                + '\''
+                + ", mockPoolSize="
+                + mockPoolSize
                 + ", print="
                 + print
                 + ", permitsPerSecond="
@@ -19,7 +19,9 @@ package com.dtstack.flinkx.connector.stream.converter;
 
 import com.dtstack.flinkx.conf.FieldConf;
 import com.dtstack.flinkx.conf.FlinkxCommonConf;
+import com.dtstack.flinkx.connector.stream.util.CycledDataGenerator;
 import com.dtstack.flinkx.converter.AbstractRowConverter;
+import com.dtstack.flinkx.converter.FieldPropsAssembler;
 import com.dtstack.flinkx.converter.IDeserializationConverter;
 import com.dtstack.flinkx.converter.ISerializationConverter;
 import com.dtstack.flinkx.element.AbstractBaseColumn;
@@ -59,6 +61,15 @@ public class StreamColumnConverter
     private static final AtomicLong id = new AtomicLong(0L);
 
     public StreamColumnConverter(FlinkxCommonConf commonConf) {
+        this(commonConf, 0);
+    }
+
+    /**
+     * @param commonConf 字段配置
+     * @param cyclePoolSize 大于0时每个字段预先生成的值的数量，循环使用，见{@link
+     *     CycledDataGenerator}；为0时每条数据都生成随机值。ID类型始终自增
+     */
+    public StreamColumnConverter(FlinkxCommonConf commonConf, int cyclePoolSize) {
         List<String> typeList =
                 commonConf.getColumn().stream()
                         .map(FieldConf::getType)
@@ -67,8 +78,14 @@ public class StreamColumnConverter
         toInternalConverters = new ArrayList<>(typeList.size());
         toExternalConverters = new ArrayList<>(typeList.size());
 
-        for (String s : typeList) {
-            toInternalConverters.add(createInternalConverter(s));
+        for (int i = 0; i < typeList.size(); i++) {
+            String s = typeList.get(i);
+            if (cyclePoolSize > 0 && !"ID".equalsIgnoreCase(s)) {
+                toInternalConverters.add(
+                        new CycledDataGenerator(createValueFactory(s), cyclePoolSize, i));
+            } else {
+                toInternalConverters.add(createInternalConverter(s));
+            }
             toExternalConverters.add(
                     wrapIntoNullableExternalConverter(createExternalConverter(s), s));
         }
@@ -123,6 +140,57 @@ public class StreamColumnConverter
         }
     }
 
+    /** 循环模式下生成一个字段值，与{@link #createInternalConverter(String)}的类型对应 */
+    private static CycledDataGenerator.ValueFactory createValueFactory(String type) {
+        switch (type.toUpperCase(Locale.ENGLISH)) {
+            case "INT":
+            case "INTEGER":
+                return random -> new BigDecimalColumn(random.nextInt());
+            case "BOOLEAN":
+                return random -> new BooleanColumn(random.nextBoolean());
+            case "TINYINT":
+            case "BYTE":
+                return random -> new ByteColumn((byte) random.nextInt());
+            case "CHAR":
+            case "CHARACTER":
+                return random ->
+                        new StringColumn(String.valueOf(CycledDataGenerator.randomChar(random)));
+            case "SHORT":
+            case "SMALLINT":
+                return random -> new BigDecimalColumn((short) random.nextInt());
+            case "LONG":
+            case "BIGINT":
+                return random -> new BigDecimalColumn(random.nextLong());
+            case "FLOAT":
+                return random -> new BigDecimalColumn(random.nextFloat());
+            case "DOUBLE":
+                return random -> new BigDecimalColumn(random.nextDouble());
+            case "DECIMAL":
+                return random -> new BigDecimalColumn(BigDecimal.valueOf(random.nextLong(), 4));
+            case "DATE":
+                return random ->
+                        new SqlDateColumn(
+                                Date.valueOf(
+                                        LocalDate.ofEpochDay(
+                                                CycledDataGenerator.randomEpochDay(random))));
+            case "DATETIME":
+                return random ->
+                        new TimestampColumn(CycledDataGenerator.randomEpochMillis(random), 0);
+            case "TIMESTAMP":
+                return random ->
+                        new TimestampColumn(CycledDataGenerator.randomEpochMillis(random));
+            case "TIME":
+                return random ->
+                        new TimeColumn(
+                                Time.valueOf(
+                                        LocalTime.ofNanoOfDay(
+                                                CycledDataGenerator.randomMillisOfDay(random)
+                                                        * 1_000_000L)));
+            default:
+                return random -> new StringColumn(CycledDataGenerator.randomString(random, 1, 32));
+        }
+    }
+
     @Override
     protected ISerializationConverter<ColumnRowData> createExternalConverter(String type) {
         return (val, index, rowData) -> rowData.addField(((ColumnRowData) val).getField(index));
@@ -132,11 +200,12 @@ public class StreamColumnConverter
     @SuppressWarnings("unchecked")
     public ColumnRowData toInternal(ColumnRowData rowData) throws Exception {
         List<FieldConf> fieldConfList = commonConf.getColumn();
+        FieldPropsAssembler[] assemblers = getFieldPropsAssemblers(fieldConfList);
         ColumnRowData result = new ColumnRowData(fieldConfList.size());
         for (int i = 0; i < fieldConfList.size(); i++) {
             AbstractBaseColumn baseColumn =
                     (AbstractBaseColumn) toInternalConverters.get(i).deserialize(null);
-            result.addField(assembleFieldProps(fieldConfList.get(i), baseColumn));
+            result.addField(assemblers[i].assemble(baseColumn));
         }
         return result;
     }
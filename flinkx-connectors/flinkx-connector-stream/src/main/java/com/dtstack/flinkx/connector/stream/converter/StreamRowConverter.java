@@ -18,6 +18,7 @@
 
 package com.dtstack.flinkx.connector.stream.converter;
 
+import com.dtstack.flinkx.connector.stream.util.CycledDataGenerator;
 import com.dtstack.flinkx.converter.AbstractRowConverter;
 import com.dtstack.flinkx.converter.IDeserializationConverter;
 import com.dtstack.flinkx.converter.ISerializationConverter;
@@ -42,6 +43,7 @@ import java.sql.Date;
 import java.sql.Time;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Random;
 
 import static java.time.temporal.ChronoField.MILLI_OF_DAY;
 
@@ -56,11 +58,24 @@ public class StreamRowConverter
     private static final long serialVersionUID = 1L;
 
     public StreamRowConverter(RowType rowType) {
+        this(rowType, 0);
+    }
+
+    /**
+     * @param rowType 字段类型
+     * @param cyclePoolSize 大于0时每个字段预先生成的值的数量，循环使用，见{@link
+     *     CycledDataGenerator}；为0时每条数据都生成随机值
+     */
+    public StreamRowConverter(RowType rowType, int cyclePoolSize) {
         super(rowType);
         for (int i = 0; i < rowType.getFieldCount(); i++) {
+            LogicalType type = rowType.getTypeAt(i);
             toInternalConverters.add(
                     wrapIntoNullableInternalConverter(
-                            createInternalConverter(rowType.getTypeAt(i))));
+                            cyclePoolSize > 0
+                                    ? new CycledDataGenerator(
+                                            createValueFactory(type), cyclePoolSize, i)
+                                    : createInternalConverter(type)));
             toExternalConverters.add(
                     wrapIntoNullableExternalConverter(
                             createExternalConverter(fieldTypes[i]), fieldTypes[i]));
@@ -161,6 +176,68 @@ public class StreamRowConverter
         }
     }
 
+    /** 循环模式下生成一个内部数据结构的字段值 */
+    private static CycledDataGenerator.ValueFactory createValueFactory(LogicalType type) {
+        switch (type.getTypeRoot()) {
+            case NULL:
+                return random -> null;
+            case BOOLEAN:
+                return Random::nextBoolean;
+            case FLOAT:
+                return Random::nextFloat;
+            case DOUBLE:
+                return Random::nextDouble;
+            case INTERVAL_YEAR_MONTH:
+                return random -> random.nextInt(1200);
+            case INTERVAL_DAY_TIME:
+                return random -> (long) CycledDataGenerator.randomMillisOfDay(random);
+            case TINYINT:
+                return random -> (byte) random.nextInt();
+            case SMALLINT:
+                return random -> (short) random.nextInt();
+            case INTEGER:
+                return Random::nextInt;
+            case BIGINT:
+                return Random::nextLong;
+            case DECIMAL:
+                final int precision = ((DecimalType) type).getPrecision();
+                final int scale = ((DecimalType) type).getScale();
+                long bound = 1;
+                for (int i = 0; i < Math.min(precision, 18); i++) {
+                    bound *= 10;
+                }
+                final long unscaledBound = bound;
+                return random ->
+                        DecimalData.fromBigDecimal(
+                                BigDecimal.valueOf(random.nextLong() % unscaledBound, scale),
+                                precision,
+                                scale);
+            case DATE:
+                return random -> (int) CycledDataGenerator.randomEpochDay(random);
+            case TIME_WITHOUT_TIME_ZONE:
+                return CycledDataGenerator::randomMillisOfDay;
+            case TIMESTAMP_WITH_TIME_ZONE:
+            case TIMESTAMP_WITH_LOCAL_TIME_ZONE:
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+                return random ->
+                        TimestampData.fromEpochMillis(
+                                CycledDataGenerator.randomEpochMillis(random));
+            case CHAR:
+            case VARCHAR:
+                return random ->
+                        StringData.fromString(CycledDataGenerator.randomString(random, 1, 32));
+            case BINARY:
+            case VARBINARY:
+                return random -> {
+                    byte[] bytes = new byte[16];
+                    random.nextBytes(bytes);
+                    return bytes;
+                };
+            default:
+                throw new UnsupportedOperationException("Unsupported type:" + type);
+        }
+    }
+
     @Override
     protected ISerializationConverter<GenericRowData> createExternalConverter(LogicalType type) {
         switch (type.getTypeRoot()) {
@@ -18,6 +18,9 @@
 
 package com.dtstack.flinkx.connector.stream.options;
 
+import com.dtstack.flinkx.connector.stream.conf.StreamConf;
+import com.dtstack.flinkx.connector.stream.util.CycledDataGenerator;
+
 import org.apache.flink.configuration.ConfigOption;
 import org.apache.flink.configuration.ConfigOptions;
 
@@ -47,4 +50,19 @@ public class StreamOptions {
 
     public static final ConfigOption<Long> ROWS_PER_SECOND =
             key("rows-per-second").longType().defaultValue(0L).withDescription("rows-per-second.");
+
+    public static final ConfigOption<String> MOCK_MODE =
+            key("mock-mode")
+                    .stringType()
+                    .defaultValue(StreamConf.MOCK_MODE_RANDOM)
+                    .withDescription(
+                            "random: mock every value by JMockData, "
+                                    + "cycle: cycle the values generated in advance.");
+
+    public static final ConfigOption<Integer> MOCK_POOL_SIZE =
+            key("mock-pool-size")
+                    .intType()
+                    .defaultValue(CycledDataGenerator.DEFAULT_POOL_SIZE)
+                    .withDescription(
+                            "number of values generated in advance for each column in cycle mode.");
 }
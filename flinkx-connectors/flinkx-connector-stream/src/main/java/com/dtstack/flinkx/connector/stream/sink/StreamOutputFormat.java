@@ -50,15 +50,18 @@ public class StreamOutputFormat extends BaseRichOutputFormat {
 
     @Override
     protected void writeSingleRecordInternal(RowData rowData) throws WriteRecordException {
+        if (!streamConf.getPrint()) {
+            // 只有打印时需要转换，不打印时直接丢弃数据，可以作为压测的sink
+            lastRow = rowData;
+            return;
+        }
         try {
             @SuppressWarnings("unchecked")
             RowData row =
                     (RowData)
                             rowConverter.toExternal(
                                     rowData, new GenericRowData(rowData.getArity()));
-            if (streamConf.getPrint()) {
-                TablePrintUtil.printTable(row, getFieldNames(rowData));
-            }
+            TablePrintUtil.printTable(row, getFieldNames(rowData));
             lastRow = row;
         } catch (Exception e) {
             throw new WriteRecordException("", e, 0, rowData);
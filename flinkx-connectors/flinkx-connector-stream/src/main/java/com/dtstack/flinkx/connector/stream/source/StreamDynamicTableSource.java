@@ -73,7 +73,9 @@ public class StreamDynamicTableSource implements ScanTableSource {
         streamConf.setColumn(fieldConfList);
 
         StreamInputFormatBuilder builder = new StreamInputFormatBuilder();
-        builder.setRowConverter(new StreamRowConverter(rowType));
+        builder.setRowConverter(
+                new StreamRowConverter(
+                        rowType, streamConf.isCycleMock() ? streamConf.getMockPoolSize() : 0));
         builder.setStreamConf(streamConf);
 
         return ParallelSourceFunctionProvider.of(
@@ -44,5 +44,15 @@ public class StreamInputFormatBuilder extends BaseRichInputFormatBuilder<StreamI
         if (CollectionUtils.isEmpty(format.getStreamConf().getColumn())) {
             throw new IllegalArgumentException("columns can not be empty");
         }
+        StreamConf streamConf = format.getStreamConf();
+        if (!streamConf.isCycleMock()
+                && !StreamConf.MOCK_MODE_RANDOM.equalsIgnoreCase(streamConf.getMockMode())) {
+            throw new IllegalArgumentException(
+                    "mockMode must be random or cycle: " + streamConf.getMockMode());
+        }
+        if (streamConf.isCycleMock() && streamConf.getMockPoolSize() <= 0) {
+            throw new IllegalArgumentException(
+                    "mockPoolSize must be positive: " + streamConf.getMockPoolSize());
+        }
     }
 }
@@ -57,18 +57,22 @@ public class StreamSourceFactory extends SourceFactory {
         builder.setStreamConf(streamConf);
         AbstractRowConverter rowConverter;
         if (useAbstractBaseColumn) {
-            rowConverter = new StreamColumnConverter(streamConf);
+            rowConverter = new StreamColumnConverter(streamConf, getCyclePoolSize());
         } else {
             checkConstant(streamConf);
             final RowType rowType =
                     TableUtil.createRowType(streamConf.getColumn(), getRawTypeConverter());
-            rowConverter = new StreamRowConverter(rowType);
+            rowConverter = new StreamRowConverter(rowType, getCyclePoolSize());
         }
         builder.setRowConverter(rowConverter);
 
         return createInput(builder.finish());
     }
 
+    private int getCyclePoolSize() {
+        return streamConf.isCycleMock() ? streamConf.getMockPoolSize() : 0;
+    }
+
     @Override
     public RawTypeConverter getRawTypeConverter() {
         return StreamRawTypeConverter::apply;
@@ -62,6 +62,8 @@ public class StreamDynamicTableFactory
         Set<ConfigOption<?>> options = new HashSet<>();
         options.add(StreamOptions.NUMBER_OF_ROWS);
         options.add(StreamOptions.ROWS_PER_SECOND);
+        options.add(StreamOptions.MOCK_MODE);
+        options.add(StreamOptions.MOCK_POOL_SIZE);
         options.add(StreamOptions.PRINT);
         options.add(StreamOptions.SINK_PARALLELISM);
         return options;
@@ -101,6 +103,8 @@ public class StreamDynamicTableFactory
         streamConf.setSliceRecordCount(
                 Collections.singletonList(options.get(StreamOptions.NUMBER_OF_ROWS)));
         streamConf.setPermitsPerSecond(options.get(StreamOptions.ROWS_PER_SECOND));
+        streamConf.setMockMode(options.get(StreamOptions.MOCK_MODE));
+        streamConf.setMockPoolSize(options.get(StreamOptions.MOCK_POOL_SIZE));
 
         return new StreamDynamicTableSource(schema, streamConf);
     }
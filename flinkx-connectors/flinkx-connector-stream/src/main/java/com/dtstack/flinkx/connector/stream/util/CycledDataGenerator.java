@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.flinkx.connector.stream.util;
+
+import com.dtstack.flinkx.converter.IDeserializationConverter;
+
+import java.io.Serializable;
+import java.util.Random;
+
+/**
+ * 循环模式下一个字段的数据生成器。打开后用固定的随机数种子预先生成poolSize个值，之后每条数据按顺序取一个值，
+ * 取到末尾后从头开始，生成一条数据只需要一次数组访问，每次运行生成的数据相同。
+ *
+ * <p>生成的值会被多条数据共用，只能用于不可变的值。
+ */
+public class CycledDataGenerator implements IDeserializationConverter<Object, Object> {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int DEFAULT_POOL_SIZE = 1024;
+
+    /** 2020-01-01 00:00:00 UTC，生成的日期和时间从这一天开始 */
+    private static final long BASE_MILLIS = 1577836800000L;
+
+    private static final long BASE_EPOCH_DAY = BASE_MILLIS / 86400000L;
+
+    /** 生成的日期和时间的范围，10年 */
+    private static final int DAY_RANGE = 3650;
+
+    private static final int MILLIS_OF_DAY = 86400000;
+
+    private static final char[] CHARS =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+
+    private final ValueFactory factory;
+    private final int poolSize;
+    private final long seed;
+
+    private transient Object[] values;
+    private transient int index;
+
+    /**
+     * @param factory 生成一个值
+     * @param poolSize 预先生成的值的数量
+     * @param seed 随机数种子，不同字段使用不同的种子
+     */
+    public CycledDataGenerator(ValueFactory factory, int poolSize, long seed) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("mockPoolSize must be positive: " + poolSize);
+        }
+        this.factory = factory;
+        this.poolSize = poolSize;
+        this.seed = seed;
+    }
+
+    @Override
+    public Object deserialize(Object field) {
+        if (values == null) {
+            Random random = new Random(seed);
+            values = new Object[poolSize];
+            for (int i = 0; i < poolSize; i++) {
+                values[i] = factory.create(random);
+            }
+        }
+        Object value = values[index];
+        if (++index == values.length) {
+            index = 0;
+        }
+        return value;
+    }
+
+    public static char randomChar(Random random) {
+        return CHARS[random.nextInt(CHARS.length)];
+    }
+
+    /** 长度在[minLength, maxLength]之间的字母数字字符串 */
+    public static String randomString(Random random, int minLength, int maxLength) {
+        char[] chars = new char[minLength + random.nextInt(maxLength - minLength + 1)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = randomChar(random);
+        }
+        return new String(chars);
+    }
+
+    public static long randomEpochDay(Random random) {
+        return BASE_EPOCH_DAY + random.nextInt(DAY_RANGE);
+    }
+
+    public static long randomEpochMillis(Random random) {
+        return BASE_MILLIS
+                + random.nextInt(DAY_RANGE) * (long) MILLIS_OF_DAY
+                + randomMillisOfDay(random);
+    }
+
+    public static int randomMillisOfDay(Random random) {
+        return random.nextInt(MILLIS_OF_DAY);
+    }
+
+    /** 生成一个值，需要可以序列化 */
+    @FunctionalInterface
+    public interface ValueFactory extends Serializable {
+        Object create(Random random);
+    }
+}
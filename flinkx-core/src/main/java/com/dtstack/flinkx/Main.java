@@ -55,6 +55,7 @@ import org.apache.flink.streaming.api.datastream.DataStreamSource;
 import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
 import org.apache.flink.table.api.StatementSet;
 import org.apache.flink.table.api.Table;
+import org.apache.flink.table.api.TableException;
 import org.apache.flink.table.api.TableResult;
 import org.apache.flink.table.api.bridge.java.StreamTableEnvironment;
 import org.apache.flink.table.data.RowData;
@@ -250,8 +251,16 @@ public class Main {
         String[] tableFieldNames = adaptTable.getSchema().getFieldNames();
         TypeInformation<RowData> typeInformation =
                 TableUtil.getTypeInformation(tableDataTypes, tableFieldNames);
-        DataStream<RowData> dataStream =
-                tableEnv.toRetractStream(adaptTable, typeInformation).map(f -> f.f1);
+        DataStream<RowData> dataStream;
+        try {
+            // projection and filter only produce inserts, no need to wrap and unwrap Tuple2.
+            dataStream = tableEnv.toAppendStream(adaptTable, typeInformation);
+        } catch (TableException e) {
+            LOG.info(
+                    "transformSql produces update changes, convert it with retract stream. {}",
+                    e.getMessage());
+            dataStream = tableEnv.toRetractStream(adaptTable, typeInformation).map(f -> f.f1);
+        }
         tableEnv.createTemporaryView(config.getWriter().getTable().getTableName(), dataStream);
 
         return dataStream;
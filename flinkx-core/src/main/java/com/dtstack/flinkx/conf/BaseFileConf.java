@@ -41,6 +41,10 @@ public class BaseFileConf extends FlinkxCommonConf {
     private String encoding = StandardCharsets.UTF_8.name();
     private long maxFileSize = ConstantValue.STORE_SIZE_G;
     private long nextCheckRows = 5000;
+    /** 文本文件字段的引号字符，为空时不处理引号 */
+    private String quoteChar;
+    /** 文本文件的转义字符，为空时不处理转义 */
+    private String escapeChar;
 
     public int getFromLine() {
         return fromLine;
@@ -106,6 +110,22 @@ public class BaseFileConf extends FlinkxCommonConf {
         this.nextCheckRows = nextCheckRows;
     }
 
+    public String getQuoteChar() {
+        return quoteChar;
+    }
+
+    public void setQuoteChar(String quoteChar) {
+        this.quoteChar = quoteChar;
+    }
+
+    public String getEscapeChar() {
+        return escapeChar;
+    }
+
+    public void setEscapeChar(String escapeChar) {
+        this.escapeChar = escapeChar;
+    }
+
     @Override
     public String toString() {
         return "BaseFileConf{"
@@ -128,6 +148,12 @@ public class BaseFileConf extends FlinkxCommonConf {
                 + maxFileSize
                 + ", nextCheckRows="
                 + nextCheckRows
+                + ", quoteChar='"
+                + quoteChar
+                + '\''
+                + ", escapeChar='"
+                + escapeChar
+                + '\''
                 + '}';
     }
 }
@@ -82,10 +82,22 @@ public class Metrics {
 
     public static final String NUM_SIDE_PARSE_ERROR_RECORDS = "dtNumSideParseErrorRecords";
 
+    public static final String LOOKUP_TABLE = "lookupTable";
+
+    public static final String NUM_SIDE_CACHE_HIT_RECORDS = "dtNumSideCacheHitRecords";
+
+    public static final String NUM_SIDE_CACHE_MISS_RECORDS = "dtNumSideCacheMissRecords";
+
+    public static final String SIDE_LOAD_LATENCY = "dtSideLoadLatency";
+
     public static final String DIRTY_DATA_COUNT = "count";
 
     public static final String DIRTY_DATA_COLLECT_FAILED_COUNT = "collectFailedCount";
 
+    public static final String DIRTY_DATA_DROPPED_COUNT = "droppedCount";
+
+    public static final String DIRTY_DATA_QUEUE_SIZE = "queueSize";
+
     public static final List<String> METRIC_SINK_LIST =
             Arrays.asList(
                     NUM_ERRORS,
@@ -38,6 +38,7 @@ import java.sql.ResultSet;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.apache.flink.util.Preconditions.checkNotNull;
 
@@ -60,6 +61,8 @@ public abstract class AbstractRowConverter<SourceT, LookupT, SinkT, T> implement
     protected ArrayList<ISerializationConverter> toExternalConverters;
     protected LogicalType[] fieldTypes;
     protected FlinkxCommonConf commonConf;
+    /** The compiled field properties of the column list, built on the first row. */
+    protected transient FieldPropsAssembler[] fieldPropsAssemblers;
 
     public AbstractRowConverter() {}
 
@@ -141,6 +144,20 @@ public abstract class AbstractRowConverter<SourceT, LookupT, SinkT, T> implement
         return baseColumn;
     }
 
+    /**
+     * Get the field properties compiled from the column list, which is expected to be the same
+     * list for every row.
+     *
+     * @param fieldConfList column list.
+     * @return assembler of each field.
+     */
+    protected FieldPropsAssembler[] getFieldPropsAssemblers(List<FieldConf> fieldConfList) {
+        if (fieldPropsAssemblers == null) {
+            fieldPropsAssemblers = FieldPropsAssembler.compile(fieldConfList);
+        }
+        return fieldPropsAssemblers;
+    }
+
     /** Convert val from timestampString to longString with parseFormat and */
     public String getMilliSecondsWithParseFormat(String val, String parseFormat, String format) {
         if (StringUtils.isNotBlank(parseFormat) && val != null) {
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.flinkx.converter;
+
+import com.dtstack.flinkx.conf.FieldConf;
+import com.dtstack.flinkx.element.AbstractBaseColumn;
+import com.dtstack.flinkx.element.column.StringColumn;
+import com.dtstack.flinkx.enums.ColumnType;
+import com.dtstack.flinkx.util.DateLayoutDetector;
+import com.dtstack.flinkx.util.DateUtil;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The field properties of one {@link FieldConf}, constant value, format and parse format, checked
+ * once instead of on every row. A constant is materialized once, the date formats are built once
+ * and the date layout of the values is detected on the first value, so an assembler is not
+ * thread-safe and belongs to one converter.
+ */
+public class FieldPropsAssembler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FieldPropsAssembler.class);
+
+    /** The constant value of the field, null if the field reads from the source. */
+    private final String constant;
+
+    /** The output format, null if blank. */
+    private final String format;
+
+    private final String parseFormat;
+
+    private final SimpleDateFormat parseDateFormat;
+
+    private final SimpleDateFormat formatDateFormat;
+
+    /** The date layout of the values of the field, detected on the first value. */
+    private final DateLayoutDetector dateLayoutDetector = new DateLayoutDetector();
+
+    private FieldPropsAssembler(FieldConf fieldConf) {
+        String value = fieldConf.getValue();
+        this.format = StringUtils.isNotBlank(fieldConf.getFormat()) ? fieldConf.getFormat() : null;
+        this.parseFormat =
+                StringUtils.isNotBlank(fieldConf.getParseFormat())
+                        ? fieldConf.getParseFormat()
+                        : null;
+
+        if (StringUtils.isNotBlank(value)) {
+            String type = fieldConf.getType();
+            if ((ColumnType.isStringType(type) || ColumnType.isTimeType(type)) && format != null) {
+                SimpleDateFormat constantParseFormat =
+                        parseFormat == null ? null : new SimpleDateFormat(parseFormat);
+                this.constant =
+                        String.valueOf(
+                                DateUtil.columnToDate(value, constantParseFormat).getTime());
+            } else {
+                this.constant = value;
+            }
+            this.parseDateFormat = null;
+            this.formatDateFormat = null;
+        } else {
+            this.constant = null;
+            boolean parse = format != null && parseFormat != null;
+            this.parseDateFormat = parse ? new SimpleDateFormat(parseFormat) : null;
+            this.formatDateFormat = parse ? new SimpleDateFormat(format) : null;
+        }
+    }
+
+    public static FieldPropsAssembler compile(FieldConf fieldConf) {
+        return new FieldPropsAssembler(fieldConf);
+    }
+
+    public static FieldPropsAssembler[] compile(List<FieldConf> fieldConfList) {
+        FieldPropsAssembler[] assemblers = new FieldPropsAssembler[fieldConfList.size()];
+        for (int i = 0; i < assemblers.length; i++) {
+            assemblers[i] = compile(fieldConfList.get(i));
+        }
+        return assemblers;
+    }
+
+    /** Whether the field is a constant and does not read from the source. */
+    public boolean isConstant() {
+        return constant != null;
+    }
+
+    /**
+     * Same as {@link AbstractRowConverter#assembleFieldProps(FieldConf, AbstractBaseColumn)}.
+     *
+     * @param baseColumn the column read from the source, ignored for a constant field.
+     * @return the column with constant and format applied.
+     */
+    public AbstractBaseColumn assemble(AbstractBaseColumn baseColumn) {
+        if (constant != null) {
+            return new StringColumn(constant, format, dateLayoutDetector);
+        }
+        if (format == null) {
+            return baseColumn;
+        }
+        String val = baseColumn.asString();
+        if (parseDateFormat != null && val != null) {
+            val = String.valueOf(parseMilliSeconds(val));
+        }
+        return new StringColumn(val, format, dateLayoutDetector);
+    }
+
+    private long parseMilliSeconds(String val) {
+        Date date = DateUtil.parse(parseDateFormat, val);
+        if (date == null) {
+            LOG.warn(
+                    String.format(
+                            "Cannot parse val %s with the given parseFormat[%s],try parsing with format[%s]",
+                            val, parseFormat, format));
+            date = DateUtil.parse(formatDateFormat, val);
+            if (date == null) {
+                throw new UnsupportedOperationException(
+                        String.format(
+                                "Cannot parse val %s with the given parseFormat[%s] and format[%s]",
+                                val, parseFormat, format));
+            }
+        }
+        return date.getTime();
+    }
+}
@@ -54,6 +54,15 @@ public class DirtyConf implements Serializable {
     /** Flinkx dirty-plugins local plugins path {@link Options#getFlinkLibDir()} */
     private String localPluginPath;
 
+    /** The max number of dirty-data waiting to be consumed. */
+    private int queueSize = 10000;
+
+    /** What to do when the queue is full: block, drop or sample. */
+    private String overflowPolicy = "block";
+
+    /** Keep one of every ${sampleRate} dirty-data when the queue is full with sample policy. */
+    private long sampleRate = 100L;
+
     public long getMaxConsumed() {
         return maxConsumed;
     }
@@ -102,6 +111,30 @@ public class DirtyConf implements Serializable {
         this.localPluginPath = localPluginPath;
     }
 
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public String getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(String overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public long getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(long sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
     @Override
     public String toString() {
         return new StringJoiner(", ", DirtyConf.class.getSimpleName() + "[", "]")
@@ -111,6 +144,9 @@ public class DirtyConf implements Serializable {
                 .add("printRate=" + printRate)
                 .add("pluginProperties=" + pluginProperties)
                 .add("localPluginPath='" + localPluginPath + "'")
+                .add("queueSize=" + queueSize)
+                .add("overflowPolicy='" + overflowPolicy + "'")
+                .add("sampleRate=" + sampleRate)
                 .toString();
     }
 }
@@ -28,8 +28,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 import static com.dtstack.flinkx.dirty.utils.LogUtil.warn;
 
@@ -43,10 +50,21 @@ public abstract class DirtyDataCollector implements Runnable, Serializable {
 
     protected final LongCounter consumedCounter = new LongCounter(0L);
 
+    protected final LongCounter droppedCounter = new LongCounter(0L);
+
     private static final long serialVersionUID = 1L;
 
     private static final Logger LOG = LoggerFactory.getLogger(DirtyDataCollector.class);
 
+    /** The max number of dirty data drained from the queue in one round. */
+    private static final int MAX_DRAIN_SIZE = 1000;
+
+    /** How long the consumer thread parks when the queue is empty. */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /** How long the task thread parks when the queue is full with block policy. */
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
     /** private dirty data every ${printRate} */
     protected long printRate = Long.MAX_VALUE;
 
@@ -63,35 +81,191 @@ public abstract class DirtyDataCollector implements Runnable, Serializable {
      */
     protected long maxFailedConsumed = 1L;
 
+    /** The max number of dirty data waiting in {@link #consumeQueue}. */
+    protected int queueCapacity = Integer.MAX_VALUE;
+
+    /** What to do with the dirty data when {@link #consumeQueue} is full. */
+    protected OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    /** Keep one of every ${sampleRate} overflowed dirty data with {@link OverflowPolicy#SAMPLE}. */
+    protected long sampleRate = 1L;
+
     /** The flag of consumer thread. */
     protected AtomicBoolean isRunning = new AtomicBoolean(true);
 
     /** The queue stored the data not yet consumed. */
-    protected LinkedBlockingQueue<DirtyDataEntry> consumeQueue = new LinkedBlockingQueue<>();
+    protected ConcurrentLinkedQueue<DirtyDataEntry> consumeQueue = new ConcurrentLinkedQueue<>();
+
+    /** The size of {@link #consumeQueue}, {@link ConcurrentLinkedQueue#size()} is O(n). */
+    private final AtomicInteger queueSize = new AtomicInteger(0);
+
+    /** The exact consumed count shared by task threads, the counter is not thread-safe. */
+    private final AtomicLong consumedCount = new AtomicLong(0L);
+
+    private final AtomicLong overflowCount = new AtomicLong(0L);
+
+    /** How long {@link #stopConsumer()} waits for the consumer thread. */
+    private static final long STOP_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private static final long STOP_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private transient volatile Thread consumerThread;
+
+    /** Set when the consumer thread leaves {@link #run()}. */
+    private transient volatile boolean consumerExited;
+
+    /**
+     * Offer data into the queue, the data is dropped if no slot can be reserved.
+     *
+     * @param dirty dirty data.
+     */
+    public void offer(DirtyDataEntry dirty) {
+        if (reserve()) {
+            offerReserved(dirty);
+        }
+    }
+
+    /**
+     * Reserve a slot in the queue before the dirty data is built, so that the data dropped by
+     * {@link OverflowPolicy#DROP} or {@link OverflowPolicy#SAMPLE} costs nothing more. It never
+     * takes a lock, the task thread only waits when the queue is full and the overflow policy is
+     * {@link OverflowPolicy#BLOCK}. A reserved slot must be filled by {@link
+     * #offerReserved(DirtyDataEntry)}.
+     *
+     * @return false if the dirty data is dropped.
+     */
+    public boolean reserve() {
+        boolean overflowed = false;
+        while (true) {
+            int size = queueSize.get();
+            if (size < queueCapacity) {
+                if (queueSize.compareAndSet(size, size + 1)) {
+                    return true;
+                }
+                continue;
+            }
+            if (!overflowed) {
+                overflowed = true;
+                if (overflowPolicy == OverflowPolicy.DROP
+                        || (overflowPolicy == OverflowPolicy.SAMPLE
+                                && overflowCount.incrementAndGet() % sampleRate != 0)) {
+                    droppedCounter.add(1L);
+                    return false;
+                }
+            }
+            if (!isRunning.get()) {
+                droppedCounter.add(1L);
+                return false;
+            }
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+    }
 
     /**
-     * Offer data into the blocking-queue.
+     * Put dirty data into a slot reserved by {@link #reserve()}, it is counted as consumed once it
+     * is in the queue.
      *
      * @param dirty dirty data.
      */
-    public synchronized void offer(DirtyDataEntry dirty) {
+    public void offerReserved(DirtyDataEntry dirty) {
         consumeQueue.offer(dirty);
+        if (queueSize.get() == 1) {
+            Thread thread = consumerThread;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
         addConsumed(1L);
     }
 
     public void initializeConsumer(DirtyConf conf) {
         this.maxConsumed = conf.getMaxConsumed();
         this.maxFailedConsumed = conf.getMaxFailedConsumed();
+        this.queueCapacity = conf.getQueueSize();
+        this.overflowPolicy = OverflowPolicy.fromString(conf.getOverflowPolicy());
+        this.sampleRate = conf.getSampleRate();
 
         this.init(conf);
     }
 
     @Override
     public void run() {
-        while (isRunning.get()) {
+        consumerThread = Thread.currentThread();
+        List<DirtyDataEntry> batch = new ArrayList<>();
+        try {
+            while (isRunning.get()) {
+                try {
+                    if (drain(batch) == 0) {
+                        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                        continue;
+                    }
+                    consume(batch);
+                } catch (NoRestartException e) {
+                    // release the task threads waiting for space in the queue.
+                    isRunning.compareAndSet(true, false);
+                    throw e;
+                } catch (Exception e) {
+                    addFailedConsumed(e, batch.size());
+                } finally {
+                    batch.clear();
+                }
+            }
+        } finally {
+            consumerExited = true;
+        }
+    }
+
+    /**
+     * Stop the consumer thread and wait until it has consumed the batch in hand and left {@link
+     * #run()}, so that the caller is the only one draining the queue afterwards. It must not be
+     * called while holding a lock the consumer thread takes in {@link #consume(List)}.
+     */
+    protected void stopConsumer() {
+        isRunning.compareAndSet(true, false);
+        Thread thread = consumerThread;
+        if (thread == null || thread == Thread.currentThread()) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        long deadline = System.nanoTime() + STOP_TIMEOUT_NANOS;
+        while (!consumerExited && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(STOP_PARK_NANOS);
+        }
+        if (!consumerExited) {
+            LOG.warn("dirty consumer thread [{}] did not stop in time", thread.getName());
+        }
+    }
+
+    /**
+     * Move at most {@link #MAX_DRAIN_SIZE} dirty data from the queue into the batch, transforming
+     * the data and the error cause to String here instead of in the task thread.
+     *
+     * @param batch the batch to fill.
+     * @return the number of dirty data drained.
+     */
+    protected int drain(List<DirtyDataEntry> batch) {
+        DirtyDataEntry dirty;
+        while (batch.size() < MAX_DRAIN_SIZE && (dirty = consumeQueue.poll()) != null) {
+            queueSize.decrementAndGet();
+            dirty.materialize();
+            batch.add(dirty);
+        }
+        return batch.size();
+    }
+
+    /**
+     * Consume a batch of dirty data. Plugins which can write in batches should override it, the
+     * default consumes the data one by one.
+     *
+     * @param dirties dirty data which should be consumed.
+     * @throws Exception exception.
+     */
+    protected void consume(List<DirtyDataEntry> dirties) throws Exception {
+        for (DirtyDataEntry dirty : dirties) {
             try {
-                DirtyDataEntry dirty = consumeQueue.take();
                 consume(dirty);
+            } catch (NoRestartException e) {
+                throw e;
             } catch (Exception e) {
                 addFailedConsumed(e, 1L);
             }
@@ -100,7 +274,7 @@ public abstract class DirtyDataCollector implements Runnable, Serializable {
 
     protected void addConsumed(long count) {
         consumedCounter.add(count);
-        if (consumedCounter.getLocalValue() >= maxConsumed) {
+        if (consumedCount.addAndGet(count) >= maxConsumed) {
             throw new NoRestartException(
                     String.format(
                             "The dirty consumer shutdown, due to the consumed count exceed the max-consumed [%s]",
@@ -133,6 +307,14 @@ public abstract class DirtyDataCollector implements Runnable, Serializable {
         return failedConsumedCounter;
     }
 
+    public LongCounter getDropped() {
+        return droppedCounter;
+    }
+
+    public int getQueueSize() {
+        return queueSize.get();
+    }
+
     public void open() {}
 
     /**
@@ -152,4 +334,26 @@ public abstract class DirtyDataCollector implements Runnable, Serializable {
 
     /** Close and release resource, and flush the data which is not been consumed in the queue; */
     public abstract void close();
+
+    /** The policy applied when the queue of dirty data is full. */
+    public enum OverflowPolicy {
+        /** Wait until the consumer frees space, no dirty data is lost. */
+        BLOCK,
+        /** Drop the dirty data, only counted by {@link #droppedCounter}. */
+        DROP,
+        /** Keep one of every ${sampleRate} overflowed dirty data, drop the others. */
+        SAMPLE;
+
+        public static OverflowPolicy fromString(String policy) {
+            if (policy == null) {
+                return BLOCK;
+            }
+            try {
+                return valueOf(policy.trim().toUpperCase(Locale.ENGLISH));
+            } catch (IllegalArgumentException e) {
+                throw new NoRestartException(
+                        String.format("Unsupported dirty overflow policy [%s]", policy), e);
+            }
+        }
+    }
 }
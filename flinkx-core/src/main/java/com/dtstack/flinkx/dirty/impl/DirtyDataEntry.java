@@ -18,6 +18,9 @@
 
 package com.dtstack.flinkx.dirty.impl;
 
+import com.dtstack.flinkx.dirty.utils.DirtySerializeUtil;
+import com.dtstack.flinkx.util.ExceptionUtil;
+
 import java.io.Serializable;
 import java.sql.Timestamp;
 import java.util.StringJoiner;
@@ -44,6 +47,12 @@ public class DirtyDataEntry implements Serializable {
 
     private Timestamp createTime;
 
+    /** A snapshot of the raw data, transformed to {@link #dirtyContent} by the consumer thread. */
+    private transient Object data;
+
+    /** The raw cause, transformed to {@link #errorMessage} by the consumer thread. */
+    private transient Throwable cause;
+
     public String getJobId() {
         return jobId;
     }
@@ -100,6 +109,30 @@ public class DirtyDataEntry implements Serializable {
         this.createTime = createTime;
     }
 
+    public void setData(Object data) {
+        this.data = data;
+    }
+
+    public void setCause(Throwable cause) {
+        this.cause = cause;
+    }
+
+    /**
+     * Transform the data and the cause to String. It is called by the consumer thread, so that the
+     * task thread does not pay for serializing the row and printing the stack trace. The data is a
+     * snapshot taken by the task thread, the row may be reused and changed after it is collected.
+     */
+    public void materialize() {
+        if (data != null) {
+            dirtyContent = DirtySerializeUtil.toString(data);
+            data = null;
+        }
+        if (cause != null) {
+            errorMessage = ExceptionUtil.getErrorMessage(cause);
+            cause = null;
+        }
+    }
+
     /**
      * Transform dirty data to String arrays.
      *
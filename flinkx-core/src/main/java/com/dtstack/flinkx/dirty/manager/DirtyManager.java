@@ -22,16 +22,14 @@ import com.dtstack.flinkx.constants.Metrics;
 import com.dtstack.flinkx.dirty.DirtyConf;
 import com.dtstack.flinkx.dirty.consumer.DirtyDataCollector;
 import com.dtstack.flinkx.dirty.impl.DirtyDataEntry;
+import com.dtstack.flinkx.dirty.utils.DirtySerializeUtil;
 import com.dtstack.flinkx.factory.FlinkxThreadFactory;
 import com.dtstack.flinkx.util.DataSyncFactoryUtil;
-import com.dtstack.flinkx.util.ExceptionUtil;
 
 import org.apache.flink.api.common.accumulators.LongCounter;
 import org.apache.flink.api.common.functions.RuntimeContext;
+import org.apache.flink.metrics.Gauge;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -61,11 +59,6 @@ public class DirtyManager implements Serializable {
 
     private static final int MAX_THREAD_POOL_SIZE = 1;
 
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
-
-    private static final Gson GSON =
-            new GsonBuilder().setDateFormat("yyyy-MM-dd HH:mm:ss").create();
-
     private transient ThreadPoolExecutor executor;
 
     private final AtomicBoolean isAlive = new AtomicBoolean(true);
@@ -122,36 +115,42 @@ public class DirtyManager implements Serializable {
         return consumer.getFailedConsumed();
     }
 
+    public LongCounter getDroppedMetric() {
+        return consumer.getDropped();
+    }
+
+    public Gauge<Integer> getQueueSizeGauge() {
+        return consumer::getQueueSize;
+    }
+
     public void collect(Object data, Throwable cause, String field) {
         if (executor == null) {
             execute();
         }
 
+        // decide overflow first, the dropped data is neither copied nor serialized
+        if (!consumer.reserve()) {
+            errorCounter.add(1L);
+            return;
+        }
+
         DirtyDataEntry entity = new DirtyDataEntry();
 
         entity.setJobId(jobId);
         entity.setJobName(jobName);
         entity.setOperatorName(operationName);
         entity.setCreateTime(new Timestamp(System.currentTimeMillis()));
-        entity.setDirtyContent(toString(data));
+        // operators reuse and change the row after it is collected, keep a cheap copy of it
+        entity.setData(DirtySerializeUtil.snapshot(data));
         entity.setFieldName(field);
-        entity.setErrorMessage(ExceptionUtil.getErrorMessage(cause));
+        entity.setCause(cause);
 
-        consumer.offer(entity);
+        consumer.offerReserved(entity);
         errorCounter.add(1L);
     }
 
     public String toString(Object data) {
-        try {
-            return OBJECT_MAPPER.writeValueAsString(data);
-        } catch (Exception e) {
-            try {
-                return GSON.toJson(data);
-            } catch (Exception processingException) {
-                LOG.warn("Dirty transform to String failed.", processingException);
-                return null;
-            }
-        }
+        return DirtySerializeUtil.toString(data);
     }
 
     /** Close manager. */
@@ -52,6 +52,12 @@ public class DirtyConfUtil {
 
     public static final String DIRTY_DIR = "flinkx.dirty-data.dir";
 
+    public static final String QUEUE_SIZE_KEY = "flinkx.dirty-data.queue-size";
+
+    public static final String OVERFLOW_POLICY_KEY = "flinkx.dirty-data.overflow-policy";
+
+    public static final String SAMPLE_RATE_KEY = "flinkx.dirty-data.sample-rate";
+
     public static final String DIRTY_DIR_SUFFIX = "dirty-data-collector";
 
     public static DirtyConf parseFromMap(Map<String, String> confMap) {
@@ -67,6 +73,11 @@ public class DirtyConfUtil {
                 Long.parseLong(String.valueOf(confMap.getOrDefault(MAX_FAILED_ROWS_KEY, "0")));
         long printRate = Long.parseLong(String.valueOf(confMap.getOrDefault(PRINT_INTERVAL, "1")));
         String pluginDir = MapUtils.getString(confMap, DIRTY_DIR);
+        int queueSize =
+                Integer.parseInt(String.valueOf(confMap.getOrDefault(QUEUE_SIZE_KEY, "10000")));
+        String overflowPolicy = String.valueOf(confMap.getOrDefault(OVERFLOW_POLICY_KEY, "block"));
+        long sampleRate =
+                Long.parseLong(String.valueOf(confMap.getOrDefault(SAMPLE_RATE_KEY, "100")));
 
         confMap.entrySet().stream()
                 .filter(
@@ -89,6 +100,9 @@ public class DirtyConfUtil {
         dirtyConf.setPrintRate(printRate <= 0 ? Long.MAX_VALUE : printRate);
         dirtyConf.setPluginProperties(pluginProperties);
         dirtyConf.setLocalPluginPath(pluginDir);
+        dirtyConf.setQueueSize(queueSize <= 0 ? Integer.MAX_VALUE : queueSize);
+        dirtyConf.setOverflowPolicy(overflowPolicy);
+        dirtyConf.setSampleRate(sampleRate <= 0 ? 1L : sampleRate);
 
         return dirtyConf;
     }
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.flinkx.dirty.utils;
+
+import com.dtstack.flinkx.element.ColumnRowData;
+
+import org.apache.flink.table.data.GenericRowData;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Transform dirty data to String, jackson first and gson as the fallback. */
+public class DirtySerializeUtil {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DirtySerializeUtil.class);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final Gson GSON =
+            new GsonBuilder().setDateFormat("yyyy-MM-dd HH:mm:ss").create();
+
+    private DirtySerializeUtil() {}
+
+    /**
+     * Copy the fields of a row which may be reused after it is collected, the fields themselves
+     * are not copied. Other data is returned as it is.
+     *
+     * @param data dirty data.
+     * @return a snapshot to be serialized later.
+     */
+    public static Object snapshot(Object data) {
+        if (data instanceof ColumnRowData) {
+            return ((ColumnRowData) data).shallowCopy();
+        }
+        if (data instanceof GenericRowData) {
+            GenericRowData row = (GenericRowData) data;
+            GenericRowData copy = new GenericRowData(row.getRowKind(), row.getArity());
+            for (int i = 0; i < row.getArity(); i++) {
+                copy.setField(i, row.getField(i));
+            }
+            return copy;
+        }
+        return data;
+    }
+
+    public static String toString(Object data) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(data);
+        } catch (Exception e) {
+            try {
+                return GSON.toJson(data);
+            } catch (Exception processingException) {
+                LOG.warn("Dirty transform to String failed.", processingException);
+                return null;
+            }
+        }
+    }
+}
@@ -52,6 +52,12 @@ public final class ColumnRowData implements RowData, Serializable {
     private static final long serialVersionUID = 1L;
     private final List<AbstractBaseColumn> columnList;
     private Map<String, Integer> header;
+    /**
+     * The header is shared with other rows and must be copied before any change. It is serialized
+     * with the row, copying a header that became private after deserialization is harmless.
+     */
+    private boolean sharedHeader;
+
     private Set<String> extHeader = new HashSet<>();
 
     private RowKind kind;
@@ -71,6 +77,7 @@ public final class ColumnRowData implements RowData, Serializable {
         if (this.header == null) {
             this.header = Maps.newLinkedHashMap();
         }
+        copyHeaderIfShared();
         this.header.put(name, this.header.size());
     }
 
@@ -79,6 +86,7 @@ public final class ColumnRowData implements RowData, Serializable {
             addHeader(another);
             return;
         }
+        copyHeaderIfShared();
         Integer value = this.header.get(original);
         this.header.remove(original);
         this.header.put(another, value);
@@ -106,7 +114,26 @@ public final class ColumnRowData implements RowData, Serializable {
         return header;
     }
 
+    /**
+     * Use a header shared by many rows, e.g. a precomputed mapping result. The header is never
+     * modified in place, it is copied the first time this row changes its header.
+     *
+     * @param header shared header, name to position.
+     */
+    public void setSharedHeaderInfo(Map<String, Integer> header) {
+        this.header = header;
+        this.sharedHeader = true;
+    }
+
+    private void copyHeaderIfShared() {
+        if (sharedHeader) {
+            this.header = Maps.newLinkedHashMap(this.header);
+            this.sharedHeader = false;
+        }
+    }
+
     public void removeExtHeaderInfo() {
+        copyHeaderIfShared();
         List<AbstractBaseColumn> needToRemove = new ArrayList<>();
         for (String key : extHeader) {
             Integer index = header.remove(key);
@@ -150,6 +177,23 @@ public final class ColumnRowData implements RowData, Serializable {
         return pos == -1 ? null : this.columnList.get(pos);
     }
 
+    /**
+     * Copy the column list without copying the columns, a reused row replaces its columns instead
+     * of changing them. The header becomes shared by both rows and is copied on the next change.
+     *
+     * @return a copy of this row.
+     */
+    public ColumnRowData shallowCopy() {
+        ColumnRowData copy = new ColumnRowData(kind, columnList.size());
+        copy.columnList.addAll(columnList);
+        if (header != null) {
+            this.sharedHeader = true;
+            copy.setSharedHeaderInfo(header);
+        }
+        copy.extHeader.addAll(extHeader);
+        return copy;
+    }
+
     public ColumnRowData copy() {
         try {
             return InstantiationUtil.clone(this, Thread.currentThread().getContextClassLoader());
@@ -19,6 +19,7 @@ package com.dtstack.flinkx.element.column;
 
 import com.dtstack.flinkx.element.AbstractBaseColumn;
 import com.dtstack.flinkx.throwable.CastException;
+import com.dtstack.flinkx.util.DateLayoutDetector;
 import com.dtstack.flinkx.util.DateUtil;
 
 import org.apache.commons.lang.StringUtils;
@@ -41,6 +42,8 @@ public class StringColumn extends AbstractBaseColumn {
 
     private String format = "yyyy-MM-dd HH:mm:ss";
     private boolean isCustomFormat = false;
+    /** The date layout of the column the data is read from, null if unknown. */
+    private transient DateLayoutDetector dateLayoutDetector;
 
     public StringColumn(final String data) {
         super(data);
@@ -54,6 +57,11 @@ public class StringColumn extends AbstractBaseColumn {
         }
     }
 
+    public StringColumn(final String data, String format, DateLayoutDetector dateLayoutDetector) {
+        this(data, format);
+        this.dateLayoutDetector = dateLayoutDetector;
+    }
+
     public StringColumn(Byte aByte) {
         super(aByte);
     }
@@ -75,15 +83,17 @@ public class StringColumn extends AbstractBaseColumn {
         if (null == data) {
             return null;
         }
-        SimpleDateFormat dateFormat = DateUtil.buildDateFormatter(format);
+        SimpleDateFormat dateFormat = DateUtil.getCachedDateFormatter(format);
         Long time = null;
         Date result = null;
         String data = String.valueOf(this.data);
-        try {
-            // 如果string是时间戳
-            time = NumberUtils.createLong(data);
-        } catch (Exception ignored) {
-            // doNothing
+        if (isNumberLike(data)) {
+            try {
+                // 如果string是时间戳
+                time = NumberUtils.createLong(data);
+            } catch (Exception ignored) {
+                // doNothing
+            }
         }
         if (time != null) {
             Date date = new Date(time);
@@ -93,16 +103,18 @@ public class StringColumn extends AbstractBaseColumn {
                 // doNothing
             }
         } else {
-            try {
-                // 如果是日期格式字符串
-                result = dateFormat.parse(data);
-            } catch (ParseException ignored) {
-                // doNothing
-            }
+            // 如果是日期格式字符串
+            result = DateUtil.parse(dateFormat, data);
         }
 
         if (result == null) {
-            result = DateUtil.columnToDate(data, dateFormat);
+            if (time == null && dateLayoutDetector != null) {
+                // 自定义格式已解析失败，按该列识别出的日期格式解析
+                Date date = dateLayoutDetector.parse(data);
+                result = date == null ? null : new java.sql.Date(date.getTime());
+            } else {
+                result = DateUtil.columnToDate(data, dateFormat);
+            }
 
             if (result == null) {
                 throw new CastException("String", "Date", data);
@@ -224,20 +236,21 @@ public class StringColumn extends AbstractBaseColumn {
         if (null == data) {
             return null;
         }
-        SimpleDateFormat dateFormat = DateUtil.buildDateFormatter(format);
         String data = String.valueOf(this.data);
-        try {
-            // 如果string是时间戳
-            Long time = NumberUtils.createLong(data);
-            return dateFormat.format(time);
-        } catch (Exception ignored) {
-            // doNothing
+        if (isNumberLike(data)) {
+            try {
+                // 如果string是时间戳
+                Long time = NumberUtils.createLong(data);
+                return DateUtil.formatMillis(format, time);
+            } catch (Exception ignored) {
+                // doNothing
+            }
         }
 
         try {
             if (isCustomFormat) {
                 // 格式化
-                return dateFormat.format(asDate().getTime());
+                return DateUtil.formatMillis(format, asDate().getTime());
             } else {
                 // 校验格式
                 DateUtil.stringToDate(data);
@@ -251,4 +264,21 @@ public class StringColumn extends AbstractBaseColumn {
     public boolean isCustomFormat() {
         return isCustomFormat;
     }
+
+    /**
+     * Whether {@link NumberUtils#createLong(String)} may accept the string, so that date strings
+     * skip the failing call and its exception.
+     */
+    private static boolean isNumberLike(String data) {
+        if (data.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < data.length(); i++) {
+            char c = data.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '-' && c != '+' && c != '#') {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -22,15 +22,20 @@ import com.dtstack.flinkx.constants.Metrics;
 import com.dtstack.flinkx.converter.AbstractRowConverter;
 import com.dtstack.flinkx.enums.CacheType;
 import com.dtstack.flinkx.enums.ECacheContentType;
+import com.dtstack.flinkx.factory.FlinkxThreadFactory;
 import com.dtstack.flinkx.lookup.cache.AbstractSideCache;
 import com.dtstack.flinkx.lookup.cache.CacheObj;
 import com.dtstack.flinkx.lookup.cache.LRUSideCache;
+import com.dtstack.flinkx.lookup.cache.WeightedSideCache;
 import com.dtstack.flinkx.lookup.conf.LookupConf;
 import com.dtstack.flinkx.util.ReflectionUtils;
 
 import org.apache.flink.api.common.functions.RuntimeContext;
 import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.Histogram;
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.runtime.execution.SuppressRestartsException;
+import org.apache.flink.runtime.metrics.DescriptiveStatisticsHistogram;
 import org.apache.flink.streaming.api.functions.async.RichAsyncFunction;
 import org.apache.flink.streaming.api.operators.StreamingRuntimeContext;
 import org.apache.flink.streaming.runtime.tasks.ProcessingTimeService;
@@ -39,19 +44,24 @@ import org.apache.flink.table.functions.AsyncTableFunction;
 import org.apache.flink.table.functions.FunctionContext;
 
 import com.google.common.collect.Lists;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
-import java.util.stream.Collectors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author chuixue
@@ -62,6 +72,12 @@ public abstract class AbstractLruTableFunction extends AsyncTableFunction<RowDat
     private static final Logger LOG = LoggerFactory.getLogger(AbstractLruTableFunction.class);
     /** 指标 */
     protected transient Counter parseErrorRecords;
+    /** 缓存命中数 */
+    protected transient Counter cacheHitRecords;
+    /** 缓存未命中数 */
+    protected transient Counter cacheMissRecords;
+    /** 查询外部数据源的耗时(毫秒) */
+    protected transient Histogram loadLatency;
     /** 缓存 */
     protected AbstractSideCache sideCache;
     /** 维表配置 */
@@ -72,7 +88,14 @@ public abstract class AbstractLruTableFunction extends AsyncTableFunction<RowDat
     protected final AbstractRowConverter rowConverter;
 
     private static final int TIMEOUT_LOG_FLUSH_NUM = 10;
+    private static final int LATENCY_WINDOW_SIZE = 1000;
     private int timeOutNum = 0;
+    /** 正在查询的key，相同key的查询共用一个请求 */
+    private transient Map<String, CompletableFuture<Collection<RowData>>> inFlightRequests;
+    /** 等待批量查询的key */
+    private transient List<LookupRequest> pendingRequests;
+    /** 定时发送批量查询 */
+    private transient ScheduledExecutorService batchScheduler;
 
     public AbstractLruTableFunction(LookupConf lookupConf, AbstractRowConverter rowConverter) {
         this.lookupConf = lookupConf;
@@ -85,6 +108,7 @@ public abstract class AbstractLruTableFunction extends AsyncTableFunction<RowDat
 
         initCache();
         initMetric(context);
+        initBatch();
 
         Field field = FunctionContext.class.getDeclaredField("context");
         field.setAccessible(true);
@@ -100,7 +124,16 @@ public abstract class AbstractLruTableFunction extends AsyncTableFunction<RowDat
         }
 
         if (CacheType.LRU.name().equalsIgnoreCase(lookupConf.getCache())) {
-            sideCache = new LRUSideCache(lookupConf.getCacheSize(), lookupConf.getCacheTtl());
+            if (lookupConf.getCacheMaxBytes() > 0 || lookupConf.getCacheRefreshInterval() > 0) {
+                sideCache =
+                        new WeightedSideCache(
+                                lookupConf.getCacheMaxBytes(),
+                                lookupConf.getCacheSize(),
+                                lookupConf.getCacheTtl(),
+                                lookupConf.getCacheRefreshInterval());
+            } else {
+                sideCache = new LRUSideCache(lookupConf.getCacheSize(), lookupConf.getCacheTtl());
+            }
         } else {
             throw new RuntimeException("not support side cache with type:" + lookupConf.getCache());
         }
@@ -108,6 +141,20 @@ public abstract class AbstractLruTableFunction extends AsyncTableFunction<RowDat
         sideCache.initCache();
     }
 
+    /** 初始化批量查询 */
+    private void initBatch() {
+        inFlightRequests = new ConcurrentHashMap<>(16);
+        if (lookupConf.getBatchSize() > 1) {
+            pendingRequests = new ArrayList<>(lookupConf.getBatchSize());
+            long interval = Math.max(lookupConf.getBatchInterval(), 1L);
+            batchScheduler =
+                    new ScheduledThreadPoolExecutor(
+                            1, new FlinkxThreadFactory("lookup-batch", true));
+            batchScheduler.scheduleWithFixedDelay(
+                    this::flushPendingRequests, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
     /**
      * 初始化Metric
      *
@@ -115,6 +162,17 @@ public abstract class AbstractLruTableFunction extends AsyncTableFunction<RowDat
      */
     private void initMetric(FunctionContext context) {
         parseErrorRecords = context.getMetricGroup().counter(Metrics.NUM_SIDE_PARSE_ERROR_RECORDS);
+
+        MetricGroup tableGroup = context.getMetricGroup();
+        if (StringUtils.isNotBlank(lookupConf.getTableName())) {
+            tableGroup = tableGroup.addGroup(Metrics.LOOKUP_TABLE, lookupConf.getTableName());
+        }
+        cacheHitRecords = tableGroup.counter(Metrics.NUM_SIDE_CACHE_HIT_RECORDS);
+        cacheMissRecords = tableGroup.counter(Metrics.NUM_SIDE_CACHE_MISS_RECORDS);
+        loadLatency =
+                tableGroup.histogram(
+                        Metrics.SIDE_LOAD_LATENCY,
+                        new DescriptiveStatisticsHistogram(LATENCY_WINDOW_SIZE));
     }
 
     /**
@@ -212,22 +270,113 @@ public abstract class AbstractLruTableFunction extends AsyncTableFunction<RowDat
      * @param keys 关联数据
      */
     public void eval(CompletableFuture<Collection<RowData>> future, Object... keys) {
+        String cacheKey = null;
         try {
             preInvoke(future, keys);
 
-            String cacheKey = buildCacheKey(keys);
+            cacheKey = buildCacheKey(keys);
             // 缓存判断
-            if (isUseCache(cacheKey)) {
-                invokeWithCache(cacheKey, future);
+            CacheObj val = openCache() ? getFromCache(cacheKey) : null;
+            if (val != null) {
+                cacheHitRecords.inc();
+                invokeWithCache(val, future);
+                // 过了刷新时间的key在后台重新查询，结果由查询回调写入缓存
+                if (sideCache.needRefresh(cacheKey) && !inFlightRequests.containsKey(cacheKey)) {
+                    sendRequest(cacheKey, keys);
+                }
                 return;
             }
-            handleAsyncInvoke(future, keys);
+            if (openCache()) {
+                cacheMissRecords.inc();
+            }
+            // 相同key的查询未返回时，等待同一个结果
+            CompletableFuture<Collection<RowData>> request = inFlightRequests.get(cacheKey);
+            if (request == null) {
+                request = sendRequest(cacheKey, keys);
+            }
+            forward(request, future);
         } catch (Exception e) {
             // todo 优化
             LOG.error(e.getMessage());
         }
     }
 
+    /**
+     * 发送一个key的查询，查询返回前相同key的输入共用这个请求
+     *
+     * @param cacheKey 缓存健
+     * @param keys 关联数据
+     * @return 查询请求
+     * @throws Exception
+     */
+    private CompletableFuture<Collection<RowData>> sendRequest(String cacheKey, Object... keys)
+            throws Exception {
+        CompletableFuture<Collection<RowData>> request = new CompletableFuture<>();
+        inFlightRequests.put(cacheKey, request);
+        long start = System.nanoTime();
+        request.whenComplete(
+                (rows, e) -> {
+                    inFlightRequests.remove(cacheKey, request);
+                    loadLatency.update(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                });
+        try {
+            if (pendingRequests != null) {
+                addPendingRequest(new LookupRequest(cacheKey, keys, request));
+            } else {
+                handleAsyncInvoke(request, keys);
+            }
+        } catch (Exception e) {
+            inFlightRequests.remove(cacheKey, request);
+            throw e;
+        }
+        return request;
+    }
+
+    private void forward(
+            CompletableFuture<Collection<RowData>> request,
+            CompletableFuture<Collection<RowData>> future) {
+        request.whenComplete(
+                (rows, e) -> {
+                    if (e != null) {
+                        future.completeExceptionally(e);
+                    } else {
+                        future.complete(rows);
+                    }
+                });
+    }
+
+    /**
+     * 加入待批量查询的key，达到batchSize时立即发送
+     *
+     * @param request 查询请求
+     */
+    private synchronized void addPendingRequest(LookupRequest request) {
+        pendingRequests.add(request);
+        if (pendingRequests.size() >= lookupConf.getBatchSize()) {
+            invokeBatch();
+        }
+    }
+
+    /** 定时发送未满batchSize的批量查询 */
+    private synchronized void flushPendingRequests() {
+        if (!pendingRequests.isEmpty()) {
+            invokeBatch();
+        }
+    }
+
+    private void invokeBatch() {
+        List<LookupRequest> requests = pendingRequests;
+        pendingRequests = new ArrayList<>(lookupConf.getBatchSize());
+        try {
+            handleAsyncBatchInvoke(requests);
+        } catch (Throwable e) {
+            LOG.error("batch lookup failed", e);
+            for (LookupRequest request : requests) {
+                request.getFuture().completeExceptionally(e);
+            }
+        }
+    }
+
     /**
      * 判断缓存是否存在
      *
@@ -241,40 +390,33 @@ public abstract class AbstractLruTableFunction extends AsyncTableFunction<RowDat
     /**
      * 从缓存中获取数据
      *
-     * @param cacheKey 缓存健
+     * @param val 缓存数据
      * @param future
      */
-    private void invokeWithCache(String cacheKey, CompletableFuture<Collection<RowData>> future) {
-        if (openCache()) {
-            CacheObj val = getFromCache(cacheKey);
-            if (val != null) {
-                if (ECacheContentType.MissVal == val.getType()) {
-                    dealMissKey(future);
-                    return;
-                } else if (ECacheContentType.SingleLine == val.getType()) {
-                    try {
-                        RowData row = rowConverter.toInternalLookup(val.getContent());
-                        future.complete(Collections.singleton(row));
-                    } catch (Exception e) {
-                        dealFillDataError(future, e);
-                    }
-                } else if (ECacheContentType.MultiLine == val.getType()) {
-                    try {
-                        List<RowData> rowList = Lists.newArrayList();
-                        for (Object one : (List) val.getContent()) {
-                            RowData row = rowConverter.toInternalLookup(one);
-                            rowList.add(row);
-                        }
-                        future.complete(rowList);
-                    } catch (Exception e) {
-                        dealFillDataError(future, e);
-                    }
-                } else {
-                    future.completeExceptionally(
-                            new RuntimeException("not support cache obj type " + val.getType()));
+    private void invokeWithCache(CacheObj val, CompletableFuture<Collection<RowData>> future) {
+        if (ECacheContentType.MissVal == val.getType()) {
+            dealMissKey(future);
+        } else if (ECacheContentType.SingleLine == val.getType()) {
+            try {
+                RowData row = rowConverter.toInternalLookup(val.getContent());
+                future.complete(Collections.singleton(row));
+            } catch (Exception e) {
+                dealFillDataError(future, e);
+            }
+        } else if (ECacheContentType.MultiLine == val.getType()) {
+            try {
+                List<RowData> rowList = Lists.newArrayList();
+                for (Object one : (List) val.getContent()) {
+                    RowData row = rowConverter.toInternalLookup(one);
+                    rowList.add(row);
                 }
-                return;
+                future.complete(rowList);
+            } catch (Exception e) {
+                dealFillDataError(future, e);
             }
+        } else {
+            future.completeExceptionally(
+                    new RuntimeException("not support cache obj type " + val.getType()));
         }
     }
 
@@ -288,6 +430,19 @@ public abstract class AbstractLruTableFunction extends AsyncTableFunction<RowDat
     public abstract void handleAsyncInvoke(
             CompletableFuture<Collection<RowData>> future, Object... keys) throws Exception;
 
+    /**
+     * 批量请求数据库获取数据，每个请求的key互不相同。默认逐个调用{@link #handleAsyncInvoke}，
+     * 支持批量查询的维表重写此方法，一次查询所有的key
+     *
+     * @param requests 查询请求
+     * @throws Exception
+     */
+    protected void handleAsyncBatchInvoke(List<LookupRequest> requests) throws Exception {
+        for (LookupRequest request : requests) {
+            handleAsyncInvoke(request.getFuture(), request.getKeys());
+        }
+    }
+
     /**
      * 构建缓存key值
      *
@@ -295,7 +450,17 @@ public abstract class AbstractLruTableFunction extends AsyncTableFunction<RowDat
      * @return
      */
     public String buildCacheKey(Object... keys) {
-        return Arrays.stream(keys).map(e -> String.valueOf(e)).collect(Collectors.joining("_"));
+        if (keys.length == 1) {
+            return String.valueOf(keys[0]);
+        }
+        StringBuilder keyBuilder = new StringBuilder(keys.length * 16);
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                keyBuilder.append('_');
+            }
+            keyBuilder.append(keys[i]);
+        }
+        return keyBuilder.toString();
     }
 
     private ProcessingTimeService getProcessingTimeService() {
@@ -371,5 +536,8 @@ public abstract class AbstractLruTableFunction extends AsyncTableFunction<RowDat
     @Override
     public void close() throws Exception {
         super.close();
+        if (batchScheduler != null) {
+            batchScheduler.shutdownNow();
+        }
     }
 }
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.flinkx.lookup;
+
+import org.apache.flink.table.data.RowData;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A lookup of one key waiting to be sent in a batch. The future is shared by all the inputs
+ * looking up the same key at the same time.
+ */
+public class LookupRequest {
+
+    private final String cacheKey;
+    private final Object[] keys;
+    private final CompletableFuture<Collection<RowData>> future;
+
+    public LookupRequest(
+            String cacheKey, Object[] keys, CompletableFuture<Collection<RowData>> future) {
+        this.cacheKey = cacheKey;
+        this.keys = keys;
+        this.future = future;
+    }
+
+    public String getCacheKey() {
+        return cacheKey;
+    }
+
+    public Object[] getKeys() {
+        return keys;
+    }
+
+    public CompletableFuture<Collection<RowData>> getFuture() {
+        return future;
+    }
+}
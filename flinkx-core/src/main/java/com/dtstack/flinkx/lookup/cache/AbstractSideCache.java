@@ -30,4 +30,14 @@ public abstract class AbstractSideCache {
     public abstract CacheObj getFromCache(String key);
 
     public abstract void putCache(String key, CacheObj value);
+
+    /**
+     * 缓存的值是否需要在后台刷新，同一个值只对一个调用方返回true
+     *
+     * @param key 缓存健
+     * @return 是否需要刷新
+     */
+    public boolean needRefresh(String key) {
+        return false;
+    }
 }
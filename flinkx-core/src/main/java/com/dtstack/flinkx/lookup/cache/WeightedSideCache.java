@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.flinkx.lookup.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU缓存，按估算的字节数淘汰。写入超过refreshInterval后的第一次命中触发后台刷新，刷新完成前继续返回旧值，
+ * 热点key不会同时过期
+ */
+public class WeightedSideCache extends AbstractSideCache {
+
+    /** 对象头及引用的估算字节数 */
+    private static final int OBJECT_OVERHEAD = 16;
+    /** 估算时递归的最大深度 */
+    private static final int MAX_DEPTH = 8;
+
+    protected transient Cache<String, Entry> cache;
+    /** 最大字节数，小于等于0时按cacheSize条数淘汰 */
+    private final long maxBytes;
+    private final long cacheSize;
+    private final long timeOut;
+    /** 刷新间隔(毫秒)，小于等于0时不刷新 */
+    private final long refreshInterval;
+
+    public WeightedSideCache(long maxBytes, long cacheSize, long timeOut, long refreshInterval) {
+        this.maxBytes = maxBytes;
+        this.cacheSize = cacheSize;
+        this.timeOut = timeOut;
+        this.refreshInterval = refreshInterval;
+    }
+
+    @Override
+    public void initCache() {
+        CacheBuilder<Object, Object> builder =
+                CacheBuilder.newBuilder().expireAfterWrite(timeOut, TimeUnit.MILLISECONDS);
+        if (maxBytes > 0) {
+            cache = builder.maximumWeight(maxBytes).weigher(WeightedSideCache::weigh).build();
+        } else {
+            cache = builder.maximumSize(cacheSize).build();
+        }
+    }
+
+    private static int weigh(String key, Entry entry) {
+        return estimateSize(key) + entry.weight;
+    }
+
+    @Override
+    public CacheObj getFromCache(String key) {
+        if (cache == null) {
+            return null;
+        }
+
+        Entry entry = cache.getIfPresent(key);
+        return entry == null ? null : entry.value;
+    }
+
+    @Override
+    public void putCache(String key, CacheObj value) {
+        if (cache == null) {
+            return;
+        }
+
+        int weight = maxBytes > 0 ? estimateSize(value.getContent()) + OBJECT_OVERHEAD : 0;
+        cache.put(key, new Entry(value, weight, System.currentTimeMillis() + refreshInterval));
+    }
+
+    @Override
+    public boolean needRefresh(String key) {
+        if (cache == null || refreshInterval <= 0) {
+            return false;
+        }
+
+        Entry entry = cache.getIfPresent(key);
+        if (entry == null) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        long refreshTime = entry.refreshTime.get();
+        // 刷新失败时不会写入新值，间隔refreshInterval后允许再次刷新
+        return now >= refreshTime
+                && entry.refreshTime.compareAndSet(refreshTime, now + refreshInterval);
+    }
+
+    /**
+     * 估算对象占用的字节数，只用于缓存淘汰，不要求精确
+     *
+     * @param obj 缓存的key或内容
+     * @return 估算字节数
+     */
+    public static int estimateSize(Object obj) {
+        return (int) Math.min(estimateSize(obj, 0), Integer.MAX_VALUE);
+    }
+
+    private static long estimateSize(Object obj, int depth) {
+        if (obj == null) {
+            return 0;
+        }
+        if (obj instanceof CharSequence) {
+            return OBJECT_OVERHEAD * 2 + 2L * ((CharSequence) obj).length();
+        }
+        if (obj instanceof byte[]) {
+            return OBJECT_OVERHEAD + ((byte[]) obj).length;
+        }
+        if (obj instanceof Number || obj instanceof Boolean || obj instanceof Character) {
+            return OBJECT_OVERHEAD * 2;
+        }
+        if (depth >= MAX_DEPTH) {
+            return OBJECT_OVERHEAD;
+        }
+        long size = OBJECT_OVERHEAD * 2;
+        if (obj instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) obj).entrySet()) {
+                size +=
+                        OBJECT_OVERHEAD * 2
+                                + estimateSize(entry.getKey(), depth + 1)
+                                + estimateSize(entry.getValue(), depth + 1);
+            }
+        } else if (obj instanceof Map.Entry) {
+            size +=
+                    estimateSize(((Map.Entry<?, ?>) obj).getKey(), depth + 1)
+                            + estimateSize(((Map.Entry<?, ?>) obj).getValue(), depth + 1);
+        } else if (obj instanceof Iterable) {
+            // 包括vertx的JsonArray、JsonObject
+            for (Object one : (Iterable<?>) obj) {
+                size += 8 + estimateSize(one, depth + 1);
+            }
+        } else if (obj instanceof Object[]) {
+            for (Object one : (Object[]) obj) {
+                size += 8 + estimateSize(one, depth + 1);
+            }
+        }
+        return size;
+    }
+
+    /** 缓存值及其估算大小、下次刷新时间 */
+    protected static class Entry {
+        private final CacheObj value;
+        private final int weight;
+        private final AtomicLong refreshTime;
+
+        Entry(CacheObj value, int weight, long refreshTime) {
+            this.value = value;
+            this.weight = weight;
+            this.refreshTime = new AtomicLong(refreshTime);
+        }
+    }
+}
@@ -48,6 +48,14 @@ public class LookupConf implements Serializable {
     protected int asyncTimeout = 10000;
     /** 维表并行度 */
     protected Integer parallelism = 1;
+    /** 合并为一次批量查询的最大key数，小于等于1时不合并 */
+    protected int batchSize = 1;
+    /** 批量查询的最长等待时间(毫秒) */
+    protected long batchInterval = 10L;
+    /** 缓存的最大估算字节数，大于0时按字节数而不是条数淘汰 */
+    protected long cacheMaxBytes = 0L;
+    /** 缓存写入多久后在后台异步刷新(毫秒)，小于等于0时不刷新 */
+    protected long cacheRefreshInterval = 0L;
 
     public String getTableName() {
         return tableName;
@@ -139,6 +147,42 @@ public class LookupConf implements Serializable {
         return this;
     }
 
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public LookupConf setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    public long getBatchInterval() {
+        return batchInterval;
+    }
+
+    public LookupConf setBatchInterval(long batchInterval) {
+        this.batchInterval = batchInterval;
+        return this;
+    }
+
+    public long getCacheMaxBytes() {
+        return cacheMaxBytes;
+    }
+
+    public LookupConf setCacheMaxBytes(long cacheMaxBytes) {
+        this.cacheMaxBytes = cacheMaxBytes;
+        return this;
+    }
+
+    public long getCacheRefreshInterval() {
+        return cacheRefreshInterval;
+    }
+
+    public LookupConf setCacheRefreshInterval(long cacheRefreshInterval) {
+        this.cacheRefreshInterval = cacheRefreshInterval;
+        return this;
+    }
+
     public static LookupConf build() {
         return new LookupConf();
     }
@@ -168,6 +212,14 @@ public class LookupConf implements Serializable {
                 + asyncTimeout
                 + ", parallelism="
                 + parallelism
+                + ", batchSize="
+                + batchSize
+                + ", batchInterval="
+                + batchInterval
+                + ", cacheMaxBytes="
+                + cacheMaxBytes
+                + ", cacheRefreshInterval="
+                + cacheRefreshInterval
                 + '}';
     }
 }
@@ -86,4 +86,31 @@ public class LookupOptions {
                     .intType()
                     .defaultValue(null)
                     .withDescription("lookup.parallelism.");
+
+    public static final ConfigOption<Integer> LOOKUP_BATCH_SIZE =
+            ConfigOptions.key("lookup.batch-size")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription(
+                            "max number of keys looked up in one batched query, keys are looked up one by one if not greater than 1.");
+
+    public static final ConfigOption<Long> LOOKUP_BATCH_INTERVAL =
+            ConfigOptions.key("lookup.batch-interval")
+                    .longType()
+                    .defaultValue(10L)
+                    .withDescription("max time in milliseconds that a key waits for its batch.");
+
+    public static final ConfigOption<Long> LOOKUP_CACHE_MAX_BYTES =
+            ConfigOptions.key("lookup.cache.max-bytes")
+                    .longType()
+                    .defaultValue(0L)
+                    .withDescription(
+                            "the max estimated bytes of lookup cache, rows are evicted by size instead of \"cache.max-rows\" if greater than 0.");
+
+    public static final ConfigOption<Long> LOOKUP_CACHE_REFRESH_INTERVAL =
+            ConfigOptions.key("lookup.cache.refresh-interval")
+                    .longType()
+                    .defaultValue(0L)
+                    .withDescription(
+                            "time in milliseconds after which a cached row is reloaded in background on its next hit, should be less than \"cache.ttl\". Disabled if not greater than 0.");
 }
@@ -25,10 +25,8 @@ import com.dtstack.flinkx.element.column.StringColumn;
 
 import org.apache.flink.table.data.RowData;
 
-import org.apache.commons.collections.MapUtils;
-
 import java.io.Serializable;
-import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
 
 import static com.dtstack.flinkx.constants.CDCConstantValue.SCHEMA;
@@ -37,6 +35,9 @@ import static com.dtstack.flinkx.constants.CDCConstantValue.TABLE;
 /**
  * 名称匹配.
  *
+ * <p>The mapping of each (schema, table) is resolved once into a {@link NameMappingPlan}, rows of
+ * the same header layout then only share the target header and rewrite schema and table.
+ *
  * @author shitou
  * @date 2021/12/15
  */
@@ -46,6 +47,9 @@ public class NameMapping implements Mapping, Serializable {
 
     private final NameMappingRule mappingRule;
 
+    /** schema -> table -> plan. */
+    private transient Map<String, Map<String, NameMappingPlan>> plans;
+
     public NameMapping(NameMappingConf conf) {
         this.mappingRule = new NameMappingRule(conf);
     }
@@ -55,32 +59,55 @@ public class NameMapping implements Mapping, Serializable {
 
         // Dml
         if (rowData instanceof ColumnRowData) {
-            Map<String, Integer> identityIndex = getIdentityIndex(rowData);
-            Integer tableIndex = identityIndex.get(TABLE);
-            Integer schemaIndex = identityIndex.get(SCHEMA);
-
-            String table = rowData.getString(identityIndex.get(TABLE)).toString();
-            String schema = rowData.getString(identityIndex.get(SCHEMA)).toString();
-
-            String targetSchema = mappingRule.schemaMapping(schema);
-            String targetTable = mappingRule.tableMapping(schema, table);
-
-            Map<String, String> mapFields = mappingRule.getMapFields(schema, table);
-            if (MapUtils.isNotEmpty(mapFields)) {
-                List<String> fields = getFields(rowData);
-                fields.forEach(
-                        filed -> {
-                            String targetField = mappingRule.fieldMapping(filed, mapFields);
-                            ((ColumnRowData) rowData).replaceHeader(filed, targetField);
-                        });
+            ColumnRowData columnRowData = (ColumnRowData) rowData;
+            Map<String, Integer> header = columnRowData.getHeaderInfo();
+            Integer tableIndex = header.get(TABLE);
+            Integer schemaIndex = header.get(SCHEMA);
+            if (tableIndex == null || schemaIndex == null) {
+                Map<String, Integer> identityIndex = getIdentityIndex(rowData);
+                tableIndex = identityIndex.get(TABLE);
+                schemaIndex = identityIndex.get(SCHEMA);
             }
 
-            ((ColumnRowData) rowData).setField(tableIndex, new StringColumn(targetTable));
-            ((ColumnRowData) rowData).setField(schemaIndex, new StringColumn(targetSchema));
+            String table = rowData.getString(tableIndex).toString();
+            String schema = rowData.getString(schemaIndex).toString();
+
+            NameMappingPlan plan = getPlan(columnRowData, schema, table, schemaIndex, tableIndex);
+
+            columnRowData.setSharedHeaderInfo(plan.getTargetHeader());
+            columnRowData.setField(tableIndex, new StringColumn(plan.getTargetTable()));
+            columnRowData.setField(schemaIndex, new StringColumn(plan.getTargetSchema()));
 
             return rowData;
         }
         // ddl
         return rowData;
     }
+
+    private NameMappingPlan getPlan(
+            ColumnRowData rowData, String schema, String table, int schemaIndex, int tableIndex) {
+        if (plans == null) {
+            plans = new HashMap<>();
+        }
+        Map<String, NameMappingPlan> tablePlans =
+                plans.computeIfAbsent(schema, key -> new HashMap<>());
+        NameMappingPlan plan = tablePlans.get(table);
+        if (plan == null
+                || plan.getSchemaIndex() != schemaIndex
+                || plan.getTableIndex() != tableIndex
+                || !plan.matches(rowData.getHeaderInfo())) {
+            // first row of the table, or the layout changed after a ddl.
+            plan =
+                    NameMappingPlan.build(
+                            mappingRule,
+                            schema,
+                            table,
+                            rowData.getHeaders(),
+                            getFields(rowData),
+                            schemaIndex,
+                            tableIndex);
+            tablePlans.put(table, plan);
+        }
+        return plan;
+    }
 }
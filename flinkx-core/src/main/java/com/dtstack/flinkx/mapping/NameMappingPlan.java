@@ -0,0 +1,149 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.dtstack.flinkx.mapping;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The mapping result of one (schema, table) and one header layout, computed once by {@link
+ * NameMappingRule} and shared by all rows of the same layout.
+ */
+public class NameMappingPlan {
+
+    /** The source header names in position order. */
+    private final String[] sourceHeaders;
+
+    /**
+     * The header after field mapping, shared by rows. It is a plain map so that rows can be
+     * serialized by kryo, rows copy it before any change.
+     */
+    private final Map<String, Integer> targetHeader;
+
+    private final String targetSchema;
+
+    private final String targetTable;
+
+    private final int schemaIndex;
+
+    private final int tableIndex;
+
+    /** The last header found to match, the next row usually carries the same instance. */
+    private Map<String, Integer> matchedHeader;
+
+    private NameMappingPlan(
+            String[] sourceHeaders,
+            Map<String, Integer> targetHeader,
+            String targetSchema,
+            String targetTable,
+            int schemaIndex,
+            int tableIndex) {
+        this.sourceHeaders = sourceHeaders;
+        this.targetHeader = targetHeader;
+        this.targetSchema = targetSchema;
+        this.targetTable = targetTable;
+        this.schemaIndex = schemaIndex;
+        this.tableIndex = tableIndex;
+    }
+
+    /**
+     * Build the plan the same way as replacing the headers of a row one by one, so that the target
+     * header keeps the same iteration order.
+     */
+    public static NameMappingPlan build(
+            NameMappingRule rule,
+            String schema,
+            String table,
+            String[] headers,
+            List<String> fields,
+            int schemaIndex,
+            int tableIndex) {
+        Map<String, Integer> header = new LinkedHashMap<>(headers.length * 2);
+        for (int i = 0; i < headers.length; i++) {
+            header.put(headers[i], i);
+        }
+
+        Map<String, String> mapFields = rule.getMapFields(schema, table);
+        if (mapFields != null && !mapFields.isEmpty()) {
+            for (String field : fields) {
+                String targetField = rule.fieldMapping(field, mapFields);
+                Integer value = header.remove(field);
+                header.put(targetField, value == null ? header.size() : value);
+            }
+        }
+
+        return new NameMappingPlan(
+                headers,
+                header,
+                rule.schemaMapping(schema),
+                rule.tableMapping(schema, table),
+                schemaIndex,
+                tableIndex);
+    }
+
+    /**
+     * Whether the header of a row has the same layout as the one this plan built from. A header
+     * shared by the rows of a source is only compared by identity, the entries are compared once
+     * for every new header instance. A header attached to a row is never changed in place.
+     *
+     * @param header name to position.
+     * @return true if the plan can be applied.
+     */
+    public boolean matches(Map<String, Integer> header) {
+        if (header == matchedHeader) {
+            return true;
+        }
+        if (header.size() != sourceHeaders.length) {
+            return false;
+        }
+        for (Map.Entry<String, Integer> entry : header.entrySet()) {
+            int index = entry.getValue();
+            if (index < 0
+                    || index >= sourceHeaders.length
+                    || !sourceHeaders[index].equals(entry.getKey())) {
+                return false;
+            }
+        }
+        matchedHeader = header;
+        return true;
+    }
+
+    public Map<String, Integer> getTargetHeader() {
+        return targetHeader;
+    }
+
+    public String getTargetSchema() {
+        return targetSchema;
+    }
+
+    public String getTargetTable() {
+        return targetTable;
+    }
+
+    public int getSchemaIndex() {
+        return schemaIndex;
+    }
+
+    public int getTableIndex() {
+        return tableIndex;
+    }
+}
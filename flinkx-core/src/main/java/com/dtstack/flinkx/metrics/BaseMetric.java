@@ -23,6 +23,7 @@ import com.dtstack.flinkx.util.SysUtil;
 
 import org.apache.flink.api.common.accumulators.LongCounter;
 import org.apache.flink.api.common.functions.RuntimeContext;
+import org.apache.flink.metrics.Gauge;
 import org.apache.flink.metrics.MetricGroup;
 
 import org.slf4j.Logger;
@@ -77,6 +78,10 @@ public class BaseMetric {
         flinkxDirtyMetricGroup.gauge(metricName, new SimpleAccumulatorGauge<>(counter));
     }
 
+    public void addDirtyGauge(String metricName, Gauge<?> gauge) {
+        flinkxDirtyMetricGroup.gauge(metricName, gauge);
+    }
+
     public Map<String, LongCounter> getMetricCounters() {
         return metricCounters;
     }
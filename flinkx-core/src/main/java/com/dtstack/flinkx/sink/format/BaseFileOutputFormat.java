@@ -58,7 +58,11 @@ public abstract class BaseFileOutputFormat extends BaseRichOutputFormat {
 
     protected List<String> preCommitFilePathList = new ArrayList<>();
     protected long nextNumForCheckDataSize;
+    /** Rows written by this format, numWriteCounter is shared by the formats of a subtask. */
+    protected long rowsOfFormat;
     protected long lastWriteTime = System.currentTimeMillis();
+    /** Time the first row of the current file was written, 0 if no row since the last flush. */
+    protected long currentBlockStartTime;
 
     @Override
     public void initializeGlobal(int parallelism) {
@@ -108,7 +112,7 @@ public abstract class BaseFileOutputFormat extends BaseRichOutputFormat {
             outputFilePath = baseFileConf.getPath();
         }
         tmpPath = outputFilePath + File.separatorChar + TMP_DIR_NAME;
-        nextNumForCheckDataSize = baseFileConf.getNextCheckRows();
+        nextNumForCheckDataSize = rowsOfFormat + baseFileConf.getNextCheckRows();
         openSource();
     }
 
@@ -124,14 +128,19 @@ public abstract class BaseFileOutputFormat extends BaseRichOutputFormat {
     @Override
     public void writeSingleRecordInternal(RowData rowData) throws WriteRecordException {
         writeSingleRecordToFile(rowData);
+        long currentTime = System.currentTimeMillis();
+        if (currentBlockStartTime == 0) {
+            currentBlockStartTime = currentTime;
+        }
         rowsOfCurrentBlock++;
+        rowsOfFormat++;
         checkCurrentFileSize();
         lastRow = rowData;
-        lastWriteTime = System.currentTimeMillis();
+        lastWriteTime = currentTime;
     }
 
     private void checkCurrentFileSize() {
-        if (numWriteCounter.getLocalValue() < nextNumForCheckDataSize) {
+        if (rowsOfFormat < nextNumForCheckDataSize) {
             return;
         }
         long currentFileSize = getCurrentFileSize();
@@ -147,6 +156,7 @@ public abstract class BaseFileOutputFormat extends BaseRichOutputFormat {
     }
 
     public void flushData() {
+        currentBlockStartTime = 0;
         if (rowsOfCurrentBlock != 0) {
             flushDataInternal();
             sumRowsOfBlock += rowsOfCurrentBlock;
@@ -212,9 +222,10 @@ public abstract class BaseFileOutputFormat extends BaseRichOutputFormat {
     protected abstract String getExtension();
 
     /**
-     * Get the actual size of the file currently written
+     * Get the size of the file currently written, counted or estimated by the writer itself. It is
+     * called on the write path, so it must not access the file system.
      *
-     * @return
+     * @return bytes of the current file, 0 if no file is open
      */
     protected abstract long getCurrentFileSize();
 
@@ -258,6 +269,15 @@ public abstract class BaseFileOutputFormat extends BaseRichOutputFormat {
         return lastWriteTime;
     }
 
+    public long getCurrentBlockStartTime() {
+        return currentBlockStartTime;
+    }
+
+    /** The index of the next data file to write. */
+    public int getCurrentFileIndex() {
+        return currentFileIndex;
+    }
+
     public void setBaseFileConf(BaseFileConf baseFileConf) {
         this.baseFileConf = baseFileConf;
     }
@@ -355,6 +355,10 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
         outputMetric.addDirtyMetric(
                 Metrics.DIRTY_DATA_COLLECT_FAILED_COUNT,
                 this.dirtyManager.getFailedConsumedMetric());
+        outputMetric.addDirtyMetric(
+                Metrics.DIRTY_DATA_DROPPED_COUNT, this.dirtyManager.getDroppedMetric());
+        outputMetric.addDirtyGauge(
+                Metrics.DIRTY_DATA_QUEUE_SIZE, this.dirtyManager.getQueueSizeGauge());
     }
 
     /** 初始化累加器收集器 */
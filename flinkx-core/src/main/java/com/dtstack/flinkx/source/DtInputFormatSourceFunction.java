@@ -47,6 +47,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -99,6 +100,8 @@ public class DtInputFormatSourceFunction<OUT> extends InputFormatSourceFunction<
             if (formatStateMap != null) {
                 ((BaseRichInputFormat) format)
                         .setRestoreState(formatStateMap.get(context.getIndexOfThisSubtask()));
+                ((BaseRichInputFormat) format)
+                        .setUnionRestoreStates(new ArrayList<>(formatStateMap.values()));
             }
         }
 
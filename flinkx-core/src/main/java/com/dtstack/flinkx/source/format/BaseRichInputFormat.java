@@ -37,11 +37,13 @@ import com.dtstack.flinkx.util.JsonUtil;
 import org.apache.flink.api.common.ExecutionConfig;
 import org.apache.flink.api.common.accumulators.LongCounter;
 import org.apache.flink.api.common.io.DefaultInputSplitAssigner;
+import org.apache.flink.api.common.io.LocatableInputSplitAssigner;
 import org.apache.flink.api.common.io.RichInputFormat;
 import org.apache.flink.api.common.io.statistics.BaseStatistics;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.core.io.InputSplit;
 import org.apache.flink.core.io.InputSplitAssigner;
+import org.apache.flink.core.io.LocatableInputSplit;
 import org.apache.flink.streaming.api.operators.StreamingRuntimeContext;
 import org.apache.flink.table.data.RowData;
 
@@ -93,6 +95,8 @@ public abstract class BaseRichInputFormat extends RichInputFormat<RowData, Input
     protected AccumulatorCollector accumulatorCollector;
     /** checkpoint状态缓存map */
     protected FormatState formatState;
+    /** 所有通道恢复的checkpoint状态，分片动态分配时用于合并各分片的读取进度 */
+    protected List<FormatState> unionRestoreStates;
 
     protected LongCounter numReadCounter;
     protected LongCounter bytesReadCounter;
@@ -129,6 +133,10 @@ public abstract class BaseRichInputFormat extends RichInputFormat<RowData, Input
 
     @Override
     public final InputSplitAssigner getInputSplitAssigner(InputSplit[] inputSplits) {
+        if (inputSplits instanceof LocatableInputSplit[]) {
+            // 分片带有主机信息时优先分配给同一主机上的subtask，仍然按请求动态分配
+            return new LocatableInputSplitAssigner((LocatableInputSplit[]) inputSplits);
+        }
         return new DefaultInputSplitAssigner(inputSplits);
     }
 
@@ -300,6 +308,10 @@ public abstract class BaseRichInputFormat extends RichInputFormat<RowData, Input
         inputMetric.addDirtyMetric(
                 Metrics.DIRTY_DATA_COLLECT_FAILED_COUNT,
                 this.dirtyManager.getFailedConsumedMetric());
+        inputMetric.addDirtyMetric(
+                Metrics.DIRTY_DATA_DROPPED_COUNT, this.dirtyManager.getDroppedMetric());
+        inputMetric.addDirtyGauge(
+                Metrics.DIRTY_DATA_QUEUE_SIZE, this.dirtyManager.getQueueSizeGauge());
     }
 
     /** 从checkpoint状态缓存map中恢复上次任务的指标信息 */
@@ -372,6 +384,10 @@ public abstract class BaseRichInputFormat extends RichInputFormat<RowData, Input
         this.formatState = formatState;
     }
 
+    public void setUnionRestoreStates(List<FormatState> unionRestoreStates) {
+        this.unionRestoreStates = unionRestoreStates;
+    }
+
     public FlinkxCommonConf getConfig() {
         return config;
     }
@@ -70,6 +70,28 @@ public class SourceOptions {
                     .defaultValue(0)
                     .withDescription("scan.polling-interval");
 
+    public static final ConfigOption<Long> SCAN_POLLING_MAX_INTERVAL =
+            ConfigOptions.key("scan.polling-max-interval")
+                    .longType()
+                    .defaultValue(0L)
+                    .withDescription(
+                            "the max interval the polling backs off to when no new data is found,"
+                                    + " no back off when it is not greater than scan.polling-interval.");
+
+    public static final ConfigOption<String> SCAN_POLLING_PK =
+            ConfigOptions.key("scan.polling-pk")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "the unique column used with scan.increment.column to page the polling query.");
+
+    public static final ConfigOption<Integer> SCAN_POLLING_PAGE_SIZE =
+            ConfigOptions.key("scan.polling-page-size")
+                    .intType()
+                    .defaultValue(0)
+                    .withDescription(
+                            "the max rows of each polling query when scan.polling-pk is set, zero means no limit.");
+
     public static final ConfigOption<String> SCAN_START_LOCATION =
             ConfigOptions.key("scan.start-location")
                     .stringType()
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.flinkx.util;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * The date layout of one column. The first layout of {@link DateUtil#stringToDate(String,
+ * SimpleDateFormat)} that parses a value of the column is tried first for the next values, and the
+ * whole cascade only runs again when it misses, so the failing layouts before the layout of the
+ * column are not tried on every row.
+ *
+ * <p>Only the layouts parsed without a formatter are locked onto, they never match the same text.
+ * The lenient formatters may also parse a text meant for an earlier layout, e.g. the year
+ * formatter parses "20200318105600" as a year, so a value that needs a formatter always goes
+ * through the cascade. A detector is not thread-safe and belongs to one column of one converter.
+ */
+public class DateLayoutDetector {
+
+    /** Index of the locked layout, -1 if the last value needed a formatter. */
+    private int layout = -1;
+
+    /**
+     * Same as {@link DateUtil#stringToDate(String, SimpleDateFormat)} without a custom format.
+     *
+     * @param text text to parse.
+     * @return the date, or null if the text is blank.
+     */
+    public Date parse(String text) {
+        if (text == null || text.trim().length() == 0) {
+            return null;
+        }
+
+        if (layout >= 0) {
+            Date date = DateUtil.parseLayout(text, layout, true);
+            if (date != null) {
+                return date;
+            }
+        }
+
+        for (int i = 0; i < DateUtil.LAYOUT_COUNT; i++) {
+            Date date = DateUtil.parseLayout(text, i, false);
+            if (date != null) {
+                layout = i < DateUtil.FORMATTER_LAYOUT_START ? i : -1;
+                return date;
+            }
+        }
+
+        throw new RuntimeException("can't parse date");
+    }
+
+    /** Index of the locked layout, -1 if the last value needed a formatter. */
+    int getLayout() {
+        return layout;
+    }
+}
@@ -21,13 +21,14 @@ package com.dtstack.flinkx.util;
 import org.apache.commons.lang3.StringUtils;
 
 import java.sql.Timestamp;
-import java.text.ParseException;
+import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneId;
+import java.time.YearMonth;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -36,6 +37,8 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
 import static java.time.format.DateTimeFormatter.ISO_INSTANT;
@@ -91,6 +94,43 @@ public class DateUtil {
             Pattern.compile("[0-9]{4}-[0-9]{2}-[0-9]{2} [0-9]{2}:[0-9]{2}:[0-9]{2}?.*");
     private static final int MILLIS_PER_SECOND = 1000;
 
+    /** The offset of {@link #TIME_ZONE}, which has no daylight saving time. */
+    private static final ZoneOffset TIME_ZONE_OFFSET = ZoneOffset.ofHours(8);
+
+    /**
+     * {@link SimpleDateFormat} uses the julian calendar for old dates, so the hand-rolled layouts
+     * only handle years after this one.
+     */
+    private static final int MIN_FAST_PATH_YEAR = 1600;
+
+    /** The formatters tried in order by {@link #stringToDate(String, SimpleDateFormat)}. */
+    private static final String[] CANDIDATE_FORMATS = {
+        STANDARD_DATETIME_FORMAT, UN_STANDARD_DATETIME_FORMAT, DATE_FORMAT, TIME_FORMAT, YEAR_FORMAT
+    };
+
+    /** Index of the first layout parsed by a formatter of {@link #CANDIDATE_FORMATS}. */
+    static final int FORMATTER_LAYOUT_START = 3;
+
+    /**
+     * The layouts tried in order by {@link #stringToDate(String, SimpleDateFormat)} after the
+     * custom format: the standard datetime, un-standard datetime and date layouts parsed without a
+     * formatter, then {@link #CANDIDATE_FORMATS}.
+     */
+    static final int LAYOUT_COUNT = FORMATTER_LAYOUT_START + CANDIDATE_FORMATS.length;
+
+    /** The instants {@link #formatMillis(String, long)} may format with a DateTimeFormatter. */
+    private static final long MIN_FAST_PATH_MILLIS =
+            LocalDateTime.of(MIN_FAST_PATH_YEAR, 1, 1, 0, 0).toEpochSecond(TIME_ZONE_OFFSET)
+                    * MILLIS_PER_SECOND;
+
+    private static final long MAX_FAST_PATH_MILLIS =
+            LocalDateTime.of(9999, 12, 31, 23, 59, 59).toEpochSecond(TIME_ZONE_OFFSET)
+                    * MILLIS_PER_SECOND;
+
+    /** Immutable formatters of custom patterns, shared by all threads. */
+    private static final ConcurrentMap<String, DateTimeFormatter> DATE_TIME_FORMATTERS =
+            new ConcurrentHashMap<>();
+
     /** parse yyyy-MM-dd HH:mm:ss.SSSSSS format string, like '2021-06-12 12:01:21.011101' * */
     public static final DateTimeFormatter DATETIME_FORMATTER =
             DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSS");
@@ -133,6 +173,10 @@ public class DateUtil {
                         return formatterMap;
                     });
 
+    /** Formatters of custom patterns, built once per thread and pattern. */
+    private static final ThreadLocal<Map<String, SimpleDateFormat>> customFormatter =
+            ThreadLocal.withInitial(HashMap::new);
+
     private DateUtil() {}
 
     public static java.sql.Date columnToDate(Object column, SimpleDateFormat customTimeFormat) {
@@ -239,38 +283,160 @@ public class DateUtil {
         }
 
         if (customTimeFormat != null) {
-            try {
-                return customTimeFormat.parse(strDate);
-            } catch (ParseException ignored) {
+            Date date = parse(customTimeFormat, strDate);
+            if (date != null) {
+                return date;
             }
         }
 
-        try {
-            return datetimeFormatter.get().get(STANDARD_DATETIME_FORMAT).parse(strDate);
-        } catch (ParseException ignored) {
+        for (int layout = 0; layout < LAYOUT_COUNT; layout++) {
+            Date date = parseLayout(strDate, layout, false);
+            if (date != null) {
+                return date;
+            }
         }
 
-        try {
-            return datetimeFormatter.get().get(UN_STANDARD_DATETIME_FORMAT).parse(strDate);
-        } catch (ParseException ignored) {
+        throw new RuntimeException("can't parse date");
+    }
+
+    /**
+     * Same as {@link SimpleDateFormat#parse(String)}, but returns null instead of throwing an
+     * exception when the text can not be parsed.
+     *
+     * @param format formatter.
+     * @param text text to parse.
+     * @return the date, or null.
+     */
+    public static Date parse(SimpleDateFormat format, String text) {
+        ParsePosition position = new ParsePosition(0);
+        Date date = format.parse(text, position);
+        return position.getIndex() == 0 ? null : date;
+    }
+
+    /**
+     * Parse text with one of the {@link #LAYOUT_COUNT} layouts. The first three layouts give the
+     * same result as the formatters of {@link #CANDIDATE_FORMATS}, without them, and do not match
+     * the same text.
+     *
+     * @param text text to parse.
+     * @param layout index of the layout.
+     * @param whole whether a formatter must consume the whole text, otherwise it may ignore a
+     *     suffix.
+     * @return the date, or null if the layout does not match.
+     */
+    static Date parseLayout(String text, int layout, boolean whole) {
+        LocalDateTime localDateTime;
+        switch (layout) {
+            case 0:
+                localDateTime = parseStandardDatetime(text, false);
+                break;
+            case 1:
+                localDateTime = parseUnStandardDatetime(text);
+                break;
+            case 2:
+                localDateTime = parseDate(text);
+                break;
+            default:
+                SimpleDateFormat format =
+                        datetimeFormatter
+                                .get()
+                                .get(CANDIDATE_FORMATS[layout - FORMATTER_LAYOUT_START]);
+                ParsePosition position = new ParsePosition(0);
+                Date date = format.parse(text, position);
+                if (position.getIndex() == 0 || (whole && position.getIndex() != text.length())) {
+                    return null;
+                }
+                return date;
         }
+        return localDateTime == null
+                ? null
+                : new Date(localDateTime.toInstant(TIME_ZONE_OFFSET).toEpochMilli());
+    }
 
-        try {
-            return datetimeFormatter.get().get(DATE_FORMAT).parse(strDate);
-        } catch (ParseException ignored) {
+    /**
+     * Parse text starting with yyyy-MM-dd HH:mm:ss.
+     *
+     * @param text text to parse.
+     * @param exact whether the text must end after the seconds, otherwise any non-digit may follow
+     *     as {@link SimpleDateFormat} ignores it.
+     * @return the local date time, or null if the text has another layout or invalid fields.
+     */
+    private static LocalDateTime parseStandardDatetime(String text, boolean exact) {
+        int length = text.length();
+        if (length < 19
+                || (exact && length != 19)
+                || (length > 19 && isDigit(text.charAt(19)))
+                || text.charAt(4) != '-'
+                || text.charAt(7) != '-'
+                || text.charAt(10) != ' '
+                || text.charAt(13) != ':'
+                || text.charAt(16) != ':') {
+            return null;
         }
+        return toLocalDateTime(
+                digits(text, 0, 4),
+                digits(text, 5, 2),
+                digits(text, 8, 2),
+                digits(text, 11, 2),
+                digits(text, 14, 2),
+                digits(text, 17, 2));
+    }
 
-        try {
-            return datetimeFormatter.get().get(TIME_FORMAT).parse(strDate);
-        } catch (ParseException ignored) {
+    /** Parse text of exactly yyyyMMddHHmmss. */
+    private static LocalDateTime parseUnStandardDatetime(String text) {
+        if (text.length() != 14) {
+            return null;
         }
+        return toLocalDateTime(
+                digits(text, 0, 4),
+                digits(text, 4, 2),
+                digits(text, 6, 2),
+                digits(text, 8, 2),
+                digits(text, 10, 2),
+                digits(text, 12, 2));
+    }
 
-        try {
-            return datetimeFormatter.get().get(YEAR_FORMAT).parse(strDate);
-        } catch (ParseException ignored) {
+    /** Parse text of exactly yyyy-MM-dd. */
+    private static LocalDateTime parseDate(String text) {
+        if (text.length() != 10 || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return null;
         }
+        return toLocalDateTime(digits(text, 0, 4), digits(text, 5, 2), digits(text, 8, 2), 0, 0, 0);
+    }
 
-        throw new RuntimeException("can't parse date");
+    private static LocalDateTime toLocalDateTime(
+            int year, int month, int day, int hour, int minute, int second) {
+        if (year < MIN_FAST_PATH_YEAR
+                || month < 1
+                || month > 12
+                || day < 1
+                || day > YearMonth.of(year, month).lengthOfMonth()
+                || hour < 0
+                || hour > 23
+                || minute < 0
+                || minute > 59
+                || second < 0
+                || second > 59) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second);
+    }
+
+    /** The value of {@code count} ascii digits from {@code offset}, or -1 if any is not a digit. */
+    private static int digits(String text, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
     }
 
     public static String dateToString(Date date) {
@@ -312,6 +478,91 @@ public class DateUtil {
         return sdf;
     }
 
+    /**
+     * Same as {@link #buildDateFormatter(String)}, but the formatter is cached by the current
+     * thread, so it must not be modified or shared with other threads.
+     *
+     * @param timeFormat pattern of the formatter.
+     * @return formatter.
+     */
+    public static SimpleDateFormat getCachedDateFormatter(String timeFormat) {
+        return customFormatter.get().computeIfAbsent(timeFormat, DateUtil::buildDateFormatter);
+    }
+
+    /**
+     * Immutable formatter of the pattern, built once and shared by all threads.
+     *
+     * @param pattern pattern of {@link DateTimeFormatter#ofPattern(String)}.
+     * @return formatter.
+     */
+    public static DateTimeFormatter getCachedDateTimeFormatter(String pattern) {
+        return DATE_TIME_FORMATTERS.computeIfAbsent(pattern, DateTimeFormatter::ofPattern);
+    }
+
+    /**
+     * Same as formatting the milliseconds with {@link #getCachedDateFormatter(String)}. A pattern
+     * of numeric fields only is formatted with {@link #getCachedDateTimeFormatter(String)}
+     * instead, which gives the same text for years {@link #MIN_FAST_PATH_YEAR} to 9999 without
+     * filling a calendar.
+     *
+     * @param pattern pattern of the formatter.
+     * @param millis epoch milliseconds.
+     * @return formatted text.
+     */
+    public static String formatMillis(String pattern, long millis) {
+        if (millis >= MIN_FAST_PATH_MILLIS
+                && millis <= MAX_FAST_PATH_MILLIS
+                && isNumericPattern(pattern)) {
+            return getCachedDateTimeFormatter(pattern)
+                    .format(Instant.ofEpochMilli(millis).atOffset(TIME_ZONE_OFFSET));
+        }
+        return getCachedDateFormatter(pattern).format(new Date(millis));
+    }
+
+    /**
+     * Whether the pattern only has fields both formatters print alike: y, yy or yyyy, one or two
+     * of M, d, H, m and s, SSS, and literals with no special meaning to either.
+     */
+    static boolean isNumericPattern(String pattern) {
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            int count = 1;
+            while (i + count < pattern.length() && pattern.charAt(i + count) == c) {
+                count++;
+            }
+            i += count;
+            switch (c) {
+                case 'y':
+                    if (count == 3 || count > 4) {
+                        return false;
+                    }
+                    break;
+                case 'M':
+                case 'd':
+                case 'H':
+                case 'm':
+                case 's':
+                    if (count > 2) {
+                        return false;
+                    }
+                    break;
+                case 'S':
+                    if (count != 3) {
+                        return false;
+                    }
+                    break;
+                default:
+                    if ((c >= 'a' && c <= 'z')
+                            || (c >= 'A' && c <= 'Z')
+                            || "'[]{}#".indexOf(c) >= 0) {
+                        return false;
+                    }
+            }
+        }
+        return true;
+    }
+
     /**
      * 常规自动日期格式识别
      *
@@ -388,6 +639,15 @@ public class DateUtil {
         if (strDate == null) {
             return null;
         }
+
+        LocalDateTime localDateTime = parseStandardDatetime(strDate, true);
+        if (localDateTime == null) {
+            localDateTime = parseDate(strDate);
+        }
+        if (localDateTime != null) {
+            return localDateTimetoDate(localDateTime);
+        }
+
         try {
             return localDateTimetoDate(LocalDateTime.parse(strDate, DATE_TIME_FORMATTER));
         } catch (DateTimeParseException ignored) {
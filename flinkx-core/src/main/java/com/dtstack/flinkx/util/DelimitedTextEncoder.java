@@ -0,0 +1,303 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.flinkx.util;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Encodes records of delimited text into a reusable byte buffer, the counterpart of {@link
+ * DelimitedTextTokenizer}. Lines are not built as Strings, each field is encoded into the buffer
+ * as it is appended and the buffer is written to the stream in chunks.
+ *
+ * <p>With an escape char, the escape char, the quote char, the first char of the delimiter, line
+ * feed and carriage return are escaped, the last two as {@code \n} and {@code \r}. With only a
+ * quote char, a field holding the delimiter, line feed or carriage return, or starting with the
+ * quote char, is quoted and its quote chars are doubled. Otherwise fields are written as they are.
+ *
+ * <p>UTF-8 is encoded char by char into the buffer, other charsets through {@link
+ * String#getBytes(Charset)}.
+ */
+public class DelimitedTextEncoder {
+
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+    private static final byte NEWLINE = '\n';
+
+    private final Charset charset;
+    private final boolean utf8;
+    private final String delimiter;
+    private final byte[] delimiterBytes;
+    private final char delimiterHead;
+    private final boolean hasQuote;
+    private final char quote;
+    private final boolean hasEscape;
+    private final char escape;
+    private final int chunkSize;
+
+    /** bytes written for a null field */
+    private byte[] nullValue;
+
+    private byte[] buffer;
+    private int count;
+    private int fieldCount;
+    private StringBuilder builder;
+
+    public DelimitedTextEncoder(
+            String delimiter, Charset charset, String quoteChar, String escapeChar) {
+        this(delimiter, charset, quoteChar, escapeChar, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param delimiter field delimiter, may have more than one char
+     * @param charset charset of the text
+     * @param quoteChar quote char, blank to disable quoting
+     * @param escapeChar escape char, blank to disable escaping
+     * @param chunkSize buffered bytes to be written to the stream at once
+     */
+    public DelimitedTextEncoder(
+            String delimiter,
+            Charset charset,
+            String quoteChar,
+            String escapeChar,
+            int chunkSize) {
+        if (StringUtils.isEmpty(delimiter)) {
+            throw new IllegalArgumentException("delimiter can not be empty");
+        }
+        this.charset = charset;
+        this.utf8 = StandardCharsets.UTF_8.equals(charset);
+        this.delimiter = delimiter;
+        this.delimiterBytes = delimiter.getBytes(charset);
+        this.delimiterHead = delimiter.charAt(0);
+        this.hasQuote = StringUtils.isNotEmpty(quoteChar);
+        this.quote = hasQuote ? toAsciiChar(quoteChar, "quoteChar") : 0;
+        // the same rule as DelimitedTextTokenizer, a doubled quote char does the escaping
+        this.hasEscape = StringUtils.isNotEmpty(escapeChar) && !escapeChar.equals(quoteChar);
+        this.escape = hasEscape ? toAsciiChar(escapeChar, "escapeChar") : 0;
+        this.chunkSize = chunkSize;
+        this.buffer = new byte[chunkSize + 1024];
+        this.nullValue = "null".getBytes(charset);
+    }
+
+    private static char toAsciiChar(String str, String name) {
+        if (str.length() != 1 || str.charAt(0) > 0x7F) {
+            throw new IllegalArgumentException(name + " must be a single ASCII char: " + str);
+        }
+        return str.charAt(0);
+    }
+
+    /** Bytes written for a null field, {@code null} by default. */
+    public void setNullValue(String nullValue) {
+        this.nullValue = nullValue.getBytes(charset);
+    }
+
+    /** Appends a field to the current record. */
+    public void appendField(String value) {
+        if (fieldCount++ > 0) {
+            writeBytes(delimiterBytes);
+        }
+        if (value == null) {
+            writeBytes(nullValue);
+        } else if (hasEscape) {
+            appendEscaped(value);
+        } else if (hasQuote && needQuote(value)) {
+            appendQuoted(value);
+        } else {
+            appendChars(value);
+        }
+    }
+
+    /** Ends the current record with a line feed. */
+    public void endRecord() {
+        ensureCapacity(1);
+        buffer[count++] = NEWLINE;
+        fieldCount = 0;
+    }
+
+    /** Writes the buffered records to the stream if there are at least chunkSize bytes. */
+    public void writeIfFull(OutputStream out) throws IOException {
+        if (count >= chunkSize) {
+            writeTo(out);
+        }
+    }
+
+    /** Writes all the buffered records to the stream. */
+    public void writeTo(OutputStream out) throws IOException {
+        if (count > 0) {
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+    /** Drops the buffered bytes, such as the records of a stream that failed. */
+    public void reset() {
+        count = 0;
+        fieldCount = 0;
+    }
+
+    /** @return number of buffered bytes */
+    public int size() {
+        return count;
+    }
+
+    private boolean needQuote(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        if (value.charAt(0) == quote || value.contains(delimiter)) {
+            return true;
+        }
+        return value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+    }
+
+    private void appendEscaped(String value) {
+        if (!utf8) {
+            StringBuilder sb = getBuilder();
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (isSpecial(c)) {
+                    sb.append(escape).append(escapedChar(c));
+                } else {
+                    sb.append(c);
+                }
+            }
+            writeBytes(sb.toString().getBytes(charset));
+            return;
+        }
+
+        int length = value.length();
+        ensureCapacity(length * 2);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (isSpecial(c)) {
+                buffer[count++] = (byte) escape;
+                buffer[count++] = (byte) escapedChar(c);
+            } else if (c < 0x80) {
+                buffer[count++] = (byte) c;
+            } else {
+                i = appendUtf8(value, i);
+            }
+        }
+    }
+
+    private boolean isSpecial(char c) {
+        return c == escape
+                || c == delimiterHead
+                || c == '\n'
+                || c == '\r'
+                || (hasQuote && c == quote);
+    }
+
+    private static char escapedChar(char c) {
+        if (c == '\n') {
+            return 'n';
+        } else if (c == '\r') {
+            return 'r';
+        }
+        return c;
+    }
+
+    private void appendQuoted(String value) {
+        StringBuilder sb = getBuilder();
+        sb.append(quote);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == quote) {
+                sb.append(quote);
+            }
+            sb.append(c);
+        }
+        sb.append(quote);
+        appendChars(sb);
+    }
+
+    private void appendChars(CharSequence value) {
+        if (!utf8) {
+            writeBytes(value.toString().getBytes(charset));
+            return;
+        }
+
+        int length = value.length();
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer[count++] = (byte) c;
+            } else {
+                i = appendUtf8(value, i);
+            }
+        }
+    }
+
+    /**
+     * Encodes a non-ASCII char, or a surrogate pair, as UTF-8.
+     *
+     * @return index of the last char encoded
+     */
+    private int appendUtf8(CharSequence value, int index) {
+        // a char takes at most 3 bytes, a surrogate pair 4 bytes for 2 chars
+        ensureCapacity(3 * (value.length() - index));
+        char c = value.charAt(index);
+        if (c < 0x800) {
+            buffer[count++] = (byte) (0xC0 | (c >> 6));
+            buffer[count++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c)
+                && index + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(index + 1))) {
+            int codePoint = Character.toCodePoint(c, value.charAt(index + 1));
+            buffer[count++] = (byte) (0xF0 | (codePoint >> 18));
+            buffer[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            buffer[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[count++] = (byte) (0x80 | (codePoint & 0x3F));
+            return index + 1;
+        } else if (Character.isSurrogate(c)) {
+            // unpaired surrogate, the same replacement as String#getBytes
+            buffer[count++] = '?';
+        } else {
+            buffer[count++] = (byte) (0xE0 | (c >> 12));
+            buffer[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[count++] = (byte) (0x80 | (c & 0x3F));
+        }
+        return index;
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, count, bytes.length);
+        count += bytes.length;
+    }
+
+    private void ensureCapacity(int length) {
+        if (count + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + length));
+        }
+    }
+
+    private StringBuilder getBuilder() {
+        if (builder == null) {
+            builder = new StringBuilder();
+        }
+        builder.setLength(0);
+        return builder;
+    }
+}
@@ -0,0 +1,362 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.flinkx.util;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Splits a line of delimited text on its raw bytes. Field boundaries are found without decoding the
+ * line, a field is only decoded to String when it is asked for, so columns that are not read cost
+ * nothing but the scan.
+ *
+ * <p>Like {@link StringUtils#splitByWholeSeparatorPreserveAllTokens(String, String)}, the delimiter
+ * is matched as a whole, adjacent delimiters give empty fields and an empty line gives no field.
+ * Optionally:
+ *
+ * <ul>
+ *   <li>a field starting with the quote char is quoted, delimiters inside the quotes are part of the
+ *       field and a doubled quote char stands for the quote char itself;
+ *   <li>the escape char takes the next byte literally, {@code \n} and {@code \r} after the escape
+ *       char stand for line feed and carriage return, the same as Hive's {@code escape.delim}.
+ * </ul>
+ *
+ * <p>Bytes are scanned as they are when the charset can not produce the delimiter, quote or escape
+ * bytes inside a multi-byte char, i.e. UTF-8, ISO-8859-1 and US-ASCII, or an ASCII compatible
+ * charset such as GBK when all of them are below {@code 0x30}. Otherwise the line is transcoded to
+ * UTF-8 before the scan.
+ *
+ * <p>Not thread safe, the fields refer to the bytes passed to the last {@link #tokenize} call.
+ */
+public class DelimitedTextTokenizer {
+
+    private static final int INITIAL_FIELD_CAPACITY = 16;
+    /** The highest byte that can not be a trail byte of GBK, GB18030, Big5, Shift_JIS and EUC */
+    private static final int MAX_SAFE_BYTE = 0x2F;
+
+    private final Charset charset;
+    /** false if lines are transcoded to UTF-8 before the scan */
+    private final boolean scanRawBytes;
+    private final Charset scanCharset;
+
+    private final byte[] delimiter;
+    private final boolean hasQuote;
+    private final byte quote;
+    private final boolean hasEscape;
+    private final byte escape;
+
+    /** fields after this number are not split */
+    private int maxFields = Integer.MAX_VALUE;
+    /** raw bytes of the null value in the scan charset, null if not set */
+    private byte[] nullValue;
+
+    private byte[] bytes;
+    private int fieldCount;
+    private int[] starts = new int[INITIAL_FIELD_CAPACITY];
+    private int[] ends = new int[INITIAL_FIELD_CAPACITY];
+    /** false if the field has quote or escape chars to be removed when decoding */
+    private boolean[] plain = new boolean[INITIAL_FIELD_CAPACITY];
+    /** set by indexOfDelimiter when an escape char is met */
+    private boolean escaped;
+    private byte[] scratch = new byte[0];
+
+    public DelimitedTextTokenizer(String delimiter, Charset charset) {
+        this(delimiter, charset, null, null);
+    }
+
+    /**
+     * @param delimiter field delimiter, may have more than one char
+     * @param charset charset of the text
+     * @param quoteChar quote char, blank to disable quoting
+     * @param escapeChar escape char, blank to disable escaping
+     */
+    public DelimitedTextTokenizer(
+            String delimiter, Charset charset, String quoteChar, String escapeChar) {
+        if (StringUtils.isEmpty(delimiter)) {
+            throw new IllegalArgumentException("delimiter can not be empty");
+        }
+        this.charset = charset;
+        this.hasQuote = StringUtils.isNotEmpty(quoteChar);
+        this.quote = hasQuote ? toAsciiByte(quoteChar, "quoteChar") : 0;
+        // with escape char equal to quote char a doubled quote char already does the escaping
+        this.hasEscape = StringUtils.isNotEmpty(escapeChar) && !escapeChar.equals(quoteChar);
+        this.escape = hasEscape ? toAsciiByte(escapeChar, "escapeChar") : 0;
+
+        String specialChars =
+                delimiter + (hasQuote ? quoteChar : "") + (hasEscape ? escapeChar : "");
+        this.scanRawBytes = canScanRawBytes(charset, specialChars);
+        this.scanCharset = scanRawBytes ? charset : StandardCharsets.UTF_8;
+        this.delimiter = delimiter.getBytes(scanCharset);
+    }
+
+    private static byte toAsciiByte(String str, String name) {
+        if (str.length() != 1 || str.charAt(0) > 0x7F) {
+            throw new IllegalArgumentException(name + " must be a single ASCII char: " + str);
+        }
+        return (byte) str.charAt(0);
+    }
+
+    private static boolean canScanRawBytes(Charset charset, String specialChars) {
+        if (StandardCharsets.UTF_8.equals(charset)
+                || StandardCharsets.ISO_8859_1.equals(charset)
+                || StandardCharsets.US_ASCII.equals(charset)) {
+            return true;
+        }
+        // the special chars and line feed must be encoded to the same single bytes as in ASCII
+        String chars = specialChars + '\n';
+        byte[] asciiBytes = chars.getBytes(StandardCharsets.US_ASCII);
+        if (!chars.equals(new String(asciiBytes, StandardCharsets.US_ASCII))
+                || !Arrays.equals(asciiBytes, chars.getBytes(charset))) {
+            return false;
+        }
+        for (byte b : asciiBytes) {
+            if (b > MAX_SAFE_BYTE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Only split the first {@code maxFields} fields of a line, the rest of the line is not scanned.
+     * Set it to the highest index read plus one when only some of the fields are read.
+     */
+    public void setMaxFields(int maxFields) {
+        this.maxFields = maxFields;
+    }
+
+    /** Raw value of a field to be checked by {@link #isNull(int)}, such as {@code \N}. */
+    public void setNullValue(String nullValue) {
+        this.nullValue = nullValue == null ? null : nullValue.getBytes(scanCharset);
+    }
+
+    /**
+     * Whether line feed is a single byte that can not be part of another char in the charset, i.e.
+     * lines can be split on raw bytes and passed to {@link #tokenize(byte[], int, int)} without
+     * transcoding.
+     */
+    public boolean isScanRawBytes() {
+        return scanRawBytes;
+    }
+
+    /**
+     * Splits a line.
+     *
+     * @param line the line without the line terminator
+     * @return number of fields
+     */
+    public int tokenize(String line) {
+        byte[] lineBytes = line.getBytes(scanCharset);
+        return split(lineBytes, 0, lineBytes.length);
+    }
+
+    /**
+     * Splits a line encoded with the charset of this tokenizer.
+     *
+     * @param bytes buffer holding the line, must not be changed before the fields are read
+     * @param offset start of the line
+     * @param length length of the line without the line terminator
+     * @return number of fields
+     */
+    public int tokenize(byte[] bytes, int offset, int length) {
+        if (scanRawBytes) {
+            return split(bytes, offset, length);
+        }
+        return tokenize(new String(bytes, offset, length, charset));
+    }
+
+    private int split(byte[] bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.fieldCount = 0;
+        if (length == 0) {
+            return 0;
+        }
+
+        int end = offset + length;
+        int pos = offset;
+        while (fieldCount < maxFields) {
+            int start = pos;
+            boolean isPlain = true;
+            if (hasQuote && pos < end && bytes[pos] == quote) {
+                isPlain = false;
+                pos = skipQuoted(bytes, pos + 1, end);
+            }
+            int next = indexOfDelimiter(bytes, pos, end);
+            if (escaped) {
+                isPlain = false;
+            }
+            addField(start, next < 0 ? end : next, isPlain);
+            if (next < 0) {
+                break;
+            }
+            pos = next + delimiter.length;
+        }
+        return fieldCount;
+    }
+
+    /** @return position after the closing quote, or the end if the quote is not closed */
+    private int skipQuoted(byte[] bytes, int pos, int end) {
+        while (pos < end) {
+            byte b = bytes[pos];
+            if (hasEscape && b == escape) {
+                pos += 2;
+            } else if (b == quote) {
+                if (pos + 1 < end && bytes[pos + 1] == quote) {
+                    pos += 2;
+                } else {
+                    return pos + 1;
+                }
+            } else {
+                pos++;
+            }
+        }
+        return end;
+    }
+
+    private int indexOfDelimiter(byte[] bytes, int from, int end) {
+        escaped = false;
+        byte first = delimiter[0];
+        for (int i = from; i < end; i++) {
+            byte b = bytes[i];
+            if (b == first && matchDelimiter(bytes, i, end)) {
+                return i;
+            }
+            if (hasEscape && b == escape) {
+                escaped = true;
+                i++;
+            }
+        }
+        return -1;
+    }
+
+    private boolean matchDelimiter(byte[] bytes, int pos, int end) {
+        if (delimiter.length == 1) {
+            return true;
+        }
+        if (pos + delimiter.length > end) {
+            return false;
+        }
+        for (int i = 1; i < delimiter.length; i++) {
+            if (bytes[pos + i] != delimiter[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addField(int start, int end, boolean isPlain) {
+        if (fieldCount == starts.length) {
+            int capacity = fieldCount * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            plain = Arrays.copyOf(plain, capacity);
+        }
+        starts[fieldCount] = start;
+        ends[fieldCount] = end;
+        plain[fieldCount] = isPlain;
+        fieldCount++;
+    }
+
+    /** @return number of fields of the last line */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /** Whether the raw bytes of the field are equal to the null value. */
+    public boolean isNull(int index) {
+        checkIndex(index);
+        if (nullValue == null || ends[index] - starts[index] != nullValue.length) {
+            return false;
+        }
+        for (int i = 0; i < nullValue.length; i++) {
+            if (bytes[starts[index] + i] != nullValue[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Decodes a field, quotes and escape chars are removed. */
+    public String getString(int index) {
+        checkIndex(index);
+        int start = starts[index];
+        int end = ends[index];
+        if (plain[index]) {
+            return new String(bytes, start, end - start, scanCharset);
+        }
+
+        if (scratch.length < end - start) {
+            scratch = new byte[end - start];
+        }
+        int length = 0;
+        int pos = start;
+        boolean inQuote = false;
+        if (hasQuote && bytes[pos] == quote) {
+            inQuote = true;
+            pos++;
+        }
+        while (pos < end) {
+            byte b = bytes[pos];
+            if (hasEscape && b == escape && pos + 1 < end) {
+                scratch[length++] = unescape(bytes[pos + 1]);
+                pos += 2;
+            } else if (inQuote && b == quote) {
+                if (pos + 1 < end && bytes[pos + 1] == quote) {
+                    scratch[length++] = quote;
+                    pos += 2;
+                } else {
+                    inQuote = false;
+                    pos++;
+                }
+            } else {
+                scratch[length++] = b;
+                pos++;
+            }
+        }
+        return new String(scratch, 0, length, scanCharset);
+    }
+
+    private static byte unescape(byte b) {
+        if (b == 'n') {
+            return '\n';
+        } else if (b == 'r') {
+            return '\r';
+        }
+        return b;
+    }
+
+    /** Decodes all the fields of the last line. */
+    public String[] toArray() {
+        String[] fields = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            fields[i] = getString(i);
+        }
+        return fields;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= fieldCount) {
+            throw new IndexOutOfBoundsException(
+                    "field index: " + index + ", field count: " + fieldCount);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.flinkx.mapping;
+
+import com.dtstack.flinkx.element.ColumnRowData;
+import com.dtstack.flinkx.element.column.StringColumn;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.java.typeutils.runtime.kryo.KryoSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.util.InstantiationUtil;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class NameMappingTest {
+
+    private NameMapping nameMapping;
+
+    @Before
+    public void setUp() {
+        NameMappingConf conf = new NameMappingConf();
+        conf.setSchemaMappings(Collections.singletonMap("db", "db_target"));
+        Map<String, Object> tableMappings = new HashMap<>();
+        tableMappings.put("db", Collections.singletonMap("t", "t_target"));
+        conf.setTableMappings(tableMappings);
+        Map<String, Object> fieldMappings = new HashMap<>();
+        fieldMappings.put(
+                "db", Collections.singletonMap("t", Collections.singletonMap("id", "id_target")));
+        conf.setFieldMappings(fieldMappings);
+        nameMapping = new NameMapping(conf);
+    }
+
+    @Test
+    public void testRowsShareTargetHeader() {
+        ColumnRowData first = (ColumnRowData) nameMapping.map(newRow("1"));
+        ColumnRowData second = (ColumnRowData) nameMapping.map(newRow("2"));
+
+        Assert.assertSame(first.getHeaderInfo(), second.getHeaderInfo());
+        Assert.assertArrayEquals(
+                new String[] {"schema", "table", "id_target", "name"}, first.getHeaders());
+        Assert.assertEquals("db_target", first.getField("schema").asString());
+        Assert.assertEquals("t_target", first.getField("table").asString());
+        Assert.assertEquals("2", second.getField("id_target").asString());
+    }
+
+    @Test
+    public void testChangeSharedHeader() {
+        ColumnRowData first = (ColumnRowData) nameMapping.map(newRow("1"));
+        ColumnRowData second = (ColumnRowData) nameMapping.map(newRow("2"));
+
+        first.replaceHeader("name", "name_changed");
+        first.addHeader("extra");
+
+        Assert.assertNotSame(first.getHeaderInfo(), second.getHeaderInfo());
+        Assert.assertArrayEquals(
+                new String[] {"schema", "table", "id_target", "name"}, second.getHeaders());
+        ColumnRowData third = (ColumnRowData) nameMapping.map(newRow("3"));
+        Assert.assertSame(second.getHeaderInfo(), third.getHeaderInfo());
+    }
+
+    @Test
+    public void testKryoRoundTrip() throws IOException {
+        ColumnRowData row = (ColumnRowData) nameMapping.map(newRow("1"));
+        ColumnRowData other = (ColumnRowData) nameMapping.map(newRow("2"));
+
+        KryoSerializer<ColumnRowData> serializer =
+                new KryoSerializer<>(ColumnRowData.class, new ExecutionConfig());
+        DataOutputSerializer out = new DataOutputSerializer(256);
+        serializer.serialize(row, out);
+        ColumnRowData copy =
+                serializer.deserialize(new DataInputDeserializer(out.getCopyOfBuffer()));
+
+        assertChangeable(copy);
+        Assert.assertArrayEquals(
+                new String[] {"schema", "table", "id_target", "name"}, other.getHeaders());
+    }
+
+    @Test
+    public void testJavaRoundTrip() throws Exception {
+        ColumnRowData row = (ColumnRowData) nameMapping.map(newRow("1"));
+        ColumnRowData other = (ColumnRowData) nameMapping.map(newRow("2"));
+
+        ColumnRowData copy = InstantiationUtil.clone(row);
+
+        assertChangeable(copy);
+        Assert.assertArrayEquals(
+                new String[] {"schema", "table", "id_target", "name"}, other.getHeaders());
+    }
+
+    private static void assertChangeable(ColumnRowData copy) {
+        Assert.assertArrayEquals(
+                new String[] {"schema", "table", "id_target", "name"}, copy.getHeaders());
+        Assert.assertEquals("1", copy.getField("id_target").asString());
+        copy.replaceHeader("name", "name_changed");
+        copy.addHeader("extra");
+        Assert.assertArrayEquals(
+                new String[] {"schema", "table", "id_target", "name_changed", "extra"},
+                copy.getHeaders());
+    }
+
+    private static ColumnRowData newRow(String id) {
+        ColumnRowData row = new ColumnRowData(4);
+        row.addHeader("schema");
+        row.addField(new StringColumn("db"));
+        row.addHeader("table");
+        row.addField(new StringColumn("t"));
+        row.addHeader("id");
+        row.addField(new StringColumn(id));
+        row.addHeader("name");
+        row.addField(new StringColumn("name_" + id));
+        return row;
+    }
+}
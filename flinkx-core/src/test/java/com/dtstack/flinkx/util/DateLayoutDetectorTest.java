@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.flinkx.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DateLayoutDetectorTest {
+
+    @Test
+    public void testSameAsStringToDate() {
+        String[] values = {
+            "2020-03-18 10:56:00",
+            "2020-03-18 10:56:00.123",
+            "20200318105600",
+            "2020-03-18",
+            "10:56:00",
+            "2020",
+            "2020-3-18 1:2:3",
+            "2020-3-18",
+            "10:56:00",
+            "2020-03-18 10:56:00",
+            "2020",
+            "20200318105600",
+            "01000318105600",
+            "2020",
+            "01000318105600"
+        };
+        DateLayoutDetector detector = new DateLayoutDetector();
+        for (String value : values) {
+            Assert.assertEquals(value, DateUtil.stringToDate(value, null), detector.parse(value));
+        }
+        Assert.assertNull(detector.parse(""));
+        Assert.assertNull(detector.parse(null));
+    }
+
+    @Test
+    public void testLockOnLayout() {
+        DateLayoutDetector detector = new DateLayoutDetector();
+        Assert.assertEquals(-1, detector.getLayout());
+
+        detector.parse("2020-03-18 10:56:00");
+        Assert.assertEquals(0, detector.getLayout());
+        detector.parse("2020-03-19 23:01:02");
+        Assert.assertEquals(0, detector.getLayout());
+
+        // the values parsed by a formatter are not locked onto
+        detector.parse("10:56:00");
+        Assert.assertEquals(-1, detector.getLayout());
+        detector.parse("2020");
+        Assert.assertEquals(-1, detector.getLayout());
+        Assert.assertEquals(
+                DateUtil.stringToDate("20200318105600", null), detector.parse("20200318105600"));
+        Assert.assertEquals(1, detector.getLayout());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testUnparseable() {
+        new DateLayoutDetector().parse("xxxx");
+    }
+}
@@ -129,4 +129,75 @@ public class DateUtilTest {
             Assert.assertTrue(e.getMessage().contains("can't parse date"));
         }
     }
+
+    @Test
+    public void testStringToDateLayouts() {
+        SimpleDateFormat formatter = DateUtil.buildDateFormatter("yyyy-MM-dd HH:mm:ss");
+        SimpleDateFormat compactFormatter = DateUtil.buildDateFormatter("yyyyMMddHHmmss");
+        SimpleDateFormat dateFormatter = DateUtil.buildDateFormatter("yyyy-MM-dd");
+        String[] datetimes = {
+            "2020-03-18 10:56:00",
+            "2020-03-18 10:56:00.123",
+            "2020-02-29 23:59:59",
+            "2020-3-18 1:2:3"
+        };
+        for (String datetime : datetimes) {
+            Assert.assertEquals(
+                    DateUtil.parse(formatter, datetime), DateUtil.stringToDate(datetime, null));
+        }
+        Assert.assertEquals(
+                DateUtil.parse(compactFormatter, "20200318105600"),
+                DateUtil.stringToDate("20200318105600", null));
+        Assert.assertEquals(
+                DateUtil.parse(dateFormatter, "2020-03-18"),
+                DateUtil.stringToDate("2020-03-18", null));
+        // an invalid day is rolled over by the lenient formatter.
+        Assert.assertEquals(
+                DateUtil.parse(formatter, "2019-02-29 00:00:00"),
+                DateUtil.stringToDate("2019-02-29 00:00:00", null));
+
+        Assert.assertNull(DateUtil.parse(formatter, "xxxx"));
+    }
+
+    @Test
+    public void testGetCachedDateFormatter() {
+        SimpleDateFormat formatter = DateUtil.getCachedDateFormatter("yyyy/MM/dd");
+        Assert.assertSame(formatter, DateUtil.getCachedDateFormatter("yyyy/MM/dd"));
+        Assert.assertEquals(
+                DateUtil.buildDateFormatter("yyyy/MM/dd").getTimeZone(), formatter.getTimeZone());
+    }
+
+    @Test
+    public void testFormatMillis() {
+        Assert.assertSame(
+                DateUtil.getCachedDateTimeFormatter("yyyy/MM/dd"),
+                DateUtil.getCachedDateTimeFormatter("yyyy/MM/dd"));
+
+        String[] patterns = {
+            "yyyy-MM-dd HH:mm:ss", "yyyyMMddHHmmss", "yyyy-MM-dd HH:mm:ss.SSS", "yy/M/d H:m:s"
+        };
+        long[] millis = {0L, 1584500160123L, 1584500160000L, -1L, 253402271999000L};
+        for (String pattern : patterns) {
+            Assert.assertTrue(DateUtil.isNumericPattern(pattern));
+            for (long value : millis) {
+                Assert.assertEquals(
+                        DateUtil.buildDateFormatter(pattern).format(new java.util.Date(value)),
+                        DateUtil.formatMillis(pattern, value));
+            }
+        }
+
+        // patterns formatted differently by the two formatters keep the SimpleDateFormat
+        String[] otherPatterns = {"yyyy-MM-dd'T'HH:mm:ss", "MMM dd", "hh:mm a", "S", "yyy"};
+        for (String pattern : otherPatterns) {
+            Assert.assertFalse(DateUtil.isNumericPattern(pattern));
+            Assert.assertEquals(
+                    DateUtil.buildDateFormatter(pattern).format(new java.util.Date(1584500160123L)),
+                    DateUtil.formatMillis(pattern, 1584500160123L));
+        }
+        // the julian calendar of SimpleDateFormat
+        long julian = -20000000000000L;
+        Assert.assertEquals(
+                DateUtil.buildDateFormatter("yyyy-MM-dd").format(new java.util.Date(julian)),
+                DateUtil.formatMillis("yyyy-MM-dd", julian));
+    }
 }
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.flinkx.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class DelimitedTextEncoderTest {
+
+    private static final String[] FIELDS = {
+        "plain",
+        "a,b",
+        "say \"hi\"",
+        "\"quoted",
+        "line\nfeed",
+        "carriage\r\nreturn\r",
+        "back\\slash\\",
+        null,
+        "",
+        "中文😀é"
+    };
+
+    @Test
+    public void testEscapeRoundTrip() throws IOException {
+        DelimitedTextEncoder encoder =
+                new DelimitedTextEncoder(",", StandardCharsets.UTF_8, "\"", "\\");
+        encoder.setNullValue("\\N");
+        DelimitedTextTokenizer tokenizer =
+                new DelimitedTextTokenizer(",", StandardCharsets.UTF_8, "\"", "\\");
+        tokenizer.setNullValue("\\N");
+
+        // escaped line feeds never break a record, the output can be split on line feeds
+        String text = new String(encode(encoder, FIELDS, FIELDS), StandardCharsets.UTF_8);
+        String[] lines = text.split("\n", -1);
+        Assert.assertEquals(3, lines.length);
+        Assert.assertEquals("", lines[2]);
+        assertFields(tokenizer, lines[0], FIELDS);
+        assertFields(tokenizer, lines[1], FIELDS);
+    }
+
+    @Test
+    public void testQuoteRoundTrip() throws IOException {
+        DelimitedTextEncoder encoder =
+                new DelimitedTextEncoder("||", StandardCharsets.UTF_8, "\"", null);
+        encoder.setNullValue("\\N");
+        DelimitedTextTokenizer tokenizer =
+                new DelimitedTextTokenizer("||", StandardCharsets.UTF_8, "\"", null);
+        tokenizer.setNullValue("\\N");
+
+        String[] fields = {"a||b", "a|b", "say \"hi\"", "\"quoted", "line\nfeed\r", null, "中文"};
+        // a quoted field keeps its line feed, the record is the output without the last line feed
+        byte[] bytes = encode(encoder, fields);
+        Assert.assertEquals('\n', bytes[bytes.length - 1]);
+        assertFields(
+                tokenizer,
+                new String(bytes, 0, bytes.length - 1, StandardCharsets.UTF_8),
+                fields);
+    }
+
+    @Test
+    public void testCharsetRoundTrip() throws IOException {
+        Charset gbk = Charset.forName("GBK");
+        DelimitedTextEncoder encoder = new DelimitedTextEncoder("|", gbk, null, "\\");
+        DelimitedTextTokenizer tokenizer = new DelimitedTextTokenizer("|", gbk, null, "\\");
+
+        String[] fields = {"丨|中文", "line\nfeed", "back\\slash"};
+        byte[] bytes = encode(encoder, fields);
+        Assert.assertArrayEquals("丨\\|中文|line\\nfeed|back\\\\slash\n".getBytes(gbk), bytes);
+        Assert.assertEquals(3, tokenizer.tokenize(bytes, 0, bytes.length - 1));
+        Assert.assertArrayEquals(fields, tokenizer.toArray());
+    }
+
+    @Test
+    public void testWriteIfFullKeepsRecordsWhole() throws IOException {
+        DelimitedTextEncoder encoder =
+                new DelimitedTextEncoder(",", StandardCharsets.UTF_8, null, "\\", 16);
+        List<byte[]> writes = new ArrayList<>();
+        OutputStream out =
+                new OutputStream() {
+                    @Override
+                    public void write(int b) {
+                        writes.add(new byte[] {(byte) b});
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) {
+                        writes.add(Arrays.copyOfRange(b, off, off + len));
+                    }
+                };
+
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            String[] fields = {"record" + i, "中文" + i, "a,b"};
+            for (String field : fields) {
+                encoder.appendField(field);
+            }
+            encoder.endRecord();
+            expected.append("record").append(i).append(",中文").append(i).append(",a\\,b\n");
+            encoder.writeIfFull(out);
+            Assert.assertTrue(encoder.size() < 16);
+        }
+        encoder.writeTo(out);
+        Assert.assertEquals(0, encoder.size());
+
+        ByteArrayOutputStream all = new ByteArrayOutputStream();
+        for (byte[] write : writes) {
+            // every chunk ends with a whole record
+            Assert.assertEquals('\n', write[write.length - 1]);
+            all.write(write);
+        }
+        Assert.assertEquals(
+                expected.toString(), new String(all.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testResetDropsPartialRecord() throws IOException {
+        DelimitedTextEncoder encoder =
+                new DelimitedTextEncoder(",", StandardCharsets.UTF_8, null, null);
+        encoder.appendField("a");
+        encoder.endRecord();
+        encoder.appendField("dropped");
+        encoder.appendField("record");
+        encoder.reset();
+        Assert.assertEquals(0, encoder.size());
+
+        // the next record starts without a delimiter
+        Assert.assertEquals(
+                "b,c\n",
+                new String(encode(encoder, new String[] {"b", "c"}), StandardCharsets.UTF_8));
+    }
+
+    private static byte[] encode(DelimitedTextEncoder encoder, String[]... records)
+            throws IOException {
+        for (String[] record : records) {
+            for (String field : record) {
+                encoder.appendField(field);
+            }
+            encoder.endRecord();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encoder.writeTo(out);
+        return out.toByteArray();
+    }
+
+    private static void assertFields(
+            DelimitedTextTokenizer tokenizer, String line, String[] fields) {
+        Assert.assertEquals(fields.length, tokenizer.tokenize(line));
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] == null) {
+                Assert.assertTrue(tokenizer.isNull(i));
+            } else {
+                Assert.assertFalse(tokenizer.isNull(i));
+                Assert.assertEquals(fields[i], tokenizer.getString(i));
+            }
+        }
+    }
+}
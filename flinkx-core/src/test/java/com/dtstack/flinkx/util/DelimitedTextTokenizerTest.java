@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.flinkx.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+public class DelimitedTextTokenizerTest {
+
+    @Test
+    public void testTokenize() {
+        DelimitedTextTokenizer tokenizer =
+                new DelimitedTextTokenizer(",", StandardCharsets.UTF_8);
+        Assert.assertArrayEquals(new String[] {"a", "", "中文", ""}, split(tokenizer, "a,,中文,"));
+        Assert.assertEquals(0, tokenizer.tokenize(""));
+
+        tokenizer = new DelimitedTextTokenizer("||", StandardCharsets.UTF_8);
+        Assert.assertArrayEquals(new String[] {"a|b", "", "c|"}, split(tokenizer, "a|b||||c|"));
+    }
+
+    @Test
+    public void testMaxFieldsAndNullValue() {
+        DelimitedTextTokenizer tokenizer =
+                new DelimitedTextTokenizer("\001", StandardCharsets.UTF_8);
+        tokenizer.setMaxFields(2);
+        tokenizer.setNullValue("\\N");
+        Assert.assertEquals(2, tokenizer.tokenize("a\001\\N\001c\001d"));
+        Assert.assertEquals("a", tokenizer.getString(0));
+        Assert.assertFalse(tokenizer.isNull(0));
+        Assert.assertTrue(tokenizer.isNull(1));
+    }
+
+    @Test
+    public void testQuoteAndEscape() {
+        DelimitedTextTokenizer tokenizer =
+                new DelimitedTextTokenizer(",", StandardCharsets.UTF_8, "\"", "\\");
+        Assert.assertArrayEquals(
+                new String[] {"a,b", "say \"hi\"", "c,d", "line\nfeed", ""},
+                split(tokenizer, "\"a,b\",\"say \"\"hi\"\"\",c\\,d,line\\nfeed,"));
+    }
+
+    @Test
+    public void testTranscode() {
+        Charset gbk = Charset.forName("GBK");
+        // 0x7C can be the trail byte of a GBK char, the line is transcoded before the scan
+        DelimitedTextTokenizer tokenizer = new DelimitedTextTokenizer("|", gbk);
+        Assert.assertFalse(tokenizer.isScanRawBytes());
+        byte[] line = "丨|中文".getBytes(gbk);
+        Assert.assertEquals(2, tokenizer.tokenize(line, 0, line.length));
+        Assert.assertEquals("丨", tokenizer.getString(0));
+        Assert.assertEquals("中文", tokenizer.getString(1));
+
+        tokenizer = new DelimitedTextTokenizer(",", gbk);
+        Assert.assertTrue(tokenizer.isScanRawBytes());
+        line = "丨,中文".getBytes(gbk);
+        Assert.assertEquals(2, tokenizer.tokenize(line, 0, line.length));
+        Assert.assertEquals("中文", tokenizer.getString(1));
+    }
+
+    private static String[] split(DelimitedTextTokenizer tokenizer, String line) {
+        tokenizer.tokenize(line);
+        return tokenizer.toArray();
+    }
+}
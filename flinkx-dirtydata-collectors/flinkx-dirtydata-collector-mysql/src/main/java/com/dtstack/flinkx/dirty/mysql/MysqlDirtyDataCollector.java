@@ -30,6 +30,7 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
@@ -264,20 +265,44 @@ public class MysqlDirtyDataCollector extends DirtyDataCollector {
      * @throws Exception thrown exception when consume data fails.
      */
     @Override
-    protected void consume(DirtyDataEntry dirty) throws Exception {
+    protected synchronized void consume(DirtyDataEntry dirty) throws Exception {
         entities.add(dirty);
 
-        if (consumedCounter.getLocalValue() % batchSize == 0) {
+        if (entities.size() >= batchSize) {
             flush();
         }
     }
 
+    /**
+     * Sink a batch of dirty to mysql datasource with a single lock and at most one flush for each
+     * ${batchSize} dirty data.
+     *
+     * @param dirties dirty-data which should be consumed.
+     */
+    @Override
+    protected synchronized void consume(List<DirtyDataEntry> dirties) {
+        for (DirtyDataEntry dirty : dirties) {
+            entities.add(dirty);
+            if (entities.size() >= batchSize) {
+                flush();
+            }
+        }
+    }
+
     @Override
     public void close() {
-        isRunning.compareAndSet(true, false);
+        // the consumer thread may still be inside drain or consume, let it finish first
+        stopConsumer();
 
-        if (!entities.isEmpty()) {
-            flush();
+        synchronized (this) {
+            List<DirtyDataEntry> rest = new ArrayList<>();
+            while (drain(rest) > 0) {
+                consume(rest);
+                rest.clear();
+            }
+            if (!entities.isEmpty()) {
+                flush();
+            }
         }
 
         try {